@@ -67,7 +67,6 @@ import org.flowable.common.engine.impl.el.DefaultExpressionManager;
 import org.flowable.common.engine.impl.el.ExpressionManager;
 import org.flowable.common.engine.impl.interceptor.CommandInterceptor;
 import org.flowable.common.engine.impl.interceptor.EngineConfigurationConstants;
-import org.flowable.common.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
 import org.flowable.common.engine.impl.persistence.entity.TableDataManager;
 import org.flowable.eventregistry.impl.configurator.EventRegistryEngineConfigurator;
@@ -101,6 +100,7 @@ import org.flowable.variable.service.impl.types.SerializableType;
 import org.flowable.variable.service.impl.types.ShortType;
 import org.flowable.variable.service.impl.types.StringType;
 import org.flowable.variable.service.impl.types.UUIDType;
+import org.flowable.variable.service.impl.types.VariableBytesCodec;
 
 public class AppEngineConfiguration extends AbstractEngineConfiguration implements
         AppEngineConfigurationApi, HasExpressionManagerEngineConfiguration, HasVariableTypes {
@@ -158,6 +158,13 @@ public class AppEngineConfiguration extends AbstractEngineConfiguration implemen
      */
     protected boolean jsonVariableTypeTrackObjects = true;
 
+    /**
+     * The codec used by the 'json', 'longString' and 'serializable' variable types to encode their values stored as bytes,
+     * e.g. a {@link org.flowable.variable.service.impl.types.GzipVariableBytesCodec} to compress large variables.
+     * By default, the bytes are stored as they are. Values compressed with gzip (e.g. before the codec was removed) are still read.
+     */
+    protected VariableBytesCodec variableBytesCodec;
+
 
     protected BusinessCalendarManager businessCalendarManager;
 
@@ -353,11 +360,7 @@ public class AppEngineConfiguration extends AbstractEngineConfiguration implemen
 
     protected void initAppDefinitionCache() {
         if (appDefinitionCache == null) {
-            if (appDefinitionCacheLimit <= 0) {
-                appDefinitionCache = new DefaultDeploymentCache<>();
-            } else {
-                appDefinitionCache = new DefaultDeploymentCache<>(appDefinitionCacheLimit);
-            }
+            appDefinitionCache = createDeploymentCache(appDefinitionCacheLimit);
         }
     }
     
@@ -413,7 +416,9 @@ public class AppEngineConfiguration extends AbstractEngineConfiguration implemen
             }
             variableTypes.addType(new NullType());
             variableTypes.addType(new StringType(getMaxLengthString()));
-            variableTypes.addType(new LongStringType(getMaxLengthString() + 1));
+            LongStringType longStringType = new LongStringType(getMaxLengthString() + 1);
+            longStringType.setBytesCodec(variableBytesCodec);
+            variableTypes.addType(longStringType);
             variableTypes.addType(new BooleanType());
             variableTypes.addType(new ShortType());
             variableTypes.addType(new IntegerType());
@@ -426,12 +431,18 @@ public class AppEngineConfiguration extends AbstractEngineConfiguration implemen
             variableTypes.addType(new JodaDateTimeType());
             variableTypes.addType(new DoubleType());
             variableTypes.addType(new UUIDType());
-            variableTypes.addType(new JsonType(getMaxLengthString(), objectMapper, jsonVariableTypeTrackObjects));
+            JsonType jsonType = new JsonType(getMaxLengthString(), objectMapper, jsonVariableTypeTrackObjects);
+            jsonType.setBytesCodec(variableBytesCodec);
+            variableTypes.addType(jsonType);
             // longJsonType only needed for reading purposes
-            variableTypes.addType(JsonType.longJsonType(getMaxLengthString(), objectMapper, jsonVariableTypeTrackObjects));
+            JsonType longJsonType = JsonType.longJsonType(getMaxLengthString(), objectMapper, jsonVariableTypeTrackObjects);
+            longJsonType.setBytesCodec(variableBytesCodec);
+            variableTypes.addType(longJsonType);
             variableTypes.addType(new ByteArrayType());
             variableTypes.addType(new EmptyCollectionType());
-            variableTypes.addType(new SerializableType(serializableVariableTypeTrackDeserializedObjects));
+            SerializableType serializableType = new SerializableType(serializableVariableTypeTrackDeserializedObjects);
+            serializableType.setBytesCodec(variableBytesCodec);
+            variableTypes.addType(serializableType);
             if (customPostVariableTypes != null) {
                 for (VariableType customVariableType : customPostVariableTypes) {
                     variableTypes.addType(customVariableType);
@@ -771,6 +782,15 @@ public class AppEngineConfiguration extends AbstractEngineConfiguration implemen
         return this;
     }
 
+    public VariableBytesCodec getVariableBytesCodec() {
+        return variableBytesCodec;
+    }
+
+    public AppEngineConfiguration setVariableBytesCodec(VariableBytesCodec variableBytesCodec) {
+        this.variableBytesCodec = variableBytesCodec;
+        return this;
+    }
+
     public boolean isDisableIdmEngine() {
         return disableIdmEngine;
     }
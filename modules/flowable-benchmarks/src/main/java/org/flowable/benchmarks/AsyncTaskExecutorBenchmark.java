@@ -0,0 +1,100 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.benchmarks;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.flowable.common.engine.impl.async.AsyncTaskExecutorConfiguration;
+import org.flowable.common.engine.impl.async.DefaultAsyncTaskExecutor;
+import org.flowable.common.engine.impl.async.VirtualThreadAsyncTaskExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the throughput of the {@link DefaultAsyncTaskExecutor} and the {@link VirtualThreadAsyncTaskExecutor}
+ * for I/O-bound jobs, simulated by tasks sleeping for {@link #ioMillis}.
+ * Like the async job acquisition, tasks are only submitted when the executor has remaining capacity.
+ *
+ * <p>
+ * Note that the {@link VirtualThreadAsyncTaskExecutor} only uses virtual threads when running on Java 21 or later.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AsyncTaskExecutorBenchmark {
+
+    protected static final int NR_OF_TASKS = 1000;
+
+    @Param({ "default", "virtualThread" })
+    public String executor;
+
+    @Param({ "5" })
+    public int ioMillis;
+
+    protected DefaultAsyncTaskExecutor asyncTaskExecutor;
+
+    @Setup(Level.Trial)
+    public void startExecutor() {
+        AsyncTaskExecutorConfiguration configuration = new AsyncTaskExecutorConfiguration();
+        if ("virtualThread".equals(executor)) {
+            asyncTaskExecutor = new VirtualThreadAsyncTaskExecutor(configuration);
+        } else {
+            asyncTaskExecutor = new DefaultAsyncTaskExecutor(configuration);
+        }
+        asyncTaskExecutor.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdownExecutor() {
+        asyncTaskExecutor.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NR_OF_TASKS)
+    public void executeTasks() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(NR_OF_TASKS);
+        for (int i = 0; i < NR_OF_TASKS; i++) {
+            while (asyncTaskExecutor.getRemainingCapacity() == 0) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+            }
+            asyncTaskExecutor.execute(() -> {
+                try {
+                    Thread.sleep(ioMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+    }
+
+}
@@ -0,0 +1,65 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.benchmarks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.flowable.cmmn.engine.CmmnEngineConfiguration;
+import org.flowable.common.engine.impl.AbstractEngineConfiguration;
+import org.flowable.common.engine.impl.history.HistoryLevel;
+import org.flowable.dmn.engine.DmnEngineConfiguration;
+import org.flowable.engine.ProcessEngineConfiguration;
+
+/**
+ * Creates the engine configurations used by the benchmarks: every engine gets its own in-memory H2 database,
+ * which is dropped when the engine is closed.
+ */
+public final class BenchmarkEngines {
+
+    protected static final AtomicInteger DATABASE_COUNTER = new AtomicInteger();
+
+    private BenchmarkEngines() {
+    }
+
+    public static ProcessEngineConfiguration processEngineConfiguration(String historyLevel) {
+        ProcessEngineConfiguration engineConfiguration = ProcessEngineConfiguration.createStandaloneInMemProcessEngineConfiguration();
+        engineConfiguration.setEngineName(configureDatabase(engineConfiguration, "process"));
+        engineConfiguration.setHistory(historyLevel);
+        return engineConfiguration;
+    }
+
+    public static CmmnEngineConfiguration cmmnEngineConfiguration(String historyLevel) {
+        CmmnEngineConfiguration engineConfiguration = CmmnEngineConfiguration.createStandaloneInMemCmmnEngineConfiguration();
+        engineConfiguration.setCmmnEngineName(configureDatabase(engineConfiguration, "cmmn"));
+        engineConfiguration.setHistoryLevel(HistoryLevel.getHistoryLevelForKey(historyLevel));
+        return engineConfiguration;
+    }
+
+    public static DmnEngineConfiguration dmnEngineConfiguration(boolean historyEnabled) {
+        DmnEngineConfiguration engineConfiguration = DmnEngineConfiguration.createStandaloneInMemDmnEngineConfiguration();
+        engineConfiguration.setEngineName(configureDatabase(engineConfiguration, "dmn"));
+        engineConfiguration.setHistoryEnabled(historyEnabled);
+        return engineConfiguration;
+    }
+
+    /**
+     * @return the name of the database, which is used as engine name as well
+     */
+    protected static String configureDatabase(AbstractEngineConfiguration engineConfiguration, String prefix) {
+        String databaseName = "flowable-benchmark-" + prefix + "-" + DATABASE_COUNTER.incrementAndGet();
+        engineConfiguration.setJdbcUrl("jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=1000");
+        engineConfiguration.setDatabaseSchemaUpdate(AbstractEngineConfiguration.DB_SCHEMA_UPDATE_CREATE_DROP);
+        return databaseName;
+    }
+
+}
@@ -0,0 +1,88 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.bpmn.converter.BpmnXMLConverter;
+import org.flowable.bpmn.model.BpmnModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the parsing of BPMN XML with the {@link BpmnXMLConverter}, for a process with a sequence of user tasks,
+ * with and without the validation against the BPMN XSD.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BpmnXmlParsingBenchmark {
+
+    @Param({ "10", "100" })
+    public int nrOfTasks;
+
+    @Param({ "false", "true" })
+    public boolean validateSchema;
+
+    protected byte[] bpmnXml;
+
+    @Setup(Level.Trial)
+    public void createBpmnXml() {
+        StringBuilder xml = new StringBuilder()
+                .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<definitions xmlns=\"http://www.omg.org/spec/BPMN/20100524/MODEL\" xmlns:flowable=\"http://flowable.org/bpmn\"")
+                .append(" targetNamespace=\"http://flowable.org/benchmarks\">\n")
+                .append("  <process id=\"sequentialTasks\" name=\"Sequential tasks\">\n")
+                .append("    <startEvent id=\"start\" />\n");
+
+        String previousElementId = "start";
+        for (int i = 1; i <= nrOfTasks; i++) {
+            String taskId = "task" + i;
+            xml.append("    <sequenceFlow id=\"flowTo").append(taskId).append("\" sourceRef=\"").append(previousElementId)
+                    .append("\" targetRef=\"").append(taskId).append("\" />\n")
+                    .append("    <userTask id=\"").append(taskId).append("\" name=\"Task ").append(i)
+                    .append("\" flowable:candidateGroups=\"management\">\n")
+                    .append("      <documentation>Task number ").append(i).append("</documentation>\n")
+                    .append("    </userTask>\n");
+            previousElementId = taskId;
+        }
+
+        xml.append("    <sequenceFlow id=\"flowToEnd\" sourceRef=\"").append(previousElementId).append("\" targetRef=\"end\" />\n")
+                .append("    <endEvent id=\"end\" />\n")
+                .append("  </process>\n")
+                .append("</definitions>\n");
+
+        bpmnXml = xml.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public BpmnModel parse() {
+        return new BpmnXMLConverter().convertToBpmnModel(() -> new ByteArrayInputStream(bpmnXml), validateSchema, false);
+    }
+
+}
@@ -0,0 +1,95 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.cmmn.api.CmmnRuntimeService;
+import org.flowable.cmmn.api.CmmnTaskService;
+import org.flowable.cmmn.api.runtime.CaseInstance;
+import org.flowable.cmmn.engine.CmmnEngine;
+import org.flowable.task.api.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the CMMN engine with a case of 21 human tasks, of which 20 are guarded by a sentry.
+ * Starting the case and completing the first task both plan an {@code EvaluateCriteriaOperation},
+ * {@link #evaluateCriteria()} measures the evaluation of all the sentries of an active case without any change.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CmmnEngineBenchmark {
+
+    @Param({ "none", "audit" })
+    public String historyLevel;
+
+    protected CmmnEngine cmmnEngine;
+    protected CmmnRuntimeService cmmnRuntimeService;
+    protected CmmnTaskService cmmnTaskService;
+    protected String activeCaseInstanceId;
+
+    @Setup(Level.Trial)
+    public void buildCmmnEngine() {
+        cmmnEngine = BenchmarkEngines.cmmnEngineConfiguration(historyLevel).buildCmmnEngine();
+        cmmnRuntimeService = cmmnEngine.getCmmnRuntimeService();
+        cmmnTaskService = cmmnEngine.getCmmnTaskService();
+
+        cmmnEngine.getCmmnRepositoryService().createDeployment()
+                .addClasspathResource("org/flowable/benchmarks/sentryCase.cmmn")
+                .deploy();
+
+        activeCaseInstanceId = startCase().getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeCmmnEngine() {
+        cmmnEngine.close();
+    }
+
+    @Benchmark
+    public CaseInstance startCase() {
+        return cmmnRuntimeService.createCaseInstanceBuilder()
+                .caseDefinitionKey("sentryCase")
+                .variable("amount", 550)
+                .start();
+    }
+
+    @Benchmark
+    public void startCaseAndCompleteTask() {
+        CaseInstance caseInstance = startCase();
+        Task task = cmmnTaskService.createTaskQuery().caseInstanceId(caseInstance.getId()).singleResult();
+        cmmnTaskService.complete(task.getId());
+    }
+
+    @Benchmark
+    public void evaluateCriteria() {
+        cmmnRuntimeService.evaluateCriteria(activeCaseInstanceId);
+    }
+
+}
@@ -0,0 +1,170 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.benchmarks;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.common.engine.impl.cfg.IdGenerator;
+import org.flowable.common.engine.impl.db.DbSqlSession;
+import org.flowable.common.engine.impl.interceptor.CommandExecutor;
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.ProcessEngineConfiguration;
+import org.flowable.task.service.impl.persistence.entity.TaskEntity;
+import org.flowable.task.service.impl.persistence.entity.TaskEntityImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the {@link DbSqlSession#flush()} of a command that inserts, updates and/or deletes task entities,
+ * with and without batch flushing. The entities are handed to the {@link DbSqlSession} directly,
+ * such that the measured time is dominated by the flush and not by loading the entities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DbSqlSessionFlushBenchmark {
+
+    protected static final String INSERTED_TASK_NAME = "inserted";
+
+    @Param({ "INSERT", "UPDATE", "DELETE", "MIXED" })
+    public String entityMix;
+
+    @Param({ "10", "100" })
+    public int nrOfEntities;
+
+    @Param({ "false", "true" })
+    public boolean batchFlush;
+
+    protected ProcessEngine processEngine;
+    protected ProcessEngineConfiguration processEngineConfiguration;
+    protected CommandExecutor commandExecutor;
+    protected IdGenerator idGenerator;
+
+    protected int nrOfInserts;
+    protected int nrOfUpdates;
+    protected int nrOfDeletes;
+
+    protected List<TaskEntity> tasksToUpdate;
+    protected List<TaskEntity> tasksToDelete;
+    protected int updateCounter;
+
+    @Setup(Level.Trial)
+    public void buildProcessEngine() {
+        processEngineConfiguration = BenchmarkEngines.processEngineConfiguration("none");
+        processEngine = processEngineConfiguration.buildProcessEngine();
+        processEngineConfiguration.getDbSqlSessionFactory().setBatchFlushEnabled(batchFlush);
+        commandExecutor = processEngineConfiguration.getCommandExecutor();
+        idGenerator = processEngineConfiguration.getIdGenerator();
+
+        switch (entityMix) {
+            case "INSERT":
+                nrOfInserts = nrOfEntities;
+                break;
+            case "UPDATE":
+                nrOfUpdates = nrOfEntities;
+                break;
+            case "DELETE":
+                nrOfDeletes = nrOfEntities;
+                break;
+            default:
+                nrOfUpdates = nrOfEntities / 3;
+                nrOfDeletes = nrOfEntities / 3;
+                nrOfInserts = nrOfEntities - nrOfUpdates - nrOfDeletes;
+        }
+
+        // The same entities are updated in every invocation, their revision is incremented by the flush
+        tasksToUpdate = insertTasks(nrOfUpdates, "updated");
+    }
+
+    @Setup(Level.Invocation)
+    public void insertTasksToDelete() {
+        tasksToDelete = insertTasks(nrOfDeletes, "deleted");
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteInsertedTasks() throws SQLException {
+        try (Connection connection = processEngineConfiguration.getDataSource().getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.executeUpdate("delete from ACT_RU_TASK where NAME_ = '" + INSERTED_TASK_NAME + "'");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void closeProcessEngine() {
+        processEngine.close();
+    }
+
+    @Benchmark
+    public void flush() {
+        int updateValue = ++updateCounter;
+        commandExecutor.execute(commandContext -> {
+            DbSqlSession dbSqlSession = commandContext.getSession(DbSqlSession.class);
+            for (int i = 0; i < nrOfInserts; i++) {
+                dbSqlSession.insert(createTask(INSERTED_TASK_NAME), idGenerator);
+            }
+            for (TaskEntity task : tasksToUpdate) {
+                task.setDescription("Update " + updateValue);
+                dbSqlSession.update(task);
+            }
+            for (TaskEntity task : tasksToDelete) {
+                dbSqlSession.delete(task);
+            }
+            return null;
+        });
+    }
+
+    protected List<TaskEntity> insertTasks(int nrOfTasks, String name) {
+        List<TaskEntity> tasks = new ArrayList<>(nrOfTasks);
+        if (nrOfTasks > 0) {
+            commandExecutor.execute(commandContext -> {
+                DbSqlSession dbSqlSession = commandContext.getSession(DbSqlSession.class);
+                for (int i = 0; i < nrOfTasks; i++) {
+                    TaskEntity task = createTask(name);
+                    dbSqlSession.insert(task, idGenerator);
+                    tasks.add(task);
+                }
+                return null;
+            });
+        }
+        return tasks;
+    }
+
+    protected TaskEntity createTask(String name) {
+        TaskEntityImpl task = new TaskEntityImpl();
+        task.setName(name);
+        task.setPriority(50);
+        task.setCreateTime(new Date());
+        return task;
+    }
+
+}
@@ -0,0 +1,106 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.dmn.api.DecisionExecutionAuditContainer;
+import org.flowable.dmn.api.DmnDecision;
+import org.flowable.dmn.api.DmnDecisionService;
+import org.flowable.dmn.api.ExecuteDecisionContext;
+import org.flowable.dmn.engine.DmnEngine;
+import org.flowable.dmn.engine.DmnEngineConfiguration;
+import org.flowable.dmn.engine.RuleEngineExecutor;
+import org.flowable.dmn.model.Decision;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the execution of a decision table with 12 rules: through the {@link DmnDecisionService}
+ * (including the lookup of the decision and the history), and directly through the {@link RuleEngineExecutor}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DmnBenchmark {
+
+    @Param({ "false", "true" })
+    public boolean historyEnabled;
+
+    protected DmnEngine dmnEngine;
+    protected DmnEngineConfiguration dmnEngineConfiguration;
+    protected DmnDecisionService decisionService;
+    protected Decision decision;
+    protected String deploymentId;
+
+    @Setup(Level.Trial)
+    public void buildDmnEngine() {
+        dmnEngineConfiguration = BenchmarkEngines.dmnEngineConfiguration(historyEnabled);
+        dmnEngine = dmnEngineConfiguration.buildDmnEngine();
+        decisionService = dmnEngine.getDmnDecisionService();
+
+        deploymentId = dmnEngine.getDmnRepositoryService().createDeployment()
+                .addClasspathResource("org/flowable/benchmarks/discount.dmn")
+                .deploy()
+                .getId();
+        DmnDecision dmnDecision = dmnEngine.getDmnRepositoryService().createDecisionQuery().decisionKey("discount").singleResult();
+        decision = dmnEngine.getDmnRepositoryService().getDmnDefinition(dmnDecision.getId()).getDecisionById("discount");
+    }
+
+    @TearDown(Level.Trial)
+    public void closeDmnEngine() {
+        dmnEngine.close();
+    }
+
+    @Benchmark
+    public Map<String, Object> executeDecision() {
+        return decisionService.createExecuteDecisionBuilder()
+                .decisionKey("discount")
+                .variable("category", "silver")
+                .variable("amount", 7500)
+                .executeWithSingleResult();
+    }
+
+    @Benchmark
+    public DecisionExecutionAuditContainer executeRuleEngine() {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("category", "silver");
+        variables.put("amount", 7500);
+
+        ExecuteDecisionContext executeDecisionContext = new ExecuteDecisionContext();
+        executeDecisionContext.setDecisionKey(decision.getId());
+        executeDecisionContext.setDeploymentId(deploymentId);
+        executeDecisionContext.setDmnElement(decision);
+        executeDecisionContext.setVariables(variables);
+
+        return dmnEngineConfiguration.getCommandExecutor()
+                .execute(commandContext -> dmnEngineConfiguration.getRuleEngineExecutor().execute(decision, executeDecisionContext));
+    }
+
+}
@@ -0,0 +1,104 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.common.engine.api.delegate.Expression;
+import org.flowable.common.engine.impl.el.DefaultExpressionManager;
+import org.flowable.common.engine.impl.el.compiler.ExpressionCompiler;
+import org.flowable.common.engine.impl.variable.MapDelegateVariableContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the evaluation of expressions through the {@link DefaultExpressionManager},
+ * both of an already created expression and including the creation (parsing) of the expression.
+ * The expressions are either interpreted or compiled with the {@link ExpressionCompiler}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpressionBenchmark {
+
+    @Param({
+            "${amount * 2 + 10}",
+            "${customer.category == 'gold' && amount > 1000}",
+            "${customer.name.toUpperCase()}",
+            "${order.amount > 1000 ? order.amount * 0.9 : order.amount}"
+    })
+    public String expressionText;
+
+    @Param({ "false", "true" })
+    public boolean compiled;
+
+    protected DefaultExpressionManager expressionManager;
+    protected Expression expression;
+    protected MapDelegateVariableContainer variableContainer;
+
+    @Setup(Level.Trial)
+    public void createExpression() {
+        expressionManager = new DefaultExpressionManager(new HashMap<>());
+        if (compiled) {
+            expressionManager.setExpressionCompiler(new ExpressionCompiler());
+        }
+        expression = expressionManager.createExpression(expressionText);
+
+        Map<String, Object> customer = new HashMap<>();
+        customer.put("name", "kermit");
+        customer.put("category", "gold");
+        variableContainer = new MapDelegateVariableContainer()
+                .addTransientVariable("amount", 1500)
+                .addTransientVariable("customer", customer)
+                .addTransientVariable("order", new Order(1500));
+    }
+
+    @Benchmark
+    public Object evaluate() {
+        return expression.getValue(variableContainer);
+    }
+
+    @Benchmark
+    public Object createAndEvaluate() {
+        return expressionManager.createExpression(expressionText).getValue(variableContainer);
+    }
+
+    public static class Order {
+
+        protected final long amount;
+
+        public Order(long amount) {
+            this.amount = amount;
+        }
+
+        public long getAmount() {
+            return amount;
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.common.engine.impl.cfg.IdGenerator;
+import org.flowable.common.engine.impl.persistence.StrongUuidGenerator;
+import org.flowable.common.engine.impl.persistence.TimeOrderedUuidGenerator;
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.ProcessEngineConfiguration;
+import org.flowable.engine.impl.db.ConcurrentDbIdGenerator;
+import org.flowable.engine.impl.db.DbIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the {@link IdGenerator} implementations with 8 concurrent threads.
+ * The database backed generators fetch their id blocks from the in-memory H2 database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    @Param({ "db", "concurrentDb", "strongUuid", "timeOrderedUuid" })
+    public String generator;
+
+    protected ProcessEngine processEngine;
+    protected IdGenerator idGenerator;
+
+    @Setup(Level.Trial)
+    public void createIdGenerator() {
+        ProcessEngineConfiguration processEngineConfiguration = BenchmarkEngines.processEngineConfiguration("none");
+        processEngine = processEngineConfiguration.buildProcessEngine();
+
+        switch (generator) {
+            case "db":
+                idGenerator = initDbIdGenerator(new DbIdGenerator(), processEngineConfiguration);
+                break;
+            case "concurrentDb":
+                idGenerator = initDbIdGenerator(new ConcurrentDbIdGenerator(), processEngineConfiguration);
+                break;
+            case "strongUuid":
+                idGenerator = new StrongUuidGenerator();
+                break;
+            case "timeOrderedUuid":
+                idGenerator = new TimeOrderedUuidGenerator();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown id generator " + generator);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void closeProcessEngine() {
+        processEngine.close();
+    }
+
+    @Benchmark
+    public String getNextId() {
+        return idGenerator.getNextId();
+    }
+
+    protected IdGenerator initDbIdGenerator(DbIdGenerator dbIdGenerator, ProcessEngineConfiguration processEngineConfiguration) {
+        dbIdGenerator.setIdBlockSize(processEngineConfiguration.getIdBlockSize());
+        dbIdGenerator.setCommandExecutor(processEngineConfiguration.getCommandExecutor());
+        dbIdGenerator.setCommandConfig(processEngineConfiguration.getDefaultCommandConfig().transactionRequiresNew());
+        return dbIdGenerator;
+    }
+
+}
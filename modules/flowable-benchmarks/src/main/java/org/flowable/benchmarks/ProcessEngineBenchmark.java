@@ -0,0 +1,92 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.RuntimeService;
+import org.flowable.engine.TaskService;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.task.api.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the process engine API: starting a process instance, completing a user task
+ * and a parallel gateway fanning out to 8 service tasks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ProcessEngineBenchmark {
+
+    @Param({ "none", "audit" })
+    public String historyLevel;
+
+    protected ProcessEngine processEngine;
+    protected RuntimeService runtimeService;
+    protected TaskService taskService;
+
+    @Setup(Level.Trial)
+    public void buildProcessEngine() {
+        processEngine = BenchmarkEngines.processEngineConfiguration(historyLevel).buildProcessEngine();
+        runtimeService = processEngine.getRuntimeService();
+        taskService = processEngine.getTaskService();
+
+        processEngine.getRepositoryService().createDeployment()
+                .addClasspathResource("org/flowable/benchmarks/oneTaskProcess.bpmn20.xml")
+                .addClasspathResource("org/flowable/benchmarks/parallelGatewayProcess.bpmn20.xml")
+                .deploy();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeProcessEngine() {
+        processEngine.close();
+    }
+
+    @Benchmark
+    public ProcessInstance startProcessInstance() {
+        return runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    }
+
+    @Benchmark
+    public void startProcessInstanceAndCompleteTask() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        taskService.complete(task.getId());
+    }
+
+    @Benchmark
+    public ProcessInstance parallelGateway() {
+        return runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("parallelGatewayProcess")
+                .variable("amount", 100)
+                .start();
+    }
+
+}
@@ -17,6 +17,7 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.UnsupportedEncodingException;
+import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -33,7 +34,6 @@ import javax.xml.transform.stax.StAXSource;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
-import javax.xml.validation.Validator;
 
 import org.apache.commons.lang3.StringUtils;
 import org.flowable.bpmn.constants.BpmnXMLConstants;
@@ -94,6 +94,7 @@ import org.flowable.bpmn.model.SubProcess;
 import org.flowable.bpmn.model.TextAnnotation;
 import org.flowable.bpmn.model.Transaction;
 import org.flowable.common.engine.api.io.InputStreamProvider;
+import org.flowable.common.engine.impl.xml.PooledXmlSchema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xml.sax.SAXException;
@@ -217,17 +218,20 @@ public class BpmnXMLConverter implements BpmnXMLConstants {
     }
 
     public void validateModel(InputStreamProvider inputStreamProvider) throws Exception {
-        Schema schema = createSchema();
-
-        Validator validator = schema.newValidator();
-        validator.validate(new StreamSource(inputStreamProvider.getInputStream()));
+        getSchema().validate(new StreamSource(inputStreamProvider.getInputStream()));
     }
 
     public void validateModel(XMLStreamReader xmlStreamReader) throws Exception {
-        Schema schema = createSchema();
+        getSchema().validate(new StAXSource(xmlStreamReader));
+    }
 
-        Validator validator = schema.newValidator();
-        validator.validate(new StAXSource(xmlStreamReader));
+    /**
+     * Returns the BPMN XSD created by {@link #createSchema()}, which is only compiled once and shared by all converters of the same class and class loader.
+     */
+    protected PooledXmlSchema getSchema() throws SAXException {
+        URL xsdLocation = classloader != null ? classloader.getResource(BPMN_XSD) : null;
+        String schemaKey = xsdLocation != null ? getClass().getName() + '|' + xsdLocation.toExternalForm() : getClass().getName();
+        return PooledXmlSchema.forKey(schemaKey, this::createSchema);
     }
 
     protected Schema createSchema() throws SAXException {
@@ -0,0 +1,70 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.editor.language.xml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+
+import org.flowable.bpmn.converter.BpmnModelSnapshotConverter;
+import org.flowable.bpmn.exceptions.XMLException;
+import org.flowable.bpmn.model.Activity;
+import org.flowable.bpmn.model.BaseElement;
+import org.flowable.bpmn.model.BoundaryEvent;
+import org.flowable.bpmn.model.BpmnModel;
+import org.flowable.bpmn.model.FlowNode;
+import org.flowable.bpmn.model.SequenceFlow;
+import org.flowable.editor.language.xml.util.XmlTestUtils;
+import org.junit.jupiter.api.Test;
+
+class BpmnModelSnapshotConverterTest {
+
+    @Test
+    void convertSnapshotRestoresLinks() {
+        BpmnModelSnapshotConverter snapshotConverter = new BpmnModelSnapshotConverter("6.8.0");
+        byte[] snapshot = snapshotConverter.convertToSnapshot(XmlTestUtils.readXMLFile("boundaryErrorEventWithInParameters.bpmn"));
+
+        BpmnModel model = snapshotConverter.convertToBpmnModel(snapshot);
+
+        FlowNode task = (FlowNode) model.getMainProcess().getFlowElement("theTask");
+        assertThat(task.getIncomingFlows()).extracting(BaseElement::getId).containsExactly("flow1");
+        assertThat(task.getOutgoingFlows()).extracting(BaseElement::getId).containsExactly("flow2");
+        assertThat(((Activity) task).getBoundaryEvents()).extracting(BaseElement::getId).containsExactly("theErrorBoundary");
+
+        SequenceFlow flow1 = (SequenceFlow) model.getMainProcess().getFlowElement("flow1");
+        assertThat(flow1.getSourceFlowElement()).isSameAs(model.getMainProcess().getFlowElement("theStart"));
+        assertThat(flow1.getTargetFlowElement()).isSameAs(task);
+
+        BoundaryEvent boundaryEvent = (BoundaryEvent) model.getMainProcess().getFlowElement("theErrorBoundary");
+        assertThat(boundaryEvent.getAttachedToRef()).isSameAs(task);
+        assertThat(boundaryEvent.getParentContainer()).isSameAs(model.getMainProcess());
+    }
+
+    @Test
+    void convertSnapshotOfOtherVersion() {
+        byte[] snapshot = new BpmnModelSnapshotConverter("6.8.0").convertToSnapshot(XmlTestUtils.readXMLFile("simplemodel.bpmn"));
+
+        assertThat(new BpmnModelSnapshotConverter("6.8.1").convertToBpmnModel(snapshot)).isNull();
+        assertThat(new BpmnModelSnapshotConverter("6.8.0").convertToBpmnModel(new byte[] { 1, 2, 3 })).isNull();
+    }
+
+    @Test
+    void convertCorruptSnapshot() {
+        BpmnModelSnapshotConverter snapshotConverter = new BpmnModelSnapshotConverter("6.8.0");
+        byte[] snapshot = snapshotConverter.convertToSnapshot(XmlTestUtils.readXMLFile("simplemodel.bpmn"));
+
+        assertThatThrownBy(() -> snapshotConverter.convertToBpmnModel(Arrays.copyOf(snapshot, snapshot.length / 2)))
+                .isInstanceOf(XMLException.class);
+    }
+}
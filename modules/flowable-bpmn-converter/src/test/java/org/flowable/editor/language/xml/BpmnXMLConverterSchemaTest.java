@@ -0,0 +1,49 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.editor.language.xml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.validation.Schema;
+
+import org.flowable.bpmn.converter.BpmnXMLConverter;
+import org.flowable.bpmn.model.BpmnModel;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+
+class BpmnXMLConverterSchemaTest {
+
+    @Test
+    void customSchemaIsCreatedOnceAndUsedForValidation() {
+        CustomSchemaBpmnXMLConverter converter = new CustomSchemaBpmnXMLConverter();
+        BpmnModel model = converter.convertToBpmnModel(() -> getClass().getClassLoader().getResourceAsStream("simplemodel.bpmn"), true, false);
+        assertThat(model.getMainProcess()).isNotNull();
+
+        new CustomSchemaBpmnXMLConverter().convertToBpmnModel(() -> getClass().getClassLoader().getResourceAsStream("simplemodel.bpmn"), true, false);
+
+        assertThat(CustomSchemaBpmnXMLConverter.CREATED_SCHEMAS).hasValue(1);
+    }
+
+    static class CustomSchemaBpmnXMLConverter extends BpmnXMLConverter {
+
+        static final AtomicInteger CREATED_SCHEMAS = new AtomicInteger();
+
+        @Override
+        protected Schema createSchema() throws SAXException {
+            CREATED_SCHEMAS.incrementAndGet();
+            return super.createSchema();
+        }
+    }
+}
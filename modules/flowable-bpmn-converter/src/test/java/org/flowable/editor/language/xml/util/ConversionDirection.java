@@ -23,6 +23,7 @@ import org.flowable.bpmn.model.BpmnModel;
 public enum ConversionDirection {
     xmlToModel(XmlTestUtils::readXMLFile),
     xmlToModelAndBack(XmlTestUtils::readXmlExportAndReadAgain),
+    xmlToSnapshotAndBack(XmlTestUtils::readXmlSnapshotAndReadAgain),
     ;
 
     private final Function<String, BpmnModel> modelProvider;
@@ -15,6 +15,7 @@ package org.flowable.editor.language.xml.util;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 
+import org.flowable.bpmn.converter.BpmnModelSnapshotConverter;
 import org.flowable.bpmn.converter.BpmnXMLConverter;
 import org.flowable.bpmn.model.BpmnModel;
 import org.flowable.common.engine.api.io.InputStreamProvider;
@@ -35,6 +36,12 @@ public class XmlTestUtils {
         return new BpmnXMLConverter().convertToBpmnModel(new InputStreamSource(new ByteArrayInputStream(xml)), true, false, "UTF-8");
     }
 
+    public static BpmnModel readXmlSnapshotAndReadAgain(String resource) {
+        BpmnModel model = readXMLFile(resource);
+        BpmnModelSnapshotConverter snapshotConverter = new BpmnModelSnapshotConverter("test");
+        return snapshotConverter.convertToBpmnModel(snapshotConverter.convertToSnapshot(model));
+    }
+
     public static BpmnModel readXMLFile(String resource) {
         return new BpmnXMLConverter().convertToBpmnModel(new ClasspathStreamResource(resource), true, false);
     }
@@ -12,12 +12,13 @@
  */
 package org.flowable.bpmn.model;
 
+import java.io.Serializable;
 import java.util.List;
 
 /**
  * @author Tijs Rademakers
  */
-public class BpmnDiEdge {
+public class BpmnDiEdge implements Serializable {
 
     protected GraphicInfo sourceDockerInfo;
     protected GraphicInfo targetDockerInfo;
@@ -12,6 +12,8 @@
  */
 package org.flowable.bpmn.model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -29,16 +31,23 @@ public abstract class FlowNode extends FlowElement {
     protected boolean notExclusive;
     protected boolean asynchronousLeaveNotExclusive;
 
-    protected List<SequenceFlow> incomingFlows = new ArrayList<>();
-    protected List<SequenceFlow> outgoingFlows = new ArrayList<>();
+    // Links to the sequence flows, set by the converter based on the sequence flow source and target refs
+    protected transient List<SequenceFlow> incomingFlows = new ArrayList<>();
+    protected transient List<SequenceFlow> outgoingFlows = new ArrayList<>();
 
     @JsonIgnore
-    protected Object behavior;
+    protected transient Object behavior;
 
     public FlowNode() {
 
     }
 
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        incomingFlows = new ArrayList<>();
+        outgoingFlows = new ArrayList<>();
+    }
+
     public boolean isAsynchronous() {
         return asynchronous;
     }
@@ -32,7 +32,7 @@ public class FlowableListener extends BaseElement implements HasScriptInfo {
     protected String customPropertiesResolverImplementation;
 
     @JsonIgnore
-    protected Object instance; // Can be used to set an instance of the listener directly. That instance will then always be reused.
+    protected transient Object instance; // Can be used to set an instance of the listener directly. That instance will then always be reused.
 
     /**
      * ScriptInfo is populated for implementationType 'script'
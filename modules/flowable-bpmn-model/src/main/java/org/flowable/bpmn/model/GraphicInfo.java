@@ -12,10 +12,12 @@
  */
 package org.flowable.bpmn.model;
 
+import java.io.Serializable;
+
 /**
  * @author Tijs Rademakers
  */
-public class GraphicInfo {
+public class GraphicInfo implements Serializable {
 
     protected double x;
     protected double y;
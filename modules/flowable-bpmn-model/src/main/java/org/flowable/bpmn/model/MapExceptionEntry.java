@@ -12,11 +12,13 @@
  */
 package org.flowable.bpmn.model;
 
+import java.io.Serializable;
+
 /**
  * @author Saeid Mirzaei
  */
 
-public class MapExceptionEntry {
+public class MapExceptionEntry implements Serializable {
 
     protected String errorCode;
     protected String className;
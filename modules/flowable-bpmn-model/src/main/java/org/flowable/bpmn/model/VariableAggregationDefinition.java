@@ -12,6 +12,7 @@
  */
 package org.flowable.bpmn.model;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -19,7 +20,7 @@ import java.util.List;
  * @author Joram Barrez
  * @author Filip Hrisafov
  */
-public class VariableAggregationDefinition {
+public class VariableAggregationDefinition implements Serializable {
 
     protected String implementationType;
     protected String implementation;
@@ -120,7 +121,7 @@ public class VariableAggregationDefinition {
         setCreateOverviewVariable(otherVariableDefinitionAggregation.isCreateOverviewVariable());
     }
 
-    public static class Variable {
+    public static class Variable implements Serializable {
 
         protected String source;
         protected String target;
@@ -12,6 +12,7 @@
  */
 package org.flowable.bpmn.model;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.stream.Collectors;
@@ -19,7 +20,7 @@ import java.util.stream.Collectors;
 /**
  * @author Filip Hrisafov
  */
-public class VariableAggregationDefinitions {
+public class VariableAggregationDefinitions implements Serializable {
 
     protected Collection<VariableAggregationDefinition> aggregations = new ArrayList<>();
 
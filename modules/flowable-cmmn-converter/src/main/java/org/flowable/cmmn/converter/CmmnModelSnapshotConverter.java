@@ -0,0 +1,197 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.cmmn.converter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.flowable.cmmn.converter.exception.XMLException;
+import org.flowable.cmmn.model.CmmnModel;
+
+/**
+ * Converts a {@link CmmnModel} to and from a binary snapshot, which can be stored next to the CMMN XML
+ * and read back without parsing the XML again.
+ *
+ * <p>
+ * A snapshot is only valid for the exact version it was written with: when the version given to this converter
+ * differs from the version in the snapshot, {@link #convertToCmmnModel(byte[])} returns null and the caller
+ * is expected to fall back to the XML. This is also why only the class name and serial version uid are written
+ * for the class descriptors of the serialized model classes: the classes reading the snapshot are the ones that wrote it
+ * (a change to a model class within the same version changes its computed serial version uid).
+ * Contrary to the BPMN model snapshots, the links between the elements (e.g. the entry and exit dependencies of the plan items)
+ * are part of the snapshot: restoring them is not idempotent.
+ */
+public class CmmnModelSnapshotConverter {
+
+    public static final String SNAPSHOT_RESOURCE_SUFFIX = ".snapshot";
+
+    protected static final int SNAPSHOT_MAGIC = 0x464c434d; // FLCM
+    protected static final int SNAPSHOT_FORMAT_VERSION = 1;
+
+    protected static final ObjectInputFilter MODEL_CLASS_FILTER = ObjectInputFilter.Config.createFilter(
+            "org.flowable.cmmn.model.*;java.lang.*;java.util.*;com.fasterxml.jackson.databind.node.*;!*");
+
+    protected static final Map<String, ObjectStreamClass> CLASS_DESCRIPTORS = new ConcurrentHashMap<>();
+
+    protected String version;
+
+    /**
+     * @param version
+     *     the version the snapshots are written with and which is expected when reading snapshots, typically the engine version
+     */
+    public CmmnModelSnapshotConverter(String version) {
+        this.version = Objects.requireNonNull(version, "version is null");
+    }
+
+    public byte[] convertToSnapshot(CmmnModel model) {
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(8192);
+            DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+            dataOutputStream.writeInt(SNAPSHOT_MAGIC);
+            dataOutputStream.writeInt(SNAPSHOT_FORMAT_VERSION);
+            dataOutputStream.writeUTF(version);
+
+            ObjectOutputStream objectOutputStream = new SnapshotObjectOutputStream(dataOutputStream);
+            objectOutputStream.writeObject(model);
+            objectOutputStream.flush();
+            return outputStream.toByteArray();
+
+        } catch (IOException e) {
+            throw new XMLException("Error writing snapshot of CMMN model", e);
+        } catch (StackOverflowError e) {
+            // Serialization follows the links between the plan items recursively
+            throw new XMLException("CMMN model is too deeply linked to write a snapshot of it", e);
+        }
+    }
+
+    /**
+     * @return the model stored in the snapshot, or null when the snapshot was written with another version or format
+     */
+    public CmmnModel convertToCmmnModel(byte[] snapshot) {
+        try {
+            SnapshotInputStream inputStream = new SnapshotInputStream(snapshot);
+            DataInputStream dataInputStream = new DataInputStream(inputStream);
+            if (snapshot.length < 8 || dataInputStream.readInt() != SNAPSHOT_MAGIC
+                    || dataInputStream.readInt() != SNAPSHOT_FORMAT_VERSION
+                    || !version.equals(dataInputStream.readUTF())) {
+                return null;
+            }
+
+            // Not reading through the data input stream, every read on it goes through an additional layer
+            ObjectInputStream objectInputStream = new SnapshotObjectInputStream(inputStream);
+            objectInputStream.setObjectInputFilter(MODEL_CLASS_FILTER);
+            return (CmmnModel) objectInputStream.readObject();
+
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            throw new XMLException("Error reading snapshot of CMMN model", e);
+        } catch (StackOverflowError e) {
+            throw new XMLException("CMMN model is too deeply linked to read the snapshot of it", e);
+        }
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    protected static class SnapshotObjectOutputStream extends ObjectOutputStream {
+
+        public SnapshotObjectOutputStream(OutputStream outputStream) throws IOException {
+            super(outputStream);
+        }
+
+        @Override
+        protected void writeClassDescriptor(ObjectStreamClass classDescriptor) throws IOException {
+            writeUTF(classDescriptor.getName());
+            writeLong(classDescriptor.getSerialVersionUID());
+        }
+    }
+
+    protected static class SnapshotObjectInputStream extends ObjectInputStream {
+
+        public SnapshotObjectInputStream(InputStream inputStream) throws IOException {
+            super(inputStream);
+        }
+
+        @Override
+        protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+            String className = readUTF();
+            long serialVersionUid = readLong();
+            ObjectStreamClass classDescriptor = CLASS_DESCRIPTORS.get(className);
+            if (classDescriptor == null) {
+                // Only loading the class here, the object input filter is applied on it before anything gets instantiated
+                Class<?> modelClass = Class.forName(className, false, CmmnModelSnapshotConverter.class.getClassLoader());
+                classDescriptor = ObjectStreamClass.lookupAny(modelClass);
+                CLASS_DESCRIPTORS.put(className, classDescriptor);
+            }
+            if (classDescriptor.getSerialVersionUID() != serialVersionUid) {
+                throw new InvalidClassException(className, "class has changed since the snapshot was written");
+            }
+            return classDescriptor;
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass classDescriptor) {
+            return classDescriptor.forClass();
+        }
+    }
+
+    /**
+     * Unsynchronized variant of {@link java.io.ByteArrayInputStream}: the object input stream reads most of the snapshot byte per byte.
+     */
+    protected static class SnapshotInputStream extends InputStream {
+
+        protected final byte[] bytes;
+        protected int position;
+
+        public SnapshotInputStream(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int read() {
+            return position < bytes.length ? bytes[position++] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            int available = bytes.length - position;
+            if (available <= 0) {
+                return -1;
+            }
+            int bytesToRead = Math.min(length, available);
+            System.arraycopy(bytes, position, buffer, offset, bytesToRead);
+            position += bytesToRead;
+            return bytesToRead;
+        }
+
+        @Override
+        public int available() {
+            return bytes.length - position;
+        }
+    }
+}
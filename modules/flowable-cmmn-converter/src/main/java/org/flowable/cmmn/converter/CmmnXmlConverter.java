@@ -19,6 +19,7 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.UnsupportedEncodingException;
+import java.net.URL;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -39,7 +40,6 @@ import javax.xml.transform.stax.StAXSource;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
-import javax.xml.validation.Validator;
 
 import org.apache.commons.lang3.StringUtils;
 import org.flowable.cmmn.converter.exception.XMLException;
@@ -76,6 +76,7 @@ import org.flowable.cmmn.model.TextAnnotation;
 import org.flowable.cmmn.model.TimerEventListener;
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.io.InputStreamProvider;
+import org.flowable.common.engine.impl.xml.PooledXmlSchema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xml.sax.SAXException;
@@ -241,17 +242,20 @@ public class CmmnXmlConverter implements CmmnXmlConstants {
     }
 
     public void validateModel(InputStreamProvider inputStreamProvider) throws Exception {
-        Schema schema = createSchema();
-
-        Validator validator = schema.newValidator();
-        validator.validate(new StreamSource(inputStreamProvider.getInputStream()));
+        getSchema().validate(new StreamSource(inputStreamProvider.getInputStream()));
     }
 
     public void validateModel(XMLStreamReader xmlStreamReader) throws Exception {
-        Schema schema = createSchema();
+        getSchema().validate(new StAXSource(xmlStreamReader));
+    }
 
-        Validator validator = schema.newValidator();
-        validator.validate(new StAXSource(xmlStreamReader));
+    /**
+     * Returns the CMMN XSD created by {@link #createSchema()}, which is only compiled once and shared by all converters of the same class and class loader.
+     */
+    protected PooledXmlSchema getSchema() throws SAXException {
+        URL xsdLocation = classloader != null ? classloader.getResource(XSD_LOCATION) : null;
+        String schemaKey = xsdLocation != null ? getClass().getName() + '|' + xsdLocation.toExternalForm() : getClass().getName();
+        return PooledXmlSchema.forKey(schemaKey, this::createSchema);
     }
 
     protected Schema createSchema() throws SAXException {
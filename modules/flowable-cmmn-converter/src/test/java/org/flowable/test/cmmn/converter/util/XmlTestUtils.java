@@ -15,6 +15,7 @@ package org.flowable.test.cmmn.converter.util;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 
+import org.flowable.cmmn.converter.CmmnModelSnapshotConverter;
 import org.flowable.cmmn.converter.CmmnXmlConverter;
 import org.flowable.cmmn.model.CmmnModel;
 import org.flowable.common.engine.api.io.InputStreamProvider;
@@ -35,6 +36,12 @@ public class XmlTestUtils {
         return new CmmnXmlConverter().convertToCmmnModel(new InputStreamSource(new ByteArrayInputStream(xml)), true, false, "UTF-8");
     }
 
+    public static CmmnModel readXmlSnapshotAndReadAgain(String resource) {
+        CmmnModel model = readXMLFile(resource);
+        CmmnModelSnapshotConverter snapshotConverter = new CmmnModelSnapshotConverter("test");
+        return snapshotConverter.convertToCmmnModel(snapshotConverter.convertToSnapshot(model));
+    }
+
     public static CmmnModel readXMLFile(String resource) {
         return new CmmnXmlConverter().convertToCmmnModel(new ClasspathStreamResource(resource), true, false);
     }
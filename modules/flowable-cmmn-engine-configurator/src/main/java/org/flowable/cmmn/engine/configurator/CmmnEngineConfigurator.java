@@ -117,6 +117,11 @@ public class CmmnEngineConfigurator extends AbstractEngineConfigurator {
         initCaseInstanceService(processEngineConfiguration);
         
         cmmnEngineConfiguration.setEnableTaskRelationshipCounts(processEngineConfiguration.getPerformanceSettings().isEnableTaskRelationshipCounts());
+
+        // External workers can acquire both bpmn and cmmn jobs, so they need to be notified of the jobs created by either engine
+        if (cmmnEngineConfiguration.getExternalWorkerJobsAvailableNotifier() == null) {
+            cmmnEngineConfiguration.setExternalWorkerJobsAvailableNotifier(processEngineConfiguration.getExternalWorkerJobsAvailableNotifier());
+        }
         
         if (processEngineConfiguration.isAsyncHistoryEnabled()) {
             AsyncExecutor asyncHistoryExecutor = processEngineConfiguration.getAsyncHistoryExecutor();
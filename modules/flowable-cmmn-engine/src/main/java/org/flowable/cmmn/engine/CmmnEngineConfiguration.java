@@ -216,6 +216,7 @@ import org.flowable.common.engine.impl.ServiceConfigurator;
 import org.flowable.common.engine.impl.async.AsyncTaskExecutorConfiguration;
 import org.flowable.common.engine.impl.async.DefaultAsyncTaskExecutor;
 import org.flowable.common.engine.impl.async.DefaultAsyncTaskInvoker;
+import org.flowable.common.engine.impl.async.VirtualThreadAsyncTaskExecutor;
 import org.flowable.common.engine.impl.calendar.BusinessCalendarManager;
 import org.flowable.common.engine.impl.calendar.CycleBusinessCalendar;
 import org.flowable.common.engine.impl.calendar.DueDateBusinessCalendar;
@@ -229,6 +230,7 @@ import org.flowable.common.engine.impl.db.AbstractDataManager;
 import org.flowable.common.engine.impl.db.SchemaManager;
 import org.flowable.common.engine.impl.el.ExpressionManager;
 import org.flowable.common.engine.impl.el.FlowableAstFunctionCreator;
+import org.flowable.common.engine.impl.el.compiler.ExpressionCompiler;
 import org.flowable.common.engine.impl.el.function.VariableBase64ExpressionFunction;
 import org.flowable.common.engine.impl.el.function.VariableContainsAnyExpressionFunction;
 import org.flowable.common.engine.impl.el.function.VariableContainsExpressionFunction;
@@ -248,7 +250,6 @@ import org.flowable.common.engine.impl.interceptor.Command;
 import org.flowable.common.engine.impl.interceptor.CommandInterceptor;
 import org.flowable.common.engine.impl.interceptor.EngineConfigurationConstants;
 import org.flowable.common.engine.impl.javax.el.ELResolver;
-import org.flowable.common.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
 import org.flowable.common.engine.impl.persistence.entity.TableDataManager;
 import org.flowable.common.engine.impl.scripting.BeansResolverFactory;
@@ -277,8 +278,11 @@ import org.flowable.job.service.InternalJobManager;
 import org.flowable.job.service.InternalJobParentStateResolver;
 import org.flowable.job.service.JobHandler;
 import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.ExternalWorkerJobsAvailableNotifier;
+import org.flowable.job.service.impl.InMemoryExternalWorkerJobsAvailableNotifier;
 import org.flowable.job.service.impl.asyncexecutor.AsyncExecutor;
 import org.flowable.job.service.impl.asyncexecutor.AsyncJobExecutorConfiguration;
+import org.flowable.job.service.impl.asyncexecutor.AsyncJobsAvailableNotifier;
 import org.flowable.job.service.impl.asyncexecutor.AsyncRunnableExecutionExceptionHandler;
 import org.flowable.job.service.impl.asyncexecutor.DefaultAsyncHistoryJobExecutor;
 import org.flowable.job.service.impl.asyncexecutor.DefaultAsyncJobExecutor;
@@ -322,6 +326,7 @@ import org.flowable.variable.service.impl.types.SerializableType;
 import org.flowable.variable.service.impl.types.ShortType;
 import org.flowable.variable.service.impl.types.StringType;
 import org.flowable.variable.service.impl.types.UUIDType;
+import org.flowable.variable.service.impl.types.VariableBytesCodec;
 
 public class CmmnEngineConfiguration extends AbstractEngineConfiguration implements CmmnEngineConfigurationApi,
         ScriptingEngineAwareEngineConfiguration, HasExpressionManagerEngineConfiguration, HasVariableTypes, 
@@ -396,6 +401,14 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
 
     protected boolean enableSafeCmmnXml;
     protected boolean disableCmmnXmlValidation;
+
+    /**
+     * Set this to true to store a binary snapshot of the parsed CMMN model next to every CMMN resource of new deployments
+     * (as a generated resource with the name of the CMMN resource suffixed with '.snapshot').
+     * When the case definition cache needs to be filled, the model is then read from the snapshot instead of parsing and validating the XML again.
+     * Snapshots are only used by the engine version that wrote them, other versions parse the XML.
+     */
+    protected boolean enableModelSnapshots;
     protected CmmnActivityBehaviorFactory activityBehaviorFactory;
     protected CmmnClassDelegateFactory classDelegateFactory;
     protected CmmnDeployer cmmnDeployer;
@@ -428,6 +441,7 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
     protected boolean isExpressionCacheEnabled = true;
     protected int expressionCacheSize = 4096;
     protected int expressionTextLengthCacheLimit = -1; // negative value to have no max length
+    protected boolean isExpressionCompilationEnabled;
 
     // Scripting support
     protected ScriptingEngines scriptingEngines;
@@ -503,6 +517,13 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
      */
     protected boolean jsonVariableTypeTrackObjects = true;
 
+    /**
+     * The codec used by the 'json', 'longString' and 'serializable' variable types to encode their values stored as bytes,
+     * e.g. a {@link org.flowable.variable.service.impl.types.GzipVariableBytesCodec} to compress large variables.
+     * By default, the bytes are stored as they are. Values compressed with gzip (e.g. before the codec was removed) are still read.
+     */
+    protected VariableBytesCodec variableBytesCodec;
+
     protected List<CaseInstanceMigrationCallback> caseInstanceMigrationCallbacks;
 
     // Set Http Client config defaults
@@ -537,6 +558,18 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
     protected FailedJobCommandFactory failedJobCommandFactory;
     protected InternalJobParentStateResolver internalJobParentStateResolver;
     protected List<String> enabledJobCategories;
+
+    /**
+     * Notifies the async executors (of this and optionally other nodes) that new async jobs are available,
+     * which wakes up the async job acquisition instead of waiting for the next poll. Default null (only polling).
+     */
+    protected AsyncJobsAvailableNotifier asyncJobsAvailableNotifier;
+
+    /**
+     * Notifies the external workers waiting for jobs (on this and optionally other nodes) that new external worker jobs are available.
+     * Default an {@link InMemoryExternalWorkerJobsAvailableNotifier}, which only notifies the workers waiting on this node.
+     */
+    protected ExternalWorkerJobsAvailableNotifier externalWorkerJobsAvailableNotifier;
     protected String jobExecutionScope = JobServiceConfiguration.JOB_EXECUTION_SCOPE_CMMN;
     protected String historyJobExecutionScope = JobServiceConfiguration.JOB_EXECUTION_SCOPE_CMMN;
     
@@ -649,6 +682,27 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
      */
     protected Duration eventRegistryUniqueCaseInstanceStartLockTime = Duration.ofMinutes(10);
 
+    /**
+     * Whether a node-local index of the event subscriptions is used to skip the event subscription query
+     * for events of the event registry that can't match any subscription.
+     * <p>
+     * The index has no cross-node invalidation: an event for a subscription created on another node is not correlated
+     * until the refresh interval has passed. Hence, it is meant for a single engine node and can't be enabled together with the async executor,
+     * which is what runs the jobs of an engine node in a cluster.
+     */
+    protected boolean eventSubscriptionIndexEnabled;
+
+    /**
+     * The interval after which the indexed event subscriptions of an event type are reloaded from the database.
+     */
+    protected Duration eventSubscriptionIndexRefreshInterval = Duration.ofSeconds(30);
+
+    /**
+     * Whether a {@link org.flowable.cmmn.engine.impl.criteria.SentryDependencyGraph} is built for every deployed case definition.
+     * The criteria evaluation uses it to skip the sentries that can't be satisfied by the plan item transition that triggered the evaluation.
+     */
+    protected boolean sentryDependencyGraphEnabled = true;
+
     protected BusinessCalendarManager businessCalendarManager;
 
     /**
@@ -946,9 +1000,13 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
             }
             
             if (isExpressionCacheEnabled) {
-                cmmnExpressionManager.setExpressionCache(new DefaultDeploymentCache<>(expressionCacheSize));
+                cmmnExpressionManager.setExpressionCache(createExpressionCache(expressionCacheSize));
                 cmmnExpressionManager.setExpressionTextLengthCacheLimit(expressionTextLengthCacheLimit);
             }
+
+            if (isExpressionCompilationEnabled) {
+                cmmnExpressionManager.setExpressionCompiler(new ExpressionCompiler());
+            }
             
             expressionManager = cmmnExpressionManager;
         }
@@ -1163,11 +1221,7 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
 
     protected void initCaseDefinitionCache() {
         if (caseDefinitionCache == null) {
-            if (caseDefinitionCacheLimit <= 0) {
-                caseDefinitionCache = new DefaultDeploymentCache<>();
-            } else {
-                caseDefinitionCache = new DefaultDeploymentCache<>(caseDefinitionCacheLimit);
-            }
+            caseDefinitionCache = createDeploymentCache(caseDefinitionCacheLimit);
         }
     }
 
@@ -1441,7 +1495,9 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
             }
             variableTypes.addType(new NullType());
             variableTypes.addType(new StringType(getMaxLengthString()));
-            variableTypes.addType(new LongStringType(getMaxLengthString() + 1));
+            LongStringType longStringType = new LongStringType(getMaxLengthString() + 1);
+            longStringType.setBytesCodec(variableBytesCodec);
+            variableTypes.addType(longStringType);
             variableTypes.addType(new BooleanType());
             variableTypes.addType(new ShortType());
             variableTypes.addType(new IntegerType());
@@ -1454,13 +1510,19 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
             variableTypes.addType(new JodaDateTimeType());
             variableTypes.addType(new DoubleType());
             variableTypes.addType(new UUIDType());
-            variableTypes.addType(new JsonType(getMaxLengthString(), objectMapper, jsonVariableTypeTrackObjects));
+            JsonType jsonType = new JsonType(getMaxLengthString(), objectMapper, jsonVariableTypeTrackObjects);
+            jsonType.setBytesCodec(variableBytesCodec);
+            variableTypes.addType(jsonType);
             // longJsonType only needed for reading purposes
-            variableTypes.addType(JsonType.longJsonType(getMaxLengthString(), objectMapper, jsonVariableTypeTrackObjects));
+            JsonType longJsonType = JsonType.longJsonType(getMaxLengthString(), objectMapper, jsonVariableTypeTrackObjects);
+            longJsonType.setBytesCodec(variableBytesCodec);
+            variableTypes.addType(longJsonType);
             variableTypes.addType(new CmmnAggregatedVariableType(this));
             variableTypes.addType(new ByteArrayType());
             variableTypes.addType(new EmptyCollectionType());
-            variableTypes.addType(new SerializableType(serializableVariableTypeTrackDeserializedObjects));
+            SerializableType serializableType = new SerializableType(serializableVariableTypeTrackDeserializedObjects);
+            serializableType.setBytesCodec(variableBytesCodec);
+            variableTypes.addType(serializableType);
 
         } else {
             if (customPreVariableTypes != null) {
@@ -1615,6 +1677,12 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         this.eventSubscriptionServiceConfiguration.setObjectMapper(this.objectMapper);
         this.eventSubscriptionServiceConfiguration.setEventDispatcher(this.eventDispatcher);
         this.eventSubscriptionServiceConfiguration.setEventSubscriptionLockTime(this.eventRegistryUniqueCaseInstanceStartLockTime);
+        if (this.eventSubscriptionIndexEnabled && this.asyncExecutorActivate) {
+            throw new FlowableException("The event subscription index can't be enabled when the async executor is activated: "
+                    + "the index is node-local and is not invalidated by event subscriptions created on other nodes");
+        }
+        this.eventSubscriptionServiceConfiguration.setEventSubscriptionIndexEnabled(this.eventSubscriptionIndexEnabled);
+        this.eventSubscriptionServiceConfiguration.setEventSubscriptionIndexRefreshInterval(this.eventSubscriptionIndexRefreshInterval);
         
         this.eventSubscriptionServiceConfiguration.init();
 
@@ -1730,6 +1798,13 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
                 this.jobServiceConfiguration.setEnabledJobCategories(enabledJobCategories);
             }
 
+            this.jobServiceConfiguration.setAsyncJobsAvailableNotifier(asyncJobsAvailableNotifier);
+
+            if (externalWorkerJobsAvailableNotifier == null) {
+                externalWorkerJobsAvailableNotifier = new InMemoryExternalWorkerJobsAvailableNotifier();
+            }
+            this.jobServiceConfiguration.setExternalWorkerJobsAvailableNotifier(externalWorkerJobsAvailableNotifier);
+
             this.jobServiceConfiguration.setConfigurators(jobServiceConfigurators);
         }
     }
@@ -1776,7 +1851,15 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
 
     protected void initAsyncTaskExecutor() {
         if (this.asyncTaskExecutor == null) {
-            DefaultAsyncTaskExecutor defaultAsyncTaskExecutor = new DefaultAsyncTaskExecutor(getOrCreateAsyncExecutorTaskExecutorConfiguration());
+            AsyncTaskExecutorConfiguration asyncExecutorTaskExecutorConfiguration = getOrCreateAsyncExecutorTaskExecutorConfiguration();
+            DefaultAsyncTaskExecutor defaultAsyncTaskExecutor;
+            if (asyncExecutorTaskExecutorConfiguration.isVirtualThreads()) {
+                defaultAsyncTaskExecutor = new VirtualThreadAsyncTaskExecutor(asyncExecutorTaskExecutorConfiguration);
+                // The virtual thread executor has no queue, so the acquisition should wait until jobs finish once all permits are used
+                asyncExecutorConfiguration.setWaitForRemainingCapacity(true);
+            } else {
+                defaultAsyncTaskExecutor = new DefaultAsyncTaskExecutor(asyncExecutorTaskExecutorConfiguration);
+            }
 
             // Threadpool queue
             if (asyncExecutorThreadPoolQueue != null) {
@@ -2363,6 +2446,15 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         this.disableCmmnXmlValidation = disableCmmnXmlValidation;
     }
 
+    public boolean isEnableModelSnapshots() {
+        return enableModelSnapshots;
+    }
+
+    public CmmnEngineConfiguration setEnableModelSnapshots(boolean enableModelSnapshots) {
+        this.enableModelSnapshots = enableModelSnapshots;
+        return this;
+    }
+
     public CmmnParser getCmmnParser() {
         return cmmnParser;
     }
@@ -2665,6 +2757,19 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public boolean isExpressionCompilationEnabled() {
+        return isExpressionCompilationEnabled;
+    }
+
+    /**
+     * Enables compiling the parsed expressions, which makes evaluating cached expressions cheaper.
+     * Mostly useful together with the expression cache.
+     */
+    public CmmnEngineConfiguration setExpressionCompilationEnabled(boolean isExpressionCompilationEnabled) {
+        this.isExpressionCompilationEnabled = isExpressionCompilationEnabled;
+        return this;
+    }
+
     public DelegateExpressionFieldInjectionMode getDelegateExpressionFieldInjectionMode() {
         return delegateExpressionFieldInjectionMode;
     }
@@ -2946,6 +3051,15 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public VariableBytesCodec getVariableBytesCodec() {
+        return variableBytesCodec;
+    }
+
+    public CmmnEngineConfiguration setVariableBytesCodec(VariableBytesCodec variableBytesCodec) {
+        this.variableBytesCodec = variableBytesCodec;
+        return this;
+    }
+
     public CaseDiagramGenerator getCaseDiagramGenerator() {
         return caseDiagramGenerator;
     }
@@ -3145,6 +3259,33 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public boolean isEventSubscriptionIndexEnabled() {
+        return eventSubscriptionIndexEnabled;
+    }
+
+    public CmmnEngineConfiguration setEventSubscriptionIndexEnabled(boolean eventSubscriptionIndexEnabled) {
+        this.eventSubscriptionIndexEnabled = eventSubscriptionIndexEnabled;
+        return this;
+    }
+
+    public Duration getEventSubscriptionIndexRefreshInterval() {
+        return eventSubscriptionIndexRefreshInterval;
+    }
+
+    public CmmnEngineConfiguration setEventSubscriptionIndexRefreshInterval(Duration eventSubscriptionIndexRefreshInterval) {
+        this.eventSubscriptionIndexRefreshInterval = eventSubscriptionIndexRefreshInterval;
+        return this;
+    }
+
+    public boolean isSentryDependencyGraphEnabled() {
+        return sentryDependencyGraphEnabled;
+    }
+
+    public CmmnEngineConfiguration setSentryDependencyGraphEnabled(boolean sentryDependencyGraphEnabled) {
+        this.sentryDependencyGraphEnabled = sentryDependencyGraphEnabled;
+        return this;
+    }
+
     public AsyncJobExecutorConfiguration getAsyncExecutorConfiguration() {
         return asyncExecutorConfiguration;
     }
@@ -3297,6 +3438,29 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public boolean isAsyncExecutorVirtualThreads() {
+        return getOrCreateAsyncExecutorTaskExecutorConfiguration().isVirtualThreads();
+    }
+
+    /**
+     * Sets whether the async jobs are executed on virtual threads instead of on a thread pool.
+     * The number of concurrently executed jobs is then limited by {@link #setAsyncExecutorMaxConcurrency(int)}.
+     * Only used when no custom async task executor is set.
+     */
+    public CmmnEngineConfiguration setAsyncExecutorVirtualThreads(boolean asyncExecutorVirtualThreads) {
+        getOrCreateAsyncExecutorTaskExecutorConfiguration().setVirtualThreads(asyncExecutorVirtualThreads);
+        return this;
+    }
+
+    public int getAsyncExecutorMaxConcurrency() {
+        return getOrCreateAsyncExecutorTaskExecutorConfiguration().getMaxConcurrency();
+    }
+
+    public CmmnEngineConfiguration setAsyncExecutorMaxConcurrency(int asyncExecutorMaxConcurrency) {
+        getOrCreateAsyncExecutorTaskExecutorConfiguration().setMaxConcurrency(asyncExecutorMaxConcurrency);
+        return this;
+    }
+
     public int getAsyncExecutorThreadPoolQueueSize() {
         return getOrCreateAsyncExecutorTaskExecutorConfiguration().getQueueSize();
     }
@@ -3957,6 +4121,24 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
     
+    public AsyncJobsAvailableNotifier getAsyncJobsAvailableNotifier() {
+        return asyncJobsAvailableNotifier;
+    }
+
+    public CmmnEngineConfiguration setAsyncJobsAvailableNotifier(AsyncJobsAvailableNotifier asyncJobsAvailableNotifier) {
+        this.asyncJobsAvailableNotifier = asyncJobsAvailableNotifier;
+        return this;
+    }
+
+    public ExternalWorkerJobsAvailableNotifier getExternalWorkerJobsAvailableNotifier() {
+        return externalWorkerJobsAvailableNotifier;
+    }
+
+    public CmmnEngineConfiguration setExternalWorkerJobsAvailableNotifier(ExternalWorkerJobsAvailableNotifier externalWorkerJobsAvailableNotifier) {
+        this.externalWorkerJobsAvailableNotifier = externalWorkerJobsAvailableNotifier;
+        return this;
+    }
+
     public CmmnEngineConfiguration addEnabledJobCategory(String jobCategory) {
         if (enabledJobCategories == null) {
             enabledJobCategories = new ArrayList<>();
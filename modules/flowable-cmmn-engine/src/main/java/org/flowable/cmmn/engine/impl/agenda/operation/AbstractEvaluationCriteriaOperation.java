@@ -28,6 +28,7 @@ import org.flowable.cmmn.converter.util.PlanItemUtil;
 import org.flowable.cmmn.engine.CmmnEngineConfiguration;
 import org.flowable.cmmn.engine.impl.agenda.PlanItemEvaluationResult;
 import org.flowable.cmmn.engine.impl.criteria.PlanItemLifeCycleEvent;
+import org.flowable.cmmn.engine.impl.criteria.SentryDependencyGraph;
 import org.flowable.cmmn.engine.impl.persistence.entity.CaseInstanceEntity;
 import org.flowable.cmmn.engine.impl.persistence.entity.CountingPlanItemInstanceEntity;
 import org.flowable.cmmn.engine.impl.persistence.entity.EntityWithSentryPartInstances;
@@ -73,6 +74,10 @@ public abstract class AbstractEvaluationCriteriaOperation extends AbstractCaseIn
     /** only the last evaluation planned on the agenda operation will have this true. */
     protected boolean evaluateStagesAndCaseInstanceCompletion;
 
+    // the sentry dependency graph of the last evaluated case definition
+    protected String sentryDependencyGraphCaseDefinitionId;
+    protected SentryDependencyGraph cachedSentryDependencyGraph;
+
     public AbstractEvaluationCriteriaOperation(CommandContext commandContext, String caseInstanceId, CaseInstanceEntity caseInstanceEntity, PlanItemLifeCycleEvent planItemLifeCycleEvent) {
         super(commandContext, caseInstanceId, caseInstanceEntity);
         this.planItemLifeCycleEvent = planItemLifeCycleEvent;
@@ -258,11 +263,18 @@ public abstract class AbstractEvaluationCriteriaOperation extends AbstractCaseIn
         // The plan items that have not yet been created but have an entry sentry that crosses the outer stage border
         // are evaluated to see if they need to become available(see table 8.7 in the CMMN 1.1 spec).
 
-        List<PlanItem> entryDependentPlanItems = planItemLifeCycleEvent.getPlanItem().getEntryDependentPlanItems();
+        // The sentry dependency graph has precomputed the entry dependent plan items with a sentry crossing the outer stage border for the transition
+        SentryDependencyGraph sentryDependencyGraph = getSentryDependencyGraph(planItemLifeCycleEvent.getPlanItemInstanceEntity().getCaseDefinitionId());
+        List<PlanItem> crossStageEntryDependentPlanItems = sentryDependencyGraph != null
+            ? sentryDependencyGraph.getCrossStageEntryDependentPlanItems(planItemLifeCycleEvent.getPlanItem(), planItemLifeCycleEvent.getTransition())
+            : null;
+        List<PlanItem> entryDependentPlanItems = crossStageEntryDependentPlanItems != null
+            ? crossStageEntryDependentPlanItems
+            : planItemLifeCycleEvent.getPlanItem().getEntryDependentPlanItems();
         for (PlanItem entryDependentPlanItem : entryDependentPlanItems) {
             // Only needed for sentries that cross the outer stage border
-            if (!planItemsShareDirectParentStage(entryDependentPlanItem, planItemLifeCycleEvent.getPlanItem())
-                && CriterionUtil.planItemHasOneEntryCriterionDependingOnPlanItem(entryDependentPlanItem, planItemLifeCycleEvent.getPlanItem(), planItemLifeCycleEvent.getTransition())) {
+            if (crossStageEntryDependentPlanItems != null || (!planItemsShareDirectParentStage(entryDependentPlanItem, planItemLifeCycleEvent.getPlanItem())
+                && CriterionUtil.planItemHasOneEntryCriterionDependingOnPlanItem(entryDependentPlanItem, planItemLifeCycleEvent.getPlanItem(), planItemLifeCycleEvent.getTransition()))) {
 
                 PlanItemInstanceEntityManager planItemInstanceEntityManager = CommandContextUtil.getPlanItemInstanceEntityManager(commandContext);
                 List<PlanItemInstanceEntity> childPlanItemInstances = CaseInstanceUtil.findChildPlanItemInstances(caseInstanceEntity, entryDependentPlanItem);
@@ -428,7 +440,7 @@ public abstract class AbstractEvaluationCriteriaOperation extends AbstractCaseIn
     protected Criterion evaluateEntryCriteria(PlanItemInstanceEntity planItemInstanceEntity, PlanItem planItem) {
         if (planItem != null) {
             List<Criterion> criteria = planItem.getEntryCriteria();
-            if (criteria != null && !criteria.isEmpty()) {
+            if (criteria != null && !criteria.isEmpty() && canSatisfyEntryCriteria(planItemInstanceEntity, planItem)) {
                 return evaluateCriteria(planItemInstanceEntity, criteria);
             }
         }
@@ -439,13 +451,45 @@ public abstract class AbstractEvaluationCriteriaOperation extends AbstractCaseIn
     protected Criterion evaluateExitCriteria(EntityWithSentryPartInstances entityWithSentryPartInstances, HasExitCriteria hasExitCriteria) {
         if (hasExitCriteria != null) {
             List<Criterion> criteria = hasExitCriteria.getExitCriteria();
-            if (criteria != null && !criteria.isEmpty()) {
+            if (criteria != null && !criteria.isEmpty() && canSatisfyExitCriteria(entityWithSentryPartInstances, hasExitCriteria)) {
                 return evaluateCriteria(entityWithSentryPartInstances, criteria);
             }
         }
         return null;
     }
 
+    /**
+     * Uses the sentry dependency graph of the case definition to check whether the current plan item life cycle event can satisfy
+     * one of the entry criteria of the plan item. If not, evaluating the criteria would not have any effect.
+     */
+    protected boolean canSatisfyEntryCriteria(PlanItemInstanceEntity planItemInstanceEntity, PlanItem planItem) {
+        SentryDependencyGraph sentryDependencyGraph = getSentryDependencyGraph(planItemInstanceEntity.getCaseDefinitionId());
+        return sentryDependencyGraph == null || sentryDependencyGraph.canSatisfyEntryCriteria(planItem, planItemLifeCycleEvent);
+    }
+
+    protected boolean canSatisfyExitCriteria(EntityWithSentryPartInstances entityWithSentryPartInstances, HasExitCriteria hasExitCriteria) {
+        if (entityWithSentryPartInstances instanceof PlanItemInstanceEntity && hasExitCriteria instanceof PlanItem) {
+            SentryDependencyGraph sentryDependencyGraph = getSentryDependencyGraph(((PlanItemInstanceEntity) entityWithSentryPartInstances).getCaseDefinitionId());
+            return sentryDependencyGraph == null || sentryDependencyGraph.canSatisfyExitCriteria((PlanItem) hasExitCriteria, planItemLifeCycleEvent);
+
+        } else if (entityWithSentryPartInstances instanceof CaseInstanceEntity && hasExitCriteria instanceof Stage && ((Stage) hasExitCriteria).isPlanModel()) {
+            SentryDependencyGraph sentryDependencyGraph = getSentryDependencyGraph(((CaseInstanceEntity) entityWithSentryPartInstances).getCaseDefinitionId());
+            return sentryDependencyGraph == null || sentryDependencyGraph.canSatisfyPlanModelExitCriteria((Stage) hasExitCriteria, planItemLifeCycleEvent);
+        }
+        return true;
+    }
+
+    protected SentryDependencyGraph getSentryDependencyGraph(String caseDefinitionId) {
+        if (caseDefinitionId == null) {
+            return null;
+        }
+        if (!caseDefinitionId.equals(sentryDependencyGraphCaseDefinitionId)) {
+            cachedSentryDependencyGraph = CaseDefinitionUtil.getSentryDependencyGraph(caseDefinitionId);
+            sentryDependencyGraphCaseDefinitionId = caseDefinitionId;
+        }
+        return cachedSentryDependencyGraph;
+    }
+
     /**
      * @return Returns the criterion that is satisfied. If none is satisfied, null is returned.
      */
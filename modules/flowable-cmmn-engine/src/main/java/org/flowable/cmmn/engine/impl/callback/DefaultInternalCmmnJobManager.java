@@ -12,9 +12,17 @@
  */
 package org.flowable.cmmn.engine.impl.callback;
 
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.flowable.cmmn.api.runtime.PlanItemInstance;
 import org.flowable.cmmn.api.runtime.PlanItemInstanceState;
@@ -25,6 +33,7 @@ import org.flowable.cmmn.engine.impl.util.CmmnLoggingSessionUtil;
 import org.flowable.cmmn.engine.impl.util.CommandContextUtil;
 import org.flowable.cmmn.model.PlanItem;
 import org.flowable.cmmn.model.TimerEventListener;
+import org.flowable.common.engine.api.scope.ScopeTypes;
 import org.flowable.common.engine.impl.context.Context;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.common.engine.impl.logging.CmmnLoggingSessionConstants;
@@ -34,6 +43,7 @@ import org.flowable.job.service.impl.persistence.entity.JobEntity;
 import org.flowable.job.service.impl.persistence.entity.JobInfoEntity;
 import org.flowable.job.service.impl.persistence.entity.TimerJobEntity;
 import org.flowable.variable.api.delegate.VariableScope;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
 
 /**
  * @author Joram Barrez
@@ -54,6 +64,58 @@ public class DefaultInternalCmmnJobManager extends ScopeAwareInternalJobManager
         return null;
     }
 
+    @Override
+    protected Map<String, Map<String, Object>> resolveVariablesInternal(Collection<? extends Job> jobs, Collection<String> variableNames) {
+        // The variable scopes of every job, from the case instance to the job plan item instance.
+        // Case instance variables have no sub scope id, so they are stored with the case instance id
+        Map<String, List<String>> scopeIdsByJobId = new HashMap<>();
+        Set<String> caseInstanceIds = new HashSet<>();
+        for (Job job : jobs) {
+            if (job.getSubScopeId() != null) {
+                List<String> jobScopeIds = new ArrayList<>();
+                PlanItemInstanceEntity planItemInstance = cmmnEngineConfiguration.getPlanItemInstanceEntityManager().findById(job.getSubScopeId());
+                while (planItemInstance != null) {
+                    jobScopeIds.add(0, planItemInstance.getId());
+                    planItemInstance = planItemInstance.getStagePlanItemInstanceEntity();
+                }
+                jobScopeIds.add(0, job.getScopeId());
+                scopeIdsByJobId.put(job.getId(), jobScopeIds);
+                caseInstanceIds.add(job.getScopeId());
+            }
+        }
+
+        if (caseInstanceIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<VariableInstanceEntity> variableInstances = cmmnEngineConfiguration.getVariableServiceConfiguration().getVariableService()
+                .createInternalVariableInstanceQuery()
+                .scopeIds(caseInstanceIds)
+                .scopeType(ScopeTypes.CMMN)
+                .withoutTaskId()
+                .names(variableNames)
+                .list();
+
+        Map<String, List<VariableInstanceEntity>> variableInstancesByScopeId = new HashMap<>();
+        for (VariableInstanceEntity variableInstance : variableInstances) {
+            String scopeId = variableInstance.getSubScopeId() != null ? variableInstance.getSubScopeId() : variableInstance.getScopeId();
+            variableInstancesByScopeId.computeIfAbsent(scopeId, key -> new ArrayList<>()).add(variableInstance);
+        }
+
+        Map<String, Map<String, Object>> variablesByJobId = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : scopeIdsByJobId.entrySet()) {
+            // Local variables override the variables of the parent stages and the case instance
+            Map<String, Object> variables = new HashMap<>();
+            for (String scopeId : entry.getValue()) {
+                for (VariableInstanceEntity variableInstance : variableInstancesByScopeId.getOrDefault(scopeId, Collections.emptyList())) {
+                    variables.put(variableInstance.getName(), variableInstance.getValue());
+                }
+            }
+            variablesByJobId.put(entry.getKey(), variables);
+        }
+        return variablesByJobId;
+    }
+
     @Override
     protected boolean handleJobInsertInternal(Job job) {
         // Currently, nothing extra needed (but counting relationships can be added later here).
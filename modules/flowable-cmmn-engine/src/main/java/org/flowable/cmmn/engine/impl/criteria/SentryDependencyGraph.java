@@ -0,0 +1,188 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.cmmn.engine.impl.criteria;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.flowable.cmmn.model.Case;
+import org.flowable.cmmn.model.Criterion;
+import org.flowable.cmmn.model.PlanFragment;
+import org.flowable.cmmn.model.PlanItem;
+import org.flowable.cmmn.model.Sentry;
+import org.flowable.cmmn.model.SentryOnPart;
+import org.flowable.cmmn.model.Stage;
+
+/**
+ * The dependencies between the plan item transitions and the sentries of a case model, built once when the case definition is deployed (or put in the cache).
+ *
+ * <p>
+ * Criteria of which the sentry has exactly one on part and no if part can only be satisfied by a plan item life cycle event matching that on part:
+ * they don't depend on previously satisfied sentry parts or on variables. For such criteria, the graph knows up front which transitions can satisfy them,
+ * which means the criteria evaluation can skip them for all other life cycle events.
+ * All other criteria (multiple on parts, an if part, ...) can be satisfied at any evaluation and always need to be evaluated.
+ *
+ * <p>
+ * The graph also holds the plan items with an entry criterion that crosses the stage border of the plan item a transition happens for,
+ * as those need to be evaluated even though no plan item instance exists for them yet.
+ *
+ * <p>
+ * The plan items are looked up by identity: plan items of another case model (e.g. injected from a derived case definition) are unknown to the graph
+ * and are always evaluated.
+ */
+public class SentryDependencyGraph {
+
+    protected final Map<PlanItem, CriteriaDependencies> entryCriteriaDependencies = new IdentityHashMap<>();
+    protected final Map<PlanItem, CriteriaDependencies> exitCriteriaDependencies = new IdentityHashMap<>();
+    protected Stage planModel;
+    protected CriteriaDependencies planModelExitCriteriaDependencies;
+    protected final Map<PlanItem, Map<String, List<PlanItem>>> crossStageEntryDependentPlanItems = new IdentityHashMap<>();
+
+    public static SentryDependencyGraph build(Case caze) {
+        SentryDependencyGraph sentryDependencyGraph = new SentryDependencyGraph();
+        Stage planModel = caze.getPlanModel();
+        sentryDependencyGraph.planModel = planModel;
+        sentryDependencyGraph.planModelExitCriteriaDependencies = CriteriaDependencies.of(planModel.getExitCriteria());
+        sentryDependencyGraph.addPlanItems(planModel);
+        return sentryDependencyGraph;
+    }
+
+    protected void addPlanItems(PlanFragment planFragment) {
+        for (PlanItem planItem : planFragment.getPlanItems()) {
+            entryCriteriaDependencies.put(planItem, CriteriaDependencies.of(planItem.getEntryCriteria()));
+            exitCriteriaDependencies.put(planItem, CriteriaDependencies.of(planItem.getExitCriteria()));
+            addCrossStageEntryDependentPlanItems(planItem);
+
+            if (planItem.getPlanItemDefinition() instanceof PlanFragment) {
+                addPlanItems((PlanFragment) planItem.getPlanItemDefinition());
+            }
+        }
+    }
+
+    protected void addCrossStageEntryDependentPlanItems(PlanItem planItem) {
+        Map<String, List<PlanItem>> dependentPlanItemsByTransition = new HashMap<>();
+        crossStageEntryDependentPlanItems.put(planItem, dependentPlanItemsByTransition);
+        for (PlanItem entryDependentPlanItem : planItem.getEntryDependentPlanItems()) {
+            if (planItemsShareDirectParentStage(entryDependentPlanItem, planItem)) {
+                continue;
+            }
+
+            for (Criterion criterion : entryDependentPlanItem.getEntryCriteria()) {
+                Sentry sentry = criterion.getSentry();
+                if (sentry != null) {
+                    for (SentryOnPart sentryOnPart : sentry.getOnParts()) {
+                        if (sentryOnPart.getSource() != null && planItem.getId().equals(sentryOnPart.getSource().getId())) {
+                            List<PlanItem> dependentPlanItems = dependentPlanItemsByTransition
+                                    .computeIfAbsent(sentryOnPart.getStandardEvent(), key -> new ArrayList<>());
+                            if (!dependentPlanItems.contains(entryDependentPlanItem)) {
+                                dependentPlanItems.add(entryDependentPlanItem);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    protected boolean planItemsShareDirectParentStage(PlanItem planItemOne, PlanItem planItemTwo) {
+        Stage parentStage = planItemOne.getParentStage();
+        return parentStage.findPlanItemInPlanFragmentOrDownwards(planItemTwo.getId()) != null;
+    }
+
+    /**
+     * @return false if none of the entry criteria of the plan item can be satisfied by the given life cycle event (null when the evaluation
+     *         is not triggered by a plan item transition), true if at least one of them needs to be evaluated.
+     */
+    public boolean canSatisfyEntryCriteria(PlanItem planItem, PlanItemLifeCycleEvent planItemLifeCycleEvent) {
+        return canSatisfy(entryCriteriaDependencies.get(planItem), planItemLifeCycleEvent);
+    }
+
+    /**
+     * @return false if none of the exit criteria of the plan item can be satisfied by the given life cycle event, true if at least one of them needs to be evaluated.
+     */
+    public boolean canSatisfyExitCriteria(PlanItem planItem, PlanItemLifeCycleEvent planItemLifeCycleEvent) {
+        return canSatisfy(exitCriteriaDependencies.get(planItem), planItemLifeCycleEvent);
+    }
+
+    /**
+     * @return false if none of the exit criteria of the plan model can be satisfied by the given life cycle event, true if at least one of them needs to be evaluated.
+     */
+    public boolean canSatisfyPlanModelExitCriteria(Stage planModel, PlanItemLifeCycleEvent planItemLifeCycleEvent) {
+        return canSatisfy(planModel == this.planModel ? planModelExitCriteriaDependencies : null, planItemLifeCycleEvent);
+    }
+
+    protected boolean canSatisfy(CriteriaDependencies criteriaDependencies, PlanItemLifeCycleEvent planItemLifeCycleEvent) {
+        if (criteriaDependencies == null || criteriaDependencies.alwaysEvaluate) {
+            return true; // Unknown to the graph (e.g. an injected plan item) or depending on more than the current event
+        }
+        if (planItemLifeCycleEvent == null || criteriaDependencies.triggerKeys.isEmpty()) {
+            return false;
+        }
+        return criteriaDependencies.triggerKeys.contains(getTriggerKey(planItemLifeCycleEvent.getPlanItem().getId(), planItemLifeCycleEvent.getTransition()));
+    }
+
+    /**
+     * @return the plan items that are not part of the stage of the given plan item (or one of its child stages) and that have an entry criterion
+     *         with an on part for the given transition of the plan item, in the order of {@link PlanItem#getEntryDependentPlanItems()},
+     *         or null if the plan item is unknown to the graph.
+     */
+    public List<PlanItem> getCrossStageEntryDependentPlanItems(PlanItem planItem, String transition) {
+        Map<String, List<PlanItem>> dependentPlanItemsByTransition = crossStageEntryDependentPlanItems.get(planItem);
+        if (dependentPlanItemsByTransition == null) {
+            return null;
+        }
+        return dependentPlanItemsByTransition.getOrDefault(transition, Collections.emptyList());
+    }
+
+    protected static String getTriggerKey(String planItemId, String transition) {
+        return planItemId + '#' + transition;
+    }
+
+    protected static class CriteriaDependencies {
+
+        protected static final CriteriaDependencies NONE = new CriteriaDependencies(false, Collections.emptySet());
+        protected static final CriteriaDependencies ALWAYS = new CriteriaDependencies(true, Collections.emptySet());
+
+        protected final boolean alwaysEvaluate;
+        protected final Set<String> triggerKeys;
+
+        protected CriteriaDependencies(boolean alwaysEvaluate, Set<String> triggerKeys) {
+            this.alwaysEvaluate = alwaysEvaluate;
+            this.triggerKeys = triggerKeys;
+        }
+
+        protected static CriteriaDependencies of(List<Criterion> criteria) {
+            if (criteria == null || criteria.isEmpty()) {
+                return NONE;
+            }
+
+            Set<String> triggerKeys = new HashSet<>();
+            for (Criterion criterion : criteria) {
+                Sentry sentry = criterion.getSentry();
+                // Same condition as the single on part shortcut of the criteria evaluation: only the current event can satisfy such a sentry
+                if (sentry == null || sentry.getOnParts().size() != 1 || sentry.getSentryIfPart() != null) {
+                    return ALWAYS;
+                }
+                triggerKeys.add(getTriggerKey(sentry.getOnParts().get(0).getSourceRef(), sentry.getOnParts().get(0).getStandardEvent()));
+            }
+            return new CriteriaDependencies(false, triggerKeys);
+        }
+    }
+
+}
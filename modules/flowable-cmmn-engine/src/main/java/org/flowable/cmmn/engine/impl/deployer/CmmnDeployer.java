@@ -20,8 +20,10 @@ import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
+import org.flowable.cmmn.converter.CmmnModelSnapshotConverter;
 import org.flowable.cmmn.converter.CmmnXmlConstants;
 import org.flowable.cmmn.engine.CmmnEngineConfiguration;
+import org.flowable.cmmn.engine.impl.criteria.SentryDependencyGraph;
 import org.flowable.cmmn.engine.impl.parser.CmmnParseContext;
 import org.flowable.cmmn.engine.impl.parser.CmmnParseResult;
 import org.flowable.cmmn.engine.impl.parser.CmmnParser;
@@ -80,10 +82,15 @@ public class CmmnDeployer implements EngineDeployer {
         LOGGER.debug("Processing deployment {}", deployment.getName());
 
         CmmnParseResult parseResult = new CmmnParseResult(deployment);
+        Map<String, byte[]> modelSnapshots = new LinkedHashMap<>();
         for (EngineResource resource : deployment.getResources().values()) {
             if (isCmmnResource(resource.getName())) {
                 LOGGER.debug("Processing CMMN resource {}", resource.getName());
-                parseResult.merge(cmmnParser.parse(new CmmnParseContextImpl(resource)));
+                CmmnParseResult resourceParseResult = cmmnParser.parse(new CmmnParseContextImpl(resource, deployment));
+                if (resourceParseResult.getModelSnapshot() != null) {
+                    modelSnapshots.put(resource.getName(), resourceParseResult.getModelSnapshot());
+                }
+                parseResult.merge(resourceParseResult);
             }
         }
 
@@ -93,6 +100,7 @@ public class CmmnDeployer implements EngineDeployer {
 
         createAndPersistNewDiagramsIfNeeded(parseResult);
         setCaseDefinitionDiagramNames(parseResult);
+        persistNewModelSnapshots(parseResult, modelSnapshots);
 
         if (deployment.isNew()) {
             Map<CaseDefinitionEntity, CaseDefinitionEntity> mapOfNewCaseDefinitionToPreviousVersion = getPreviousVersionsOfCaseDefinitions(parseResult);
@@ -135,6 +143,31 @@ public class CmmnDeployer implements EngineDeployer {
         }
     }
 
+    /**
+     * Persists the model snapshots created while parsing a new deployment as generated resources of the deployment,
+     * so that they can be used instead of the CMMN XML when the case definition cache is filled.
+     */
+    protected void persistNewModelSnapshots(CmmnParseResult parseResult, Map<String, byte[]> modelSnapshots) {
+        CmmnDeploymentEntity deployment = (CmmnDeploymentEntity) parseResult.getDeployment();
+        if (!deployment.isNew()) {
+            return;
+        }
+
+        for (Map.Entry<String, byte[]> modelSnapshot : modelSnapshots.entrySet()) {
+            String snapshotResourceName = modelSnapshot.getKey() + CmmnModelSnapshotConverter.SNAPSHOT_RESOURCE_SUFFIX;
+            if (!deployment.getResources().containsKey(snapshotResourceName)) {
+                CmmnResourceEntity resource = CommandContextUtil.getCmmnResourceEntityManager().create();
+                resource.setName(snapshotResourceName);
+                resource.setBytes(modelSnapshot.getValue());
+                resource.setDeploymentId(deployment.getId());
+                resource.setGenerated(true);
+
+                CommandContextUtil.getCmmnResourceEntityManager().insert(resource, false);
+                deployment.addResource(resource);
+            }
+        }
+    }
+
     /**
      * Updates all the case definition entities to have the correct diagram resource name. Must be called after createAndPersistNewDiagramsAsNeeded to ensure that any newly-created diagrams already
      * have their resources attached to the deployment.
@@ -295,6 +328,9 @@ public class CmmnDeployer implements EngineDeployer {
             CmmnModel model = parseResult.getCmmnModelForCaseDefinition(caseDefinitionEntity);
             Case caze = parseResult.getCmmnCaseForCaseDefinition(caseDefinitionEntity);
             CaseDefinitionCacheEntry cacheEntry = new CaseDefinitionCacheEntry(caseDefinitionEntity, model, caze);
+            if (cmmnEngineConfiguration.isSentryDependencyGraphEnabled()) {
+                cacheEntry.setSentryDependencyGraph(SentryDependencyGraph.build(caze));
+            }
             caseDefinitionCache.add(caseDefinitionEntity.getId(), cacheEntry);
 
             deployment.addDeployedArtifact(caseDefinitionEntity);
@@ -371,9 +407,11 @@ public class CmmnDeployer implements EngineDeployer {
     protected class CmmnParseContextImpl implements CmmnParseContext {
 
         protected final EngineResource resource;
+        protected final EngineDeployment deployment;
 
-        public CmmnParseContextImpl(EngineResource resource) {
+        public CmmnParseContextImpl(EngineResource resource, EngineDeployment deployment) {
             this.resource = resource;
+            this.deployment = deployment;
         }
 
         @Override
@@ -405,5 +443,20 @@ public class CmmnDeployer implements EngineDeployer {
         public CaseValidator caseValidator() {
             return cmmnEngineConfiguration.getCaseValidator();
         }
+
+        @Override
+        public byte[] modelSnapshot() {
+            if (deployment.isNew() || !cmmnEngineConfiguration.isEnableModelSnapshots()) {
+                return null;
+            }
+            // Only snapshots created by the engine are used, a resource with the same name that is part of the deployment itself is ignored
+            EngineResource snapshotResource = deployment.getResources().get(resource.getName() + CmmnModelSnapshotConverter.SNAPSHOT_RESOURCE_SUFFIX);
+            return snapshotResource != null && snapshotResource.isGenerated() ? snapshotResource.getBytes() : null;
+        }
+
+        @Override
+        public boolean createModelSnapshot() {
+            return deployment.isNew() && cmmnEngineConfiguration.isEnableModelSnapshots();
+        }
     }
 }
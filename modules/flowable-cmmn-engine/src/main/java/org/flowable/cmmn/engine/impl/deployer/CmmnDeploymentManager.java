@@ -130,6 +130,11 @@ public class CmmnDeploymentManager {
         for (CaseDefinition caseDefinition : new CaseDefinitionQueryImpl().deploymentId(deploymentId).list()) {
             caseDefinitionCache.remove(caseDefinition.getId());
         }
+
+        // The compiled scripts are not tracked per deployment
+        if (cmmnEngineConfiguration.getScriptingEngines() != null) {
+            cmmnEngineConfiguration.getScriptingEngines().clearCompiledScriptCache();
+        }
     }
 
     public List<EngineDeployer> getDeployers() {
@@ -36,6 +36,7 @@ import org.flowable.eventregistry.impl.consumer.BaseEventRegistryEventConsumer;
 import org.flowable.eventregistry.impl.consumer.CorrelationKey;
 import org.flowable.eventsubscription.api.EventSubscription;
 import org.flowable.eventsubscription.api.EventSubscriptionQuery;
+import org.flowable.eventsubscription.service.impl.EventSubscriptionIndex;
 import org.flowable.eventsubscription.service.impl.EventSubscriptionQueryImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -241,4 +242,10 @@ public class CmmnEventRegistryEventConsumer extends BaseEventRegistryEventConsum
         return new EventSubscriptionQueryImpl(commandExecutor, cmmnEngineConfiguration.getEventSubscriptionServiceConfiguration());
     }
 
+    @Override
+    protected boolean hasPossibleEventSubscriptions(String eventType, String scopeType, Collection<String> tenantIds, Collection<String> correlationKeyValues) {
+        EventSubscriptionIndex eventSubscriptionIndex = cmmnEngineConfiguration.getEventSubscriptionServiceConfiguration().getEventSubscriptionIndex();
+        return eventSubscriptionIndex == null || eventSubscriptionIndex.hasPossibleSubscriptions(eventType, scopeType, tenantIds, correlationKeyValues);
+    }
+
 }
@@ -49,4 +49,19 @@ public interface CmmnParseContext {
      * The validation that should be used for the Case Model validation
      */
     CaseValidator caseValidator();
+
+    /**
+     * A binary snapshot of the CMMN model that should be used instead of parsing the XML, or null if there is none.
+     * When the snapshot can't be used, the XML is parsed.
+     */
+    default byte[] modelSnapshot() {
+        return null;
+    }
+
+    /**
+     * Whether a binary snapshot of the parsed CMMN model should be created, see {@link CmmnParseResult#getModelSnapshot()}
+     */
+    default boolean createModelSnapshot() {
+        return false;
+    }
 }
@@ -32,6 +32,7 @@ public class CmmnParseResult {
     protected EngineResource resourceEntity; // will not be part of a 'merged root' parse result, but is used during parsing of one cmmn model
     protected EngineDeployment deployment;
     protected CmmnModel cmmnModel; // will not be part of a 'merged root' parse result, but is used during parsing of one cmmn model
+    protected byte[] modelSnapshot; // will not be part of a 'merged root' parse result
     protected List<CaseDefinitionEntity> definitions = new ArrayList<>();
     protected Map<CaseDefinitionEntity, CmmnModel> mapDefinitionsToCmmnModel = new HashMap<>();
     protected Map<CaseDefinitionEntity, EngineResource> mapDefinitionsToResources = new HashMap<>();
@@ -64,6 +65,14 @@ public class CmmnParseResult {
         this.cmmnModel = cmmnModel;
     }
 
+    public byte[] getModelSnapshot() {
+        return modelSnapshot;
+    }
+
+    public void setModelSnapshot(byte[] modelSnapshot) {
+        this.modelSnapshot = modelSnapshot;
+    }
+
     public void addCaseDefinition(CaseDefinitionEntity caseDefinitionEntity) {
         definitions.add(caseDefinitionEntity);
     }
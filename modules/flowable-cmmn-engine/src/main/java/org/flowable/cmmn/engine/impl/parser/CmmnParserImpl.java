@@ -15,8 +15,11 @@ package org.flowable.cmmn.engine.impl.parser;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.flowable.cmmn.converter.CmmnModelSnapshotConverter;
 import org.flowable.cmmn.converter.CmmnXMLException;
 import org.flowable.cmmn.converter.CmmnXmlConverter;
+import org.flowable.cmmn.converter.exception.XMLException;
+import org.flowable.cmmn.engine.CmmnEngine;
 import org.flowable.cmmn.engine.impl.persistence.entity.CaseDefinitionEntity;
 import org.flowable.cmmn.model.Case;
 import org.flowable.cmmn.model.CmmnModel;
@@ -55,12 +58,24 @@ public class CmmnParserImpl implements CmmnParser {
             CmmnParseResult cmmnParseResult = new CmmnParseResult();
             cmmnParseResult.setResourceEntity(context.resource());
 
-            CmmnModel cmmnModel = convertToCmmnModel(context, cmmnSource);
-            cmmnParseResult.setCmmnModel(cmmnModel);
+            CmmnModel cmmnModel = null;
+            if (context.modelSnapshot() != null) {
+                // The model in the snapshot has been validated when it was deployed
+                cmmnModel = readModelSnapshot(context);
+            }
+
+            if (cmmnModel == null) {
+                cmmnModel = convertToCmmnModel(context, cmmnSource);
+
+                if (context.validateCmmnModel()) {
+                    validateCmmnModel(context.caseValidator(), cmmnModel);
+                }
 
-            if (context.validateCmmnModel()) {
-                validateCmmnModel(context.caseValidator(), cmmnModel);
+                if (context.createModelSnapshot()) {
+                    cmmnParseResult.setModelSnapshot(createModelSnapshot(context, cmmnModel));
+                }
             }
+            cmmnParseResult.setCmmnModel(cmmnModel);
 
             processCmmnElements(cmmnModel, cmmnParseResult);
 
@@ -85,6 +100,30 @@ public class CmmnParserImpl implements CmmnParser {
         return new CmmnXmlConverter().convertToCmmnModel(cmmnSource, validateCmmnXml, enableSafeBpmnXml, encoding);
     }
 
+    protected CmmnModel readModelSnapshot(CmmnParseContext context) {
+        try {
+            CmmnModel snapshotModel = new CmmnModelSnapshotConverter(CmmnEngine.VERSION).convertToCmmnModel(context.modelSnapshot());
+            if (snapshotModel == null) {
+                logger.debug("Model snapshot of {} was created by another engine version, parsing the XML", context.resource().getName());
+            }
+            return snapshotModel;
+
+        } catch (XMLException e) {
+            logger.warn("Could not read the model snapshot of {}, parsing the XML", context.resource().getName(), e);
+            return null;
+        }
+    }
+
+    protected byte[] createModelSnapshot(CmmnParseContext context, CmmnModel cmmnModel) {
+        try {
+            return new CmmnModelSnapshotConverter(CmmnEngine.VERSION).convertToSnapshot(cmmnModel);
+        } catch (XMLException e) {
+            // e.g. custom model elements that aren't serializable
+            logger.warn("Could not create a model snapshot of {}", context.resource().getName(), e);
+            return null;
+        }
+    }
+
     protected void validateCmmnModel(CaseValidator caseValidator, CmmnModel cmmnModel) {
         if (caseValidator == null) {
             logger.warn("Case should be validated, but no case validator is configured on the case engine configuration!");
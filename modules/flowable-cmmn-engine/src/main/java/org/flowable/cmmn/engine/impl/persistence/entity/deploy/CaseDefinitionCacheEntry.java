@@ -13,6 +13,7 @@
 package org.flowable.cmmn.engine.impl.persistence.entity.deploy;
 
 import org.flowable.cmmn.api.repository.CaseDefinition;
+import org.flowable.cmmn.engine.impl.criteria.SentryDependencyGraph;
 import org.flowable.cmmn.model.Case;
 import org.flowable.cmmn.model.CmmnModel;
 
@@ -21,6 +22,7 @@ public class CaseDefinitionCacheEntry {
     protected CaseDefinition caseDefinition;
     protected CmmnModel cmmnModel;
     protected Case caze;
+    protected SentryDependencyGraph sentryDependencyGraph;
 
     public CaseDefinitionCacheEntry(CaseDefinition caseDefinition, CmmnModel cmmnModel, Case caze) {
         this.caseDefinition = caseDefinition;
@@ -52,4 +54,12 @@ public class CaseDefinitionCacheEntry {
         this.caze = caze;
     }
 
+    public SentryDependencyGraph getSentryDependencyGraph() {
+        return sentryDependencyGraph;
+    }
+
+    public void setSentryDependencyGraph(SentryDependencyGraph sentryDependencyGraph) {
+        this.sentryDependencyGraph = sentryDependencyGraph;
+    }
+
 }
@@ -15,6 +15,7 @@ package org.flowable.cmmn.engine.impl.repository;
 import org.apache.commons.lang3.StringUtils;
 import org.flowable.cmmn.api.repository.CaseDefinition;
 import org.flowable.cmmn.engine.CmmnEngineConfiguration;
+import org.flowable.cmmn.engine.impl.criteria.SentryDependencyGraph;
 import org.flowable.cmmn.engine.impl.deployer.CmmnDeploymentManager;
 import org.flowable.cmmn.engine.impl.persistence.entity.CmmnDeploymentEntity;
 import org.flowable.cmmn.engine.impl.persistence.entity.deploy.CaseDefinitionCacheEntry;
@@ -70,6 +71,19 @@ public class CaseDefinitionUtil {
         return deploymentManager.getCaseDefinitionCache().get(caseDefinitionId).getCmmnModel();
     }
 
+    /**
+     * @return the sentry dependency graph of the case definition, or null if building it is disabled
+     */
+    public static SentryDependencyGraph getSentryDependencyGraph(String caseDefinitionId) {
+        CmmnDeploymentManager deploymentManager = CommandContextUtil.getCmmnEngineConfiguration().getDeploymentManager();
+        CaseDefinitionCacheEntry cacheEntry = deploymentManager.getCaseDefinitionCache().get(caseDefinitionId);
+        if (cacheEntry == null) {
+            deploymentManager.findDeployedCaseDefinitionById(caseDefinitionId);
+            cacheEntry = deploymentManager.getCaseDefinitionCache().get(caseDefinitionId);
+        }
+        return cacheEntry.getSentryDependencyGraph();
+    }
+
     public static Case getCase(String caseDefinitionId) {
         return getCmmnModel(caseDefinitionId).getPrimaryCase();
     }
@@ -160,6 +160,42 @@ public class ExternalWorkerServiceTaskTest extends FlowableCmmnTestCase {
                 .containsExactlyInAnyOrder("afterExternalWorkerCompleteTask");
     }
 
+    @Test
+    @CmmnDeployment(resources = "org/flowable/cmmn/test/externalworker/ExternalWorkerServiceTaskTest.testSimple.cmmn")
+    public void testAcquireWithFetchVariables() {
+        CaseInstance caseInstance1 = cmmnRuntimeService.createCaseInstanceBuilder()
+                .caseDefinitionKey("simpleExternalWorker")
+                .variable("name", "kermit")
+                .variable("amount", 10)
+                .variable("description", "not fetched")
+                .start();
+
+        CaseInstance caseInstance2 = cmmnRuntimeService.createCaseInstanceBuilder()
+                .caseDefinitionKey("simpleExternalWorker")
+                .variable("name", "fozzie")
+                .start();
+
+        ExternalWorkerJob externalWorkerJob2 = cmmnManagementService.createExternalWorkerJobQuery().scopeId(caseInstance2.getId()).singleResult();
+        cmmnRuntimeService.setLocalVariable(externalWorkerJob2.getSubScopeId(), "name", "gonzo");
+
+        List<AcquiredExternalWorkerJob> acquiredJobs = cmmnManagementService.createExternalWorkerJobAcquireBuilder()
+                .topic("simple", Duration.ofMinutes(30))
+                .fetchVariables(List.of("name", "amount"))
+                .acquireAndLock(4, "testWorker");
+
+        assertThat(acquiredJobs).hasSize(2);
+        assertThat(acquiredJobs)
+                .filteredOn(job -> caseInstance1.getId().equals(job.getScopeId()))
+                .singleElement()
+                .extracting(AcquiredExternalWorkerJob::getVariables)
+                .isEqualTo(Map.of("name", "kermit", "amount", 10));
+        assertThat(acquiredJobs)
+                .filteredOn(job -> caseInstance2.getId().equals(job.getScopeId()))
+                .singleElement()
+                .extracting(AcquiredExternalWorkerJob::getVariables)
+                .isEqualTo(Map.of("name", "gonzo"));
+    }
+
     @Test
     @CmmnDeployment(resources = "org/flowable/cmmn/test/externalworker/ExternalWorkerServiceTaskTest.testSimple.cmmn")
     public void testSimpleSimpleWithVariables() {
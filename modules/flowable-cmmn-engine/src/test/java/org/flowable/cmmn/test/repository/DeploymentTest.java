@@ -21,6 +21,8 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.flowable.cmmn.api.repository.CaseDefinition;
+import org.flowable.cmmn.api.runtime.CaseInstance;
+import org.flowable.cmmn.converter.CmmnModelSnapshotConverter;
 import org.flowable.cmmn.engine.impl.persistence.entity.deploy.CaseDefinitionCacheEntry;
 import org.flowable.cmmn.engine.test.CmmnDeployment;
 import org.flowable.cmmn.engine.test.FlowableCmmnTestCase;
@@ -175,6 +177,39 @@ public class DeploymentTest extends FlowableCmmnTestCase {
         deploymentIds.forEach(deploymentId -> cmmnRepositoryService.deleteDeployment(deploymentId, true));
     }
 
+    @Test
+    public void testModelSnapshotCreation() {
+        boolean originalEnableModelSnapshots = cmmnEngineConfiguration.isEnableModelSnapshots();
+        cmmnEngineConfiguration.setEnableModelSnapshots(true);
+        String deploymentId = null;
+        try {
+            String resourceName = "org/flowable/cmmn/test/repository/DeploymentTest.testCaseDefinitionDeployed.cmmn";
+            deploymentId = cmmnRepositoryService.createDeployment()
+                    .addClasspathResource(resourceName)
+                    .deploy()
+                    .getId();
+
+            assertThat(cmmnRepositoryService.getDeploymentResourceNames(deploymentId))
+                    .containsExactlyInAnyOrder(resourceName, resourceName + CmmnModelSnapshotConverter.SNAPSHOT_RESOURCE_SUFFIX);
+
+            // The case definition cache is now filled from the snapshot
+            cmmnEngineConfiguration.getCaseDefinitionCache().clear();
+            CaseInstance caseInstance = cmmnRuntimeService.createCaseInstanceBuilder().caseDefinitionKey("myCase").start();
+            assertThat(cmmnRuntimeService.createPlanItemInstanceQuery().caseInstanceId(caseInstance.getId()).list()).isNotEmpty();
+
+            CmmnModel cmmnModel = cmmnRepositoryService.getCmmnModel(caseInstance.getCaseDefinitionId());
+            assertThat(cmmnModel.getPrimaryCase().getPlanModel().getPlanItems())
+                    .extracting(PlanItem::getBehavior)
+                    .doesNotContainNull();
+
+        } finally {
+            cmmnEngineConfiguration.setEnableModelSnapshots(originalEnableModelSnapshots);
+            if (deploymentId != null) {
+                cmmnRepositoryService.deleteDeployment(deploymentId, true);
+            }
+        }
+    }
+
     @Test
     public void deployingCaseModelWithErrorsShouldFail() {
         assertThatThrownBy(() -> cmmnRepositoryService.createDeployment()
@@ -0,0 +1,116 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.cmmn.test.sentry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.flowable.cmmn.api.repository.CaseDefinition;
+import org.flowable.cmmn.api.runtime.CaseInstance;
+import org.flowable.cmmn.api.runtime.PlanItemInstanceState;
+import org.flowable.cmmn.engine.impl.criteria.PlanItemLifeCycleEvent;
+import org.flowable.cmmn.engine.impl.criteria.SentryDependencyGraph;
+import org.flowable.cmmn.engine.impl.persistence.entity.PlanItemInstanceEntityImpl;
+import org.flowable.cmmn.engine.impl.persistence.entity.deploy.CaseDefinitionCacheEntry;
+import org.flowable.cmmn.engine.test.CmmnDeployment;
+import org.flowable.cmmn.engine.test.FlowableCmmnTestCase;
+import org.flowable.cmmn.model.CmmnModel;
+import org.flowable.cmmn.model.PlanItem;
+import org.flowable.cmmn.model.PlanItemTransition;
+import org.junit.Test;
+
+public class SentryDependencyGraphTest extends FlowableCmmnTestCase {
+
+    @Test
+    @CmmnDeployment(resources = "org/flowable/cmmn/test/runtime/EntryCriteriaTest.testCrossBorderSentry.cmmn")
+    public void testSentryDependencyGraphOfDeployedCaseDefinition() {
+        CaseDefinitionCacheEntry cacheEntry = getCaseDefinitionCacheEntry("testCrossBorderSentry");
+        SentryDependencyGraph sentryDependencyGraph = cacheEntry.getSentryDependencyGraph();
+        assertThat(sentryDependencyGraph).isNotNull();
+
+        CmmnModel cmmnModel = cacheEntry.getCmmnModel();
+        PlanItem planItemA = cmmnModel.findPlanItem("planItem1");
+        PlanItem planItemStage1 = cmmnModel.findPlanItem("planItem2");
+        PlanItem planItemB = cmmnModel.findPlanItem("planItem3");
+        PlanItem planItemStage3 = cmmnModel.findPlanItem("planItem4");
+        PlanItemLifeCycleEvent completeA = createLifeCycleEvent(planItemA, PlanItemTransition.COMPLETE);
+        PlanItemLifeCycleEvent terminateA = createLifeCycleEvent(planItemA, PlanItemTransition.TERMINATE);
+        PlanItemLifeCycleEvent completeStage1 = createLifeCycleEvent(planItemStage1, PlanItemTransition.COMPLETE);
+
+        // B: single on part on the completion of A
+        assertThat(sentryDependencyGraph.canSatisfyEntryCriteria(planItemB, completeA)).isTrue();
+        assertThat(sentryDependencyGraph.canSatisfyEntryCriteria(planItemB, terminateA)).isFalse();
+        assertThat(sentryDependencyGraph.canSatisfyEntryCriteria(planItemB, completeStage1)).isFalse();
+        assertThat(sentryDependencyGraph.canSatisfyEntryCriteria(planItemB, null)).isFalse();
+        assertThat(sentryDependencyGraph.canSatisfyExitCriteria(planItemB, completeA)).isFalse();
+
+        // Stage 3: an if part can be satisfied by any evaluation
+        assertThat(sentryDependencyGraph.canSatisfyEntryCriteria(planItemStage3, completeStage1)).isTrue();
+        assertThat(sentryDependencyGraph.canSatisfyEntryCriteria(planItemStage3, null)).isTrue();
+
+        assertThat(sentryDependencyGraph.canSatisfyPlanModelExitCriteria(cmmnModel.getPrimaryCase().getPlanModel(), completeA)).isFalse();
+
+        // Plan items of another case model (e.g. injected ones) are always evaluated, even when the id matches
+        PlanItem otherPlanItemB = new PlanItem();
+        otherPlanItemB.setId("planItem3");
+        assertThat(sentryDependencyGraph.canSatisfyEntryCriteria(otherPlanItemB, terminateA)).isTrue();
+        assertThat(sentryDependencyGraph.getCrossStageEntryDependentPlanItems(otherPlanItemB, PlanItemTransition.COMPLETE)).isNull();
+
+        // B is in another stage than A, so the completion of A needs to evaluate B even though no plan item instance exists yet
+        assertThat(sentryDependencyGraph.getCrossStageEntryDependentPlanItems(planItemA, PlanItemTransition.COMPLETE))
+                .extracting(PlanItem::getId)
+                .containsExactly("planItem3");
+        assertThat(sentryDependencyGraph.getCrossStageEntryDependentPlanItems(planItemA, PlanItemTransition.TERMINATE)).isEmpty();
+        assertThat(sentryDependencyGraph.getCrossStageEntryDependentPlanItems(planItemStage1, PlanItemTransition.COMPLETE)).isEmpty();
+    }
+
+    @Test
+    public void testCrossBorderSentryWithoutSentryDependencyGraph() {
+        boolean originalSentryDependencyGraphEnabled = cmmnEngineConfiguration.isSentryDependencyGraphEnabled();
+        cmmnEngineConfiguration.setSentryDependencyGraphEnabled(false);
+        String deploymentId = null;
+        try {
+            deploymentId = cmmnRepositoryService.createDeployment()
+                    .addClasspathResource("org/flowable/cmmn/test/runtime/EntryCriteriaTest.testCrossBorderSentry.cmmn")
+                    .deploy()
+                    .getId();
+            assertThat(getCaseDefinitionCacheEntry("testCrossBorderSentry").getSentryDependencyGraph()).isNull();
+
+            CaseInstance caseInstance = cmmnRuntimeService.createCaseInstanceBuilder().caseDefinitionKey("testCrossBorderSentry").start();
+            assertThat(cmmnRuntimeService.createPlanItemInstanceQuery().caseInstanceId(caseInstance.getId()).planItemInstanceName("B").singleResult()).isNull();
+
+            cmmnTaskService.complete(cmmnTaskService.createTaskQuery().caseInstanceId(caseInstance.getId()).taskName("A").singleResult().getId());
+
+            assertThat(cmmnRuntimeService.createPlanItemInstanceQuery().caseInstanceId(caseInstance.getId()).planItemInstanceName("Stage 3").singleResult()
+                    .getState()).isEqualTo(PlanItemInstanceState.ACTIVE);
+            assertThat(cmmnTaskService.createTaskQuery().caseInstanceId(caseInstance.getId()).taskName("B").singleResult()).isNotNull();
+
+        } finally {
+            cmmnEngineConfiguration.setSentryDependencyGraphEnabled(originalSentryDependencyGraphEnabled);
+            if (deploymentId != null) {
+                cmmnRepositoryService.deleteDeployment(deploymentId, true);
+            }
+        }
+    }
+
+    protected CaseDefinitionCacheEntry getCaseDefinitionCacheEntry(String caseDefinitionKey) {
+        CaseDefinition caseDefinition = cmmnRepositoryService.createCaseDefinitionQuery().caseDefinitionKey(caseDefinitionKey).latestVersion().singleResult();
+        return cmmnEngineConfiguration.getCaseDefinitionCache().get(caseDefinition.getId());
+    }
+
+    protected PlanItemLifeCycleEvent createLifeCycleEvent(PlanItem planItem, String transition) {
+        PlanItemInstanceEntityImpl planItemInstanceEntity = new PlanItemInstanceEntityImpl();
+        planItemInstanceEntity.setPlanItem(planItem);
+        return new PlanItemLifeCycleEvent(planItemInstanceEntity, transition);
+    }
+
+}
@@ -27,7 +27,7 @@ public abstract class AbstractFlowableHttpHandler extends BaseElement {
     protected List<FieldExtension> fieldExtensions = new ArrayList<>();
 
     @JsonIgnore
-    protected Object instance; // Can be used to set an instance of the listener directly. That instance will then always be reused.
+    protected transient Object instance; // Can be used to set an instance of the listener directly. That instance will then always be reused.
 
     public String getImplementationType() {
         return implementationType;
@@ -12,6 +12,7 @@
  */
 package org.flowable.cmmn.model;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -20,7 +21,7 @@ import java.util.Map;
 /**
  * @author Joram Barrez
  */
-public class BaseElement implements HasExtensionAttributes {
+public class BaseElement implements HasExtensionAttributes, Serializable {
     
     protected String id;
     protected int xmlRowNumber;
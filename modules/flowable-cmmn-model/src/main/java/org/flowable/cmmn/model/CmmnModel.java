@@ -12,6 +12,7 @@
  */
 package org.flowable.cmmn.model;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
@@ -25,7 +26,7 @@ import org.apache.commons.lang3.StringUtils;
 /**
  * @author Joram Barrez
  */
-public class CmmnModel {
+public class CmmnModel implements Serializable {
 
     protected String id;
     protected String name;
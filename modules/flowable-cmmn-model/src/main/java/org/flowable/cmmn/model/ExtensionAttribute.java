@@ -12,7 +12,9 @@
  */
 package org.flowable.cmmn.model;
 
-public class ExtensionAttribute {
+import java.io.Serializable;
+
+public class ExtensionAttribute implements Serializable {
 
     protected String name;
     protected String value;
@@ -35,7 +35,7 @@ public class FlowableListener extends CmmnElement {
     protected ScriptInfo scriptInfo;
 
     @JsonIgnore
-    protected Object instance; // Can be used to set an instance of the listener directly. That instance will then always be reused.
+    protected transient Object instance; // Can be used to set an instance of the listener directly. That instance will then always be reused.
     
     public FlowableListener() {
         // Always generate a random identifier to look up the listener while executing the logic
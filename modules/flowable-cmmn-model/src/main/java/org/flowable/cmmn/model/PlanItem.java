@@ -57,7 +57,7 @@ public class PlanItem extends CaseElement implements HasEntryCriteria, HasExitCr
      */
     protected List<PlanItem> exitDependentPlanItems = new ArrayList<>();
     
-    protected Object behavior;
+    protected transient Object behavior;
 
     public String getDefinitionRef() {
         return definitionRef;
@@ -37,7 +37,6 @@ import org.flowable.common.engine.impl.interceptor.CommandInterceptor;
 import org.flowable.common.engine.impl.interceptor.EngineConfigurationConstants;
 import org.flowable.common.engine.impl.interceptor.SessionFactory;
 import org.flowable.common.engine.impl.javax.el.ELResolver;
-import org.flowable.common.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
 import org.flowable.common.engine.impl.persistence.entity.TableDataManager;
 import org.flowable.common.engine.impl.runtime.Clock;
@@ -61,6 +60,7 @@ import org.flowable.dmn.engine.impl.agenda.DmnEngineAgendaSessionFactory;
 import org.flowable.dmn.engine.impl.cfg.StandaloneDmnEngineConfiguration;
 import org.flowable.dmn.engine.impl.cfg.StandaloneInMemDmnEngineConfiguration;
 import org.flowable.dmn.engine.impl.cmd.SchemaOperationsDmnEngineBuild;
+import org.flowable.dmn.engine.impl.compiled.DecisionTableCompiler;
 import org.flowable.dmn.engine.impl.db.DmnDbSchemaManager;
 import org.flowable.dmn.engine.impl.db.EntityDependencyOrder;
 import org.flowable.dmn.engine.impl.deployer.CachingAndArtifactsManager;
@@ -206,6 +206,23 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
      */
     protected boolean strictMode = true;
 
+    /**
+     * Set this to false to disable the compilation of the decision tables when they are deployed.
+     *
+     * Compiled decision tables don't pre-parse and create the expressions of their input and output entries on every execution.
+     */
+    protected boolean decisionTableCompilationEnabled = true;
+
+    /**
+     * Set this to true to index the simple input entries of the compiled decision tables (equality and comparison with a literal),
+     * so that only the rules that can match the input values are evaluated.
+     *
+     * The hit policy behaviour is the same, but the execution audit only contains the evaluated rules.
+     */
+    protected boolean decisionTableIndexingEnabled;
+
+    protected DecisionTableCompiler decisionTableCompiler;
+
     public static DmnEngineConfiguration createDmnEngineConfigurationFromResourceDefault() {
         return createDmnEngineConfigurationFromResource("flowable.dmn.cfg.xml", "dmnEngineConfiguration");
     }
@@ -281,6 +298,7 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
         initDeployers();
         initHitPolicyBehaviors();
         initRuleEngineExecutor();
+        initDecisionTableCompiler();
         initDecisionRequirementsDiagramGenerator();
     }
 
@@ -496,11 +514,7 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
 
         // Decision cache
         if (definitionCache == null) {
-            if (decisionCacheLimit <= 0) {
-                definitionCache = new DefaultDeploymentCache<>();
-            } else {
-                definitionCache = new DefaultDeploymentCache<>(decisionCacheLimit);
-            }
+            definitionCache = createDeploymentCache(decisionCacheLimit);
         }
 
         deploymentManager = new DeploymentManager(definitionCache, this);
@@ -625,6 +639,13 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
     	    }
     	}
     }
+
+    public void initDecisionTableCompiler() {
+        if (decisionTableCompiler == null) {
+            decisionTableCompiler = new DecisionTableCompiler(expressionManager, decisionTableIndexingEnabled);
+        }
+    }
+
     // decision requirements diagram
     /////////////////////////////////////////////////////////////
     public void initDecisionRequirementsDiagramGenerator() {
@@ -1112,6 +1133,33 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
         return this;
     }
 
+    public boolean isDecisionTableCompilationEnabled() {
+        return decisionTableCompilationEnabled;
+    }
+
+    public DmnEngineConfiguration setDecisionTableCompilationEnabled(boolean decisionTableCompilationEnabled) {
+        this.decisionTableCompilationEnabled = decisionTableCompilationEnabled;
+        return this;
+    }
+
+    public boolean isDecisionTableIndexingEnabled() {
+        return decisionTableIndexingEnabled;
+    }
+
+    public DmnEngineConfiguration setDecisionTableIndexingEnabled(boolean decisionTableIndexingEnabled) {
+        this.decisionTableIndexingEnabled = decisionTableIndexingEnabled;
+        return this;
+    }
+
+    public DecisionTableCompiler getDecisionTableCompiler() {
+        return decisionTableCompiler;
+    }
+
+    public DmnEngineConfiguration setDecisionTableCompiler(DecisionTableCompiler decisionTableCompiler) {
+        this.decisionTableCompiler = decisionTableCompiler;
+        return this;
+    }
+
     @Override
     public DmnEngineConfiguration setClock(Clock clock) {
         this.clock = clock;
@@ -12,17 +12,20 @@
  */
 package org.flowable.dmn.engine.impl;
 
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.delegate.Expression;
 import org.flowable.common.engine.impl.el.ExpressionManager;
 import org.flowable.dmn.api.DecisionExecutionAuditContainer;
 import org.flowable.dmn.api.ExecuteDecisionContext;
 import org.flowable.dmn.engine.DmnEngineConfiguration;
 import org.flowable.dmn.engine.RuleEngineExecutor;
+import org.flowable.dmn.engine.impl.compiled.CompiledDecisionTable;
 import org.flowable.dmn.engine.impl.el.ELExecutionContext;
 import org.flowable.dmn.engine.impl.el.ELExecutionContextBuilder;
 import org.flowable.dmn.engine.impl.el.ELExpressionExecutor;
@@ -32,6 +35,7 @@ import org.flowable.dmn.engine.impl.hitpolicy.ComposeDecisionResultBehavior;
 import org.flowable.dmn.engine.impl.hitpolicy.ComposeRuleResultBehavior;
 import org.flowable.dmn.engine.impl.hitpolicy.ContinueEvaluatingBehavior;
 import org.flowable.dmn.engine.impl.hitpolicy.EvaluateRuleValidityBehavior;
+import org.flowable.dmn.engine.impl.persistence.deploy.DecisionCacheEntry;
 import org.flowable.dmn.model.Decision;
 import org.flowable.dmn.model.DecisionRule;
 import org.flowable.dmn.model.DecisionTable;
@@ -86,6 +90,7 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
 
         // create execution context and audit trail
         ELExecutionContext executionContext = ELExecutionContextBuilder.build(decision, executeDecisionInfo);
+        executionContext.setCompiledDecisionTable(getCompiledDecisionTable(decision, currentDecisionTable, executeDecisionInfo));
 
         try {
             sanityCheckDecisionTable(currentDecisionTable);
@@ -121,7 +126,12 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
             // evaluate rule conditions
             Map<Integer, List<RuleOutputClauseContainer>> validRuleOutputEntries = new HashMap<>();
 
-            for (DecisionRule rule : decisionTable.getRules()) {
+            // only the candidate rules need to be evaluated when the decision table is indexed, the other rules evaluate to false
+            List<DecisionRule> rules = decisionTable.getRules();
+            BitSet candidateRules = getCandidateRules(rules, executionContext);
+
+            for (int ruleIndex = candidateRules.nextSetBit(0); ruleIndex >= 0; ruleIndex = candidateRules.nextSetBit(ruleIndex + 1)) {
+                DecisionRule rule = rules.get(ruleIndex);
                 boolean ruleResult = executeRule(rule, executionContext);
 
                 if (ruleResult) {
@@ -163,6 +173,16 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
         LOGGER.debug("End table evaluation: {}", decisionTable.getId());
     }
 
+    protected BitSet getCandidateRules(List<DecisionRule> rules, ELExecutionContext executionContext) {
+        CompiledDecisionTable compiledDecisionTable = executionContext.getCompiledDecisionTable();
+        BitSet candidateRules = compiledDecisionTable != null ? compiledDecisionTable.getCandidateRules(executionContext) : null;
+        if (candidateRules == null) {
+            candidateRules = new BitSet(rules.size());
+            candidateRules.set(0, rules.size());
+        }
+        return candidateRules;
+    }
+
     protected boolean executeRule(DecisionRule rule, ELExecutionContext executionContext) {
         if (rule == null) {
             throw new FlowableException("rule cannot be null");
@@ -228,6 +248,14 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
     }
 
     protected Boolean executeInputExpressionEvaluation(RuleInputClauseContainer ruleContainer, ELExecutionContext executionContext) {
+        CompiledDecisionTable compiledDecisionTable = executionContext.getCompiledDecisionTable();
+        if (compiledDecisionTable != null) {
+            Expression inputEntryExpression = compiledDecisionTable.getInputEntryExpression(ruleContainer.getInputEntry());
+            if (inputEntryExpression != null) {
+                return ELExpressionExecutor.executeInputExpression(inputEntryExpression, executionContext);
+            }
+        }
+
         return ELExpressionExecutor.executeInputExpression(ruleContainer.getInputClause(), ruleContainer.getInputEntry(), expressionManager, executionContext);
     }
 
@@ -252,7 +280,7 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
         if (StringUtils.isNotEmpty(outputEntryExpression.getText())) {
             Object executionVariable = null;
             try {
-                Object resultValue = ELExpressionExecutor.executeOutputExpression(ruleClauseContainer.getOutputClause(), outputEntryExpression, expressionManager, executionContext);
+                Object resultValue = executeOutputExpressionEvaluation(ruleClauseContainer, executionContext);
                 executionVariable = ExecutionVariableFactory.getExecutionVariable(outputVariableType, resultValue);
 
                 // update execution context
@@ -300,6 +328,39 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
         LOGGER.debug("End evaluation conclusion {} of valid rule {}", ruleClauseContainer.getOutputClause().getOutputNumber(), ruleNumber);
     }
 
+    protected Object executeOutputExpressionEvaluation(RuleOutputClauseContainer ruleClauseContainer, ELExecutionContext executionContext) {
+        CompiledDecisionTable compiledDecisionTable = executionContext.getCompiledDecisionTable();
+        if (compiledDecisionTable != null) {
+            Expression outputEntryExpression = compiledDecisionTable.getOutputEntryExpression(ruleClauseContainer.getOutputEntry());
+            if (outputEntryExpression != null) {
+                return ELExpressionExecutor.executeOutputExpression(outputEntryExpression, ruleClauseContainer.getOutputEntry(), executionContext);
+            }
+        }
+
+        return ELExpressionExecutor.executeOutputExpression(ruleClauseContainer.getOutputClause(), ruleClauseContainer.getOutputEntry(), expressionManager, executionContext);
+    }
+
+    /**
+     * Returns the decision table as it was compiled when the decision was deployed, or null if the decision table was not compiled.
+     */
+    protected CompiledDecisionTable getCompiledDecisionTable(Decision decision, DecisionTable decisionTable, ExecuteDecisionContext executeDecisionInfo) {
+        if (dmnEngineConfiguration == null || !dmnEngineConfiguration.isDecisionTableCompilationEnabled() || executeDecisionInfo.getDecisionId() == null) {
+            return null;
+        }
+
+        DecisionCacheEntry decisionCacheEntry = dmnEngineConfiguration.getDeploymentManager().getDecisionCache().get(executeDecisionInfo.getDecisionId());
+        if (decisionCacheEntry == null || decisionCacheEntry.getCompiledDecisionTables() == null) {
+            return null;
+        }
+
+        CompiledDecisionTable compiledDecisionTable = decisionCacheEntry.getCompiledDecisionTables().get(decision.getId());
+        if (compiledDecisionTable == null || compiledDecisionTable.getDecisionTable() != decisionTable) {
+            return null;
+        }
+
+        return compiledDecisionTable;
+    }
+
     protected String getExceptionMessage(Exception exception) {
         String exceptionMessage;
         if (exception.getCause() != null && exception.getCause().getMessage() != null) {
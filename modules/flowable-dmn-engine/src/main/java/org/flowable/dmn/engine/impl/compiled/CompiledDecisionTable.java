@@ -0,0 +1,115 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.compiled;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.common.engine.api.delegate.Expression;
+import org.flowable.common.engine.impl.el.VariableContainerWrapper;
+import org.flowable.dmn.engine.impl.el.ELExecutionContext;
+import org.flowable.dmn.model.DecisionTable;
+import org.flowable.dmn.model.LiteralExpression;
+import org.flowable.dmn.model.UnaryTests;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The executable form of a {@link DecisionTable}, created by the {@link DecisionTableCompiler} at deployment time.
+ *
+ * Holds the created expressions of the input and output entries and, when indexing is enabled,
+ * the {@link DecisionTableInputIndex indexes} that are used to find the candidate rules of an execution.
+ * Instances are immutable after compilation and are shared by all executions of the decision table.
+ */
+public class CompiledDecisionTable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompiledDecisionTable.class);
+
+    protected final DecisionTable decisionTable;
+    protected final Map<UnaryTests, Expression> inputEntryExpressions = new IdentityHashMap<>();
+    protected final Map<LiteralExpression, Expression> outputEntryExpressions = new IdentityHashMap<>();
+    protected final List<DecisionTableInputIndex> inputIndexes = new ArrayList<>();
+
+    public CompiledDecisionTable(DecisionTable decisionTable) {
+        this.decisionTable = decisionTable;
+    }
+
+    /**
+     * Returns the rules (by their index in the rules of the decision table) that can match the input values of the given execution,
+     * or null when there are no indexes. Rules that are not returned are guaranteed to evaluate to false,
+     * the returned rules still need to be evaluated.
+     */
+    public BitSet getCandidateRules(ELExecutionContext executionContext) {
+        if (inputIndexes.isEmpty()) {
+            return null;
+        }
+
+        VariableContainerWrapper variableContainer = new VariableContainerWrapper(executionContext.getStackVariables());
+        variableContainer.setInstanceId(executionContext.getInstanceId());
+        variableContainer.setScopeType(executionContext.getScopeType());
+        variableContainer.setTenantId(executionContext.getTenantId());
+
+        int ruleCount = decisionTable.getRules().size();
+        BitSet candidateRules = new BitSet(ruleCount);
+        candidateRules.set(0, ruleCount);
+
+        for (DecisionTableInputIndex inputIndex : inputIndexes) {
+            Object inputValue;
+            try {
+                inputValue = inputIndex.getInputValue(variableContainer);
+            } catch (Exception e) {
+                // The input entries of this input will report the error when they are evaluated
+                LOGGER.debug("Could not resolve input value of {} for rule pruning", inputIndex.getInputExpression().getExpressionText(), e);
+                continue;
+            }
+
+            BitSet inputCandidateRules = inputIndex.getCandidateRules(inputValue);
+            if (inputCandidateRules != null) {
+                candidateRules.and(inputCandidateRules);
+            }
+        }
+
+        return candidateRules;
+    }
+
+    public DecisionTable getDecisionTable() {
+        return decisionTable;
+    }
+
+    public Expression getInputEntryExpression(UnaryTests inputEntry) {
+        return inputEntryExpressions.get(inputEntry);
+    }
+
+    public void addInputEntryExpression(UnaryTests inputEntry, Expression expression) {
+        inputEntryExpressions.put(inputEntry, expression);
+    }
+
+    public Expression getOutputEntryExpression(LiteralExpression outputEntry) {
+        return outputEntryExpressions.get(outputEntry);
+    }
+
+    public void addOutputEntryExpression(LiteralExpression outputEntry, Expression expression) {
+        outputEntryExpressions.put(outputEntry, expression);
+    }
+
+    public List<DecisionTableInputIndex> getInputIndexes() {
+        return inputIndexes;
+    }
+
+    public void addInputIndex(DecisionTableInputIndex inputIndex) {
+        inputIndexes.add(inputIndex);
+    }
+}
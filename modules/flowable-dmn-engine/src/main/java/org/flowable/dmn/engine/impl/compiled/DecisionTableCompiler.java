@@ -0,0 +1,175 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.compiled;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.flowable.common.engine.api.delegate.Expression;
+import org.flowable.common.engine.impl.el.ExpressionManager;
+import org.flowable.dmn.engine.impl.el.ELInputEntryExpressionPreParser;
+import org.flowable.dmn.engine.impl.el.ELOutputEntryExpressionPreParser;
+import org.flowable.dmn.model.Decision;
+import org.flowable.dmn.model.DecisionRule;
+import org.flowable.dmn.model.DecisionTable;
+import org.flowable.dmn.model.DmnDefinition;
+import org.flowable.dmn.model.InputClause;
+import org.flowable.dmn.model.LiteralExpression;
+import org.flowable.dmn.model.RuleInputClauseContainer;
+import org.flowable.dmn.model.RuleOutputClauseContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compiles the decision tables of a DMN definition into a {@link CompiledDecisionTable} when they are deployed,
+ * so that the input and output entries don't need to be pre-parsed and created again on every execution.
+ *
+ * Entries that can't be compiled are left out, these are evaluated the regular way (including the error handling) at execution time.
+ */
+public class DecisionTableCompiler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DecisionTableCompiler.class);
+
+    protected ExpressionManager expressionManager;
+    protected boolean indexingEnabled;
+
+    public DecisionTableCompiler(ExpressionManager expressionManager, boolean indexingEnabled) {
+        this.expressionManager = expressionManager;
+        this.indexingEnabled = indexingEnabled;
+    }
+
+    /**
+     * Compiles all decision tables of the given definition.
+     *
+     * @return the compiled decision tables, mapped by the id of their decision
+     */
+    public Map<String, CompiledDecisionTable> compile(DmnDefinition dmnDefinition) {
+        Map<String, CompiledDecisionTable> compiledDecisionTables = new HashMap<>();
+        for (Decision decision : dmnDefinition.getDecisions()) {
+            if (decision.getExpression() instanceof DecisionTable) {
+                compiledDecisionTables.put(decision.getId(), compile((DecisionTable) decision.getExpression()));
+            }
+        }
+        return compiledDecisionTables;
+    }
+
+    public CompiledDecisionTable compile(DecisionTable decisionTable) {
+        CompiledDecisionTable compiledDecisionTable = new CompiledDecisionTable(decisionTable);
+
+        for (DecisionRule rule : decisionTable.getRules()) {
+            for (RuleInputClauseContainer inputContainer : rule.getInputEntries()) {
+                Expression inputEntryExpression = compileInputEntry(inputContainer);
+                if (inputEntryExpression != null) {
+                    compiledDecisionTable.addInputEntryExpression(inputContainer.getInputEntry(), inputEntryExpression);
+                }
+            }
+
+            for (RuleOutputClauseContainer outputContainer : rule.getOutputEntries()) {
+                Expression outputEntryExpression = compileOutputEntry(outputContainer);
+                if (outputEntryExpression != null) {
+                    compiledDecisionTable.addOutputEntryExpression(outputContainer.getOutputEntry(), outputEntryExpression);
+                }
+            }
+        }
+
+        if (indexingEnabled) {
+            for (InputClause inputClause : decisionTable.getInputs()) {
+                DecisionTableInputIndex inputIndex = createInputIndex(inputClause, decisionTable.getRules());
+                if (inputIndex != null) {
+                    compiledDecisionTable.addInputIndex(inputIndex);
+                }
+            }
+        }
+
+        return compiledDecisionTable;
+    }
+
+    protected Expression compileInputEntry(RuleInputClauseContainer inputContainer) {
+        if (inputContainer.getInputEntry() == null || inputContainer.getInputClause() == null) {
+            return null;
+        }
+
+        String inputEntryText = inputContainer.getInputEntry().getText();
+        LiteralExpression inputExpression = inputContainer.getInputClause().getInputExpression();
+        if (StringUtils.isEmpty(inputEntryText) || "-".equals(inputEntryText) || inputExpression == null || StringUtils.isEmpty(inputExpression.getText())) {
+            return null;
+        }
+
+        String parsedExpression = ELInputEntryExpressionPreParser.parse(inputEntryText, inputExpression.getText(), inputExpression.getTypeRef());
+        return createExpression(parsedExpression);
+    }
+
+    protected Expression compileOutputEntry(RuleOutputClauseContainer outputContainer) {
+        if (outputContainer.getOutputEntry() == null || StringUtils.isEmpty(outputContainer.getOutputEntry().getText())) {
+            return null;
+        }
+
+        return createExpression(ELOutputEntryExpressionPreParser.parse(outputContainer.getOutputEntry().getText()));
+    }
+
+    protected Expression createExpression(String parsedExpression) {
+        try {
+            return expressionManager.createExpression(parsedExpression);
+        } catch (Exception e) {
+            LOGGER.debug("Could not compile expression {}, it will be evaluated at execution time", parsedExpression, e);
+            return null;
+        }
+    }
+
+    protected DecisionTableInputIndex createInputIndex(InputClause inputClause, List<DecisionRule> rules) {
+        LiteralExpression inputExpression = inputClause.getInputExpression();
+        if (inputExpression == null || !DecisionTableInputIndex.isIndexableInputExpression(inputExpression.getText())) {
+            return null;
+        }
+
+        Expression inputValueExpression = createExpression("#{" + inputExpression.getText() + "}");
+        if (inputValueExpression == null) {
+            return null;
+        }
+
+        DecisionTableInputIndex inputIndex = new DecisionTableInputIndex(inputValueExpression);
+        for (int ruleIndex = 0; ruleIndex < rules.size(); ruleIndex++) {
+            RuleInputClauseContainer inputContainer = getInputContainer(rules.get(ruleIndex), inputClause);
+            inputIndex.addRule(ruleIndex, inputContainer != null ? inputContainer.getInputEntry().getText() : null);
+        }
+
+        return inputIndex.hasIndexedRules() ? inputIndex : null;
+    }
+
+    protected RuleInputClauseContainer getInputContainer(DecisionRule rule, InputClause inputClause) {
+        for (RuleInputClauseContainer inputContainer : rule.getInputEntries()) {
+            if (inputContainer.getInputClause() == inputClause && inputContainer.getInputEntry() != null) {
+                return inputContainer;
+            }
+        }
+        return null;
+    }
+
+    public ExpressionManager getExpressionManager() {
+        return expressionManager;
+    }
+
+    public void setExpressionManager(ExpressionManager expressionManager) {
+        this.expressionManager = expressionManager;
+    }
+
+    public boolean isIndexingEnabled() {
+        return indexingEnabled;
+    }
+
+    public void setIndexingEnabled(boolean indexingEnabled) {
+        this.indexingEnabled = indexingEnabled;
+    }
+}
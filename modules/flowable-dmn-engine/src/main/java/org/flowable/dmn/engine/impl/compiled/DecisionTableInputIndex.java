@@ -0,0 +1,255 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.compiled;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.flowable.common.engine.api.delegate.Expression;
+import org.flowable.common.engine.api.variable.VariableContainer;
+
+/**
+ * Index of the input entries of one input clause of a decision table, used to prune the rules that can't match an input value.
+ *
+ * Input entries that are simple unary tests are indexed:
+ * <ul>
+ * <li>equality with an integer, string or boolean literal (e.g. <code>5</code>, <code>== "gold"</code>, <code>true</code>) in a hash index</li>
+ * <li>comparison with an integer literal (e.g. <code>&lt; 10</code>, <code>&gt;= 18</code>) in an interval index</li>
+ * </ul>
+ * Rules with an empty or <code>-</code> input entry, or with an input entry that isn't a simple unary test, are a candidate for every input value.
+ *
+ * The index only prunes when the type of the input value gives the same result as the EL comparison,
+ * for other input values (e.g. null, or strings compared with integer literals) all rules of that kind of entry stay a candidate.
+ */
+public class DecisionTableInputIndex {
+
+    protected static final String[] OPERATORS = new String[] { "==", "!=", "<=", ">=", "<", ">" };
+
+    protected static final Pattern INPUT_EXPRESSION_PATTERN = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)*");
+    // Integer literals up to 15 digits are exact when EL converts them to a double or decimal for the comparison
+    protected static final Pattern LONG_LITERAL_PATTERN = Pattern.compile("-?[0-9]{1,15}");
+    protected static final Pattern STRING_LITERAL_PATTERN = Pattern.compile("\"[^\"\\\\]*\"|'[^'\\\\]*'");
+
+    protected static final Set<String> RESERVED_WORDS = new HashSet<>(Arrays.asList("and", "or", "not", "eq", "ne", "lt", "gt", "le", "ge",
+            "true", "false", "null", "instanceof", "empty", "div", "mod"));
+
+    protected static final BigDecimal MIN_LONG = BigDecimal.valueOf(Long.MIN_VALUE);
+    protected static final BigDecimal MAX_LONG = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    protected final Expression inputExpression;
+
+    // Rules that are a candidate for every input value
+    protected final BitSet unindexedRules = new BitSet();
+
+    // Equality entries, mapped by their Long, String or Boolean literal
+    protected final Map<Object, BitSet> equalRules = new HashMap<>();
+    protected final BitSet longEqualRules = new BitSet();
+    protected final BitSet stringEqualRules = new BitSet();
+    protected final BitSet booleanEqualRules = new BitSet();
+
+    // Comparison entries, mapped by their integer literal
+    protected final NavigableMap<Long, BitSet> lessThanRules = new TreeMap<>();
+    protected final NavigableMap<Long, BitSet> lessThanOrEqualRules = new TreeMap<>();
+    protected final NavigableMap<Long, BitSet> greaterThanRules = new TreeMap<>();
+    protected final NavigableMap<Long, BitSet> greaterThanOrEqualRules = new TreeMap<>();
+    protected final BitSet longComparisonRules = new BitSet();
+
+    public DecisionTableInputIndex(Expression inputExpression) {
+        this.inputExpression = inputExpression;
+    }
+
+    /**
+     * Only input expressions that are a plain variable or property reference are indexed, these can be resolved once without side effects.
+     */
+    public static boolean isIndexableInputExpression(String inputExpressionText) {
+        return inputExpressionText != null && INPUT_EXPRESSION_PATTERN.matcher(inputExpressionText).matches()
+                && !RESERVED_WORDS.contains(inputExpressionText);
+    }
+
+    public void addRule(int ruleIndex, String inputEntryText) {
+        if (StringUtils.isEmpty(inputEntryText) || "-".equals(inputEntryText) || !addIndexedRule(ruleIndex, inputEntryText)) {
+            unindexedRules.set(ruleIndex);
+        }
+    }
+
+    protected boolean addIndexedRule(int ruleIndex, String inputEntryText) {
+        // Same pre-parsing as the ELInputEntryExpressionPreParser, function names inside literals are replaced as well
+        if (inputEntryText.contains("fn_") || inputEntryText.startsWith("#{") || inputEntryText.startsWith("${")) {
+            return false;
+        }
+
+        String operator = "==";
+        String operand = inputEntryText;
+        if (inputEntryText.length() >= 2) {
+            for (String candidateOperator : OPERATORS) {
+                if (inputEntryText.startsWith(candidateOperator)) {
+                    operator = candidateOperator;
+                    operand = inputEntryText.substring(candidateOperator.length());
+                    break;
+                }
+            }
+        }
+        operand = operand.trim();
+
+        if (LONG_LITERAL_PATTERN.matcher(operand).matches()) {
+            Long literal = Long.valueOf(operand);
+            switch (operator) {
+                case "==":
+                    addRule(equalRules, literal, ruleIndex);
+                    longEqualRules.set(ruleIndex);
+                    return true;
+                case "<":
+                    addRule(lessThanRules, literal, ruleIndex);
+                    break;
+                case "<=":
+                    addRule(lessThanOrEqualRules, literal, ruleIndex);
+                    break;
+                case ">":
+                    addRule(greaterThanRules, literal, ruleIndex);
+                    break;
+                case ">=":
+                    addRule(greaterThanOrEqualRules, literal, ruleIndex);
+                    break;
+                default:
+                    return false;
+            }
+            longComparisonRules.set(ruleIndex);
+            return true;
+
+        } else if ("==".equals(operator) && STRING_LITERAL_PATTERN.matcher(operand).matches()) {
+            addRule(equalRules, operand.substring(1, operand.length() - 1), ruleIndex);
+            stringEqualRules.set(ruleIndex);
+            return true;
+
+        } else if ("==".equals(operator) && ("true".equals(operand) || "false".equals(operand))) {
+            addRule(equalRules, Boolean.valueOf(operand), ruleIndex);
+            booleanEqualRules.set(ruleIndex);
+            return true;
+        }
+
+        return false;
+    }
+
+    protected <K> void addRule(Map<K, BitSet> rules, K literal, int ruleIndex) {
+        rules.computeIfAbsent(literal, key -> new BitSet()).set(ruleIndex);
+    }
+
+    public boolean hasIndexedRules() {
+        return !longEqualRules.isEmpty() || !stringEqualRules.isEmpty() || !booleanEqualRules.isEmpty() || !longComparisonRules.isEmpty();
+    }
+
+    public Object getInputValue(VariableContainer variableContainer) {
+        return inputExpression.getValue(variableContainer);
+    }
+
+    /**
+     * Returns the rules that can match the given input value, or null if the input value can't be used for pruning.
+     */
+    public BitSet getCandidateRules(Object inputValue) {
+        if (inputValue == null) {
+            return null;
+        }
+
+        BitSet candidateRules = (BitSet) unindexedRules.clone();
+
+        BigDecimal numberValue = getNumberValue(inputValue);
+        if (numberValue == null || !addNumberRules(candidateRules, numberValue)) {
+            candidateRules.or(longEqualRules);
+            candidateRules.or(longComparisonRules);
+        }
+
+        if (inputValue instanceof String) {
+            addRules(candidateRules, equalRules.get(inputValue));
+        } else {
+            candidateRules.or(stringEqualRules);
+        }
+
+        if (inputValue instanceof Boolean) {
+            addRules(candidateRules, equalRules.get(inputValue));
+        } else {
+            candidateRules.or(booleanEqualRules);
+        }
+
+        return candidateRules;
+    }
+
+    /**
+     * Returns the exact value of a number input value, EL compares numbers numerically with integer literals.
+     */
+    protected BigDecimal getNumberValue(Object inputValue) {
+        if (inputValue instanceof Long || inputValue instanceof Integer || inputValue instanceof Short || inputValue instanceof Byte) {
+            return BigDecimal.valueOf(((Number) inputValue).longValue());
+        } else if (inputValue instanceof BigInteger) {
+            return new BigDecimal((BigInteger) inputValue);
+        } else if (inputValue instanceof BigDecimal) {
+            return (BigDecimal) inputValue;
+        } else if (inputValue instanceof Double || inputValue instanceof Float) {
+            double doubleValue = ((Number) inputValue).doubleValue();
+            if (Double.isNaN(doubleValue) || Double.isInfinite(doubleValue)) {
+                return null;
+            }
+            return new BigDecimal(doubleValue);
+        }
+        return null;
+    }
+
+    protected boolean addNumberRules(BitSet candidateRules, BigDecimal numberValue) {
+        BigDecimal floorValue = numberValue.setScale(0, RoundingMode.FLOOR);
+        if (floorValue.compareTo(MIN_LONG) <= 0 || floorValue.compareTo(MAX_LONG) >= 0) {
+            return false;
+        }
+
+        long longValue = floorValue.longValueExact();
+        if (floorValue.compareTo(numberValue) == 0) {
+            addRules(candidateRules, equalRules.get(longValue));
+            addRules(candidateRules, lessThanRules.tailMap(longValue, false));
+            addRules(candidateRules, lessThanOrEqualRules.tailMap(longValue, true));
+            addRules(candidateRules, greaterThanRules.headMap(longValue, false));
+            addRules(candidateRules, greaterThanOrEqualRules.headMap(longValue, true));
+        } else {
+            // a value between two integers never equals an integer literal
+            addRules(candidateRules, lessThanRules.tailMap(longValue, false));
+            addRules(candidateRules, lessThanOrEqualRules.tailMap(longValue, false));
+            addRules(candidateRules, greaterThanRules.headMap(longValue, true));
+            addRules(candidateRules, greaterThanOrEqualRules.headMap(longValue, true));
+        }
+        return true;
+    }
+
+    protected void addRules(BitSet candidateRules, BitSet rules) {
+        if (rules != null) {
+            candidateRules.or(rules);
+        }
+    }
+
+    protected void addRules(BitSet candidateRules, Map<Long, BitSet> rules) {
+        for (BitSet ruleSet : rules.values()) {
+            candidateRules.or(ruleSet);
+        }
+    }
+
+    public Expression getInputExpression() {
+        return inputExpression;
+    }
+}
@@ -12,8 +12,12 @@
  */
 package org.flowable.dmn.engine.impl.deployer;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
 import org.flowable.dmn.engine.DmnEngineConfiguration;
+import org.flowable.dmn.engine.impl.compiled.CompiledDecisionTable;
 import org.flowable.dmn.engine.impl.persistence.deploy.DecisionCacheEntry;
 import org.flowable.dmn.engine.impl.persistence.entity.DecisionEntity;
 import org.flowable.dmn.engine.impl.persistence.entity.DmnDeploymentEntity;
@@ -34,6 +38,7 @@ public class CachingAndArtifactsManager {
         final DmnEngineConfiguration dmnEngineConfiguration = CommandContextUtil.getDmnEngineConfiguration();
         DeploymentCache<DecisionCacheEntry> decisionCache = dmnEngineConfiguration.getDeploymentManager().getDecisionCache();
         DmnDeploymentEntity deployment = parsedDeployment.getDeployment();
+        Map<DmnDefinition, Map<String, CompiledDecisionTable>> compiledDecisionTables = new IdentityHashMap<>();
 
         for (DecisionEntity decisionEntity : parsedDeployment.getAllDecisions()) {
             DmnDefinition dmnDefinition = parsedDeployment.getDmnDefinitionForDecision(decisionEntity);
@@ -47,6 +52,11 @@ public class CachingAndArtifactsManager {
                 cacheEntry = new DecisionCacheEntry(decisionEntity, dmnDefinition, decision);
             }
 
+            if (dmnEngineConfiguration.isDecisionTableCompilationEnabled()) {
+                cacheEntry.setCompiledDecisionTables(compiledDecisionTables.computeIfAbsent(dmnDefinition,
+                        definition -> dmnEngineConfiguration.getDecisionTableCompiler().compile(definition)));
+            }
+
             decisionCache.add(decisionEntity.getId(), cacheEntry);
 
             // Add to deployment for further usage
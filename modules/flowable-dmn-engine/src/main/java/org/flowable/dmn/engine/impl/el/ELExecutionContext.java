@@ -19,6 +19,7 @@ import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.flowable.dmn.api.DecisionExecutionAuditContainer;
+import org.flowable.dmn.engine.impl.compiled.CompiledDecisionTable;
 import org.flowable.dmn.model.BuiltinAggregator;
 
 /**
@@ -35,6 +36,7 @@ public class ELExecutionContext {
     protected String scopeType;
     protected String tenantId;
     protected boolean forceDMN11;
+    protected CompiledDecisionTable compiledDecisionTable;
 
     public void checkExecutionContext(String variableId) {
         if (StringUtils.isEmpty(variableId)) {
@@ -123,4 +125,12 @@ public class ELExecutionContext {
     public void setForceDMN11(boolean forceDMN11) {
         this.forceDMN11 = forceDMN11;
     }
+
+    public CompiledDecisionTable getCompiledDecisionTable() {
+        return compiledDecisionTable;
+    }
+
+    public void setCompiledDecisionTable(CompiledDecisionTable compiledDecisionTable) {
+        this.compiledDecisionTable = compiledDecisionTable;
+    }
 }
@@ -60,6 +60,24 @@ public class ELExpressionExecutor {
         }
     }
 
+    /**
+     * Executes an input entry expression that was already created by the {@link org.flowable.dmn.engine.impl.compiled.DecisionTableCompiler}.
+     */
+    public static Boolean executeInputExpression(Expression expression, ELExecutionContext executionContext) {
+        if (executionContext == null) {
+            throw new IllegalArgumentException("execution context is required");
+        }
+
+        RuleExpressionCondition condition = new RuleExpressionCondition(expression);
+
+        try {
+            return condition.evaluate(executionContext.getStackVariables(), executionContext);
+        } catch (Exception ex) {
+            LOGGER.warn("Error while executing input entry: {}", expression.getExpressionText(), ex);
+            throw new FlowableDmnExpressionException("error while executing input entry", expression.getExpressionText(), ex);
+        }
+    }
+
     public static Object executeOutputExpression(OutputClause outputClause, LiteralExpression outputEntry, ExpressionManager expressionManager, ELExecutionContext executionContext) {
         if (outputClause == null) {
             throw new IllegalArgumentException("output clause is required");
@@ -83,4 +101,22 @@ public class ELExpressionExecutor {
             throw new FlowableDmnExpressionException("error while executing output entry", outputEntry.getText(), ex);
         }
     }
+
+    /**
+     * Executes an output entry expression that was already created by the {@link org.flowable.dmn.engine.impl.compiled.DecisionTableCompiler}.
+     */
+    public static Object executeOutputExpression(Expression expression, LiteralExpression outputEntry, ELExecutionContext executionContext) {
+        if (executionContext == null) {
+            throw new IllegalArgumentException("execution context is required");
+        }
+
+        RuleExpressionOutput outputExpression = new RuleExpressionOutput(expression);
+
+        try {
+            return outputExpression.getValue(executionContext.getStackVariables());
+        } catch (Exception ex) {
+            LOGGER.warn("Error while executing output entry: {}", outputEntry.getText(), ex);
+            throw new FlowableDmnExpressionException("error while executing output entry", outputEntry.getText(), ex);
+        }
+    }
 }
@@ -13,7 +13,9 @@
 package org.flowable.dmn.engine.impl.persistence.deploy;
 
 import java.io.Serializable;
+import java.util.Map;
 
+import org.flowable.dmn.engine.impl.compiled.CompiledDecisionTable;
 import org.flowable.dmn.engine.impl.persistence.entity.DecisionEntity;
 import org.flowable.dmn.model.Decision;
 import org.flowable.dmn.model.DecisionService;
@@ -31,6 +33,7 @@ public class DecisionCacheEntry implements Serializable {
     protected DmnDefinition dmnDefinition;
     protected DecisionService decisionService;
     protected Decision decision;
+    protected transient Map<String, CompiledDecisionTable> compiledDecisionTables;
 
     public DecisionCacheEntry(DecisionEntity decisionEntity, DmnDefinition dmnDefinition, DecisionService decisionService) {
         this.decisionEntity = decisionEntity;
@@ -72,4 +75,12 @@ public class DecisionCacheEntry implements Serializable {
     public void setDecision(Decision decision) {
         this.decision = decision;
     }
+
+    public Map<String, CompiledDecisionTable> getCompiledDecisionTables() {
+        return compiledDecisionTables;
+    }
+
+    public void setCompiledDecisionTables(Map<String, CompiledDecisionTable> compiledDecisionTables) {
+        this.compiledDecisionTables = compiledDecisionTables;
+    }
 }
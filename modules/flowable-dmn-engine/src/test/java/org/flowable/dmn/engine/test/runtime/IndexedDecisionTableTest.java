@@ -0,0 +1,107 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.test.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.dmn.api.DecisionExecutionAuditContainer;
+import org.flowable.dmn.api.DmnDecisionService;
+import org.flowable.dmn.engine.test.DmnDeployment;
+import org.flowable.dmn.engine.test.FlowableDmnRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class IndexedDecisionTableTest {
+
+    protected static final String ENGINE_CONFIG = "indexing.flowable.dmn.cfg.xml";
+
+    @Rule
+    public FlowableDmnRule flowableDmnRule = new FlowableDmnRule(ENGINE_CONFIG);
+
+    @Test
+    @DmnDeployment
+    public void indexedDecisionTable() {
+        assertThat(flowableDmnRule.getDmnEngine().getDmnEngineConfiguration().isDecisionTableIndexingEnabled()).isTrue();
+
+        DecisionExecutionAuditContainer result = execute("gold", 30, false);
+        assertThat(getOutputs(result)).containsExactly("gold");
+        // Only the candidate rules are evaluated: rule 1 and rule 6, of which the input entry can't be indexed
+        assertThat(result.getRuleExecutions()).containsOnlyKeys(1, 6);
+
+        assertThat(getOutputs(execute("silver", 70, true))).containsExactly("silver adult", "vip", "senior");
+        assertThat(getOutputs(execute("bronze", 18, false))).containsExactly("exactly 18", "bronze");
+        assertThat(getOutputs(execute("silver", 10L, true))).containsExactly("silver minor", "vip", "child");
+        assertThat(getOutputs(execute("other", 40, false))).isEmpty();
+
+        result = execute("other", 70.5, false);
+        assertThat(getOutputs(result)).containsExactly("senior");
+        assertThat(result.getRuleExecutions()).containsOnlyKeys(6, 7);
+
+        // Input values that can't be used for pruning keep all rules of that input as a candidate
+        result = execute("other", "70", false);
+        assertThat(getOutputs(result)).containsExactly("senior");
+        assertThat(result.getRuleExecutions()).containsOnlyKeys(5, 6, 7, 8);
+    }
+
+    @Test
+    @DmnDeployment
+    public void firstHitPolicy() {
+        DmnDecisionService dmnDecisionService = flowableDmnRule.getDmnEngine().getDmnDecisionService();
+
+        Map<String, Object> result = dmnDecisionService.createExecuteDecisionBuilder()
+                .decisionKey("decision1")
+                .variable("inputVariable1", 11)
+                .executeWithSingleResult();
+        assertThat(result).contains(entry("outputVariable1", "gt 10"), entry("outputVariable2", "result2"));
+
+        result = dmnDecisionService.createExecuteDecisionBuilder()
+                .decisionKey("decision1")
+                .variable("inputVariable1", 5)
+                .executeWithSingleResult();
+        assertThat(result).contains(entry("outputVariable1", "lt 10"), entry("outputVariable2", "result1"));
+    }
+
+    @Test
+    @DmnDeployment
+    public void uniqueHitPolicyViolated() {
+        DecisionExecutionAuditContainer result = flowableDmnRule.getDmnEngine().getDmnDecisionService().createExecuteDecisionBuilder()
+                .decisionKey("decision1")
+                .variable("inputVariable1", 9)
+                .executeWithAuditTrail();
+
+        assertThat(result.getDecisionResult()).isEmpty();
+        assertThat(result.isFailed()).isTrue();
+        assertThat(result.getRuleExecutions().get(1).getExceptionMessage()).isNotNull();
+        assertThat(result.getRuleExecutions().get(3).getExceptionMessage()).isNotNull();
+        assertThat(result.getRuleExecutions()).doesNotContainKey(2);
+    }
+
+    protected DecisionExecutionAuditContainer execute(String customerType, Object age, boolean vip) {
+        DecisionExecutionAuditContainer result = flowableDmnRule.getDmnEngine().getDmnDecisionService().createExecuteDecisionBuilder()
+                .decisionKey("decision1")
+                .variable("customerType", customerType)
+                .variable("age", age)
+                .variable("vip", vip)
+                .executeWithAuditTrail();
+        assertThat(result.isFailed()).isFalse();
+        return result;
+    }
+
+    protected List<Object> getOutputs(DecisionExecutionAuditContainer result) {
+        return result.getDecisionResult().stream().map(ruleResult -> ruleResult.get("outputVariable1")).toList();
+    }
+}
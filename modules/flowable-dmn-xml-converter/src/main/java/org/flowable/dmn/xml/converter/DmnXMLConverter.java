@@ -18,6 +18,7 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.UnsupportedEncodingException;
+import java.net.URL;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
@@ -36,10 +37,10 @@ import javax.xml.transform.stax.StAXSource;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
-import javax.xml.validation.Validator;
 
 import org.apache.commons.lang3.StringUtils;
 import org.flowable.common.engine.api.io.InputStreamProvider;
+import org.flowable.common.engine.impl.xml.PooledXmlSchema;
 import org.flowable.dmn.converter.util.DmnXMLUtil;
 import org.flowable.dmn.model.AuthorityRequirement;
 import org.flowable.dmn.model.BuiltinAggregator;
@@ -133,32 +134,23 @@ public class DmnXMLConverter implements DmnXMLConstants {
     }
 
     public void validateModel(InputStreamProvider inputStreamProvider) throws Exception {
-        Schema schema;
         String targetNameSpace = getTargetNameSpace(inputStreamProvider.getInputStream());
-        if (DMN_13_TARGET_NAMESPACE.equals(targetNameSpace)) {
-            schema = createSchema(DMN_XSD);
-        } else if (DMN_12_TARGET_NAMESPACE.equals(targetNameSpace)) {
-            schema = createSchema(DMN_12_XSD);
-        } else {
-            schema = createSchema(DMN_11_XSD);
-        }
-
-        Validator validator = schema.newValidator();
-        validator.validate(new StreamSource(inputStreamProvider.getInputStream()));
+        getSchemaForTargetNameSpace(targetNameSpace).validate(new StreamSource(inputStreamProvider.getInputStream()));
     }
 
     public void validateModel(XMLStreamReader xmlStreamReader) throws Exception {
-        Schema schema;
         String targetNameSpace = getTargetNameSpace(xmlStreamReader);
+        getSchemaForTargetNameSpace(targetNameSpace).validate(new StAXSource(xmlStreamReader));
+    }
+
+    protected PooledXmlSchema getSchemaForTargetNameSpace(String targetNameSpace) throws SAXException {
         if (DMN_13_TARGET_NAMESPACE.equals(targetNameSpace)) {
-            schema = createSchema(DMN_XSD);
+            return getSchema(DMN_XSD);
         } else if (DMN_12_TARGET_NAMESPACE.equals(targetNameSpace)) {
-            schema = createSchema(DMN_12_XSD);
+            return getSchema(DMN_12_XSD);
         } else {
-            schema = createSchema(DMN_11_XSD);
+            return getSchema(DMN_11_XSD);
         }
-        Validator validator = schema.newValidator();
-        validator.validate(new StAXSource(xmlStreamReader));
     }
 
     protected String getTargetNameSpace(InputStream is) {
@@ -194,6 +186,15 @@ public class DmnXMLConverter implements DmnXMLConstants {
         return targetNameSpace;
     }
 
+    /**
+     * Returns the DMN XSD created by {@link #createSchema(String)}, which is only compiled once and shared by all converters of the same class and class loader.
+     */
+    protected PooledXmlSchema getSchema(String xsd) throws SAXException {
+        URL xsdLocation = classloader != null ? classloader.getResource(xsd) : null;
+        String schemaKey = getClass().getName() + '|' + (xsdLocation != null ? xsdLocation.toExternalForm() : xsd);
+        return PooledXmlSchema.forKey(schemaKey, () -> createSchema(xsd));
+    }
+
     protected Schema createSchema(String xsd) throws SAXException {
         SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
         Schema schema = null;
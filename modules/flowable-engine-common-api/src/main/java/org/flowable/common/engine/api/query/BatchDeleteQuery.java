@@ -37,4 +37,18 @@ public interface BatchDeleteQuery<Q extends BatchDeleteQuery<Q>> {
      */
     String deleteSequentiallyUsingBatch(int batchSize, String batchName);
 
+    /**
+     * Perform the deletion in parallel using independent partitions of the given batch size.
+     * Contrary to {@link #deleteInParallelUsingBatch(int, String)}, the partitions are computed one after the other by id
+     * and the deletion of a partition starts as soon as it has been computed, while the next partition is being computed.
+     * Queries that do not support partitioning fall back to {@link #deleteInParallelUsingBatch(int, String)}.
+     *
+     * @param batchSize the size of each partition
+     * @param batchName the name of the batch
+     * @return the id the batch that is doing the deletion
+     */
+    default String deleteInPartitionsUsingBatch(int batchSize, String batchName) {
+        return deleteInParallelUsingBatch(batchSize, batchName);
+    }
+
 }
@@ -14,6 +14,9 @@
 package org.flowable.common.engine.api.query;
 
 import java.util.List;
+import java.util.stream.Stream;
+
+import org.flowable.common.engine.api.FlowableException;
 
 /**
  * Describes basic methods for querying.
@@ -61,4 +64,27 @@ public interface Query<T extends Query<?, ?>, U extends Object> {
      * Executes the query and get a list of entities as the result.
      */
     List<U> listPage(int firstResult, int maxResults);
+
+    /**
+     * Executes the query and returns at most maxResults entities with an id greater than the given lastId, ordered by id.
+     * Contrary to {@link #listPage(int, int)}, the database does not need to scan all previous pages:
+     * pass null to get the first page and the id of the last entity of a page to get the next one.
+     *
+     * @throws FlowableException when the query does not support keyset pagination.
+     * @throws org.flowable.common.engine.api.FlowableIllegalArgumentException when the query is ordered by anything else than the id.
+     */
+    default List<U> listAfter(String lastId, int maxResults) {
+        throw new FlowableException(getClass().getName() + " does not support keyset pagination");
+    }
+
+    /**
+     * Executes the query and returns a lazily fetched stream of all results, ordered by id.
+     * The results are fetched in batches of the given size with {@link #listAfter(String, int)}, so memory stays constant regardless of the number of results.
+     * As every batch is fetched in its own transaction, results created or deleted while the stream is consumed may or may not be part of it.
+     *
+     * @throws FlowableException when the query does not support streaming.
+     */
+    default Stream<U> stream(int batchSize) {
+        throw new FlowableException(getClass().getName() + " does not support streaming");
+    }
 }
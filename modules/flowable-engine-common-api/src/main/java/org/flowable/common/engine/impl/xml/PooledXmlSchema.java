@@ -0,0 +1,112 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.xml;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import javax.xml.transform.Source;
+import javax.xml.validation.Schema;
+import javax.xml.validation.Validator;
+
+import org.xml.sax.SAXException;
+
+/**
+ * A compiled XML schema, together with a pool of validators for it.
+ *
+ * <p>
+ * Compiling an XSD is expensive, so the schemas are compiled once per cache key and shared by all callers.
+ * A compiled {@link Schema} is thread-safe, but a {@link Validator} is not: every validation borrows a validator from the pool
+ * (or creates a new one when the pool is empty) and returns it afterwards.
+ *
+ * <p>
+ * The cache keeps at most {@link #MAX_CACHED_SCHEMAS} schemas, the least recently used schema is removed first.
+ * This is an internal class, it is not part of the public API.
+ */
+public class PooledXmlSchema {
+
+    protected static final int MAX_POOLED_VALIDATORS = 16;
+    protected static final int MAX_CACHED_SCHEMAS = 32;
+
+    protected static final Map<String, PooledXmlSchema> SCHEMAS = new LinkedHashMap<>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, PooledXmlSchema> eldest) {
+            return size() > MAX_CACHED_SCHEMAS;
+        }
+    };
+
+    protected final Schema schema;
+    protected final BlockingQueue<Validator> validators = new ArrayBlockingQueue<>(MAX_POOLED_VALIDATORS);
+
+    public PooledXmlSchema(Schema schema) {
+        this.schema = schema;
+    }
+
+    /**
+     * Returns the cached schema for the given key, or creates it with the given creator and caches it.
+     * The key needs to identify the schema that the creator creates, e.g. by containing the XSD location.
+     */
+    public static PooledXmlSchema forKey(String schemaKey, SchemaCreator schemaCreator) throws SAXException {
+        synchronized (SCHEMAS) {
+            PooledXmlSchema pooledSchema = SCHEMAS.get(schemaKey);
+            if (pooledSchema != null) {
+                return pooledSchema;
+            }
+        }
+
+        // The schema is compiled outside of the lock, when two threads compile the same schema concurrently the first one is kept
+        PooledXmlSchema newPooledSchema = new PooledXmlSchema(schemaCreator.createSchema());
+        synchronized (SCHEMAS) {
+            PooledXmlSchema pooledSchema = SCHEMAS.putIfAbsent(schemaKey, newPooledSchema);
+            return pooledSchema != null ? pooledSchema : newPooledSchema;
+        }
+    }
+
+    /**
+     * Removes all cached schemas, e.g. when the XSDs of a class loader that is no longer used were cached.
+     */
+    public static void clearCache() {
+        synchronized (SCHEMAS) {
+            SCHEMAS.clear();
+        }
+    }
+
+    public void validate(Source source) throws SAXException, IOException {
+        Validator validator = validators.poll();
+        if (validator == null) {
+            validator = schema.newValidator();
+        }
+
+        validator.validate(source);
+
+        // Only validators that completed normally are reused, when the pool is full the validator is dropped
+        validator.reset();
+        validators.offer(validator);
+    }
+
+    public Schema getSchema() {
+        return schema;
+    }
+
+    public interface SchemaCreator {
+
+        Schema createSchema() throws SAXException;
+    }
+
+}
@@ -102,10 +102,11 @@ import org.flowable.common.engine.impl.lock.LockManagerImpl;
 import org.flowable.common.engine.impl.logging.LoggingListener;
 import org.flowable.common.engine.impl.logging.LoggingSession;
 import org.flowable.common.engine.impl.logging.LoggingSessionFactory;
-import org.flowable.common.engine.impl.persistence.GenericManagerFactory;
 import org.flowable.common.engine.impl.persistence.StrongUuidGenerator;
-import org.flowable.common.engine.impl.persistence.cache.EntityCache;
-import org.flowable.common.engine.impl.persistence.cache.EntityCacheImpl;
+import org.flowable.common.engine.impl.persistence.cache.EntityCacheSessionFactory;
+import org.flowable.common.engine.impl.persistence.deploy.DefaultDeploymentCache;
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
+import org.flowable.common.engine.impl.persistence.deploy.TinyLfuDeploymentCache;
 import org.flowable.common.engine.impl.persistence.entity.ByteArrayEntityManager;
 import org.flowable.common.engine.impl.persistence.entity.ByteArrayEntityManagerImpl;
 import org.flowable.common.engine.impl.persistence.entity.Entity;
@@ -236,6 +237,24 @@ public abstract class AbstractEngineConfiguration {
 
     public int DEFAULT_MAX_NR_OF_STATEMENTS_BULK_INSERT_SQL_SERVER = 55; // currently Execution has most params (35). 2000 / 35 = 57.
 
+    /**
+     * If set to true, the inserts, updates and deletes of a flush are sent to the database as JDBC batches
+     * (statements are grouped per mapped statement), instead of one round trip per statement.
+     * Optimistic locking checks are done on the update counts returned for the batch.
+     * <p>
+     * Note that some JDBC drivers don't return row counts for batched statements, in which case optimistic locking failures can't be detected:
+     * only enable this when the driver reports the actual update counts. Default false.
+     */
+    protected boolean isBatchFlushEnabled = false;
+
+    /**
+     * If set to true, entities implementing {@link org.flowable.common.engine.impl.persistence.entity.ChangeTrackingEntity}
+     * record their changed fields themselves, and no copy of their persistent state is made when they are loaded.
+     * At flush time, only the entities with recorded changes are updated, instead of comparing the persistent state of every cached entity.
+     * Other entities keep using the persistent state comparison. Default false.
+     */
+    protected boolean changeTrackingEnabled = false;
+
     protected String mybatisMappingFile;
     protected Set<Class<?>> customMybatisMappers;
     protected Set<String> customMybatisXMLMappers;
@@ -259,6 +278,14 @@ public abstract class AbstractEngineConfiguration {
 
     protected boolean transactionsExternallyManaged;
 
+    /**
+     * If set to true, the definition and expression caches that are created by the engine are {@link TinyLfuDeploymentCache}s
+     * (lock-free reads, frequency aware eviction, hit / miss / eviction counts) instead of {@link DefaultDeploymentCache}s.
+     * The configured cache limits are used as the maximum number of entries. An expression cache size of 0 or less
+     * keeps no expressions, as before, and is not replaced. Default false.
+     */
+    protected boolean tinyLfuDeploymentCacheEnabled;
+
     /**
      * Flag that can be set to configure or not a relational database is used. This is useful for custom implementations that do not use relational databases at all.
      *
@@ -687,6 +714,27 @@ public abstract class AbstractEngineConfiguration {
         }
     }
 
+    // deployment caches
+    // /////////////////////////////////////////////////////////////
+
+    protected <T> DeploymentCache<T> createDeploymentCache(int limit) {
+        if (tinyLfuDeploymentCacheEnabled) {
+            return limit <= 0 ? new TinyLfuDeploymentCache<>() : new TinyLfuDeploymentCache<>(limit);
+        }
+        return limit <= 0 ? new DefaultDeploymentCache<>() : new DefaultDeploymentCache<>(limit);
+    }
+
+    /**
+     * Unlike the definition caches, a size of 0 or less does not mean an unbounded expression cache:
+     * the size is always passed to a {@link DefaultDeploymentCache}, which then keeps no expressions at all.
+     */
+    protected <T> DeploymentCache<T> createExpressionCache(int size) {
+        if (tinyLfuDeploymentCacheEnabled && size > 0) {
+            return new TinyLfuDeploymentCache<>(size);
+        }
+        return new DefaultDeploymentCache<>(size);
+    }
+
     public void initObjectMapper() {
         if (objectMapper == null) {
             objectMapper = new ObjectMapper();
@@ -748,7 +796,7 @@ public abstract class AbstractEngineConfiguration {
                 initDbSqlSessionFactory();
             }
 
-            addSessionFactory(new GenericManagerFactory(EntityCache.class, EntityCacheImpl.class));
+            addSessionFactory(new EntityCacheSessionFactory(changeTrackingEnabled));
             
             if (isLoggingSessionEnabled()) {
                 if (!sessionFactories.containsKey(LoggingSession.class)) {
@@ -786,6 +834,7 @@ public abstract class AbstractEngineConfiguration {
         dbSqlSessionFactory.setDatabaseCatalog(databaseCatalog);
         dbSqlSessionFactory.setDatabaseSchema(databaseSchema);
         dbSqlSessionFactory.setMaxNrOfStatementsInBulkInsert(maxNrOfStatementsInBulkInsert);
+        dbSqlSessionFactory.setBatchFlushEnabled(isBatchFlushEnabled);
 
         initDbSqlSessionFactoryEntitySettings();
 
@@ -1569,6 +1618,33 @@ public abstract class AbstractEngineConfiguration {
         return this;
     }
 
+    public boolean isBatchFlushEnabled() {
+        return isBatchFlushEnabled;
+    }
+
+    public AbstractEngineConfiguration setBatchFlushEnabled(boolean isBatchFlushEnabled) {
+        this.isBatchFlushEnabled = isBatchFlushEnabled;
+        return this;
+    }
+
+    public boolean isChangeTrackingEnabled() {
+        return changeTrackingEnabled;
+    }
+
+    public AbstractEngineConfiguration setChangeTrackingEnabled(boolean changeTrackingEnabled) {
+        this.changeTrackingEnabled = changeTrackingEnabled;
+        return this;
+    }
+
+    public boolean isTinyLfuDeploymentCacheEnabled() {
+        return tinyLfuDeploymentCacheEnabled;
+    }
+
+    public AbstractEngineConfiguration setTinyLfuDeploymentCacheEnabled(boolean tinyLfuDeploymentCacheEnabled) {
+        this.tinyLfuDeploymentCacheEnabled = tinyLfuDeploymentCacheEnabled;
+        return this;
+    }
+
     public Set<Class<?>> getCustomMybatisMappers() {
         return customMybatisMappers;
     }
@@ -60,6 +60,17 @@ public class AsyncTaskExecutorConfiguration {
      */
     protected String threadPoolNamingPattern;
 
+    /**
+     * Whether the tasks are executed on virtual threads (see {@link VirtualThreadAsyncTaskExecutor}) instead of on a thread pool.
+     */
+    protected boolean virtualThreads;
+
+    /**
+     * The maximum number of concurrently executed tasks when virtual threads are used.
+     * The pool sizes and the queue size are not used in that case.
+     */
+    protected int maxConcurrency = 256;
+
     public int getCorePoolSize() {
         return corePoolSize;
     }
@@ -116,6 +127,22 @@ public class AsyncTaskExecutorConfiguration {
         this.threadPoolNamingPattern = threadPoolNamingPattern;
     }
 
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
     public void setThreadNamePrefix(String prefix) {
         if (prefix == null) {
             this.threadPoolNamingPattern = "%d";
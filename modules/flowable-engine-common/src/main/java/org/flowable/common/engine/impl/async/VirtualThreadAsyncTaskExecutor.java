@@ -0,0 +1,199 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.async;
+
+import static org.flowable.common.engine.impl.util.ExceptionUtil.sneakyThrow;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+/**
+ * An {@link org.flowable.common.engine.api.async.AsyncTaskExecutor} that executes every task on its own virtual thread.
+ *
+ * <p>
+ * Contrary to the {@link DefaultAsyncTaskExecutor}, there is no thread pool and no queue:
+ * the number of concurrently executed tasks is limited by a semaphore with {@link AsyncTaskExecutorConfiguration#getMaxConcurrency()} permits.
+ * A task is rejected when no permit is available, and the remaining capacity is the number of available permits.
+ * This means that the async job acquisition only acquires as many jobs as can be executed right away.
+ *
+ * <p>
+ * This is meant for jobs that mostly block on I/O (e.g. http or database calls).
+ * Virtual threads need Java 21 or later. On older JVMs, platform threads are created on demand instead,
+ * which keeps the same concurrency limit.
+ */
+public class VirtualThreadAsyncTaskExecutor extends DefaultAsyncTaskExecutor {
+
+    protected final ResizableSemaphore permits;
+
+    public VirtualThreadAsyncTaskExecutor() {
+        this(new AsyncTaskExecutorConfiguration());
+    }
+
+    public VirtualThreadAsyncTaskExecutor(AsyncTaskExecutorConfiguration configuration) {
+        super(configuration);
+        this.permits = new ResizableSemaphore(configuration.getMaxConcurrency());
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        acquirePermit();
+        try {
+            executorService.execute(createPermitReleasingRunnable(task));
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<?> submit(Runnable task) {
+        acquirePermit();
+        try {
+            return CompletableFuture.runAsync(createPermitReleasingRunnable(task), executorService);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        acquirePermit();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return task.call();
+                } catch (Exception exception) {
+                    sneakyThrow(exception);
+                    return null;
+                } finally {
+                    permits.release();
+                }
+            }, executorService);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    protected void acquirePermit() {
+        if (!permits.tryAcquire()) {
+            throw new RejectedExecutionException("Maximum concurrency of " + getMaxConcurrency() + " tasks reached");
+        }
+    }
+
+    protected Runnable createPermitReleasingRunnable(Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        };
+    }
+
+    @Override
+    protected ExecutorService initializeExecutor() {
+        if (threadFactory == null) {
+            threadFactory = createVirtualThreadFactory();
+        }
+
+        if (threadFactory != null) {
+            ExecutorService threadPerTaskExecutor = createThreadPerTaskExecutor(threadFactory);
+            if (threadPerTaskExecutor != null) {
+                logger.info("Creating virtual thread executor service with max concurrency {}", getMaxConcurrency());
+                return threadPerTaskExecutor;
+            }
+
+        } else {
+            logger.warn("Virtual threads are not supported by this JVM, platform threads are used for task execution instead");
+            threadFactory = new BasicThreadFactory.Builder().namingPattern(getThreadPoolNamingPattern()).build();
+        }
+
+        // No pooling of the threads: the concurrency is limited by the permits, and idle threads end right away
+        logger.info("Creating thread per task executor service with max concurrency {}", getMaxConcurrency());
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>(), threadFactory);
+    }
+
+    /**
+     * Creates the factory for the virtual threads, or returns null when the JVM does not support virtual threads.
+     * Reflection is used, such that this class can be compiled and used on JVMs without virtual threads.
+     */
+    protected ThreadFactory createVirtualThreadFactory() {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            String threadNamePrefix = getThreadPoolNamingPattern().replace("%d", "");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    protected ExecutorService createThreadPerTaskExecutor(ThreadFactory threadFactory) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    public int getMaxConcurrency() {
+        return getConfiguration().getMaxConcurrency();
+    }
+
+    /**
+     * Changes the maximum concurrency. The permits of the running tasks stay taken, so when the maximum concurrency is reduced
+     * below the number of running tasks, new tasks are rejected until enough running tasks have completed.
+     */
+    public synchronized void setMaxConcurrency(int maxConcurrency) {
+        int difference = maxConcurrency - getMaxConcurrency();
+        getConfiguration().setMaxConcurrency(maxConcurrency);
+        if (difference > 0) {
+            permits.release(difference);
+        } else if (difference < 0) {
+            permits.reducePermits(-difference);
+        }
+    }
+
+    @Override
+    public int getRemainingCapacity() {
+        return Math.max(permits.availablePermits(), 0);
+    }
+
+    protected static class ResizableSemaphore extends Semaphore {
+
+        private static final long serialVersionUID = 1L;
+
+        public ResizableSemaphore(int permits) {
+            super(permits);
+        }
+
+        @Override
+        public void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
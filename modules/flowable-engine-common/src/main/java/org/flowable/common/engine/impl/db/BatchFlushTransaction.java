@@ -0,0 +1,57 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.db;
+
+import java.sql.Connection;
+
+import org.apache.ibatis.transaction.Transaction;
+
+/**
+ * A MyBatis {@link Transaction} that shares the connection of the regular {@link DbSqlSession} sql session.
+ * Used for the batch executor that flushes the entity changes: committing, rolling back and closing
+ * is the responsibility of the owning sql session, so these operations are no-ops here.
+ */
+public class BatchFlushTransaction implements Transaction {
+
+    protected Connection connection;
+
+    public BatchFlushTransaction(Connection connection) {
+        this.connection = connection;
+    }
+
+    @Override
+    public Connection getConnection() {
+        return connection;
+    }
+
+    @Override
+    public void commit() {
+        // Done by the owning sql session
+    }
+
+    @Override
+    public void rollback() {
+        // Done by the owning sql session
+    }
+
+    @Override
+    public void close() {
+        // The connection is owned by the regular sql session
+    }
+
+    @Override
+    public Integer getTimeout() {
+        return null;
+    }
+
+}
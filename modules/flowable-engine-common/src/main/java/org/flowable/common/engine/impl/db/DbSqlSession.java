@@ -24,7 +24,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.defaults.DefaultSqlSession;
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.FlowableOptimisticLockingException;
 import org.flowable.common.engine.api.query.CacheAwareQuery;
@@ -50,6 +56,7 @@ public class DbSqlSession implements Session {
 
     protected EntityCache entityCache;
     protected SqlSession sqlSession;
+    protected SqlSession batchSqlSession; // Only used when batch flushing is enabled
     protected DbSqlSessionFactory dbSqlSessionFactory;
     protected String connectionMetadataDefaultCatalog;
     protected String connectionMetadataDefaultSchema;
@@ -358,6 +365,9 @@ public class DbSqlSession implements Session {
 
     @Override
     public void flush() {
+        DbSqlSessionFlushListener flushListener = dbSqlSessionFactory.getFlushListener();
+        long startTime = flushListener != null ? System.nanoTime() : 0L;
+
         determineUpdatedObjects(); // Needs to be done before the removeUnnecessaryOperations, as removeUnnecessaryOperations will remove stuff from the cache
         removeUnnecessaryOperations();
 
@@ -365,9 +375,38 @@ public class DbSqlSession implements Session {
             debugFlush();
         }
 
+        int insertCount = 0;
+        int updateCount = 0;
+        int deleteCount = 0;
+        if (flushListener != null) {
+            // Counted before flushing, as flushing clears the inserted, updated and deleted objects
+            insertCount = countEntities(insertedObjects);
+            updateCount = updatedObjects.size();
+            deleteCount = countEntities(deletedObjects);
+            for (List<BulkDeleteOperation> operations : bulkDeleteOperations.values()) {
+                deleteCount += operations.size();
+            }
+        }
+
         flushInserts();
         flushUpdates();
         flushDeletes();
+
+        if (batchSqlSession != null) {
+            flushBatchStatements();
+        }
+
+        if (flushListener != null) {
+            flushListener.afterFlush(insertCount, updateCount, deleteCount, System.nanoTime() - startTime);
+        }
+    }
+
+    protected int countEntities(Map<Class<? extends Entity>, Map<String, Entity>> entitiesByClass) {
+        int count = 0;
+        for (Map<String, Entity> entities : entitiesByClass.values()) {
+            count += entities.size();
+        }
+        return count;
     }
 
     /**
@@ -516,7 +555,7 @@ public class DbSqlSession implements Session {
         }
 
         LOGGER.debug("inserting: {}", entity);
-        sqlSession.insert(insertStatement, entity);
+        getFlushSqlSession().insert(insertStatement, entity);
 
         // See https://activiti.atlassian.net/browse/ACT-1290
         if (entity instanceof HasRevision) {
@@ -547,7 +586,7 @@ public class DbSqlSession implements Session {
                 }
                 index++;
             }
-            sqlSession.insert(insertStatement, subList);
+            getFlushSqlSession().insert(insertStatement, subList);
         }
 
         if (hasRevision != null && hasRevision) {
@@ -567,6 +606,11 @@ public class DbSqlSession implements Session {
     }
 
     protected void flushUpdates() {
+        if (dbSqlSessionFactory.isBatchFlushEnabled()) {
+            flushBatchUpdates();
+            return;
+        }
+
         for (Entity updatedObject : updatedObjects) {
             String updateStatement = dbSqlSessionFactory.getUpdateStatement(updatedObject);
             updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
@@ -591,6 +635,40 @@ public class DbSqlSession implements Session {
         updatedObjects.clear();
     }
 
+    /**
+     * Groups the updates by update statement, such that each group is sent to the database as one JDBC batch.
+     * The optimistic locking checks happen when the batch is flushed, see {@link #flushBatchStatements()}.
+     */
+    protected void flushBatchUpdates() {
+        Map<String, List<Entity>> updatedObjectsByStatement = new LinkedHashMap<>();
+        for (Entity updatedObject : updatedObjects) {
+            String updateStatement = dbSqlSessionFactory.getUpdateStatement(updatedObject);
+            updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
+
+            if (updateStatement == null) {
+                throw new FlowableException("no update statement for " + updatedObject.getClass() + " in the ibatis mapping files");
+            }
+
+            updatedObjectsByStatement.computeIfAbsent(updateStatement, key -> new ArrayList<>()).add(updatedObject);
+        }
+
+        SqlSession flushSqlSession = getFlushSqlSession();
+        for (Map.Entry<String, List<Entity>> entry : updatedObjectsByStatement.entrySet()) {
+            for (Entity updatedObject : entry.getValue()) {
+                LOGGER.debug("updating (batched): {}", updatedObject);
+                flushSqlSession.update(entry.getKey(), updatedObject);
+
+                // The parameters are bound when the statement is added to the batch,
+                // so the revision can be incremented before the batch is executed (a later delete of the same entity uses the new revision).
+                // See https://activiti.atlassian.net/browse/ACT-1290
+                if (updatedObject instanceof HasRevision) {
+                    ((HasRevision) updatedObject).setRevision(((HasRevision) updatedObject).getRevisionNext());
+                }
+            }
+        }
+        updatedObjects.clear();
+    }
+
     protected void flushDeletes() {
 
         if (deletedObjects.size() == 0 && bulkDeleteOperations.size() == 0) {
@@ -627,12 +705,17 @@ public class DbSqlSession implements Session {
         // Bulk deletes
         if (deleteOperations != null) {
             for (BulkDeleteOperation bulkDeleteOperation : deleteOperations) {
-                bulkDeleteOperation.execute(sqlSession, entityClass);
+                bulkDeleteOperation.execute(getFlushSqlSession(), entityClass);
             }
         }
     }
 
     protected void flushDeleteEntities(Class<? extends Entity> entityClass, Collection<Entity> entitiesToDelete) {
+        if (dbSqlSessionFactory.isBatchFlushEnabled()) {
+            flushBatchDeleteEntities(entitiesToDelete);
+            return;
+        }
+
         for (Entity entity : entitiesToDelete) {
             String deleteStatement = dbSqlSessionFactory.getDeleteStatement(entity.getClass());
             deleteStatement = dbSqlSessionFactory.mapStatement(deleteStatement);
@@ -653,8 +736,87 @@ public class DbSqlSession implements Session {
         }
     }
 
+    /**
+     * Queues the deletes on the batch sql session. Deletes of entities of the same class share the same statement,
+     * which means they end up in the same JDBC batch. The optimistic locking checks for entities that have a revision
+     * happen when the batch is flushed, see {@link #flushBatchStatements()}.
+     */
+    protected void flushBatchDeleteEntities(Collection<Entity> entitiesToDelete) {
+        Map<String, List<Entity>> deletedObjectsByStatement = new LinkedHashMap<>();
+        for (Entity entity : entitiesToDelete) {
+            String deleteStatement = dbSqlSessionFactory.getDeleteStatement(entity.getClass());
+            deleteStatement = dbSqlSessionFactory.mapStatement(deleteStatement);
+            if (deleteStatement == null) {
+                throw new FlowableException("no delete statement for " + entity.getClass() + " in the ibatis mapping files");
+            }
+
+            deletedObjectsByStatement.computeIfAbsent(deleteStatement, key -> new ArrayList<>()).add(entity);
+        }
+
+        SqlSession flushSqlSession = getFlushSqlSession();
+        for (Map.Entry<String, List<Entity>> entry : deletedObjectsByStatement.entrySet()) {
+            for (Entity entity : entry.getValue()) {
+                flushSqlSession.delete(entry.getKey(), entity);
+            }
+        }
+    }
+
+    /**
+     * Sends all statements queued on the batch sql session to the database and verifies the update counts:
+     * an update of an entity or a delete of an entity with a revision that didn't affect any row
+     * means the entity was changed by another transaction concurrently.
+     *
+     * Note that some JDBC drivers return {@link java.sql.Statement#SUCCESS_NO_INFO} instead of the actual row count
+     * for batched statements, in which case the optimistic locking check can't be done.
+     */
+    protected void flushBatchStatements() {
+        List<BatchResult> batchResults = batchSqlSession.flushStatements();
+        for (BatchResult batchResult : batchResults) {
+            SqlCommandType sqlCommandType = batchResult.getMappedStatement().getSqlCommandType();
+            if (sqlCommandType != SqlCommandType.UPDATE && sqlCommandType != SqlCommandType.DELETE) {
+                continue;
+            }
+
+            List<Object> parameterObjects = batchResult.getParameterObjects();
+            int[] updateCounts = batchResult.getUpdateCounts();
+            for (int i = 0; i < updateCounts.length; i++) {
+                Object parameterObject = parameterObjects.get(i);
+                if (!(parameterObject instanceof Entity)) {
+                    continue; // e.g. bulk deletes, which don't have optimistic locking checks
+                }
+
+                // It only makes sense to check deletes for objects that actually have a revision
+                boolean checkUpdateCount = sqlCommandType == SqlCommandType.UPDATE || parameterObject instanceof HasRevision;
+                if (checkUpdateCount && updateCounts[i] == 0) {
+                    throw new FlowableOptimisticLockingException(parameterObject + " was updated by another transaction concurrently");
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the sql session that is used to flush the inserts, updates and deletes.
+     * When batch flushing is enabled, this is a sql session with a {@link ExecutorType#BATCH} executor that shares the connection
+     * (and thus the transaction) of the regular sql session. Otherwise, this is the regular sql session.
+     */
+    protected SqlSession getFlushSqlSession() {
+        if (!dbSqlSessionFactory.isBatchFlushEnabled()) {
+            return sqlSession;
+        }
+
+        if (batchSqlSession == null) {
+            Configuration configuration = sqlSession.getConfiguration();
+            Executor executor = configuration.newExecutor(new BatchFlushTransaction(sqlSession.getConnection()), ExecutorType.BATCH);
+            batchSqlSession = new DefaultSqlSession(configuration, executor, false);
+        }
+        return batchSqlSession;
+    }
+
     @Override
     public void close() {
+        if (batchSqlSession != null) {
+            batchSqlSession.close();
+        }
         sqlSession.close();
     }
 
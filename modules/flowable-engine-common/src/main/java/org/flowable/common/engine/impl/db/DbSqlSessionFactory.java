@@ -62,6 +62,10 @@ public class DbSqlSessionFactory implements SessionFactory {
     protected Map<Class<?>, String> bulkInsertStatements = new ConcurrentHashMap<>();
 
     protected int maxNrOfStatementsInBulkInsert = 100;
+
+    protected boolean batchFlushEnabled;
+
+    protected DbSqlSessionFlushListener flushListener;
     
     protected Map<String, Class<?>> logicalNameToClassMapping = new ConcurrentHashMap<>();
     
@@ -202,6 +206,22 @@ public class DbSqlSessionFactory implements SessionFactory {
         this.maxNrOfStatementsInBulkInsert = maxNrOfStatementsInBulkInsert;
     }
 
+    public boolean isBatchFlushEnabled() {
+        return batchFlushEnabled;
+    }
+
+    public void setBatchFlushEnabled(boolean batchFlushEnabled) {
+        this.batchFlushEnabled = batchFlushEnabled;
+    }
+
+    public DbSqlSessionFlushListener getFlushListener() {
+        return flushListener;
+    }
+
+    public void setFlushListener(DbSqlSessionFlushListener flushListener) {
+        this.flushListener = flushListener;
+    }
+
     public Map<Class<?>, String> getBulkInsertStatements() {
         return bulkInsertStatements;
     }
@@ -0,0 +1,29 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.db;
+
+/**
+ * Notified every time a {@link DbSqlSession} has flushed its entity changes to the database,
+ * e.g. to collect metrics about the number of statements per transaction.
+ */
+public interface DbSqlSessionFlushListener {
+
+    /**
+     * @param insertCount the number of inserted entities
+     * @param updateCount the number of updated entities
+     * @param deleteCount the number of deleted entities and bulk delete statements
+     * @param durationInNanos the time it took to flush the changes
+     */
+    void afterFlush(int insertCount, int updateCount, int deleteCount, long durationInNanos);
+
+}
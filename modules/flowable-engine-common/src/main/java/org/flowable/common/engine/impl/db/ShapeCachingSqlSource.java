@@ -0,0 +1,99 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.db;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.builder.SqlSourceBuilder;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.scripting.xmltags.DynamicContext;
+import org.apache.ibatis.scripting.xmltags.DynamicSqlSource;
+import org.apache.ibatis.scripting.xmltags.SqlNode;
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * A dynamic {@link SqlSource} (see {@link DynamicSqlSource}) that caches the parsed SQL per generated SQL text (the 'shape' of the statement).
+ * The dynamic SQL nodes are still applied for every execution, only the parsing of the {@code #{}} parameters by the {@link SqlSourceBuilder}
+ * is skipped for a cached shape. The resulting SQL text is the same as with the {@link DynamicSqlSource}.
+ *
+ * <p>
+ * The parsed SQL only depends on the generated SQL text and the parameter type, unless the statement binds additional parameters
+ * (for example in a foreach). Statements binding additional parameters are parsed every time, as with the {@link DynamicSqlSource}.
+ * At most {@link #MAX_CACHED_SHAPES} shapes are cached per statement.
+ */
+public class ShapeCachingSqlSource implements SqlSource {
+
+    public static final int MAX_CACHED_SHAPES = 128;
+
+    // The parameter object and database id are always bound
+    protected static final int DEFAULT_BINDINGS_SIZE = 2;
+
+    protected final Configuration configuration;
+    protected final SqlNode rootSqlNode;
+    protected final Map<String, CachedShape> cachedShapes = new ConcurrentHashMap<>();
+
+    public ShapeCachingSqlSource(Configuration configuration, SqlNode rootSqlNode) {
+        this.configuration = configuration;
+        this.rootSqlNode = rootSqlNode;
+    }
+
+    @Override
+    public BoundSql getBoundSql(Object parameterObject) {
+        DynamicContext context = new DynamicContext(configuration, parameterObject);
+        rootSqlNode.apply(context);
+        Class<?> parameterType = parameterObject == null ? Object.class : parameterObject.getClass();
+        String sql = context.getSql();
+
+        SqlSource sqlSource;
+        if (context.getBindings().size() == DEFAULT_BINDINGS_SIZE) {
+            CachedShape cachedShape = cachedShapes.get(sql);
+            if (cachedShape != null && cachedShape.parameterType == parameterType) {
+                sqlSource = cachedShape.sqlSource;
+            } else {
+                sqlSource = parse(sql, parameterType, context);
+                if (cachedShape == null && cachedShapes.size() < MAX_CACHED_SHAPES) {
+                    cachedShapes.putIfAbsent(sql, new CachedShape(parameterType, sqlSource));
+                }
+            }
+
+        } else {
+            sqlSource = parse(sql, parameterType, context);
+        }
+
+        BoundSql boundSql = sqlSource.getBoundSql(parameterObject);
+        context.getBindings().forEach(boundSql::setAdditionalParameter);
+        return boundSql;
+    }
+
+    protected SqlSource parse(String sql, Class<?> parameterType, DynamicContext context) {
+        return new SqlSourceBuilder(configuration).parse(sql, parameterType, context.getBindings());
+    }
+
+    public int getNumberOfCachedShapes() {
+        return cachedShapes.size();
+    }
+
+    protected static class CachedShape {
+
+        protected final Class<?> parameterType;
+        protected final SqlSource sqlSource;
+
+        public CachedShape(Class<?> parameterType, SqlSource sqlSource) {
+            this.parameterType = parameterType;
+            this.sqlSource = sqlSource;
+        }
+    }
+
+}
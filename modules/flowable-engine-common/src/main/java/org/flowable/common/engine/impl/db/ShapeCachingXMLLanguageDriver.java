@@ -0,0 +1,60 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.db;
+
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.parsing.XNode;
+import org.apache.ibatis.scripting.xmltags.SqlNode;
+import org.apache.ibatis.scripting.xmltags.XMLLanguageDriver;
+import org.apache.ibatis.scripting.xmltags.XMLScriptBuilder;
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * {@link XMLLanguageDriver} creating a {@link ShapeCachingSqlSource} for the update statements of the mappers.
+ *
+ * <p>
+ * The entity update statements only set the columns of which the value differs from the original persistent state,
+ * which means one mapped statement results in a different SQL statement for every combination of changed columns.
+ * Only a limited number of these combinations (shapes) occur in practice: caching the parsed SQL per shape avoids parsing the {@code #{}} parameters
+ * with the {@link org.apache.ibatis.builder.SqlSourceBuilder} on every flushed update.
+ * The generated SQL text is the same as with the {@link org.apache.ibatis.scripting.xmltags.DynamicSqlSource}, so the statement and query plan caches
+ * of the driver and database are not affected.
+ *
+ * <p>
+ * Configured as the default scripting language in the MyBatis configuration of the engines. All other statements are created as with the {@link XMLLanguageDriver}.
+ */
+public class ShapeCachingXMLLanguageDriver extends XMLLanguageDriver {
+
+    @Override
+    public SqlSource createSqlSource(Configuration configuration, XNode script, Class<?> parameterType) {
+        if ("update".equals(script.getName())) {
+            return new ShapeCachingSqlSource(configuration, new ShapeCachingScriptBuilder(configuration, script, parameterType).parseRootSqlNode());
+        }
+        return super.createSqlSource(configuration, script, parameterType);
+    }
+
+    protected static class ShapeCachingScriptBuilder extends XMLScriptBuilder {
+
+        protected final XNode script;
+
+        public ShapeCachingScriptBuilder(Configuration configuration, XNode script, Class<?> parameterType) {
+            super(configuration, script, parameterType);
+            this.script = script;
+        }
+
+        public SqlNode parseRootSqlNode() {
+            return parseDynamicTags(script);
+        }
+    }
+
+}
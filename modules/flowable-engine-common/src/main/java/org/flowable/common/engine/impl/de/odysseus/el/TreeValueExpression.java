@@ -212,6 +212,20 @@ public final class TreeValueExpression extends ValueExpression {
 		return "TreeValueExpression(" + expr + ")";
 	}
 
+	/**
+	 * @return the root node of the parse tree
+	 */
+	public ExpressionNode getRoot() {
+		return node;
+	}
+
+	/**
+	 * @return the function and variable bindings of this expression
+	 */
+	public Bindings getBindings() {
+		return bindings;
+	}
+
 	/**
 	 * Print the parse tree.
 	 * @param writer
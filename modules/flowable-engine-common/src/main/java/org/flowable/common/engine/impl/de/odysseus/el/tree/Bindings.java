@@ -126,6 +126,14 @@ public class Bindings implements TypeConverter {
 		return index >= 0 && index < variables.length && variables[index] != null;
 	}
 	
+	/**
+	 * Get the type converter used by {@link #convert(Object, Class)}.
+	 * @return type converter
+	 */
+	public TypeConverter getConverter() {
+		return converter;
+	}
+
 	/**
 	 * Apply type conversion.
 	 * @param value value to convert
@@ -50,6 +50,10 @@ public abstract class AstProperty extends AstNode {
 		return prefix;
 	}
 
+	public boolean isStrict() {
+		return strict;
+	}
+
 	@Override
 	public ValueReference getValueReference(Bindings bindings, ELContext context) {
 		Object base = prefix.eval(bindings, context);
@@ -21,6 +21,7 @@ import java.util.function.BiFunction;
 import org.flowable.common.engine.api.delegate.Expression;
 import org.flowable.common.engine.api.delegate.FlowableFunctionDelegate;
 import org.flowable.common.engine.api.variable.VariableContainer;
+import org.flowable.common.engine.impl.el.compiler.ExpressionCompiler;
 import org.flowable.common.engine.impl.javax.el.ArrayELResolver;
 import org.flowable.common.engine.impl.javax.el.BeanELResolver;
 import org.flowable.common.engine.impl.javax.el.CompositeELResolver;
@@ -55,6 +56,8 @@ public class DefaultExpressionManager implements ExpressionManager {
     
     protected DeploymentCache<Expression> expressionCache;
     protected int expressionTextLengthCacheLimit = -1;
+
+    protected ExpressionCompiler expressionCompiler;
     
     protected List<ELResolver> preDefaultResolvers;
     protected List<ELResolver> postDefaultResolvers;
@@ -86,6 +89,9 @@ public class DefaultExpressionManager implements ExpressionManager {
         String expressionText = text.trim();
         
         ValueExpression valueExpression = expressionFactory.createValueExpression(parsingElContext, expressionText, Object.class);
+        if (expressionCompiler != null) {
+            valueExpression = expressionCompiler.compile(valueExpression);
+        }
         Expression expression = createJuelExpression(text, valueExpression);
         
         if (isCacheEnabled(text)) {
@@ -235,6 +241,17 @@ public class DefaultExpressionManager implements ExpressionManager {
         this.expressionTextLengthCacheLimit = expressionTextLengthCacheLimit;
     }
 
+    public ExpressionCompiler getExpressionCompiler() {
+        return expressionCompiler;
+    }
+
+    /**
+     * Sets the compiler used to compile the parsed expressions. When null (the default), the expressions are interpreted.
+     */
+    public void setExpressionCompiler(ExpressionCompiler expressionCompiler) {
+        this.expressionCompiler = expressionCompiler;
+    }
+
     public void addPreDefaultResolver(ELResolver elResolver) {
         if (this.preDefaultResolvers == null) {
             this.preDefaultResolvers = new ArrayList<>();
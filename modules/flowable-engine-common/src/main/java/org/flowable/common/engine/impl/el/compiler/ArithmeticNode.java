@@ -0,0 +1,103 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.el.compiler;
+
+import org.flowable.common.engine.impl.de.odysseus.el.misc.NumberOperations;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.Bindings;
+import org.flowable.common.engine.impl.javax.el.ELContext;
+
+/**
+ * The arithmetic operators {@code +}, {@code -}, {@code *}, {@code /} and {@code %}.
+ * Boxed integral and floating point operands are computed inline, other operands are delegated to {@link NumberOperations}.
+ */
+public class ArithmeticNode extends ConvertingNode {
+
+    public enum Operator {
+        ADD, SUB, MUL, DIV, MOD
+    }
+
+    protected final Operator operator;
+    protected final CompiledNode left;
+    protected final CompiledNode right;
+
+    public ArithmeticNode(Operator operator, CompiledNode left, CompiledNode right, Bindings bindings) {
+        super(bindings);
+        this.operator = operator;
+        this.left = left;
+        this.right = right;
+    }
+
+    @Override
+    public Object eval(ELContext context) {
+        Object o1 = left.eval(context);
+        Object o2 = right.eval(context);
+        if (defaultConversions) {
+            boolean integral1 = isIntegral(o1);
+            boolean integral2 = isIntegral(o2);
+            if (integral1 && integral2) {
+                return evalLong(((Number) o1).longValue(), ((Number) o2).longValue());
+            } else if ((integral1 || isFloatingPoint(o1)) && (integral2 || isFloatingPoint(o2))) {
+                return evalDouble(((Number) o1).doubleValue(), ((Number) o2).doubleValue());
+            }
+        }
+
+        switch (operator) {
+            case ADD:
+                return NumberOperations.add(bindings, o1, o2);
+            case SUB:
+                return NumberOperations.sub(bindings, o1, o2);
+            case MUL:
+                return NumberOperations.mul(bindings, o1, o2);
+            case DIV:
+                return NumberOperations.div(bindings, o1, o2);
+            default:
+                return NumberOperations.mod(bindings, o1, o2);
+        }
+    }
+
+    protected Number evalLong(long l1, long l2) {
+        switch (operator) {
+            case ADD:
+                return l1 + l2;
+            case SUB:
+                return l1 - l2;
+            case MUL:
+                return l1 * l2;
+            case DIV:
+                // Division is always done on doubles, like NumberOperations#div
+                return (double) l1 / (double) l2;
+            default:
+                return l1 % l2;
+        }
+    }
+
+    protected Number evalDouble(double d1, double d2) {
+        switch (operator) {
+            case ADD:
+                return d1 + d2;
+            case SUB:
+                return d1 - d2;
+            case MUL:
+                return d1 * d2;
+            case DIV:
+                return d1 / d2;
+            default:
+                return d1 % d2;
+        }
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+}
@@ -0,0 +1,34 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.el.compiler;
+
+import org.flowable.common.engine.impl.javax.el.ELContext;
+import org.flowable.common.engine.impl.javax.el.ValueExpression;
+
+/**
+ * An identifier that is bound to a {@link ValueExpression} by the variable mapper at parse time.
+ */
+public class BoundVariableNode implements CompiledNode {
+
+    protected final ValueExpression valueExpression;
+
+    public BoundVariableNode(ValueExpression valueExpression) {
+        this.valueExpression = valueExpression;
+    }
+
+    @Override
+    public Object eval(ELContext context) {
+        return valueExpression.getValue(context);
+    }
+
+}
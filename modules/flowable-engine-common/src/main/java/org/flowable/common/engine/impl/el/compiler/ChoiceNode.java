@@ -0,0 +1,39 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.el.compiler;
+
+import org.flowable.common.engine.impl.de.odysseus.el.tree.Bindings;
+import org.flowable.common.engine.impl.javax.el.ELContext;
+
+/**
+ * The conditional operator {@code question ? yes : no}.
+ */
+public class ChoiceNode extends ConvertingNode {
+
+    protected final CompiledNode question;
+    protected final CompiledNode yes;
+    protected final CompiledNode no;
+
+    public ChoiceNode(CompiledNode question, CompiledNode yes, CompiledNode no, Bindings bindings) {
+        super(bindings);
+        this.question = question;
+        this.yes = yes;
+        this.no = no;
+    }
+
+    @Override
+    public Object eval(ELContext context) {
+        return toBoolean(question.eval(context)) ? yes.eval(context) : no.eval(context);
+    }
+
+}
@@ -0,0 +1,131 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.el.compiler;
+
+import org.flowable.common.engine.impl.de.odysseus.el.misc.BooleanOperations;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.Bindings;
+import org.flowable.common.engine.impl.javax.el.ELContext;
+
+/**
+ * The relational operators {@code <}, {@code <=}, {@code >}, {@code >=}, {@code ==} and {@code !=}.
+ * Boxed numbers, strings and booleans are compared inline, other operands are delegated to {@link BooleanOperations}.
+ */
+public class ComparisonNode extends ConvertingNode {
+
+    public enum Operator {
+        LT, LE, GT, GE, EQ, NE
+    }
+
+    protected final Operator operator;
+    protected final CompiledNode left;
+    protected final CompiledNode right;
+
+    public ComparisonNode(Operator operator, CompiledNode left, CompiledNode right, Bindings bindings) {
+        super(bindings);
+        this.operator = operator;
+        this.left = left;
+        this.right = right;
+    }
+
+    @Override
+    public Object eval(ELContext context) {
+        Object o1 = left.eval(context);
+        Object o2 = right.eval(context);
+        if (defaultConversions && o1 != null && o2 != null) {
+            boolean integral1 = isIntegral(o1);
+            boolean integral2 = isIntegral(o2);
+            if (integral1 && integral2) {
+                return compareLong(((Number) o1).longValue(), ((Number) o2).longValue());
+            } else if ((integral1 || isFloatingPoint(o1)) && (integral2 || isFloatingPoint(o2))) {
+                return compareDouble(((Number) o1).doubleValue(), ((Number) o2).doubleValue());
+            } else if (o1.getClass() == String.class && o2.getClass() == String.class) {
+                return compareString((String) o1, (String) o2);
+            } else if (o1.getClass() == Boolean.class && o2.getClass() == Boolean.class && (operator == Operator.EQ || operator == Operator.NE)) {
+                return o1.equals(o2) == (operator == Operator.EQ);
+            }
+        }
+
+        switch (operator) {
+            case LT:
+                return BooleanOperations.lt(bindings, o1, o2);
+            case LE:
+                return BooleanOperations.le(bindings, o1, o2);
+            case GT:
+                return BooleanOperations.gt(bindings, o1, o2);
+            case GE:
+                return BooleanOperations.ge(bindings, o1, o2);
+            case EQ:
+                return BooleanOperations.eq(bindings, o1, o2);
+            default:
+                return BooleanOperations.ne(bindings, o1, o2);
+        }
+    }
+
+    protected Boolean compareLong(long l1, long l2) {
+        switch (operator) {
+            case LT:
+                return l1 < l2;
+            case LE:
+                return l1 <= l2;
+            case GT:
+                return l1 > l2;
+            case GE:
+                return l1 >= l2;
+            case EQ:
+                return l1 == l2;
+            default:
+                return l1 != l2;
+        }
+    }
+
+    protected Boolean compareDouble(double d1, double d2) {
+        // Same semantics as BooleanOperations: <= and >= are the negation of > and <,
+        // and equality is Double#equals
+        switch (operator) {
+            case LT:
+                return d1 < d2;
+            case LE:
+                return !(d1 > d2);
+            case GT:
+                return d1 > d2;
+            case GE:
+                return !(d1 < d2);
+            case EQ:
+                return Double.doubleToLongBits(d1) == Double.doubleToLongBits(d2);
+            default:
+                return Double.doubleToLongBits(d1) != Double.doubleToLongBits(d2);
+        }
+    }
+
+    protected Boolean compareString(String s1, String s2) {
+        switch (operator) {
+            case LT:
+                return s1.compareTo(s2) < 0;
+            case LE:
+                return s1.compareTo(s2) <= 0;
+            case GT:
+                return s1.compareTo(s2) > 0;
+            case GE:
+                return s1.compareTo(s2) >= 0;
+            case EQ:
+                return s1.equals(s2);
+            default:
+                return !s1.equals(s2);
+        }
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+}
@@ -0,0 +1,111 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.el.compiler;
+
+import org.flowable.common.engine.impl.de.odysseus.el.TreeValueExpression;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.Bindings;
+import org.flowable.common.engine.impl.javax.el.ELContext;
+import org.flowable.common.engine.impl.javax.el.ValueExpression;
+import org.flowable.common.engine.impl.javax.el.ValueReference;
+
+/**
+ * A {@link ValueExpression} that evaluates the compiled version of a {@link TreeValueExpression}.
+ * Everything except getting the value is delegated to the tree value expression.
+ * The compiled nodes are not serialized: a deserialized expression falls back to the tree value expression.
+ */
+public class CompiledValueExpression extends ValueExpression {
+
+    private static final long serialVersionUID = 1L;
+
+    protected final TreeValueExpression treeValueExpression;
+    protected final transient CompiledNode root;
+    protected final transient Bindings bindings;
+
+    public CompiledValueExpression(TreeValueExpression treeValueExpression, CompiledNode root) {
+        this.treeValueExpression = treeValueExpression;
+        this.root = root;
+        this.bindings = treeValueExpression.getBindings();
+    }
+
+    @Override
+    public Object getValue(ELContext context) {
+        if (root == null) {
+            return treeValueExpression.getValue(context);
+        }
+
+        Object value = root.eval(context);
+        Class<?> expectedType = treeValueExpression.getExpectedType();
+        if (expectedType != null) {
+            value = bindings.convert(value, expectedType);
+        }
+        return value;
+    }
+
+    @Override
+    public Class<?> getExpectedType() {
+        return treeValueExpression.getExpectedType();
+    }
+
+    @Override
+    public Class<?> getType(ELContext context) {
+        return treeValueExpression.getType(context);
+    }
+
+    @Override
+    public boolean isReadOnly(ELContext context) {
+        return treeValueExpression.isReadOnly(context);
+    }
+
+    @Override
+    public void setValue(ELContext context, Object value) {
+        treeValueExpression.setValue(context, value);
+    }
+
+    @Override
+    public ValueReference getValueReference(ELContext context) {
+        return treeValueExpression.getValueReference(context);
+    }
+
+    @Override
+    public String getExpressionString() {
+        return treeValueExpression.getExpressionString();
+    }
+
+    @Override
+    public boolean isLiteralText() {
+        return treeValueExpression.isLiteralText();
+    }
+
+    public TreeValueExpression getTreeValueExpression() {
+        return treeValueExpression;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof CompiledValueExpression) {
+            return treeValueExpression.equals(((CompiledValueExpression) obj).treeValueExpression);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return treeValueExpression.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledValueExpression(" + treeValueExpression.getExpressionString() + ")";
+    }
+
+}
@@ -0,0 +1,42 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.el.compiler;
+
+import java.util.List;
+
+import org.flowable.common.engine.impl.de.odysseus.el.tree.Bindings;
+import org.flowable.common.engine.impl.javax.el.ELContext;
+
+/**
+ * A composite expression mixing text and eval expressions, e.g. {@code Hello ${name}}.
+ * The values of the parts are coerced to strings and concatenated.
+ */
+public class CompositeNode extends ConvertingNode {
+
+    protected final CompiledNode[] parts;
+
+    public CompositeNode(List<CompiledNode> parts, Bindings bindings) {
+        super(bindings);
+        this.parts = parts.toArray(new CompiledNode[0]);
+    }
+
+    @Override
+    public Object eval(ELContext context) {
+        StringBuilder builder = new StringBuilder(16);
+        for (CompiledNode part : parts) {
+            builder.append(toString(part.eval(context)));
+        }
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,74 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.el.compiler;
+
+import org.flowable.common.engine.impl.de.odysseus.el.misc.TypeConverterImpl;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.Bindings;
+
+/**
+ * Base class for the compiled nodes that coerce the values of their children.
+ * <p>
+ * When the expression uses the default type conversions, values that already have the required type
+ * are used as is and arithmetic and comparisons on boxed numbers are done inline on primitives,
+ * with the same result as the {@link org.flowable.common.engine.impl.de.odysseus.el.misc.NumberOperations NumberOperations}
+ * and {@link org.flowable.common.engine.impl.de.odysseus.el.misc.BooleanOperations BooleanOperations} of the tree interpreter.
+ * All other values go through the type converter of the bindings.
+ */
+public abstract class ConvertingNode implements CompiledNode {
+
+    protected final Bindings bindings;
+    protected final boolean defaultConversions;
+
+    public ConvertingNode(Bindings bindings) {
+        this.bindings = bindings;
+        this.defaultConversions = bindings.getConverter().getClass() == TypeConverterImpl.class;
+    }
+
+    protected Boolean toBoolean(Object value) {
+        if (defaultConversions && value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        return bindings.convert(value, Boolean.class);
+    }
+
+    protected String toString(Object value) {
+        if (defaultConversions && value instanceof String) {
+            return (String) value;
+        }
+        return bindings.convert(value, String.class);
+    }
+
+    /**
+     * Whether the value is a {@link Byte}, {@link Short}, {@link Integer} or {@link Long},
+     * which the default conversions coerce to a {@link Long}.
+     */
+    protected static boolean isIntegral(Object value) {
+        if (value == null) {
+            return false;
+        }
+        Class<?> type = value.getClass();
+        return type == Long.class || type == Integer.class || type == Short.class || type == Byte.class;
+    }
+
+    /**
+     * Whether the value is a {@link Float} or {@link Double}, which the default conversions coerce to a {@link Double}.
+     */
+    protected static boolean isFloatingPoint(Object value) {
+        if (value == null) {
+            return false;
+        }
+        Class<?> type = value.getClass();
+        return type == Double.class || type == Float.class;
+    }
+
+}
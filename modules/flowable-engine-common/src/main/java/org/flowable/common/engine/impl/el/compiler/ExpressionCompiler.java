@@ -0,0 +1,260 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.el.compiler;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.common.engine.impl.de.odysseus.el.TreeValueExpression;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.Bindings;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.ExpressionNode;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstBinary;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstBoolean;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstBracket;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstChoice;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstComposite;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstDot;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstEval;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstFunction;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstIdentifier;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstMethod;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstNested;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstNode;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstNull;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstNumber;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstString;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstText;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstUnary;
+import org.flowable.common.engine.impl.el.DynamicBeanPropertyELResolver;
+import org.flowable.common.engine.impl.el.JsonNodeELResolver;
+import org.flowable.common.engine.impl.el.ReadOnlyMapELResolver;
+import org.flowable.common.engine.impl.el.VariableContainerELResolver;
+import org.flowable.common.engine.impl.javax.el.ArrayELResolver;
+import org.flowable.common.engine.impl.javax.el.BeanELResolver;
+import org.flowable.common.engine.impl.javax.el.CompositeELResolver;
+import org.flowable.common.engine.impl.javax.el.ELResolver;
+import org.flowable.common.engine.impl.javax.el.ListELResolver;
+import org.flowable.common.engine.impl.javax.el.MapELResolver;
+import org.flowable.common.engine.impl.javax.el.ValueExpression;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Compiles the parse tree of a {@link TreeValueExpression} into a tree of {@link CompiledNode}s.
+ * <p>
+ * The tree interpreter dispatches every operator through the generic number and boolean operations and resolves
+ * every property and method through the whole {@link CompositeELResolver} chain. The compiled nodes instead:
+ * <ul>
+ * <li>evaluate arithmetic and comparisons on boxed numbers, strings and booleans inline,</li>
+ * <li>bind identifiers, functions and literals once, when compiling,</li>
+ * <li>cache the read method of bean properties and the target method of method invocations per call site,
+ * when they are resolved by the {@link BeanELResolver}.</li>
+ * </ul>
+ * Nodes that are not supported (e.g. custom AST nodes or varargs functions) are evaluated by the tree interpreter,
+ * so every expression can be compiled. The compiled expression gives the same results as the interpreted one.
+ * <p>
+ * Compiling pays off for expressions that are evaluated many times, which is the case when the expressions are cached
+ * (see {@link org.flowable.common.engine.impl.el.DefaultExpressionManager#setExpressionCache}).
+ */
+public class ExpressionCompiler {
+
+    /**
+     * Returns a compiled version of the given value expression,
+     * or the value expression itself when it is not a {@link TreeValueExpression} or nothing of it can be compiled.
+     */
+    public ValueExpression compile(ValueExpression valueExpression) {
+        if (valueExpression instanceof TreeValueExpression) {
+            TreeValueExpression treeValueExpression = (TreeValueExpression) valueExpression;
+            ExpressionNode root = treeValueExpression.getRoot();
+            if (root instanceof AstNode) {
+                CompiledNode compiledRoot = compile((AstNode) root, treeValueExpression.getBindings());
+                if (!(compiledRoot instanceof InterpretedNode)) {
+                    return new CompiledValueExpression(treeValueExpression, compiledRoot);
+                }
+            }
+        }
+        return valueExpression;
+    }
+
+    protected CompiledNode compile(AstNode node, Bindings bindings) {
+        Class<?> nodeClass = node.getClass();
+        if (nodeClass == AstEval.class || nodeClass == AstNested.class) {
+            return compile((AstNode) node.getChild(0), bindings);
+
+        } else if (nodeClass == AstText.class || nodeClass == AstString.class || nodeClass == AstNumber.class
+                || nodeClass == AstBoolean.class || nodeClass == AstNull.class) {
+            return new ConstantNode(node.eval(bindings, null));
+
+        } else if (nodeClass == AstComposite.class) {
+            List<CompiledNode> parts = new ArrayList<>(node.getCardinality());
+            for (int i = 0; i < node.getCardinality(); i++) {
+                parts.add(compile((AstNode) node.getChild(i), bindings));
+            }
+            return new CompositeNode(parts, bindings);
+
+        } else if (nodeClass == AstBinary.class) {
+            return compileBinary((AstBinary) node, bindings);
+
+        } else if (nodeClass == AstUnary.class) {
+            return compileUnary((AstUnary) node, bindings);
+
+        } else if (nodeClass == AstChoice.class) {
+            return new ChoiceNode(compile((AstNode) node.getChild(0), bindings), compile((AstNode) node.getChild(1), bindings),
+                    compile((AstNode) node.getChild(2), bindings), bindings);
+
+        } else if (nodeClass == AstIdentifier.class) {
+            AstIdentifier identifier = (AstIdentifier) node;
+            if (bindings.isVariableBound(identifier.getIndex())) {
+                return new BoundVariableNode(bindings.getVariable(identifier.getIndex()));
+            }
+            return new ResolvedIdentifierNode(identifier.getName());
+
+        } else if (nodeClass == AstDot.class) {
+            AstDot dot = (AstDot) node;
+            return new PropertyNode(this, compile((AstNode) dot.getChild(0), bindings), new ConstantNode(dot.getPropertyName()), dot.isStrict());
+
+        } else if (nodeClass == AstBracket.class) {
+            AstBracket bracket = (AstBracket) node;
+            return new PropertyNode(this, compile((AstNode) bracket.getChild(0), bindings), compile((AstNode) bracket.getChild(1), bindings),
+                    bracket.isStrict());
+
+        } else if (nodeClass == AstMethod.class && node.getChild(0).getClass() == AstDot.class) {
+            AstDot dot = (AstDot) node.getChild(0);
+            return new MethodNode(this, compile((AstNode) dot.getChild(0), bindings), dot.getPropertyName(),
+                    compileChildren((AstNode) node.getChild(1), bindings));
+
+        } else if (nodeClass == AstFunction.class) {
+            AstFunction function = (AstFunction) node;
+            Method method = bindings.isFunctionBound(function.getIndex()) ? bindings.getFunction(function.getIndex()) : null;
+            if (method != null && !method.isVarArgs() && method.getParameterCount() == function.getParamCount()) {
+                return new StaticFunctionNode(function.getName(), method, compileChildren((AstNode) function.getChild(0), bindings), bindings);
+            }
+        }
+
+        return new InterpretedNode(node, bindings);
+    }
+
+    protected CompiledNode compileBinary(AstBinary node, Bindings bindings) {
+        AstBinary.Operator operator = node.getOperator();
+        CompiledNode left = compile((AstNode) node.getChild(0), bindings);
+        CompiledNode right = compile((AstNode) node.getChild(1), bindings);
+        if (operator == AstBinary.ADD) {
+            return new ArithmeticNode(ArithmeticNode.Operator.ADD, left, right, bindings);
+        } else if (operator == AstBinary.SUB) {
+            return new ArithmeticNode(ArithmeticNode.Operator.SUB, left, right, bindings);
+        } else if (operator == AstBinary.MUL) {
+            return new ArithmeticNode(ArithmeticNode.Operator.MUL, left, right, bindings);
+        } else if (operator == AstBinary.DIV) {
+            return new ArithmeticNode(ArithmeticNode.Operator.DIV, left, right, bindings);
+        } else if (operator == AstBinary.MOD) {
+            return new ArithmeticNode(ArithmeticNode.Operator.MOD, left, right, bindings);
+        } else if (operator == AstBinary.LT) {
+            return new ComparisonNode(ComparisonNode.Operator.LT, left, right, bindings);
+        } else if (operator == AstBinary.LE) {
+            return new ComparisonNode(ComparisonNode.Operator.LE, left, right, bindings);
+        } else if (operator == AstBinary.GT) {
+            return new ComparisonNode(ComparisonNode.Operator.GT, left, right, bindings);
+        } else if (operator == AstBinary.GE) {
+            return new ComparisonNode(ComparisonNode.Operator.GE, left, right, bindings);
+        } else if (operator == AstBinary.EQ) {
+            return new ComparisonNode(ComparisonNode.Operator.EQ, left, right, bindings);
+        } else if (operator == AstBinary.NE) {
+            return new ComparisonNode(ComparisonNode.Operator.NE, left, right, bindings);
+        } else if (operator == AstBinary.AND) {
+            return new LogicalNode(true, left, right, bindings);
+        } else if (operator == AstBinary.OR) {
+            return new LogicalNode(false, left, right, bindings);
+        }
+        return new InterpretedNode(node, bindings);
+    }
+
+    protected CompiledNode compileUnary(AstUnary node, Bindings bindings) {
+        AstUnary.Operator operator = node.getOperator();
+        if (operator == AstUnary.NOT) {
+            return new UnaryNode(UnaryNode.Operator.NOT, compile((AstNode) node.getChild(0), bindings), bindings);
+        } else if (operator == AstUnary.NEG) {
+            return new UnaryNode(UnaryNode.Operator.NEG, compile((AstNode) node.getChild(0), bindings), bindings);
+        } else if (operator == AstUnary.EMPTY) {
+            return new UnaryNode(UnaryNode.Operator.EMPTY, compile((AstNode) node.getChild(0), bindings), bindings);
+        }
+        return new InterpretedNode(node, bindings);
+    }
+
+    protected CompiledNode[] compileChildren(AstNode node, Bindings bindings) {
+        CompiledNode[] children = new CompiledNode[node.getCardinality()];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = compile((AstNode) node.getChild(i), bindings);
+        }
+        return children;
+    }
+
+    /**
+     * Returns the read method of the given property when the given resolver resolves it with a {@link BeanELResolver},
+     * or null otherwise.
+     */
+    public Method findReadMethod(ELResolver elResolver, Object base, Object property) {
+        BeanELResolver beanELResolver = getBeanELResolver(elResolver, base, false);
+        return beanELResolver != null ? beanELResolver.getReadMethod(base, property) : null;
+    }
+
+    /**
+     * Returns the {@link BeanELResolver} that the given resolver will use to resolve properties (or invoke methods)
+     * of the given base object, or null when that can't be determined.
+     * <p>
+     * This is only the case for a {@link CompositeELResolver} that contains a {@link BeanELResolver}, preceded by resolvers
+     * that are known to ignore the base object. Which resolvers ignore a base object only depends on the class of the base object,
+     * so that the result can be cached per class.
+     */
+    public BeanELResolver getBeanELResolver(ELResolver elResolver, Object base, boolean invocation) {
+        if (elResolver instanceof CompositeELResolver) {
+            for (ELResolver resolver : ((CompositeELResolver) elResolver).getResolvers()) {
+                if (resolver.getClass() == BeanELResolver.class) {
+                    return (BeanELResolver) resolver;
+                } else if (!isIgnoringBase(resolver, base, invocation)) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    protected boolean isIgnoringBase(ELResolver resolver, Object base, boolean invocation) {
+        if (resolver instanceof VariableContainerELResolver || resolver instanceof ReadOnlyMapELResolver) {
+            // These only resolve identifiers (i.e. a null base)
+            return true;
+        }
+
+        Class<?> resolverClass = resolver.getClass();
+        boolean knownResolver = resolverClass == ArrayELResolver.class || resolverClass == ListELResolver.class || resolverClass == MapELResolver.class
+                || resolverClass == JsonNodeELResolver.class || resolverClass == DynamicBeanPropertyELResolver.class;
+        if (!knownResolver) {
+            return false;
+        } else if (invocation) {
+            // None of the known resolvers invoke methods
+            return true;
+        } else if (resolverClass == ArrayELResolver.class) {
+            return !base.getClass().isArray();
+        } else if (resolverClass == ListELResolver.class) {
+            return !(base instanceof List);
+        } else if (resolverClass == MapELResolver.class) {
+            return !(base instanceof Map);
+        } else if (resolverClass == JsonNodeELResolver.class) {
+            return !(base instanceof JsonNode);
+        } else {
+            return resolver.getCommonPropertyType(null, base) == null;
+        }
+    }
+
+}
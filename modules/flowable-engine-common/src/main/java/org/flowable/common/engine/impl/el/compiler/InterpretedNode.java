@@ -0,0 +1,42 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.el.compiler;
+
+import org.flowable.common.engine.impl.de.odysseus.el.tree.Bindings;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstNode;
+import org.flowable.common.engine.impl.javax.el.ELContext;
+
+/**
+ * Fallback for the nodes that the {@link ExpressionCompiler} does not support: the node (and its children)
+ * are evaluated by the tree interpreter.
+ */
+public class InterpretedNode implements CompiledNode {
+
+    protected final AstNode node;
+    protected final Bindings bindings;
+
+    public InterpretedNode(AstNode node, Bindings bindings) {
+        this.node = node;
+        this.bindings = bindings;
+    }
+
+    @Override
+    public Object eval(ELContext context) {
+        return node.eval(bindings, context);
+    }
+
+    public AstNode getNode() {
+        return node;
+    }
+
+}
@@ -0,0 +1,44 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.el.compiler;
+
+import org.flowable.common.engine.impl.de.odysseus.el.tree.Bindings;
+import org.flowable.common.engine.impl.javax.el.ELContext;
+
+/**
+ * The short-circuit operators {@code &&} and {@code ||}.
+ */
+public class LogicalNode extends ConvertingNode {
+
+    protected final boolean and;
+    protected final CompiledNode left;
+    protected final CompiledNode right;
+
+    public LogicalNode(boolean and, CompiledNode left, CompiledNode right, Bindings bindings) {
+        super(bindings);
+        this.and = and;
+        this.left = left;
+        this.right = right;
+    }
+
+    @Override
+    public Object eval(ELContext context) {
+        Boolean l = toBoolean(left.eval(context));
+        if (and) {
+            return Boolean.TRUE.equals(l) ? toBoolean(right.eval(context)) : Boolean.FALSE;
+        } else {
+            return Boolean.TRUE.equals(l) ? Boolean.TRUE : toBoolean(right.eval(context));
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.el.compiler;
+
+import java.lang.reflect.Method;
+
+import org.flowable.common.engine.impl.de.odysseus.el.misc.LocalMessages;
+import org.flowable.common.engine.impl.javax.el.BeanELResolver;
+import org.flowable.common.engine.impl.javax.el.ELContext;
+import org.flowable.common.engine.impl.javax.el.ELResolver;
+import org.flowable.common.engine.impl.javax.el.MethodNotFoundException;
+
+/**
+ * A method invocation, {@code base.method(params)}.
+ * <p>
+ * Finding the method to invoke for the given parameters is expensive, as it requires going over all methods of the base class.
+ * Therefore the method is cached for the last seen {@link ELResolver}, base class and parameter types,
+ * as long as the {@link ExpressionCompiler} determined that the invocation is resolved by the {@link BeanELResolver}.
+ */
+public class MethodNode implements CompiledNode {
+
+    protected final ExpressionCompiler compiler;
+    protected final CompiledNode prefix;
+    protected final String name;
+    protected final CompiledNode[] params;
+
+    protected volatile MethodCallSite callSite;
+
+    public MethodNode(ExpressionCompiler compiler, CompiledNode prefix, String name, CompiledNode[] params) {
+        this.compiler = compiler;
+        this.prefix = prefix;
+        this.name = name;
+        this.params = params;
+    }
+
+    @Override
+    public Object eval(ELContext context) {
+        Object base = prefix.eval(context);
+        if (base == null) {
+            return null;
+        }
+        Object[] paramValues = new Object[params.length];
+        for (int i = 0; i < params.length; i++) {
+            paramValues[i] = params[i].eval(context);
+        }
+
+        ELResolver elResolver = context.getELResolver();
+        MethodCallSite callSite = this.callSite;
+        if (callSite == null || !callSite.matches(elResolver, base, paramValues)) {
+            BeanELResolver beanELResolver = compiler.getBeanELResolver(elResolver, base, true);
+            Method method = beanELResolver != null ? beanELResolver.findMethod(context, base, name, null, paramValues) : null;
+            callSite = new MethodCallSite(elResolver, base.getClass(), getTypes(paramValues), beanELResolver, method);
+            this.callSite = callSite;
+        }
+
+        if (callSite.method != null) {
+            return callSite.beanELResolver.invokeMethod(context, base, callSite.method, paramValues);
+        }
+
+        context.setPropertyResolved(false);
+        Object result = elResolver.invoke(context, base, name, null, paramValues);
+        if (!context.isPropertyResolved()) {
+            throw new MethodNotFoundException(LocalMessages.get("error.property.method.notfound", name, base.getClass()));
+        }
+        return result;
+    }
+
+    protected static Class<?>[] getTypes(Object[] values) {
+        Class<?>[] types = new Class<?>[values.length];
+        for (int i = 0; i < values.length; i++) {
+            types[i] = values[i] != null ? values[i].getClass() : null;
+        }
+        return types;
+    }
+
+    protected static class MethodCallSite {
+
+        protected final ELResolver elResolver;
+        protected final Class<?> baseClass;
+        protected final Class<?>[] paramTypes;
+        protected final BeanELResolver beanELResolver;
+        protected final Method method;
+
+        public MethodCallSite(ELResolver elResolver, Class<?> baseClass, Class<?>[] paramTypes, BeanELResolver beanELResolver, Method method) {
+            this.elResolver = elResolver;
+            this.baseClass = baseClass;
+            this.paramTypes = paramTypes;
+            this.beanELResolver = beanELResolver;
+            this.method = method;
+        }
+
+        public boolean matches(ELResolver elResolver, Object base, Object[] paramValues) {
+            if (this.elResolver != elResolver || baseClass != base.getClass()) {
+                return false;
+            }
+            for (int i = 0; i < paramValues.length; i++) {
+                Object paramValue = paramValues[i];
+                if (paramTypes[i] != (paramValue != null ? paramValue.getClass() : null)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+}
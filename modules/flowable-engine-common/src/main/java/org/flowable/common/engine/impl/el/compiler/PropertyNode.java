@@ -0,0 +1,104 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.el.compiler;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.flowable.common.engine.impl.de.odysseus.el.misc.LocalMessages;
+import org.flowable.common.engine.impl.javax.el.ELContext;
+import org.flowable.common.engine.impl.javax.el.ELException;
+import org.flowable.common.engine.impl.javax.el.ELResolver;
+import org.flowable.common.engine.impl.javax.el.PropertyNotFoundException;
+
+/**
+ * A property access, {@code base.property} or {@code base[property]}.
+ * <p>
+ * When the property is known when compiling, the read method of the property is cached for the last seen
+ * {@link ELResolver} and base class, as long as the {@link ExpressionCompiler} determined that the property is resolved
+ * by the {@link org.flowable.common.engine.impl.javax.el.BeanELResolver BeanELResolver} for that base class.
+ * The read method is then invoked directly, without consulting the resolvers.
+ */
+public class PropertyNode implements CompiledNode {
+
+    protected final ExpressionCompiler compiler;
+    protected final CompiledNode prefix;
+    protected final CompiledNode property;
+    protected final boolean strict;
+    protected final boolean constantProperty;
+
+    protected volatile PropertyCallSite callSite;
+
+    public PropertyNode(ExpressionCompiler compiler, CompiledNode prefix, CompiledNode property, boolean strict) {
+        this.compiler = compiler;
+        this.prefix = prefix;
+        this.property = property;
+        this.strict = strict;
+        this.constantProperty = property instanceof ConstantNode;
+    }
+
+    @Override
+    public Object eval(ELContext context) {
+        Object base = prefix.eval(context);
+        if (base == null) {
+            return null;
+        }
+        Object propertyValue = property.eval(context);
+        if (propertyValue == null && strict) {
+            return null;
+        }
+
+        ELResolver elResolver = context.getELResolver();
+        if (constantProperty) {
+            PropertyCallSite callSite = this.callSite;
+            if (callSite == null || callSite.elResolver != elResolver || callSite.baseClass != base.getClass()) {
+                callSite = new PropertyCallSite(elResolver, base.getClass(), compiler.findReadMethod(elResolver, base, propertyValue));
+                this.callSite = callSite;
+            }
+
+            if (callSite.readMethod != null) {
+                Object result;
+                try {
+                    result = callSite.readMethod.invoke(base);
+                } catch (InvocationTargetException e) {
+                    throw new ELException(e.getCause());
+                } catch (Exception e) {
+                    throw new ELException(e);
+                }
+                context.setPropertyResolved(true);
+                return result;
+            }
+        }
+
+        context.setPropertyResolved(false);
+        Object result = elResolver.getValue(context, base, propertyValue);
+        if (!context.isPropertyResolved()) {
+            throw new PropertyNotFoundException(LocalMessages.get("error.property.property.notfound", propertyValue, base));
+        }
+        return result;
+    }
+
+    protected static class PropertyCallSite {
+
+        protected final ELResolver elResolver;
+        protected final Class<?> baseClass;
+        protected final Method readMethod;
+
+        public PropertyCallSite(ELResolver elResolver, Class<?> baseClass, Method readMethod) {
+            this.elResolver = elResolver;
+            this.baseClass = baseClass;
+            this.readMethod = readMethod;
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.el.compiler;
+
+import org.flowable.common.engine.impl.de.odysseus.el.misc.LocalMessages;
+import org.flowable.common.engine.impl.javax.el.ELContext;
+import org.flowable.common.engine.impl.javax.el.PropertyNotFoundException;
+
+/**
+ * An identifier that is resolved by the {@link org.flowable.common.engine.impl.javax.el.ELResolver} of the context,
+ * e.g. a variable or a bean.
+ * <p>
+ * The resolver is always consulted, as the resolver that resolves an identifier can change between evaluations
+ * (e.g. a variable that shadows a bean with the same name).
+ */
+public class ResolvedIdentifierNode implements CompiledNode {
+
+    protected final String name;
+
+    public ResolvedIdentifierNode(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public Object eval(ELContext context) {
+        context.setPropertyResolved(false);
+        Object result = context.getELResolver().getValue(context, null, name);
+        if (!context.isPropertyResolved()) {
+            throw new PropertyNotFoundException(LocalMessages.get("error.identifier.property.notfound", name));
+        }
+        return result;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+}
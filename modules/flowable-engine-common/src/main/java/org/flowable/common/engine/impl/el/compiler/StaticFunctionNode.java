@@ -0,0 +1,65 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.el.compiler;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.flowable.common.engine.impl.de.odysseus.el.misc.LocalMessages;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.Bindings;
+import org.flowable.common.engine.impl.javax.el.ELContext;
+import org.flowable.common.engine.impl.javax.el.ELException;
+
+/**
+ * A function invocation, {@code prefix:name(params)}, of a function that was bound to a static method at parse time.
+ * The parameter types are taken from the method once, instead of on every invocation.
+ */
+public class StaticFunctionNode implements CompiledNode {
+
+    protected final String name;
+    protected final Method method;
+    protected final Class<?>[] types;
+    protected final CompiledNode[] params;
+    protected final Bindings bindings;
+
+    public StaticFunctionNode(String name, Method method, CompiledNode[] params, Bindings bindings) {
+        this.name = name;
+        this.method = method;
+        this.types = method.getParameterTypes();
+        this.params = params;
+        this.bindings = bindings;
+    }
+
+    @Override
+    public Object eval(ELContext context) {
+        Object[] paramValues = null;
+        if (types.length > 0) {
+            paramValues = new Object[types.length];
+            for (int i = 0; i < types.length; i++) {
+                Object param = params[i].eval(context);
+                if (param != null || types[i].isPrimitive()) {
+                    paramValues[i] = bindings.convert(param, types[i]);
+                }
+            }
+        }
+
+        try {
+            return method.invoke(null, paramValues);
+        } catch (IllegalAccessException e) {
+            throw new ELException(LocalMessages.get("error.function.access", name), e);
+        } catch (InvocationTargetException e) {
+            throw new ELException(LocalMessages.get("error.function.invocation", name), e.getCause());
+        }
+    }
+
+}
@@ -0,0 +1,55 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.el.compiler;
+
+import org.flowable.common.engine.impl.de.odysseus.el.misc.BooleanOperations;
+import org.flowable.common.engine.impl.de.odysseus.el.misc.NumberOperations;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.Bindings;
+import org.flowable.common.engine.impl.javax.el.ELContext;
+
+/**
+ * The unary operators {@code !}, {@code -} and {@code empty}.
+ */
+public class UnaryNode extends ConvertingNode {
+
+    public enum Operator {
+        NOT, NEG, EMPTY
+    }
+
+    protected final Operator operator;
+    protected final CompiledNode child;
+
+    public UnaryNode(Operator operator, CompiledNode child, Bindings bindings) {
+        super(bindings);
+        this.operator = operator;
+        this.child = child;
+    }
+
+    @Override
+    public Object eval(ELContext context) {
+        Object value = child.eval(context);
+        switch (operator) {
+            case NOT:
+                return !toBoolean(value);
+            case NEG:
+                return NumberOperations.neg(bindings, value);
+            default:
+                return BooleanOperations.empty(bindings, value);
+        }
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+}
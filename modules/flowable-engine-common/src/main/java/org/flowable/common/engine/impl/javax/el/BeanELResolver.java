@@ -278,23 +278,40 @@ public class BeanELResolver extends ELResolver {
 			throw new NullPointerException();
 		}
 		Object result = null;
+		Method method = getReadMethod(base, property);
+		if (method != null) {
+			try {
+				result = method.invoke(base);
+			} catch (InvocationTargetException e) {
+				throw new ELException(e.getCause());
+			} catch (Exception e) {
+				throw new ELException(e);
+			}
+			context.setPropertyResolved(true);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the method that {@link #getValue(ELContext, Object, Object)} invokes to read the
+	 * given property of the given base object. This allows callers to cache the read method, e.g.
+	 * per base class.
+	 * 
+	 * @param base
+	 *            The bean to analyze.
+	 * @param property
+	 *            The name of the property to analyze. Will be coerced to a String.
+	 * @return The read method, or null if the base is null or the property does not exist or is
+	 *         not readable.
+	 */
+	public Method getReadMethod(Object base, Object property) {
 		if (isResolvable(base)) {
 			BeanProperty beanProperty = toBeanProperty(base, property);
 			if (beanProperty != null) {
-				Method method = beanProperty.getReadMethod(base);
-				if (method != null) {
-					try {
-						result = method.invoke(base);
-					} catch (InvocationTargetException e) {
-						throw new ELException(e.getCause());
-					} catch (Exception e) {
-						throw new ELException(e);
-					}
-					context.setPropertyResolved(true);
-				}
+				return beanProperty.getReadMethod(base);
 			}
 		}
-		return result;
+		return null;
 	}
 
 	/**
@@ -464,23 +481,66 @@ public class BeanELResolver extends ELResolver {
 			if (params == null) {
 				params = new Object[0];
 			}
-			String name = method.toString();
-			ExpressionFactory factory = getExpressionFactory(context);
-			Method target = Util.findMethod(base.getClass(), base, name, paramTypes, params, factory);
-			if (target == null) {
-				throw new MethodNotFoundException("Cannot find method " + name + " with " + params.length + " parameters in " + base.getClass());
-			}
+			Method target = findMethod(context, base, method.toString(), paramTypes, params);
+			result = invokeMethod(context, base, target, params);
+		}
+		return result;
+	}
 
-			Object[] parameters = Util.buildParameters(target.getParameterTypes(), target.isVarArgs(), params, factory);
-			try {
-				result = target.invoke(base, parameters);
-			} catch (InvocationTargetException e) {
-				throw new ELException(e.getCause());
-			} catch (IllegalAccessException e) {
-				throw new ELException(e);
-			}
-			context.setPropertyResolved(true);
+	/**
+	 * Finds the method that {@link #invoke(ELContext, Object, Object, Class[], Object[])} invokes
+	 * for the given base object, method name and parameters. The method only depends on the class
+	 * of the base and the types of the parameters, which allows callers to cache it.
+	 * 
+	 * @param context
+	 *            The context of this evaluation.
+	 * @param base
+	 *            The bean on which to invoke the method, must not be null.
+	 * @param name
+	 *            The name of the method.
+	 * @param paramTypes
+	 *            The formal parameter types, or null if unknown.
+	 * @param params
+	 *            The parameters to pass to the method.
+	 * @return The method to invoke.
+	 * @throws MethodNotFoundException
+	 *             if no suitable method can be found.
+	 */
+	public Method findMethod(ELContext context, Object base, String name, Class<?>[] paramTypes, Object[] params) {
+		Method target = Util.findMethod(base.getClass(), base, name, paramTypes, params, getExpressionFactory(context));
+		if (target == null) {
+			throw new MethodNotFoundException("Cannot find method " + name + " with " + params.length + " parameters in " + base.getClass());
+		}
+		return target;
+	}
+
+	/**
+	 * Invokes the given method, as found by {@link #findMethod(ELContext, Object, String, Class[], Object[])},
+	 * on the given base object. The parameters are coerced to the parameter types of the method.
+	 * If the method was invoked, the propertyResolved property of the ELContext object is set to true.
+	 * 
+	 * @param context
+	 *            The context of this evaluation.
+	 * @param base
+	 *            The bean on which to invoke the method, must not be null.
+	 * @param target
+	 *            The method to invoke.
+	 * @param params
+	 *            The parameters to pass to the method.
+	 * @return The result of the method invocation (<code>null</code> if the method has a
+	 *         <code>void</code> return type).
+	 */
+	public Object invokeMethod(ELContext context, Object base, Method target, Object[] params) {
+		Object[] parameters = Util.buildParameters(target.getParameterTypes(), target.isVarArgs(), params, getExpressionFactory(context));
+		Object result;
+		try {
+			result = target.invoke(base, parameters);
+		} catch (InvocationTargetException e) {
+			throw new ELException(e.getCause());
+		} catch (IllegalAccessException e) {
+			throw new ELException(e);
 		}
+		context.setPropertyResolved(true);
 		return result;
 	}
 
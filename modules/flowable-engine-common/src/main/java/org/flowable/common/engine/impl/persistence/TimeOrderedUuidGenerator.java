@@ -0,0 +1,61 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.flowable.common.engine.impl.cfg.IdGenerator;
+
+/**
+ * {@link IdGenerator} implementation generating time-ordered, 128-bit UUIDs (version 7 layout):
+ * a 48-bit millisecond timestamp, followed by a 12-bit counter and 62 random bits.
+ *
+ * <p>
+ * Contrary to the {@link StrongUuidGenerator}, the textual representation of the generated ids sorts in creation order,
+ * which means new rows are appended at the end of the primary key indexes instead of being spread over the whole index.
+ * The counter keeps the ids generated by one generator strictly increasing, also within the same millisecond.
+ */
+public class TimeOrderedUuidGenerator implements IdGenerator {
+
+    protected static final int COUNTER_BITS = 12;
+    protected static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    // different ProcessEngines on the same classloader share the same timestamp and counter state.
+    protected static final AtomicLong lastTimestampAndCounter = new AtomicLong();
+
+    @Override
+    public String getNextId() {
+        long timestampAndCounter = nextTimestampAndCounter();
+        long mostSignificantBits = ((timestampAndCounter >>> COUNTER_BITS) << 16) // 48 bit timestamp
+                | (0x7L << COUNTER_BITS) // version 7
+                | (timestampAndCounter & COUNTER_MASK);
+        long leastSignificantBits = (ThreadLocalRandom.current().nextLong() >>> 2) | 0x8000000000000000L; // IETF variant + 62 random bits
+        return new UUID(mostSignificantBits, leastSignificantBits).toString();
+    }
+
+    protected long nextTimestampAndCounter() {
+        long currentTimestamp = System.currentTimeMillis();
+        return lastTimestampAndCounter.updateAndGet(previous -> {
+            long previousTimestamp = previous >>> COUNTER_BITS;
+            if (currentTimestamp > previousTimestamp) {
+                return currentTimestamp << COUNTER_BITS;
+            }
+            // Same millisecond (or the clock went backwards): increment the counter.
+            // When the counter overflows, this borrows from the next millisecond, which keeps the ids increasing.
+            return previous + 1;
+        });
+    }
+
+}
@@ -14,6 +14,7 @@ package org.flowable.common.engine.impl.persistence.cache;
 
 import java.util.HashMap;
 
+import org.flowable.common.engine.impl.persistence.entity.ChangeTrackingEntity;
 import org.flowable.common.engine.impl.persistence.entity.Entity;
 
 /**
@@ -32,9 +33,21 @@ public class CachedEntity {
      */
     protected Object originalPersistentState;
 
+    /**
+     * True when the changes are recorded by the {@link ChangeTrackingEntity} itself. No persistent state is stored in that case.
+     */
+    protected boolean changeTracked;
+
     public CachedEntity(Entity entity, boolean storeState) {
+        this(entity, storeState, false);
+    }
+
+    public CachedEntity(Entity entity, boolean storeState, boolean changeTrackingEnabled) {
         this.entity = entity;
-        if (storeState) {
+        if (storeState && changeTrackingEnabled && entity instanceof ChangeTrackingEntity) {
+            ((ChangeTrackingEntity) entity).startChangeTracking();
+            this.changeTracked = true;
+        } else if (storeState) {
             this.originalPersistentState = entity.getPersistentState();
             entity.setOriginalPersistentState(originalPersistentState);
         } else if (entity.getOriginalPersistentState() == null){
@@ -58,7 +71,15 @@ public class CachedEntity {
         this.originalPersistentState = originalPersistentState;
     }
 
+    public boolean isChangeTracked() {
+        return changeTracked;
+    }
+
     public boolean hasChanged() {
+        if (changeTracked) {
+            return ((ChangeTrackingEntity) entity).hasTrackedChanges();
+        }
+
         Object currentPersistentState = entity.getPersistentState();
         return currentPersistentState != null && !entity.getPersistentState().equals(originalPersistentState)
                 || currentPersistentState == null && originalPersistentState != null;
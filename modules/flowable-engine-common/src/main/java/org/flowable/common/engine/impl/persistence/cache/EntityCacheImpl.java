@@ -27,6 +27,14 @@ import org.flowable.common.engine.impl.persistence.entity.Entity;
 public class EntityCacheImpl implements EntityCache {
 
     protected Map<Class<?>, Map<String, CachedEntity>> cachedObjects = new HashMap<>();
+    protected boolean changeTrackingEnabled;
+
+    public EntityCacheImpl() {
+    }
+
+    public EntityCacheImpl(boolean changeTrackingEnabled) {
+        this.changeTrackingEnabled = changeTrackingEnabled;
+    }
 
     @Override
     public CachedEntity put(Entity entity, boolean storeState) {
@@ -35,7 +43,7 @@ public class EntityCacheImpl implements EntityCache {
             classCache = new HashMap<>();
             cachedObjects.put(entity.getClass(), classCache);
         }
-        CachedEntity cachedObject = new CachedEntity(entity, storeState);
+        CachedEntity cachedObject = new CachedEntity(entity, storeState, changeTrackingEnabled);
         classCache.put(entity.getId(), cachedObject);
         return cachedObject;
     }
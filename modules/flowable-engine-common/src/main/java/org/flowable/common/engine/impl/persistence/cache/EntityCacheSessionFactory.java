@@ -0,0 +1,56 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.cache;
+
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.common.engine.impl.interceptor.Session;
+import org.flowable.common.engine.impl.interceptor.SessionFactory;
+import org.flowable.common.engine.impl.persistence.entity.ChangeTrackingEntity;
+
+/**
+ * {@link SessionFactory} for the {@link EntityCache}.
+ *
+ * <p>
+ * When change tracking is enabled, the opened caches rely on the changes recorded by {@link ChangeTrackingEntity} instances
+ * to determine if they need to be updated.
+ */
+public class EntityCacheSessionFactory implements SessionFactory {
+
+    protected boolean changeTrackingEnabled;
+
+    public EntityCacheSessionFactory() {
+    }
+
+    public EntityCacheSessionFactory(boolean changeTrackingEnabled) {
+        this.changeTrackingEnabled = changeTrackingEnabled;
+    }
+
+    @Override
+    public Class<?> getSessionType() {
+        return EntityCache.class;
+    }
+
+    @Override
+    public Session openSession(CommandContext commandContext) {
+        return new EntityCacheImpl(changeTrackingEnabled);
+    }
+
+    public boolean isChangeTrackingEnabled() {
+        return changeTrackingEnabled;
+    }
+
+    public void setChangeTrackingEnabled(boolean changeTrackingEnabled) {
+        this.changeTrackingEnabled = changeTrackingEnabled;
+    }
+
+}
@@ -0,0 +1,483 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.deploy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A concurrent {@link DeploymentCache} with lock-free reads and a frequency aware eviction policy (W-TinyLFU).
+ *
+ * <p>
+ * Contrary to the {@link DefaultDeploymentCache}, a {@link #get(String)} does not take a lock:
+ * the access is recorded in a lossy buffer, which is applied to the eviction policy in batches, by the thread that manages to get the eviction lock.
+ *
+ * <p>
+ * When a maximum weight is set, new entries are first added to a small LRU window (1% of the maximum weight).
+ * Entries leaving the window only replace an entry of the main space when they have been used more frequently, as estimated by a count-min sketch.
+ * This keeps frequently used definitions in the cache, even when many definitions are used only once (e.g. by a batch or a migration).
+ * The main space is a segmented LRU: entries accessed again are promoted from the probation to the protected segment (80% of the main space).
+ *
+ * <p>
+ * By default, every entry has a weight of 1, so the maximum weight is the maximum number of entries.
+ * A weigher can be set to size the cache by e.g. the size of the parsed models instead.
+ *
+ * <p>
+ * The hit, miss and eviction counts are available for monitoring.
+ */
+public class TinyLfuDeploymentCache<T> implements DeploymentCache<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TinyLfuDeploymentCache.class);
+
+    protected static final int READ_BUFFER_SIZE = 128;
+    protected static final int READ_BUFFER_DRAIN_THRESHOLD = 32;
+
+    protected final ConcurrentHashMap<String, Node<T>> data = new ConcurrentHashMap<>();
+    protected final long maximumWeight;
+    protected final ToIntFunction<T> weigher;
+
+    protected final LongAdder hitCount = new LongAdder();
+    protected final LongAdder missCount = new LongAdder();
+    protected final LongAdder evictionCount = new LongAdder();
+
+    protected final AtomicReferenceArray<Node<T>> readBuffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+    protected final AtomicLong readBufferWriteCount = new AtomicLong();
+
+    // Guarded by the eviction lock. The iteration order of the segments is from least to most recently used.
+    protected final ReentrantLock evictionLock = new ReentrantLock();
+    protected final LinkedHashMap<String, Node<T>> window = new LinkedHashMap<>();
+    protected final LinkedHashMap<String, Node<T>> probation = new LinkedHashMap<>();
+    protected final LinkedHashMap<String, Node<T>> protectedSegment = new LinkedHashMap<>();
+    protected long windowWeight;
+    protected long probationWeight;
+    protected long protectedWeight;
+    protected final long maximumWindowWeight;
+    protected final long maximumProtectedWeight;
+    protected final FrequencySketch frequencySketch;
+
+    /** Cache with no limit */
+    public TinyLfuDeploymentCache() {
+        this(-1L, null);
+    }
+
+    /**
+     * Cache which has a hard limit: no more elements will be cached than the limit.
+     */
+    public TinyLfuDeploymentCache(int limit) {
+        this(limit, null);
+    }
+
+    /**
+     * Cache for which the total weight of the elements, as determined by the given weigher, does not exceed the maximum weight.
+     */
+    public TinyLfuDeploymentCache(long maximumWeight, ToIntFunction<T> weigher) {
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        if (maximumWeight > 0) {
+            this.maximumWindowWeight = Math.max(1L, maximumWeight / 100);
+            this.maximumProtectedWeight = (long) ((maximumWeight - maximumWindowWeight) * 0.8);
+            this.frequencySketch = new FrequencySketch((int) Math.min(maximumWeight, 1 << 16));
+        } else {
+            this.maximumWindowWeight = 0L;
+            this.maximumProtectedWeight = 0L;
+            this.frequencySketch = null;
+        }
+    }
+
+    @Override
+    public T get(String id) {
+        Node<T> node = data.get(id);
+        if (node == null) {
+            missCount.increment();
+            return null;
+        }
+
+        hitCount.increment();
+        if (isBounded()) {
+            recordAccess(node);
+        }
+        return node.value;
+    }
+
+    @Override
+    public boolean contains(String id) {
+        return data.containsKey(id);
+    }
+
+    @Override
+    public void add(String id, T object) {
+        Node<T> node = new Node<>(id, object, weigh(object));
+        if (!isBounded()) {
+            data.put(id, node);
+            return;
+        }
+
+        evictionLock.lock();
+        try {
+            drainReadBuffer();
+
+            Node<T> existingNode = data.put(id, node);
+            if (existingNode != null) {
+                removeFromSegment(existingNode);
+            }
+
+            frequencySketch.increment(id);
+            addToSegment(node, Segment.WINDOW);
+            evict();
+
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public void remove(String id) {
+        if (!isBounded()) {
+            data.remove(id);
+            return;
+        }
+
+        evictionLock.lock();
+        try {
+            Node<T> node = data.remove(id);
+            if (node != null) {
+                removeFromSegment(node);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        evictionLock.lock();
+        try {
+            data.clear();
+            // An access recorded concurrently can still put a removed node in the read buffer,
+            // the node is then skipped by drainReadBuffer() instead of being added to a segment again
+            detachNodes(window);
+            detachNodes(probation);
+            detachNodes(protectedSegment);
+            for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+                readBuffer.set(i, null);
+            }
+            window.clear();
+            probation.clear();
+            protectedSegment.clear();
+            windowWeight = 0L;
+            probationWeight = 0L;
+            protectedWeight = 0L;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    protected void detachNodes(LinkedHashMap<String, Node<T>> segment) {
+        for (Node<T> node : segment.values()) {
+            node.segment = null;
+        }
+    }
+
+    @Override
+    public Collection<T> getAll() {
+        List<T> values = new ArrayList<>(data.size());
+        for (Node<T> node : data.values()) {
+            values.add(node.value);
+        }
+        return values;
+    }
+
+    @Override
+    public int size() {
+        return data.size();
+    }
+
+    protected boolean isBounded() {
+        return maximumWeight > 0;
+    }
+
+    protected int weigh(T object) {
+        return weigher != null ? Math.max(1, weigher.applyAsInt(object)) : 1;
+    }
+
+    protected void recordAccess(Node<T> node) {
+        long index = readBufferWriteCount.getAndIncrement();
+        // Lossy: when the buffer is full, older accesses are overwritten, which only makes the frequency estimation less precise
+        readBuffer.lazySet((int) (index & (READ_BUFFER_SIZE - 1)), node);
+
+        if ((index & (READ_BUFFER_DRAIN_THRESHOLD - 1)) == READ_BUFFER_DRAIN_THRESHOLD - 1 && evictionLock.tryLock()) {
+            try {
+                drainReadBuffer();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    protected void drainReadBuffer() {
+        for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+            Node<T> node = readBuffer.getAndSet(i, null);
+            if (node != null && node.segment != null) {
+                onAccess(node);
+            }
+        }
+    }
+
+    protected void onAccess(Node<T> node) {
+        frequencySketch.increment(node.key);
+        switch (node.segment) {
+            case WINDOW:
+                window.remove(node.key);
+                window.put(node.key, node);
+                break;
+            case PROBATION:
+                removeFromSegment(node);
+                addToSegment(node, Segment.PROTECTED);
+                // Demote the least recently used protected entries when the protected segment is full
+                while (protectedWeight > maximumProtectedWeight && protectedSegment.size() > 1) {
+                    Node<T> demotedNode = protectedSegment.values().iterator().next();
+                    removeFromSegment(demotedNode);
+                    addToSegment(demotedNode, Segment.PROBATION);
+                }
+                break;
+            case PROTECTED:
+                protectedSegment.remove(node.key);
+                protectedSegment.put(node.key, node);
+                break;
+        }
+    }
+
+    protected void evict() {
+        // The least recently used entries of the window become candidates for the main space
+        while (windowWeight > maximumWindowWeight && window.size() > 1) {
+            Node<T> candidate = window.values().iterator().next();
+            removeFromSegment(candidate);
+            admit(candidate);
+        }
+
+        // Only needed when a single entry is heavier than the window or the main space
+        while (windowWeight + probationWeight + protectedWeight > maximumWeight) {
+            Node<T> victim = firstNode(probation);
+            if (victim == null) {
+                victim = firstNode(protectedSegment);
+            }
+            if (victim == null) {
+                victim = firstNode(window);
+            }
+            evictNode(victim);
+        }
+    }
+
+    protected void admit(Node<T> candidate) {
+        long maximumMainWeight = maximumWeight - maximumWindowWeight;
+        while (probationWeight + protectedWeight + candidate.weight > maximumMainWeight) {
+            Node<T> victim = firstNode(probation);
+            if (victim == null) {
+                victim = firstNode(protectedSegment);
+            }
+            if (victim == null) {
+                break;
+            }
+
+            if (frequencySketch.frequency(candidate.key) > frequencySketch.frequency(victim.key)) {
+                evictNode(victim);
+            } else {
+                evictNode(candidate);
+                return;
+            }
+        }
+
+        addToSegment(candidate, Segment.PROBATION);
+    }
+
+    protected void evictNode(Node<T> node) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("Cache limit is reached, {} will be evicted", node.key);
+        }
+        data.remove(node.key, node);
+        removeFromSegment(node);
+        evictionCount.increment();
+    }
+
+    protected void addToSegment(Node<T> node, Segment segment) {
+        node.segment = segment;
+        switch (segment) {
+            case WINDOW:
+                window.put(node.key, node);
+                windowWeight += node.weight;
+                break;
+            case PROBATION:
+                probation.put(node.key, node);
+                probationWeight += node.weight;
+                break;
+            case PROTECTED:
+                protectedSegment.put(node.key, node);
+                protectedWeight += node.weight;
+                break;
+        }
+    }
+
+    protected void removeFromSegment(Node<T> node) {
+        Segment segment = node.segment;
+        node.segment = null;
+        if (segment == null) {
+            return;
+        }
+
+        switch (segment) {
+            case WINDOW:
+                if (window.remove(node.key, node)) {
+                    windowWeight -= node.weight;
+                }
+                break;
+            case PROBATION:
+                if (probation.remove(node.key, node)) {
+                    probationWeight -= node.weight;
+                }
+                break;
+            case PROTECTED:
+                if (protectedSegment.remove(node.key, node)) {
+                    protectedWeight -= node.weight;
+                }
+                break;
+        }
+    }
+
+    protected Node<T> firstNode(LinkedHashMap<String, Node<T>> segment) {
+        Iterator<Node<T>> iterator = segment.values().iterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    public long getWeightedSize() {
+        if (!isBounded()) {
+            return data.size();
+        }
+
+        evictionLock.lock();
+        try {
+            return windowWeight + probationWeight + protectedWeight;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    protected enum Segment {
+        WINDOW, PROBATION, PROTECTED
+    }
+
+    protected static class Node<T> {
+
+        protected final String key;
+        protected final T value;
+        protected final int weight;
+
+        // Guarded by the eviction lock, null when the node is no longer part of the cache
+        protected volatile Segment segment;
+
+        public Node(String key, T value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Count-min sketch with 4 bit counters, estimating how often a key has been used recently.
+     * The counters are halved periodically, so that the estimation is based on recent usage.
+     */
+    protected static class FrequencySketch {
+
+        protected static final int[] SEEDS = { 0x97cb3127, 0xb7a8d1f3, 0x85ebca6b, 0xc2b2ae35 };
+        protected static final int MAX_FREQUENCY = 15;
+
+        protected final byte[][] table;
+        protected final int mask;
+        protected final int sampleSize;
+        protected int additions;
+
+        public FrequencySketch(int expectedSize) {
+            int width = Integer.highestOneBit(Math.max(16, expectedSize) - 1) << 1;
+            this.table = new byte[SEEDS.length][width];
+            this.mask = width - 1;
+            this.sampleSize = 10 * width;
+        }
+
+        public void increment(String key) {
+            int hash = key.hashCode();
+            boolean incremented = false;
+            for (int i = 0; i < SEEDS.length; i++) {
+                int index = indexOf(hash, i);
+                if (table[i][index] < MAX_FREQUENCY) {
+                    table[i][index]++;
+                    incremented = true;
+                }
+            }
+
+            if (incremented && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        public int frequency(String key) {
+            int hash = key.hashCode();
+            int frequency = MAX_FREQUENCY;
+            for (int i = 0; i < SEEDS.length; i++) {
+                frequency = Math.min(frequency, table[i][indexOf(hash, i)]);
+            }
+            return frequency;
+        }
+
+        protected int indexOf(int hash, int i) {
+            int h = (hash ^ (hash >>> 16)) * SEEDS[i];
+            h ^= h >>> 15;
+            return h & mask;
+        }
+
+        protected void reset() {
+            for (byte[] row : table) {
+                for (int j = 0; j < row.length; j++) {
+                    row[j] >>= 1;
+                }
+            }
+            additions /= 2;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.entity;
+
+/**
+ * An {@link Entity} that keeps track of its own changes, instead of relying on the comparison of its persistent state.
+ *
+ * <p>
+ * When change tracking is enabled on the engine configuration, the entity cache calls {@link #startChangeTracking()}
+ * when the entity is loaded, instead of storing a copy of the persistent state.
+ * From then on, every setter of a persistent field sets the bit of that field when the value changes,
+ * and clears it again when the original value is set back.
+ * At flush time, only entities for which {@link #hasTrackedChanges()} returns true are updated,
+ * without building and comparing the persistent state maps.
+ */
+public interface ChangeTrackingEntity extends Entity {
+
+    /**
+     * Clears the changed fields and starts recording changes from now on.
+     */
+    void startChangeTracking();
+
+    boolean isChangeTracked();
+
+    /**
+     * Returns the bitset of the fields that were changed since {@link #startChangeTracking()} was called.
+     * The meaning of every bit is defined by the entity implementation.
+     */
+    long getChangedFields();
+
+    default boolean hasTrackedChanges() {
+        return getChangedFields() != 0L;
+    }
+
+}
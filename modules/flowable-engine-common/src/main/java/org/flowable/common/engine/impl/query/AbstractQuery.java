@@ -13,7 +13,14 @@
 package org.flowable.common.engine.impl.query;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.FlowableIllegalArgumentException;
@@ -38,6 +45,8 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
     protected transient CommandExecutor commandExecutor;
     protected transient CommandContext commandContext;
 
+    protected String afterId;
+
     protected AbstractQuery() {
         parameter = this;
     }
@@ -144,6 +153,57 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
         return executeList(Context.getCommandContext());
     }
 
+    @Override
+    public List<U> listAfter(String lastId, int maxResults) {
+        if (!isKeysetPaginationSupported()) {
+            throw new FlowableException(getClass().getName() + " does not support keyset pagination");
+        }
+        if (orderByCollection != null && !orderByCollection.isEmpty()) {
+            for (OrderBy orderBy : orderByCollection) {
+                if (!DEFAULT_ORDER_BY.getColumnName().equals(orderBy.getColumnName()) || !SORTORDER_ASC.equals(orderBy.getDirection())) {
+                    throw new FlowableIllegalArgumentException("Invalid query: keyset pagination always orders the results by id ascending");
+                }
+            }
+        }
+        if (maxResults <= 0) {
+            throw new FlowableIllegalArgumentException("maxResults must be greater than 0");
+        }
+
+        this.afterId = lastId;
+        try {
+            return listPage(0, maxResults);
+        } finally {
+            this.afterId = null;
+        }
+    }
+
+    @Override
+    public Stream<U> stream(int batchSize) {
+        if (!isKeysetPaginationSupported()) {
+            throw new FlowableException(getClass().getName() + " does not support streaming");
+        }
+        if (batchSize <= 0) {
+            throw new FlowableIllegalArgumentException("batchSize must be greater than 0");
+        }
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new KeysetPaginationIterator(batchSize),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Whether the query supports {@link #listAfter(String, int)} and {@link #stream(int)}.
+     * Queries returning true need to filter on the {@link #getAfterId() after id} and implement {@link #getKeysetId(Object)}.
+     */
+    protected boolean isKeysetPaginationSupported() {
+        return false;
+    }
+
+    /**
+     * Returns the id of the given result, which is used as the starting point of the next page when streaming the results.
+     */
+    protected String getKeysetId(U result) {
+        throw new FlowableException(getClass().getName() + " does not support keyset pagination");
+    }
+
     @Override
     public long count() {
         this.resultType = ResultType.COUNT;
@@ -186,4 +246,51 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
         return null;
     }
 
+    public String getAfterId() {
+        return afterId;
+    }
+
+    /**
+     * Fetches the results page per page with {@link #listAfter(String, int)}.
+     * Only the current page is kept in memory, and every page is fetched in its own command
+     * when the query is executed through a service.
+     */
+    protected class KeysetPaginationIterator implements Iterator<U> {
+
+        protected final int batchSize;
+        protected List<U> currentPage = Collections.emptyList();
+        protected int currentIndex;
+        protected String lastId;
+        protected boolean lastPage;
+
+        public KeysetPaginationIterator(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (currentIndex < currentPage.size()) {
+                return true;
+            }
+            if (lastPage) {
+                return false;
+            }
+
+            currentPage = listAfter(lastId, batchSize);
+            currentIndex = 0;
+            lastPage = currentPage.size() < batchSize;
+            return !currentPage.isEmpty();
+        }
+
+        @Override
+        public U next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            U result = currentPage.get(currentIndex++);
+            lastId = getKeysetId(result);
+            return result;
+        }
+    }
+
 }
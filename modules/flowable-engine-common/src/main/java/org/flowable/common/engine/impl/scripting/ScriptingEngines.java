@@ -16,8 +16,11 @@ import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineFactory;
@@ -26,6 +29,8 @@ import javax.script.ScriptException;
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
+import org.flowable.common.engine.impl.persistence.deploy.TinyLfuDeploymentCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,6 +43,12 @@ import org.slf4j.LoggerFactory;
  * indicates thread safe read access.
  * </p>
  *
+ * <p>
+ * Scripts evaluated by cached ScriptEngines that are {@link Compilable} are compiled once and kept in a bounded cache of
+ * {@link CompiledScript CompiledScripts}, keyed by the script source and checked against the engine of the language.
+ * This applies to all scripts evaluated through this class (e.g. script tasks and script listeners).
+ * </p>
+ *
  * @author Tom Baeyens
  * @author Joram Barrez
  * @author Frederik Heremans
@@ -51,12 +62,19 @@ public class ScriptingEngines {
     public static final String DEFAULT_SCRIPTING_LANGUAGE = "juel";
     public static final String GROOVY_SCRIPTING_LANGUAGE = "groovy";
 
+    public static final int DEFAULT_COMPILED_SCRIPT_CACHE_LIMIT = 1000;
+
     private final ScriptEngineManager scriptEngineManager;
     protected ScriptBindingsFactory scriptBindingsFactory;
 
     protected boolean cacheScriptingEngines = true;
     protected Map<String, ScriptEngine> cachedEngines;
 
+    protected boolean cacheCompiledScripts = true;
+    protected DeploymentCache<CompiledScript> compiledScriptCache = new TinyLfuDeploymentCache<>(DEFAULT_COMPILED_SCRIPT_CACHE_LIMIT);
+    protected final LongAdder compiledScriptCacheHitCount = new LongAdder();
+    protected final LongAdder compiledScriptCacheMissCount = new LongAdder();
+
     protected ScriptTraceEnhancer defaultTraceEnhancer;
 
     protected ScriptTraceListener scriptErrorListener = null;
@@ -86,7 +104,12 @@ public class ScriptingEngines {
     protected Object evaluate(ScriptEngine scriptEngine, ScriptEngineRequest request, Bindings bindings) {
         long startNanos = System.nanoTime();
         try {
-            Object scriptResult = scriptEngine.eval(request.getScript(), bindings);
+            Object scriptResult;
+            if (isCompiledScriptCacheable(request.getLanguage(), scriptEngine)) {
+                scriptResult = getCompiledScript((Compilable) scriptEngine, request.getScript()).eval(bindings);
+            } else {
+                scriptResult = scriptEngine.eval(request.getScript(), bindings);
+            }
             if (scriptSuccessListener != null) {
                 DefaultScriptTrace scriptTrace = DefaultScriptTrace.successTrace(Duration.ofNanos(System.nanoTime() - startNanos), request);
                 enhanceScriptTrace(request, scriptTrace);
@@ -111,6 +134,40 @@ public class ScriptingEngines {
         }
     }
 
+    protected boolean isCompiledScriptCacheable(String language, ScriptEngine scriptEngine) {
+        // A compiled script belongs to the engine that compiled it, so only the scripts of cached (thread safe) engines are cached.
+        // JUEL scripts are excluded, as the JUEL engine binds the variables of the script context when parsing.
+        return cacheCompiledScripts && compiledScriptCache != null
+                && scriptEngine instanceof Compilable
+                && !DEFAULT_SCRIPTING_LANGUAGE.equals(language)
+                && cachedEngines.get(language) == scriptEngine;
+    }
+
+    protected CompiledScript getCompiledScript(Compilable scriptEngine, String script) throws ScriptException {
+        // The script itself is the key, so that its (cached) hash code can be used.
+        // The same script of another language is compiled by another engine, and replaces the cached one.
+        CompiledScript compiledScript = compiledScriptCache.get(script);
+        if (compiledScript != null && compiledScript.getEngine() == scriptEngine) {
+            compiledScriptCacheHitCount.increment();
+            return compiledScript;
+        }
+
+        // Two threads compiling the same script at the same time is harmless, one of both compiled scripts will be kept
+        compiledScriptCacheMissCount.increment();
+        compiledScript = scriptEngine.compile(script);
+        compiledScriptCache.add(script, compiledScript);
+        return compiledScript;
+    }
+
+    /**
+     * Removes all compiled scripts from the cache, e.g. when a deployment is removed.
+     */
+    public void clearCompiledScriptCache() {
+        if (compiledScriptCache != null) {
+            compiledScriptCache.clear();
+        }
+    }
+
     protected void notifyScriptTraceListener(ScriptTraceListener listener, ScriptTrace scriptTrace) {
         try {
             listener.onScriptTrace(scriptTrace);
@@ -212,6 +269,36 @@ public class ScriptingEngines {
         return cacheScriptingEngines;
     }
 
+    public boolean isCacheCompiledScripts() {
+        return cacheCompiledScripts;
+    }
+
+    public void setCacheCompiledScripts(boolean cacheCompiledScripts) {
+        this.cacheCompiledScripts = cacheCompiledScripts;
+    }
+
+    public DeploymentCache<CompiledScript> getCompiledScriptCache() {
+        return compiledScriptCache;
+    }
+
+    public void setCompiledScriptCache(DeploymentCache<CompiledScript> compiledScriptCache) {
+        this.compiledScriptCache = compiledScriptCache;
+    }
+
+    /**
+     * Returns the number of script evaluations that used an already compiled script.
+     */
+    public long getCompiledScriptCacheHitCount() {
+        return compiledScriptCacheHitCount.sum();
+    }
+
+    /**
+     * Returns the number of script evaluations that had to compile the script.
+     */
+    public long getCompiledScriptCacheMissCount() {
+        return compiledScriptCacheMissCount.sum();
+    }
+
     public ScriptTraceEnhancer getDefaultTraceEnhancer() {
         return defaultTraceEnhancer;
     }
@@ -15,12 +15,26 @@ package org.flowable.common.engine.impl;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineFactory;
+import javax.script.ScriptException;
+
 import org.flowable.common.engine.impl.scripting.CompositeScriptTraceListener;
 import org.flowable.common.engine.impl.scripting.FlowableScriptEvaluationException;
 import org.flowable.common.engine.impl.scripting.MapResolver;
@@ -255,6 +269,61 @@ public class ScriptingEnginesTest {
         });
     }
 
+    @Test
+    public void expectCompilableScriptsToBeCompiledOnce() throws ScriptException {
+        // GIVEN
+        ScriptEngine scriptEngine = mock(ScriptEngine.class, withSettings().extraInterfaces(Compilable.class));
+        ScriptEngineFactory scriptEngineFactory = mock(ScriptEngineFactory.class);
+        when(scriptEngineFactory.getEngineName()).thenReturn("compilable");
+        when(scriptEngineFactory.getScriptEngine()).thenReturn(scriptEngine);
+        when(scriptEngineFactory.getParameter("THREADING")).thenReturn("MULTITHREADED");
+        when(scriptEngine.getFactory()).thenReturn(scriptEngineFactory);
+        CompiledScript compiledScript = mock(CompiledScript.class);
+        when(compiledScript.eval(any(Bindings.class))).thenReturn("compiled");
+        when(compiledScript.getEngine()).thenReturn(scriptEngine);
+        when(((Compilable) scriptEngine).compile(anyString())).thenReturn(compiledScript);
+        engines.addScriptEngineFactory(scriptEngineFactory);
+
+        ScriptEngineRequest request = ScriptEngineRequest.builder()
+                .script("compiled script")
+                .language("compilable")
+                .variableContainer(VariableScope.empty())
+                .build();
+
+        // WHEN
+        for (int i = 0; i < 3; i++) {
+            assertThat(engines.evaluate(request).getResult()).isEqualTo("compiled");
+        }
+
+        // THEN
+        verify((Compilable) scriptEngine, times(1)).compile("compiled script");
+        verify(scriptEngine, times(0)).eval(anyString(), any(Bindings.class));
+        assertThat(engines.getCompiledScriptCacheHitCount()).isEqualTo(2);
+        assertThat(engines.getCompiledScriptCacheMissCount()).isEqualTo(1);
+
+        // WHEN
+        engines.clearCompiledScriptCache();
+        engines.evaluate(request);
+
+        // THEN
+        verify((Compilable) scriptEngine, times(2)).compile("compiled script");
+        assertThat(engines.getCompiledScriptCacheMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void expectScriptsOfNotCachedEnginesNotToBeCompiled() {
+        ScriptEngineRequest request = ScriptEngineRequest.builder()
+                .script("var foo = 'bar'; foo")
+                .language("JavaScript")
+                .variableContainer(VariableScope.empty())
+                .build();
+
+        assertThat(engines.evaluate(request).getResult()).isEqualTo("bar");
+        assertThat(engines.getCompiledScriptCacheHitCount()).isZero();
+        assertThat(engines.getCompiledScriptCacheMissCount()).isZero();
+        assertThat(engines.getCompiledScriptCache().size()).isZero();
+    }
+
     public static class MyBean {
 
         protected String foo;
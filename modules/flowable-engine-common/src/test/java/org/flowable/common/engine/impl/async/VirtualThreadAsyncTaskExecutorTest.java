@@ -0,0 +1,129 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadAsyncTaskExecutorTest {
+
+    protected VirtualThreadAsyncTaskExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        AsyncTaskExecutorConfiguration configuration = new AsyncTaskExecutorConfiguration();
+        configuration.setVirtualThreads(true);
+        configuration.setMaxConcurrency(2);
+        executor = new VirtualThreadAsyncTaskExecutor(configuration);
+        executor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void tasksAreRejectedWhenMaxConcurrencyIsReached() throws Exception {
+        CountDownLatch blockingLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(2);
+        Runnable blockingTask = () -> {
+            try {
+                blockingLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            doneLatch.countDown();
+        };
+
+        assertThat(executor.getRemainingCapacity()).isEqualTo(2);
+        executor.execute(blockingTask);
+        executor.execute(blockingTask);
+        assertThat(executor.getRemainingCapacity()).isZero();
+
+        assertThatThrownBy(() -> executor.execute(() -> { }))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThatThrownBy(() -> executor.submit(() -> "rejected"))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(executor.getRemainingCapacity()).isZero();
+
+        blockingLatch.countDown();
+        assertThat(doneLatch.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // The permits are released after the tasks have finished
+        long maxWaitTime = System.currentTimeMillis() + 10000;
+        while (executor.getRemainingCapacity() < 2 && System.currentTimeMillis() < maxWaitTime) {
+            Thread.sleep(10);
+        }
+        assertThat(executor.getRemainingCapacity()).isEqualTo(2);
+    }
+
+    @Test
+    void changeMaxConcurrencyWhileTasksAreRunning() throws Exception {
+        CountDownLatch blockingLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(2);
+        Runnable blockingTask = () -> {
+            try {
+                blockingLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            doneLatch.countDown();
+        };
+
+        executor.execute(blockingTask);
+        executor.execute(blockingTask);
+        assertThat(executor.getRemainingCapacity()).isZero();
+
+        // The permits of the running tasks are kept
+        executor.setMaxConcurrency(3);
+        assertThat(executor.getRemainingCapacity()).isEqualTo(1);
+
+        executor.setMaxConcurrency(1);
+        assertThat(executor.getRemainingCapacity()).isZero();
+        assertThatThrownBy(() -> executor.execute(() -> { }))
+                .isInstanceOf(RejectedExecutionException.class);
+
+        blockingLatch.countDown();
+        assertThat(doneLatch.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // Only the reduced maximum concurrency is available after the running tasks have finished
+        long maxWaitTime = System.currentTimeMillis() + 10000;
+        while (executor.getRemainingCapacity() < 1 && System.currentTimeMillis() < maxWaitTime) {
+            Thread.sleep(10);
+        }
+        assertThat(executor.getRemainingCapacity()).isEqualTo(1);
+    }
+
+    @Test
+    void submitCallable() throws Exception {
+        CompletableFuture<String> future = executor.submit(() -> "result");
+        assertThat(future.get(10, TimeUnit.SECONDS)).isEqualTo("result");
+
+        CompletableFuture<String> failingFuture = executor.submit(() -> {
+            throw new IllegalStateException("failure");
+        });
+        assertThatThrownBy(() -> failingFuture.get(10, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+}
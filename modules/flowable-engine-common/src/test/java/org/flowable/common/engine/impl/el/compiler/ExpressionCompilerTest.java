@@ -0,0 +1,248 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.el.compiler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.delegate.Expression;
+import org.flowable.common.engine.api.delegate.FlowableFunctionDelegate;
+import org.flowable.common.engine.api.variable.VariableContainer;
+import org.flowable.common.engine.impl.el.DefaultExpressionManager;
+import org.flowable.common.engine.impl.el.ExpressionFactoryResolver;
+import org.flowable.common.engine.impl.el.ParsingElContext;
+import org.flowable.common.engine.impl.el.VariableContainerWrapper;
+import org.flowable.common.engine.impl.javax.el.ValueExpression;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ExpressionCompilerTest {
+
+    protected DefaultExpressionManager interpretingExpressionManager;
+    protected DefaultExpressionManager compilingExpressionManager;
+    protected VariableContainer variableContainer;
+
+    @BeforeEach
+    void setUp() {
+        List<FlowableFunctionDelegate> functionDelegates = Arrays.asList(new TestFunctionDelegate("max"), new TestFunctionDelegate("join"));
+
+        interpretingExpressionManager = new DefaultExpressionManager(null);
+        interpretingExpressionManager.setFunctionDelegates(functionDelegates);
+
+        compilingExpressionManager = new DefaultExpressionManager(null);
+        compilingExpressionManager.setFunctionDelegates(functionDelegates);
+        compilingExpressionManager.setExpressionCompiler(new ExpressionCompiler());
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("intVar", 7);
+        variables.put("longVar", 3L);
+        variables.put("doubleVar", 2.5);
+        variables.put("stringVar", "flowable");
+        variables.put("numericStringVar", "42");
+        variables.put("booleanVar", true);
+        variables.put("nullVar", null);
+        variables.put("listVar", Arrays.asList("a", "b", "c"));
+        variables.put("mapVar", Map.of("name", "map"));
+        variables.put("bean", new TestBean("bean"));
+        variableContainer = new VariableContainerWrapper(variables);
+    }
+
+    @Test
+    void compiledExpressionGivesSameResultAsInterpretedExpression() {
+        String[] expressionTexts = {
+                "${intVar + longVar}", "${intVar - 10}", "${intVar * doubleVar}", "${intVar / 2}", "${intVar % 4}", "${doubleVar % 2}",
+                "${numericStringVar + 1}", "${nullVar + 1}", "${-intVar}", "${-doubleVar}", "${2147483647 + 1}",
+                "${intVar > longVar}", "${intVar <= 7}", "${doubleVar >= 2.5}", "${doubleVar < intVar}", "${stringVar == 'flowable'}",
+                "${stringVar != 'other'}", "${stringVar < 'zzz'}", "${numericStringVar == 42}", "${booleanVar == 'true'}", "${nullVar == null}",
+                "${intVar == 7.0}", "${longVar != intVar}",
+                "${booleanVar && intVar > 5}", "${!booleanVar || nullVar == null}", "${not booleanVar}", "${empty nullVar}", "${empty listVar}",
+                "${intVar > 5 ? 'big' : 'small'}", "${nullVar == null ? stringVar : nullVar}",
+                "Hello ${stringVar}, you are ${intVar} years old", "plain text",
+                "${bean.name}", "${bean['name']}", "${bean.child.name}", "${bean.active}", "${bean.greet('world')}", "${bean.add(intVar, 3)}",
+                "${bean.child.greet(stringVar)}", "${listVar[1]}", "${listVar.size()}", "${mapVar.name}", "${mapVar['name']}",
+                "${stringVar.length() > 5}", "${fn:max(intVar, longVar)}", "${fn:max(1, 2) + fn:max(3, 4)}"
+        };
+
+        for (String expressionText : expressionTexts) {
+            Object interpretedValue = interpretingExpressionManager.createExpression(expressionText).getValue(variableContainer);
+            Object compiledValue = compilingExpressionManager.createExpression(expressionText).getValue(variableContainer);
+
+            assertThat(compiledValue).as(expressionText).isEqualTo(interpretedValue);
+        }
+    }
+
+    @Test
+    void compiledExpressionIsUsed() {
+        assertThat(compile("${intVar + 1}")).isInstanceOf(CompiledValueExpression.class);
+        assertThat(compile("${bean.greet(stringVar)}")).isInstanceOf(CompiledValueExpression.class);
+        assertThat(compile("${fn:max(intVar, 3)}")).isInstanceOf(CompiledValueExpression.class);
+    }
+
+    @Test
+    void unsupportedFunctionFallsBackToInterpretation() {
+        ValueExpression valueExpression = parse("${fn:join('a', 'b', 'c')}");
+
+        assertThat(new ExpressionCompiler().compile(valueExpression)).isSameAs(valueExpression);
+        assertThat(compilingExpressionManager.createExpression("${fn:join('a', 'b', 'c')}").getValue(variableContainer)).isEqualTo("abc");
+        assertThat(compilingExpressionManager.createExpression("${intVar + fn:join('a', 'b').length()}").getValue(variableContainer)).isEqualTo(9L);
+    }
+
+    @Test
+    void propertyCallSiteFollowsBaseClass() {
+        Expression expression = compilingExpressionManager.createExpression("${item.name}");
+
+        assertThat(expression.getValue(new VariableContainerWrapper(Map.of("item", new TestBean("first"))))).isEqualTo("first");
+        assertThat(expression.getValue(new VariableContainerWrapper(Map.of("item", new TestBean("second"))))).isEqualTo("second");
+        assertThat(expression.getValue(new VariableContainerWrapper(Map.of("item", new OtherBean())))).isEqualTo("other");
+        assertThat(expression.getValue(new VariableContainerWrapper(Map.of("item", Map.of("name", "map"))))).isEqualTo("map");
+        assertThat(expression.getValue(new VariableContainerWrapper(Map.of("item", new TestBean("third"))))).isEqualTo("third");
+    }
+
+    @Test
+    void methodCallSiteFollowsParameterTypes() {
+        Expression expression = compilingExpressionManager.createExpression("${bean.describe(value)}");
+
+        assertThat(expression.getValue(new VariableContainerWrapper(Map.of("bean", new TestBean("bean"), "value", "text")))).isEqualTo("string text");
+        assertThat(expression.getValue(new VariableContainerWrapper(Map.of("bean", new TestBean("bean"), "value", 5)))).isEqualTo("number 5");
+        assertThat(expression.getValue(new VariableContainerWrapper(Map.of("bean", new TestBean("bean"), "value", "again")))).isEqualTo("string again");
+    }
+
+    @Test
+    void unknownPropertyAndMethodFail() {
+        assertThatThrownBy(() -> compilingExpressionManager.createExpression("${bean.unknown}").getValue(variableContainer))
+                .isInstanceOf(FlowableException.class)
+                .hasMessage("Unknown property used in expression: ${bean.unknown}");
+        assertThatThrownBy(() -> compilingExpressionManager.createExpression("${bean.unknown()}").getValue(variableContainer))
+                .isInstanceOf(FlowableException.class)
+                .hasMessage("Unknown method used in expression: ${bean.unknown()}");
+        assertThatThrownBy(() -> compilingExpressionManager.createExpression("${unknownVar}").getValue(variableContainer))
+                .isInstanceOf(FlowableException.class)
+                .hasMessage("Unknown property used in expression: ${unknownVar}");
+    }
+
+    @Test
+    void exceptionOfInvokedMethodIsPropagated() {
+        assertThatThrownBy(() -> compilingExpressionManager.createExpression("${bean.fail}").getValue(variableContainer))
+                .isInstanceOf(FlowableException.class)
+                .rootCause()
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("failing getter");
+    }
+
+    protected ValueExpression parse(String expressionText) {
+        ParsingElContext parsingElContext = new ParsingElContext((prefix, localName) -> new TestFunctionDelegate(localName));
+        return ExpressionFactoryResolver.resolveExpressionFactory().createValueExpression(parsingElContext, expressionText, Object.class);
+    }
+
+    protected ValueExpression compile(String expressionText) {
+        return new ExpressionCompiler().compile(parse(expressionText));
+    }
+
+    protected static class TestFunctionDelegate implements FlowableFunctionDelegate {
+
+        protected final String localName;
+
+        public TestFunctionDelegate(String localName) {
+            this.localName = localName;
+        }
+
+        @Override
+        public String prefix() {
+            return "fn";
+        }
+
+        @Override
+        public String localName() {
+            return localName;
+        }
+
+        @Override
+        public Method functionMethod() {
+            try {
+                if ("max".equals(localName)) {
+                    return TestFunctions.class.getMethod("max", long.class, long.class);
+                }
+                return TestFunctions.class.getMethod("join", String[].class);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    public static class TestFunctions {
+
+        public static long max(long first, long second) {
+            return Math.max(first, second);
+        }
+
+        public static String join(String... values) {
+            return String.join("", values);
+        }
+    }
+
+    public static class TestBean {
+
+        protected final String name;
+
+        public TestBean(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isActive() {
+            return true;
+        }
+
+        public TestBean getChild() {
+            return new TestBean(name + "-child");
+        }
+
+        public String getFail() {
+            throw new IllegalStateException("failing getter");
+        }
+
+        public String greet(String to) {
+            return name + " greets " + to;
+        }
+
+        public int add(int first, int second) {
+            return first + second;
+        }
+
+        public String describe(String value) {
+            return "string " + value;
+        }
+
+        public String describe(Integer value) {
+            return "number " + value;
+        }
+    }
+
+    public static class OtherBean {
+
+        public String getName() {
+            return "other";
+        }
+    }
+
+}
@@ -0,0 +1,165 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.deploy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class TinyLfuDeploymentCacheTest {
+
+    @Test
+    void unboundedCache() {
+        TinyLfuDeploymentCache<String> cache = new TinyLfuDeploymentCache<>();
+        for (int i = 0; i < 1000; i++) {
+            cache.add("key" + i, "value" + i);
+        }
+
+        assertThat(cache.size()).isEqualTo(1000);
+        assertThat(cache.get("key500")).isEqualTo("value500");
+        assertThat(cache.get("unknown")).isNull();
+        assertThat(cache.contains("key999")).isTrue();
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getEvictionCount()).isZero();
+
+        cache.remove("key500");
+        assertThat(cache.contains("key500")).isFalse();
+        cache.clear();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void limitIsRespected() {
+        TinyLfuDeploymentCache<String> cache = new TinyLfuDeploymentCache<>(100);
+        for (int i = 0; i < 1000; i++) {
+            cache.add("key" + i, "value" + i);
+            assertThat(cache.size()).isLessThanOrEqualTo(100);
+        }
+
+        assertThat(cache.size()).isEqualTo(100);
+        assertThat(cache.getWeightedSize()).isEqualTo(100);
+        assertThat(cache.getEvictionCount()).isEqualTo(900);
+        assertThat(cache.getAll()).hasSize(100);
+
+        // The most recently added entry is in the window
+        assertThat(cache.get("key999")).isEqualTo("value999");
+    }
+
+    @Test
+    void frequentlyUsedEntriesSurviveScan() {
+        TinyLfuDeploymentCache<String> cache = new TinyLfuDeploymentCache<>(100);
+        for (int i = 0; i < 50; i++) {
+            cache.add("hot" + i, "hot" + i);
+        }
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 50; i++) {
+                assertThat(cache.get("hot" + i)).isNotNull();
+            }
+        }
+
+        // A scan over many entries that are used only once, with the hot entries being used in between.
+        // With an LRU cache of the same size, the hot entries would be evicted by the scan.
+        for (int i = 0; i < 5000; i++) {
+            cache.add("cold" + i, "cold" + i);
+            if (i % 200 == 0) {
+                for (int j = 0; j < 50; j++) {
+                    cache.get("hot" + j);
+                }
+            }
+        }
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(cache.get("hot" + i)).as("hot" + i).isEqualTo("hot" + i);
+        }
+    }
+
+    @Test
+    void weightedCache() {
+        TinyLfuDeploymentCache<String> cache = new TinyLfuDeploymentCache<>(1000, String::length);
+        for (int i = 0; i < 100; i++) {
+            cache.add("key" + i, "0123456789012345678901234567890123456789012345678901234567890123456789012345678901234567890123456789");
+        }
+
+        assertThat(cache.getWeightedSize()).isLessThanOrEqualTo(1000);
+        assertThat(cache.size()).isEqualTo(10);
+
+        // An entry heavier than the maximum weight is not kept
+        StringBuilder heavyValue = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            heavyValue.append('x');
+        }
+        cache.add("heavy", heavyValue.toString());
+        assertThat(cache.contains("heavy")).isFalse();
+        assertThat(cache.getWeightedSize()).isLessThanOrEqualTo(1000);
+    }
+
+    @Test
+    void accessRecordedDuringClearIsIgnored() {
+        TinyLfuDeploymentCache<String> cache = new TinyLfuDeploymentCache<>(10);
+        cache.add("key1", "value1");
+        TinyLfuDeploymentCache.Node<String> node = cache.data.get("key1");
+
+        cache.clear();
+        // An access that read the node before the clear, but records it after the clear
+        cache.recordAccess(node);
+        cache.add("key2", "value2");
+
+        assertThat(cache.window).containsOnlyKeys("key2");
+        assertThat(cache.getWeightedSize()).isEqualTo(1);
+        assertThat(cache.getAll()).containsExactly("value2");
+    }
+
+    @Test
+    void concurrentAccess() throws Exception {
+        TinyLfuDeploymentCache<String> cache = new TinyLfuDeploymentCache<>(64);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                int threadNumber = thread;
+                futures.add(executorService.submit(() -> {
+                    for (int i = 0; i < 20000; i++) {
+                        String key = "key" + ((i * (threadNumber + 1)) % 200);
+                        String value = cache.get(key);
+                        if (value == null) {
+                            cache.add(key, key);
+                        } else {
+                            assertThat(value).isEqualTo(key);
+                        }
+                        if (i % 1000 == 0) {
+                            cache.remove(key);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(64);
+        assertThat(cache.getWeightedSize()).isEqualTo(cache.size());
+        assertThat(cache.getHitCount() + cache.getMissCount()).isEqualTo(8 * 20000);
+    }
+
+}
@@ -150,6 +150,7 @@ public abstract class ProcessEngineConfiguration extends AbstractEngineConfigura
     protected String historyCleaningTimeCycleConfig = "0 0 1 * * ?";
     protected Duration cleanInstancesEndedAfter = Duration.ofDays(365);
     protected int cleanInstancesBatchSize = 100;
+    protected boolean cleanInstancesInParallel = false;
     protected HistoryCleaningManager historyCleaningManager;
 
 
@@ -851,6 +852,19 @@ public abstract class ProcessEngineConfiguration extends AbstractEngineConfigura
         return this;
     }
 
+    public boolean isCleanInstancesInParallel() {
+        return cleanInstancesInParallel;
+    }
+
+    /**
+     * Whether the history cleanup should delete the instances in parallel, in partitions of the clean instances batch size,
+     * instead of one batch after the other. The partitions are deleted by the async executor, so they can be spread over multiple nodes.
+     */
+    public ProcessEngineConfiguration setCleanInstancesInParallel(boolean cleanInstancesInParallel) {
+        this.cleanInstancesInParallel = cleanInstancesInParallel;
+        return this;
+    }
+
     public HistoryCleaningManager getHistoryCleaningManager() {
         return historyCleaningManager;
     }
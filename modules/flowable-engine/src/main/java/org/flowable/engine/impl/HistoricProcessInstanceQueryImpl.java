@@ -932,6 +932,16 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
         return orderBy(HistoricProcessInstanceQueryProperty.TENANT_ID);
     }
 
+    @Override
+    protected boolean isKeysetPaginationSupported() {
+        return true;
+    }
+
+    @Override
+    protected String getKeysetId(HistoricProcessInstance result) {
+        return result.getId();
+    }
+
     @Override
     public long executeCount(CommandContext commandContext) {
         ensureVariablesInitialized();
@@ -1052,6 +1062,11 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
         return commandExecutor.execute(new DeleteHistoricProcessInstancesUsingBatchesCmd(this, batchSize, batchName, true));
     }
 
+    @Override
+    public String deleteInPartitionsUsingBatch(int batchSize, String batchName) {
+        return commandExecutor.execute(new DeleteHistoricProcessInstancesUsingBatchesCmd(this, batchSize, batchName, false, true));
+    }
+
     public String getBusinessKey() {
         return businessKey;
     }
@@ -153,12 +153,13 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
             // Optimization: if there are active child executions in the database, the childExecutions definitely must not be fetched.
             // If there are none in the database, the child executions need to be fetched: either the multi instance is completed
             // or this logic is called at a time when things have not yet been flushed.
+            // With deferred completion, the job that was created up front always completes the multi instance, so there's no need to count.
 
             ExecutionEntityManager executionEntityManager = processEngineConfiguration.getExecutionEntityManager();
             DelegateExecution miRootExecution = getMultiInstanceRootExecution(execution);
-            long activeChildExecutionsCount = executionEntityManager.countActiveExecutionsByParentId(miRootExecution.getId());
+            boolean deferCompletion = !zeroNrOfInstances && processEngineConfiguration.isParallelMultiInstanceDeferredCompletion();
 
-            if (activeChildExecutionsCount > 0) { // there are active ones, nothing to do
+            if (deferCompletion || executionEntityManager.countActiveExecutionsByParentId(miRootExecution.getId()) > 0) { // there are active ones, nothing to do
 
                 // In this 'no wait state' mode, all executions until the multi instance root need to be inactivated, to make the async job work.
                 inactivateExecutionAndParentExecutions(execution, processEngineConfiguration);
@@ -178,6 +179,12 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
     }
 
     protected void internalLeave(DelegateExecution execution, boolean zeroNrOfInstances) {
+        ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration();
+        if (!zeroNrOfInstances && isDeferredCompletion(execution, processEngineConfiguration)) {
+            deferredLeave(execution, processEngineConfiguration);
+            return;
+        }
+
         int loopCounter = getLoopVariable(execution, getCollectionElementIndexVariable());
         int nrOfInstances = getLoopVariable(execution, NUMBER_OF_INSTANCES);
         VariableInstance nrOfCompletedInstancesVariable = getLoopVariableInstance(execution, NUMBER_OF_COMPLETED_INSTANCES);
@@ -194,7 +201,6 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
             setLoopVariable(miRootExecution, NUMBER_OF_ACTIVE_INSTANCES, nrOfActiveInstances);
         }
 
-        ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration();
         inactivateExecution(execution, processEngineConfiguration);
 
         try {
@@ -247,6 +253,49 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
         }
     }
 
+    /**
+     * Whether the completion of the given instance should only be recorded on its own execution,
+     * see {@link ProcessEngineConfigurationImpl#isParallelMultiInstanceDeferredCompletion()}.
+     */
+    protected boolean isDeferredCompletion(DelegateExecution execution, ProcessEngineConfigurationImpl processEngineConfiguration) {
+        if (!processEngineConfiguration.isParallelMultiInstanceDeferredCompletion()
+                || !processEngineConfiguration.isParallelMultiInstanceAsyncLeave()
+                || isAsyncWithoutWaitStates(processEngineConfiguration)
+                || execution.getParent() == null) {
+            return false;
+        }
+
+        // Instances that don't use the ParallelMultiInstanceLoopVariable yet keep their counters on the multi instance root execution
+        VariableInstance nrOfCompletedInstancesVariable = getLoopVariableInstance(execution, NUMBER_OF_COMPLETED_INSTANCES);
+        return nrOfCompletedInstancesVariable != null && ParallelMultiInstanceLoopVariableType.TYPE_NAME.equals(nrOfCompletedInstancesVariable.getTypeName());
+    }
+
+    /**
+     * Records the completion of one instance, without reading the sibling executions or locking the parent scope:
+     * the completion of the multi instance is evaluated by the {@link ParallelMultiInstanceActivityCompletionJobHandler} job
+     * created here, which is shared by all instances of the same multi instance root execution.
+     */
+    protected void deferredLeave(DelegateExecution execution, ProcessEngineConfigurationImpl processEngineConfiguration) {
+        inactivateExecution(execution, processEngineConfiguration);
+
+        try {
+            callActivityEndListeners(execution);
+        } catch (BpmnError bpmnError) {
+            ErrorPropagation.propagateError(bpmnError, execution);
+            return;
+        }
+
+        DelegateExecution miRootExecution = getMultiInstanceRootExecution(execution);
+        aggregateVariablesForChildExecution(execution, miRootExecution);
+
+        JobService jobService = processEngineConfiguration.getJobServiceConfiguration().getJobService();
+        JobEntity job = JobUtil.createJob((ExecutionEntity) execution, ParallelMultiInstanceActivityCompletionJobHandler.TYPE, processEngineConfiguration);
+        job.setJobHandlerConfiguration(miRootExecution.getId());
+
+        jobService.createAsyncJob(job, true);
+        jobService.scheduleAsyncJob(job);
+    }
+
     protected void inactivateExecutionAndParentExecutions(DelegateExecution execution, ProcessEngineConfigurationImpl processEngineConfiguration) {
         inactivateExecution(execution, processEngineConfiguration);
 
@@ -19,6 +19,7 @@ import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.flowable.bpmn.constants.BpmnXMLConstants;
+import org.flowable.bpmn.converter.BpmnModelSnapshotConverter;
 import org.flowable.bpmn.model.BpmnModel;
 import org.flowable.bpmn.model.ExtensionElement;
 import org.flowable.bpmn.model.FlowElement;
@@ -85,6 +86,7 @@ public class BpmnDeployer implements EngineDeployer {
 
         createAndPersistNewDiagramsIfNeeded(parsedDeployment);
         setProcessDefinitionDiagramNames(parsedDeployment);
+        persistNewModelSnapshots(parsedDeployment);
 
         if (deployment.isNew()) {
             if (!deploymentSettings.containsKey(DeploymentSettings.IS_DERIVED_DEPLOYMENT)) {
@@ -139,6 +141,33 @@ public class BpmnDeployer implements EngineDeployer {
         }
     }
 
+    /**
+     * Persists the model snapshots that were created while parsing the BPMN resources of a new deployment (see {@link ProcessEngineConfigurationImpl#isEnableModelSnapshots()})
+     * and adds them to the resources of the deployment.
+     */
+    protected void persistNewModelSnapshots(ParsedDeployment parsedDeployment) {
+        DeploymentEntity deploymentEntity = parsedDeployment.getDeployment();
+        ResourceEntityManager resourceEntityManager = CommandContextUtil.getProcessEngineConfiguration().getResourceEntityManager();
+
+        for (ProcessDefinitionEntity processDefinition : parsedDeployment.getAllProcessDefinitions()) {
+            byte[] modelSnapshot = parsedDeployment.getBpmnParseForProcessDefinition(processDefinition).getModelSnapshot();
+            String modelSnapshotResourceName = parsedDeployment.getResourceForProcessDefinition(processDefinition).getName()
+                    + BpmnModelSnapshotConverter.SNAPSHOT_RESOURCE_SUFFIX;
+
+            // Process definitions of the same BPMN resource share the snapshot
+            if (modelSnapshot != null && deploymentEntity.isNew() && !deploymentEntity.getResources().containsKey(modelSnapshotResourceName)) {
+                ResourceEntity resource = resourceEntityManager.create();
+                resource.setName(modelSnapshotResourceName);
+                resource.setBytes(modelSnapshot);
+                resource.setDeploymentId(deploymentEntity.getId());
+                resource.setGenerated(true);
+
+                resourceEntityManager.insert(resource, false);
+                deploymentEntity.addResource(resource);
+            }
+        }
+    }
+
     /**
      * Updates all the process definition entities to have the correct diagram resource name. Must be called after createAndPersistNewDiagramsAsNeeded to ensure that any newly-created diagrams already
      * have their resources attached to the deployment.
@@ -17,14 +17,23 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.flowable.bpmn.converter.BpmnModelSnapshotConverter;
+import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.repository.EngineDeployment;
 import org.flowable.common.engine.api.repository.EngineResource;
 import org.flowable.engine.impl.bpmn.parser.BpmnParse;
 import org.flowable.engine.impl.bpmn.parser.BpmnParser;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.cmd.DeploymentSettings;
 import org.flowable.engine.impl.persistence.entity.DeploymentEntity;
 import org.flowable.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.flowable.engine.impl.util.CommandContextUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,15 +58,21 @@ public class ParsedDeploymentBuilder {
         Map<ProcessDefinitionEntity, EngineResource> processDefinitionsToResourceMap = new LinkedHashMap<>();
 
         DeploymentEntity deploymentEntity = (DeploymentEntity) deployment;
+        List<EngineResource> bpmnResources = new ArrayList<>();
         for (EngineResource resource : deploymentEntity.getResources().values()) {
             if (isBpmnResource(resource.getName())) {
-                LOGGER.debug("Processing BPMN resource {}", resource.getName());
-                BpmnParse parse = createBpmnParseFromResource(resource);
-                for (ProcessDefinitionEntity processDefinition : parse.getProcessDefinitions()) {
-                    processDefinitions.add(processDefinition);
-                    processDefinitionsToBpmnParseMap.put(processDefinition, parse);
-                    processDefinitionsToResourceMap.put(processDefinition, resource);
-                }
+                bpmnResources.add(resource);
+            }
+        }
+
+        List<BpmnParse> bpmnParses = createBpmnParsesFromResources(bpmnResources);
+        for (int i = 0; i < bpmnResources.size(); i++) {
+            EngineResource resource = bpmnResources.get(i);
+            BpmnParse parse = bpmnParses.get(i);
+            for (ProcessDefinitionEntity processDefinition : parse.getProcessDefinitions()) {
+                processDefinitions.add(processDefinition);
+                processDefinitionsToBpmnParseMap.put(processDefinition, parse);
+                processDefinitionsToResourceMap.put(processDefinition, resource);
             }
         }
 
@@ -65,7 +80,77 @@ public class ParsedDeploymentBuilder {
                 processDefinitionsToBpmnParseMap, processDefinitionsToResourceMap);
     }
 
+    /**
+     * Parses the given resources, returning the parses in the same order as the resources.
+     *
+     * When the deployment parse parallelism is configured, the resources are converted to BPMN models and validated in parallel,
+     * on a pool that is bounded by that parallelism and only lives as long as this deployment is parsed.
+     * Applying the parse handlers needs the command context, so that is still done on the current thread, one resource at a time.
+     */
+    protected List<BpmnParse> createBpmnParsesFromResources(List<EngineResource> resources) {
+        List<BpmnParse> bpmnParses = new ArrayList<>(resources.size());
+        int parallelism = Math.min(getDeploymentParseParallelism(), resources.size());
+        if (parallelism <= 1) {
+            for (EngineResource resource : resources) {
+                LOGGER.debug("Processing BPMN resource {}", resource.getName());
+                bpmnParses.add(createBpmnParseFromResource(resource));
+            }
+            return bpmnParses;
+        }
+
+        for (EngineResource resource : resources) {
+            bpmnParses.add(createBpmnParse(resource));
+        }
+
+        ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration();
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        ExecutorService executorService = Executors.newFixedThreadPool(parallelism, new BasicThreadFactory.Builder()
+                .namingPattern("flowable-deployment-parser-%d")
+                .daemon(true)
+                .build());
+        try {
+            List<Future<BpmnParse>> preparedBpmnParses = new ArrayList<>(resources.size());
+            for (BpmnParse bpmnParse : bpmnParses) {
+                preparedBpmnParses.add(executorService.submit(() -> {
+                    Thread.currentThread().setContextClassLoader(contextClassLoader);
+                    return bpmnParse.prepareBpmnModel(processEngineConfiguration);
+                }));
+            }
+
+            // Waiting in the order of the resources, so the first failing resource (in that order) is reported
+            for (int i = 0; i < resources.size(); i++) {
+                try {
+                    preparedBpmnParses.get(i).get();
+
+                } catch (ExecutionException e) {
+                    LOGGER.error("Could not parse resource {}", resources.get(i).getName(), e.getCause());
+                    if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    throw new FlowableException("Could not parse resource " + resources.get(i).getName(), e.getCause());
+
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new FlowableException("Interrupted while parsing resource " + resources.get(i).getName(), e);
+                }
+            }
+
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        for (int i = 0; i < resources.size(); i++) {
+            LOGGER.debug("Processing BPMN resource {}", resources.get(i).getName());
+            executeBpmnParse(resources.get(i), bpmnParses.get(i));
+        }
+        return bpmnParses;
+    }
+
     protected BpmnParse createBpmnParseFromResource(EngineResource resource) {
+        return executeBpmnParse(resource, createBpmnParse(resource));
+    }
+
+    protected BpmnParse createBpmnParse(EngineResource resource) {
         String resourceName = resource.getName();
         ByteArrayInputStream inputStream = new ByteArrayInputStream(resource.getBytes());
 
@@ -87,12 +172,26 @@ public class ParsedDeploymentBuilder {
                 bpmnParse.setValidateProcess((Boolean) deploymentSettings.get(DeploymentSettings.IS_PROCESS_VALIDATION_ENABLED));
             }
 
+            bpmnParse.setCreateModelSnapshot(isEnableModelSnapshots());
+
         } else {
             // On redeploy, we assume it is validated at the first deploy
             bpmnParse.setValidateSchema(false);
             bpmnParse.setValidateProcess(false);
+
+            if (isEnableModelSnapshots() && !deployment.isNew()) {
+                // Only snapshots created by the engine are used, a resource with the same name that is part of the deployment itself is ignored
+                EngineResource modelSnapshotResource = deployment.getResources().get(resourceName + BpmnModelSnapshotConverter.SNAPSHOT_RESOURCE_SUFFIX);
+                if (modelSnapshotResource != null && modelSnapshotResource.isGenerated()) {
+                    bpmnParse.setModelSnapshot(modelSnapshotResource.getBytes());
+                }
+            }
         }
 
+        return bpmnParse;
+    }
+
+    protected BpmnParse executeBpmnParse(EngineResource resource, BpmnParse bpmnParse) {
         try {
             bpmnParse.execute();
         } catch (Exception e) {
@@ -102,6 +201,16 @@ public class ParsedDeploymentBuilder {
         return bpmnParse;
     }
 
+    protected int getDeploymentParseParallelism() {
+        ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration();
+        return processEngineConfiguration != null ? processEngineConfiguration.getDeploymentParseParallelism() : 1;
+    }
+
+    protected boolean isEnableModelSnapshots() {
+        ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration();
+        return processEngineConfiguration != null && processEngineConfiguration.isEnableModelSnapshots();
+    }
+
     protected boolean isBpmnResource(String resourceName) {
         for (String suffix : ResourceNameUtil.BPMN_RESOURCE_SUFFIXES) {
             if (resourceName.endsWith(suffix)) {
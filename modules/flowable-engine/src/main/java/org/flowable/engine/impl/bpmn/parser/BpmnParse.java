@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.flowable.bpmn.constants.BpmnXMLConstants;
+import org.flowable.bpmn.converter.BpmnModelSnapshotConverter;
 import org.flowable.bpmn.converter.BpmnXMLConverter;
 import org.flowable.bpmn.exceptions.XMLException;
 import org.flowable.bpmn.model.BoundaryEvent;
@@ -42,6 +43,7 @@ import org.flowable.common.engine.impl.util.io.InputStreamSource;
 import org.flowable.common.engine.impl.util.io.StreamSource;
 import org.flowable.common.engine.impl.util.io.StringStreamSource;
 import org.flowable.common.engine.impl.util.io.UrlStreamSource;
+import org.flowable.engine.ProcessEngine;
 import org.flowable.engine.impl.bpmn.parser.factory.ActivityBehaviorFactory;
 import org.flowable.engine.impl.bpmn.parser.factory.ListenerFactory;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
@@ -83,7 +85,16 @@ public class BpmnParse implements BpmnXMLConstants {
     protected StreamSource streamSource;
     protected String sourceSystemId;
 
+    /**
+     * A binary snapshot of the BPMN model, see {@link BpmnModelSnapshotConverter}.
+     * When set before parsing, the model is read from it instead of the stream source (falling back to the stream source when the snapshot can't be used).
+     * When {@link #createModelSnapshot} is set, it holds the snapshot of the parsed model afterwards.
+     */
+    protected byte[] modelSnapshot;
+    protected boolean createModelSnapshot;
+
     protected BpmnModel bpmnModel;
+    protected boolean bpmnModelPrepared;
 
     protected String targetNamespace;
 
@@ -134,7 +145,35 @@ public class BpmnParse implements BpmnXMLConstants {
     public BpmnParse execute() {
         try {
 
-            ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration();
+            if (!bpmnModelPrepared) {
+                prepareBpmnModel(CommandContextUtil.getProcessEngineConfiguration());
+            }
+
+            bpmnModel.setSourceSystemId(sourceSystemId);
+            bpmnModel.setEventSupport(new FlowableEventSupport());
+
+            // Validation successful (or no validation)
+
+            // Attach logic to the processes (eg. map ActivityBehaviors to bpmn model elements)
+            applyParseHandlers();
+
+            // Finally, process the diagram interchange info
+            processDI();
+
+        } catch (Exception e) {
+            throw wrapParseException(e);
+        }
+
+        return this;
+    }
+
+    /**
+     * Converts the XML (or the model snapshot) to the BPMN model and validates it, without attaching any engine logic to the model.
+     * Contrary to {@link #execute()}, this doesn't need a command context: it can be done upfront on another thread
+     * (e.g. to parse the resources of a deployment in parallel), after which {@link #execute()} continues with the prepared model.
+     */
+    public BpmnParse prepareBpmnModel(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        try {
             BpmnXMLConverter converter = new BpmnXMLConverter();
 
             boolean enableSafeBpmnXml = false;
@@ -144,10 +183,16 @@ public class BpmnParse implements BpmnXMLConstants {
                 encoding = processEngineConfiguration.getXmlEncoding();
             }
 
-            if (encoding != null) {
-                bpmnModel = converter.convertToBpmnModel(streamSource, validateSchema, enableSafeBpmnXml, encoding);
-            } else {
-                bpmnModel = converter.convertToBpmnModel(streamSource, validateSchema, enableSafeBpmnXml);
+            if (modelSnapshot != null) {
+                bpmnModel = readModelSnapshot();
+            }
+
+            if (bpmnModel == null) {
+                if (encoding != null) {
+                    bpmnModel = converter.convertToBpmnModel(streamSource, validateSchema, enableSafeBpmnXml, encoding);
+                } else {
+                    bpmnModel = converter.convertToBpmnModel(streamSource, validateSchema, enableSafeBpmnXml);
+                }
             }
 
             // XSD validation goes first, then process/semantic validation
@@ -186,28 +231,50 @@ public class BpmnParse implements BpmnXMLConstants {
                 }
             }
 
-            bpmnModel.setSourceSystemId(sourceSystemId);
-            bpmnModel.setEventSupport(new FlowableEventSupport());
+            if (createModelSnapshot) {
+                createModelSnapshot();
+            }
 
-            // Validation successful (or no validation)
+            bpmnModelPrepared = true;
 
-            // Attach logic to the processes (eg. map ActivityBehaviors to bpmn model elements)
-            applyParseHandlers();
+        } catch (Exception e) {
+            throw wrapParseException(e);
+        }
 
-            // Finally, process the diagram interchange info
-            processDI();
+        return this;
+    }
 
-        } catch (Exception e) {
-            if (e instanceof FlowableException) {
-                throw (FlowableException) e;
-            } else if (e instanceof XMLException) {
-                throw (XMLException) e;
-            } else {
-                throw new FlowableException("Error parsing XML", e);
+    protected RuntimeException wrapParseException(Exception e) {
+        if (e instanceof FlowableException) {
+            return (FlowableException) e;
+        } else if (e instanceof XMLException) {
+            return (XMLException) e;
+        } else {
+            return new FlowableException("Error parsing XML", e);
+        }
+    }
+
+    protected BpmnModel readModelSnapshot() {
+        try {
+            BpmnModel snapshotModel = new BpmnModelSnapshotConverter(ProcessEngine.VERSION).convertToBpmnModel(modelSnapshot);
+            if (snapshotModel == null) {
+                LOGGER.debug("Model snapshot of {} was created by another engine version, parsing the XML", name);
             }
+            return snapshotModel;
+
+        } catch (XMLException e) {
+            LOGGER.warn("Could not read the model snapshot of {}, parsing the XML", name, e);
+            return null;
         }
+    }
 
-        return this;
+    protected void createModelSnapshot() {
+        try {
+            modelSnapshot = new BpmnModelSnapshotConverter(ProcessEngine.VERSION).convertToSnapshot(bpmnModel);
+        } catch (XMLException e) {
+            // e.g. custom model elements that aren't serializable
+            LOGGER.warn("Could not create a model snapshot of {}", name, e);
+        }
     }
 
     public BpmnParse name(String name) {
@@ -434,6 +501,22 @@ public class BpmnParse implements BpmnXMLConstants {
         this.validateProcess = validateProcess;
     }
 
+    public byte[] getModelSnapshot() {
+        return modelSnapshot;
+    }
+
+    public void setModelSnapshot(byte[] modelSnapshot) {
+        this.modelSnapshot = modelSnapshot;
+    }
+
+    public boolean isCreateModelSnapshot() {
+        return createModelSnapshot;
+    }
+
+    public void setCreateModelSnapshot(boolean createModelSnapshot) {
+        this.createModelSnapshot = createModelSnapshot;
+    }
+
     public List<ProcessDefinitionEntity> getProcessDefinitions() {
         return processDefinitions;
     }
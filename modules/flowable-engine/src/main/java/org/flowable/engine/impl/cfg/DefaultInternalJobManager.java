@@ -13,11 +13,18 @@
 
 package org.flowable.engine.impl.cfg;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
 import org.flowable.bpmn.model.Event;
@@ -49,6 +56,7 @@ import org.flowable.job.service.impl.persistence.entity.JobInfoEntity;
 import org.flowable.job.service.impl.persistence.entity.SuspendedJobEntity;
 import org.flowable.job.service.impl.persistence.entity.TimerJobEntity;
 import org.flowable.variable.api.delegate.VariableScope;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
 
 /**
  * @author Tijs Rademakers
@@ -69,6 +77,54 @@ public class DefaultInternalJobManager extends ScopeAwareInternalJobManager {
         return null;
     }
 
+    @Override
+    protected Map<String, Map<String, Object>> resolveVariablesInternal(Collection<? extends Job> jobs, Collection<String> variableNames) {
+        // The execution hierarchy of every job, from the process instance to the job execution
+        Map<String, List<String>> executionIdsByJobId = new HashMap<>();
+        Set<String> executionIds = new HashSet<>();
+        for (Job job : jobs) {
+            if (job.getExecutionId() != null) {
+                List<String> jobExecutionIds = new ArrayList<>();
+                ExecutionEntity execution = getExecutionEntityManager().findById(job.getExecutionId());
+                while (execution != null) {
+                    jobExecutionIds.add(0, execution.getId());
+                    execution = execution.getParent();
+                }
+                executionIdsByJobId.put(job.getId(), jobExecutionIds);
+                executionIds.addAll(jobExecutionIds);
+            }
+        }
+
+        if (executionIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<VariableInstanceEntity> variableInstances = processEngineConfiguration.getVariableServiceConfiguration().getVariableService()
+                .createInternalVariableInstanceQuery()
+                .executionIds(executionIds)
+                .withoutTaskId()
+                .names(variableNames)
+                .list();
+
+        Map<String, List<VariableInstanceEntity>> variableInstancesByExecutionId = new HashMap<>();
+        for (VariableInstanceEntity variableInstance : variableInstances) {
+            variableInstancesByExecutionId.computeIfAbsent(variableInstance.getExecutionId(), key -> new ArrayList<>()).add(variableInstance);
+        }
+
+        Map<String, Map<String, Object>> variablesByJobId = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : executionIdsByJobId.entrySet()) {
+            // Variables of child executions override the variables of their parents
+            Map<String, Object> variables = new HashMap<>();
+            for (String executionId : entry.getValue()) {
+                for (VariableInstanceEntity variableInstance : variableInstancesByExecutionId.getOrDefault(executionId, Collections.emptyList())) {
+                    variables.put(variableInstance.getName(), variableInstance.getValue());
+                }
+            }
+            variablesByJobId.put(entry.getKey(), variables);
+        }
+        return variablesByJobId;
+    }
+
     @Override
     protected boolean handleJobInsertInternal(Job job) {
         // add link to execution
@@ -31,6 +31,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.ToIntFunction;
 
 import javax.xml.namespace.QName;
 
@@ -57,6 +58,7 @@ import org.flowable.common.engine.impl.ServiceConfigurator;
 import org.flowable.common.engine.impl.async.AsyncTaskExecutorConfiguration;
 import org.flowable.common.engine.impl.async.DefaultAsyncTaskExecutor;
 import org.flowable.common.engine.impl.async.DefaultAsyncTaskInvoker;
+import org.flowable.common.engine.impl.async.VirtualThreadAsyncTaskExecutor;
 import org.flowable.common.engine.impl.calendar.BusinessCalendarManager;
 import org.flowable.common.engine.impl.calendar.CycleBusinessCalendar;
 import org.flowable.common.engine.impl.calendar.DueDateBusinessCalendar;
@@ -70,6 +72,7 @@ import org.flowable.common.engine.impl.db.AbstractDataManager;
 import org.flowable.common.engine.impl.db.SchemaManager;
 import org.flowable.common.engine.impl.el.ExpressionManager;
 import org.flowable.common.engine.impl.el.FlowableAstFunctionCreator;
+import org.flowable.common.engine.impl.el.compiler.ExpressionCompiler;
 import org.flowable.common.engine.impl.el.function.VariableBase64ExpressionFunction;
 import org.flowable.common.engine.impl.el.function.VariableContainsAnyExpressionFunction;
 import org.flowable.common.engine.impl.el.function.VariableContainsExpressionFunction;
@@ -94,11 +97,9 @@ import org.flowable.common.engine.impl.interceptor.SessionFactory;
 import org.flowable.common.engine.impl.javax.el.ELResolver;
 import org.flowable.common.engine.impl.logging.LoggingSession;
 import org.flowable.common.engine.impl.logging.LoggingSessionFactory;
-import org.flowable.common.engine.impl.persistence.GenericManagerFactory;
-import org.flowable.common.engine.impl.persistence.cache.EntityCache;
-import org.flowable.common.engine.impl.persistence.cache.EntityCacheImpl;
-import org.flowable.common.engine.impl.persistence.deploy.DefaultDeploymentCache;
+import org.flowable.common.engine.impl.persistence.cache.EntityCacheSessionFactory;
 import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
+import org.flowable.common.engine.impl.persistence.deploy.TinyLfuDeploymentCache;
 import org.flowable.common.engine.impl.persistence.entity.ByteArrayEntityManager;
 import org.flowable.common.engine.impl.persistence.entity.PropertyEntityManager;
 import org.flowable.common.engine.impl.persistence.entity.TableDataManager;
@@ -254,6 +255,8 @@ import org.flowable.engine.impl.history.DefaultHistoryTaskManager;
 import org.flowable.engine.impl.history.DefaultHistoryVariableManager;
 import org.flowable.engine.impl.history.HistoryConfigurationSettings;
 import org.flowable.engine.impl.history.HistoryManager;
+import org.flowable.engine.impl.history.async.AsyncHistoryJobHandler;
+import org.flowable.engine.impl.history.async.AsyncHistoryManager;
 import org.flowable.engine.impl.interceptor.BpmnOverrideContextInterceptor;
 import org.flowable.engine.impl.interceptor.CommandInvoker;
 import org.flowable.engine.impl.interceptor.DefaultIdentityLinkInterceptor;
@@ -279,6 +282,7 @@ import org.flowable.engine.impl.jobexecutor.TriggerTimerEventJobHandler;
 import org.flowable.engine.impl.migration.ProcessInstanceMigrationManagerImpl;
 import org.flowable.engine.impl.persistence.deploy.DeploymentManager;
 import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
+import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionCacheEntryWeigher;
 import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionInfoCache;
 import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionInfoCacheObject;
 import org.flowable.engine.impl.persistence.entity.ActivityInstanceEntityManager;
@@ -374,7 +378,10 @@ import org.flowable.job.service.InternalJobParentStateResolver;
 import org.flowable.job.service.JobHandler;
 import org.flowable.job.service.JobProcessor;
 import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.ExternalWorkerJobsAvailableNotifier;
+import org.flowable.job.service.impl.InMemoryExternalWorkerJobsAvailableNotifier;
 import org.flowable.job.service.impl.asyncexecutor.AsyncJobExecutorConfiguration;
+import org.flowable.job.service.impl.asyncexecutor.AsyncJobsAvailableNotifier;
 import org.flowable.job.service.impl.asyncexecutor.AsyncRunnableExecutionExceptionHandler;
 import org.flowable.job.service.impl.asyncexecutor.DefaultAsyncHistoryJobExecutor;
 import org.flowable.job.service.impl.asyncexecutor.DefaultAsyncJobExecutor;
@@ -426,6 +433,7 @@ import org.flowable.variable.service.impl.types.SerializableType;
 import org.flowable.variable.service.impl.types.ShortType;
 import org.flowable.variable.service.impl.types.StringType;
 import org.flowable.variable.service.impl.types.UUIDType;
+import org.flowable.variable.service.impl.types.VariableBytesCodec;
 
 /**
  * @author Tom Baeyens
@@ -504,6 +512,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     protected boolean isAsyncHistoryEnabled;
 
+    /**
+     * When enabled (together with the async history), the process instance, activity, task and variable history of a transaction is written
+     * as one history job by an {@link AsyncHistoryManager} instead of synchronously by the {@link DefaultHistoryManager}.
+     */
+    protected boolean asyncHistoryManagerEnabled;
+
     // Change Tenant ID Manager
 
     protected ChangeTenantIdManager changeTenantIdManager;
@@ -556,6 +570,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     protected int processDefinitionCacheLimit = -1; // By default, no limit
     protected DeploymentCache<ProcessDefinitionCacheEntry> processDefinitionCache;
 
+    /**
+     * Weighs the entries of the process definition cache, e.g. a {@link ProcessDefinitionCacheEntryWeigher}.
+     * Only used when the TinyLFU deployment cache is enabled and a process definition cache limit is set.
+     * The limit is then the maximum total weight of the cached entries instead of their number.
+     */
+    protected ToIntFunction<ProcessDefinitionCacheEntry> processDefinitionCacheWeigher;
+
     protected int processDefinitionInfoCacheLimit = -1; // By default, no limit
     protected DeploymentCache<ProcessDefinitionInfoCacheObject> processDefinitionInfoCache;
 
@@ -632,6 +653,18 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     protected BlockingQueue<Runnable> asyncHistoryExecutorThreadPoolQueue;
 
     protected List<String> enabledJobCategories;
+
+    /**
+     * Notifies the async executors (of this and optionally other nodes) that new async jobs are available,
+     * which wakes up the async job acquisition instead of waiting for the next poll. Default null (only polling).
+     */
+    protected AsyncJobsAvailableNotifier asyncJobsAvailableNotifier;
+
+    /**
+     * Notifies the external workers waiting for jobs (on this and optionally other nodes) that new external worker jobs are available.
+     * Default an {@link InMemoryExternalWorkerJobsAvailableNotifier}, which only notifies the workers waiting on this node.
+     */
+    protected ExternalWorkerJobsAvailableNotifier externalWorkerJobsAvailableNotifier;
     protected String jobExecutionScope;
     protected String historyJobExecutionScope;
 
@@ -714,12 +747,27 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
      */
     protected boolean jsonVariableTypeTrackObjects = true;
 
+    /**
+     * The codec used by the 'json', 'longString' and 'serializable' variable types to encode their values stored as bytes,
+     * e.g. a {@link org.flowable.variable.service.impl.types.GzipVariableBytesCodec} to compress large variables.
+     * By default, the bytes are stored as they are. Values compressed with gzip (e.g. before the codec was removed) are still read.
+     */
+    protected VariableBytesCodec variableBytesCodec;
+
     /**
      * Whether the Parallel Multi instance should perform the leave operation through an async exclusive job.
      * When this is true then non exclusive parallel multi instances can run in non exclusive asynchronously without an exception being thrown.
      */
     protected boolean parallelMultiInstanceAsyncLeave = true;
 
+    /**
+     * Whether a completed instance of a parallel multi instance only records its completion on its own execution (when {@link #parallelMultiInstanceAsyncLeave} is enabled).
+     * The number of completed instances and the completion condition are then only evaluated by the async completion job, which leaves the multi instance
+     * for all instances completed up to then. This avoids that concurrently completing instances all read the sibling executions and update the shared parent execution.
+     * As a consequence, the multi instance is always left asynchronously, also when the last instance completes.
+     */
+    protected boolean parallelMultiInstanceDeferredCompletion;
+
     protected ExpressionManager expressionManager;
     protected Collection<ELResolver> preDefaultELResolvers;
     protected Collection<ELResolver> preBeanELResolvers;
@@ -735,6 +783,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     protected boolean isExpressionCacheEnabled = true;
     protected int expressionCacheSize = 4096;
     protected int expressionTextLengthCacheLimit = -1; // negative value to have no max length
+    protected boolean isExpressionCompilationEnabled;
 
     protected BusinessCalendarManager businessCalendarManager;
 
@@ -780,6 +829,21 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
      */
     protected Duration eventRegistryUniqueProcessInstanceStartLockTime = Duration.ofMinutes(10);
 
+    /**
+     * Whether a node-local index of the event subscriptions is used to skip the event subscription query
+     * for events of the event registry that can't match any subscription.
+     * <p>
+     * The index has no cross-node invalidation: an event for a subscription created on another node is not correlated
+     * until the refresh interval has passed. Hence, it is meant for a single engine node and can't be enabled together with the async executor,
+     * which is what runs the jobs of an engine node in a cluster.
+     */
+    protected boolean eventSubscriptionIndexEnabled;
+
+    /**
+     * The interval after which the indexed event subscriptions of an event type are reloaded from the database.
+     */
+    protected Duration eventSubscriptionIndexRefreshInterval = Duration.ofSeconds(30);
+
     /**
      * Set this to true if you want to have extra checks on the BPMN xml that is parsed. See http://www.jorambarrez.be/blog/2013/02/19/uploading-a-funny-xml -can-bring-down-your-server/
      * <p>
@@ -788,6 +852,21 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
      */
     protected boolean enableSafeBpmnXml;
 
+    /**
+     * Set this to true to store a binary snapshot of the parsed BPMN model next to every BPMN resource of new deployments
+     * (as a generated resource with the name of the BPMN resource suffixed with '.snapshot').
+     * When the process definition cache needs to be filled, the model is then read from the snapshot instead of parsing the XML again.
+     * Snapshots are only used by the engine version that wrote them, other versions parse the XML.
+     */
+    protected boolean enableModelSnapshots;
+
+    /**
+     * The maximum number of threads used to convert and validate the BPMN resources of one deployment in parallel.
+     * The parse handlers are still applied one resource at a time on the deploying thread, in the order of the resources.
+     * By default (1), all resources are parsed one by one on the deploying thread.
+     */
+    protected int deploymentParseParallelism = 1;
+
     /**
      * The following settings will determine the amount of entities loaded at once when the engine needs to load multiple entities (eg. when suspending a process definition with all its process
      * instances).
@@ -1281,7 +1360,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     public void initHistoryManager() {
         if (historyManager == null) {
-            historyManager = new DefaultHistoryManager(this);
+            if (isAsyncHistoryEnabled && asyncHistoryManagerEnabled) {
+                historyManager = new AsyncHistoryManager(this);
+            } else {
+                historyManager = new DefaultHistoryManager(this);
+            }
         }
     }
 
@@ -1338,7 +1421,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
                 addSessionFactory(new AgendaSessionFactory(agendaFactory));
             }
 
-            addSessionFactory(new GenericManagerFactory(EntityCache.class, EntityCacheImpl.class));
+            addSessionFactory(new EntityCacheSessionFactory(changeTrackingEnabled));
 
             commandContextFactory.setSessionFactories(sessionFactories);
 
@@ -1463,6 +1546,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         this.eventSubscriptionServiceConfiguration.setObjectMapper(this.objectMapper);
         this.eventSubscriptionServiceConfiguration.setEventDispatcher(this.eventDispatcher);
         this.eventSubscriptionServiceConfiguration.setEventSubscriptionLockTime(this.eventRegistryUniqueProcessInstanceStartLockTime);
+        if (this.eventSubscriptionIndexEnabled && this.asyncExecutorActivate) {
+            throw new FlowableException("The event subscription index can't be enabled when the async executor is activated: "
+                    + "the index is node-local and is not invalidated by event subscriptions created on other nodes");
+        }
+        this.eventSubscriptionServiceConfiguration.setEventSubscriptionIndexEnabled(this.eventSubscriptionIndexEnabled);
+        this.eventSubscriptionServiceConfiguration.setEventSubscriptionIndexRefreshInterval(this.eventSubscriptionIndexRefreshInterval);
         
         this.eventSubscriptionServiceConfiguration.init();
         
@@ -1586,6 +1675,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
                 this.jobServiceConfiguration.setEnabledJobCategories(enabledJobCategories);
             }
 
+            this.jobServiceConfiguration.setAsyncJobsAvailableNotifier(asyncJobsAvailableNotifier);
+
+            if (externalWorkerJobsAvailableNotifier == null) {
+                externalWorkerJobsAvailableNotifier = new InMemoryExternalWorkerJobsAvailableNotifier();
+            }
+            this.jobServiceConfiguration.setExternalWorkerJobsAvailableNotifier(externalWorkerJobsAvailableNotifier);
+
             this.jobServiceConfiguration.setConfigurators(jobServiceConfigurators);
         }
     }
@@ -1691,10 +1787,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     public void initProcessDefinitionCache() {
         if (processDefinitionCache == null) {
-            if (processDefinitionCacheLimit <= 0) {
-                processDefinitionCache = new DefaultDeploymentCache<>();
+            if (tinyLfuDeploymentCacheEnabled && processDefinitionCacheWeigher != null && processDefinitionCacheLimit > 0) {
+                processDefinitionCache = new TinyLfuDeploymentCache<>(processDefinitionCacheLimit, processDefinitionCacheWeigher);
             } else {
-                processDefinitionCache = new DefaultDeploymentCache<>(processDefinitionCacheLimit);
+                processDefinitionCache = createDeploymentCache(processDefinitionCacheLimit);
             }
         }
     }
@@ -1711,21 +1807,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     public void initAppResourceCache() {
         if (appResourceCache == null) {
-            if (appResourceCacheLimit <= 0) {
-                appResourceCache = new DefaultDeploymentCache<>();
-            } else {
-                appResourceCache = new DefaultDeploymentCache<>(appResourceCacheLimit);
-            }
+            appResourceCache = createDeploymentCache(appResourceCacheLimit);
         }
     }
 
     public void initKnowledgeBaseCache() {
         if (knowledgeBaseCache == null) {
-            if (knowledgeBaseCacheLimit <= 0) {
-                knowledgeBaseCache = new DefaultDeploymentCache<>();
-            } else {
-                knowledgeBaseCache = new DefaultDeploymentCache<>(knowledgeBaseCacheLimit);
-            }
+            knowledgeBaseCache = createDeploymentCache(knowledgeBaseCacheLimit);
         }
     }
 
@@ -2036,6 +2124,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         if (isAsyncHistoryEnabled) {
             historyJobHandlers = new HashMap<>();
 
+            if (asyncHistoryManagerEnabled) {
+                AsyncHistoryJobHandler asyncHistoryJobHandler = new AsyncHistoryJobHandler(this);
+                historyJobHandlers.put(asyncHistoryJobHandler.getType(), asyncHistoryJobHandler);
+            }
+
             if (getCustomHistoryJobHandlers() != null) {
                 for (HistoryJobHandler customJobHandler : getCustomHistoryJobHandlers()) {
                     historyJobHandlers.put(customJobHandler.getType(), customJobHandler);
@@ -2049,7 +2142,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     protected void initAsyncTaskExecutor() {
         if (this.asyncTaskExecutor == null) {
-            DefaultAsyncTaskExecutor defaultAsyncTaskExecutor = new DefaultAsyncTaskExecutor(getOrCreateAsyncExecutorTaskExecutorConfiguration());
+            AsyncTaskExecutorConfiguration asyncExecutorTaskExecutorConfiguration = getOrCreateAsyncExecutorTaskExecutorConfiguration();
+            DefaultAsyncTaskExecutor defaultAsyncTaskExecutor;
+            if (asyncExecutorTaskExecutorConfiguration.isVirtualThreads()) {
+                defaultAsyncTaskExecutor = new VirtualThreadAsyncTaskExecutor(asyncExecutorTaskExecutorConfiguration);
+                // The virtual thread executor has no queue, so the acquisition should wait until jobs finish once all permits are used
+                asyncExecutorConfiguration.setWaitForRemainingCapacity(true);
+            } else {
+                defaultAsyncTaskExecutor = new DefaultAsyncTaskExecutor(asyncExecutorTaskExecutorConfiguration);
+            }
 
             // Threadpool queue
             if (asyncExecutorThreadPoolQueue != null) {
@@ -2237,7 +2338,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             }
             variableTypes.addType(new NullType());
             variableTypes.addType(new StringType(getMaxLengthString()));
-            variableTypes.addType(new LongStringType(getMaxLengthString() + 1));
+            LongStringType longStringType = new LongStringType(getMaxLengthString() + 1);
+            longStringType.setBytesCodec(variableBytesCodec);
+            variableTypes.addType(longStringType);
             variableTypes.addType(new BooleanType());
             variableTypes.addType(new ShortType());
             variableTypes.addType(new IntegerType());
@@ -2250,14 +2353,20 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             variableTypes.addType(new JodaDateTimeType());
             variableTypes.addType(new DoubleType());
             variableTypes.addType(new UUIDType());
-            variableTypes.addType(new JsonType(getMaxLengthString(), objectMapper, jsonVariableTypeTrackObjects));
+            JsonType jsonType = new JsonType(getMaxLengthString(), objectMapper, jsonVariableTypeTrackObjects);
+            jsonType.setBytesCodec(variableBytesCodec);
+            variableTypes.addType(jsonType);
             // longJsonType only needed for reading purposes
-            variableTypes.addType(JsonType.longJsonType(getMaxLengthString(), objectMapper, jsonVariableTypeTrackObjects));
+            JsonType longJsonType = JsonType.longJsonType(getMaxLengthString(), objectMapper, jsonVariableTypeTrackObjects);
+            longJsonType.setBytesCodec(variableBytesCodec);
+            variableTypes.addType(longJsonType);
             variableTypes.addType(new ParallelMultiInstanceLoopVariableType(this));
             variableTypes.addType(new BpmnAggregatedVariableType(this));
             variableTypes.addType(new ByteArrayType());
             variableTypes.addType(new EmptyCollectionType());
-            variableTypes.addType(new SerializableType(serializableVariableTypeTrackDeserializedObjects));
+            SerializableType serializableType = new SerializableType(serializableVariableTypeTrackDeserializedObjects);
+            serializableType.setBytesCodec(variableBytesCodec);
+            variableTypes.addType(serializableType);
 
         } else {
             if (customPreVariableTypes != null) {
@@ -2351,10 +2460,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             ProcessExpressionManager processExpressionManager = new ProcessExpressionManager(delegateInterceptor, beans);
 
             if (isExpressionCacheEnabled) {
-                processExpressionManager.setExpressionCache(new DefaultDeploymentCache<>(expressionCacheSize));
+                processExpressionManager.setExpressionCache(createExpressionCache(expressionCacheSize));
                 processExpressionManager.setExpressionTextLengthCacheLimit(expressionTextLengthCacheLimit);
             }
 
+            if (isExpressionCompilationEnabled) {
+                processExpressionManager.setExpressionCompiler(new ExpressionCompiler());
+            }
+
             if (preDefaultELResolvers != null) {
                 preDefaultELResolvers.forEach(processExpressionManager::addPreDefaultResolver);
             }
@@ -3187,6 +3300,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public VariableBytesCodec getVariableBytesCodec() {
+        return variableBytesCodec;
+    }
+
+    public ProcessEngineConfigurationImpl setVariableBytesCodec(VariableBytesCodec variableBytesCodec) {
+        this.variableBytesCodec = variableBytesCodec;
+        return this;
+    }
+
     public boolean isParallelMultiInstanceAsyncLeave() {
         return parallelMultiInstanceAsyncLeave;
     }
@@ -3196,6 +3318,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isParallelMultiInstanceDeferredCompletion() {
+        return parallelMultiInstanceDeferredCompletion;
+    }
+
+    public ProcessEngineConfigurationImpl setParallelMultiInstanceDeferredCompletion(boolean parallelMultiInstanceDeferredCompletion) {
+        this.parallelMultiInstanceDeferredCompletion = parallelMultiInstanceDeferredCompletion;
+        return this;
+    }
+
     public Collection<ELResolver> getPreDefaultELResolvers() {
         return preDefaultELResolvers;
     }
@@ -3288,6 +3419,19 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isExpressionCompilationEnabled() {
+        return isExpressionCompilationEnabled;
+    }
+
+    /**
+     * Enables compiling the parsed expressions, which makes evaluating cached expressions cheaper.
+     * Mostly useful together with the expression cache.
+     */
+    public ProcessEngineConfigurationImpl setExpressionCompilationEnabled(boolean isExpressionCompilationEnabled) {
+        this.isExpressionCompilationEnabled = isExpressionCompilationEnabled;
+        return this;
+    }
+
     public BusinessCalendarManager getBusinessCalendarManager() {
         return businessCalendarManager;
     }
@@ -3703,6 +3847,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public ToIntFunction<ProcessDefinitionCacheEntry> getProcessDefinitionCacheWeigher() {
+        return processDefinitionCacheWeigher;
+    }
+
+    public ProcessEngineConfigurationImpl setProcessDefinitionCacheWeigher(ToIntFunction<ProcessDefinitionCacheEntry> processDefinitionCacheWeigher) {
+        this.processDefinitionCacheWeigher = processDefinitionCacheWeigher;
+        return this;
+    }
+
     public DeploymentCache<ProcessDefinitionCacheEntry> getProcessDefinitionCache() {
         return processDefinitionCache;
     }
@@ -3775,6 +3928,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isEnableModelSnapshots() {
+        return enableModelSnapshots;
+    }
+
+    public ProcessEngineConfigurationImpl setEnableModelSnapshots(boolean enableModelSnapshots) {
+        this.enableModelSnapshots = enableModelSnapshots;
+        return this;
+    }
+
+    public int getDeploymentParseParallelism() {
+        return deploymentParseParallelism;
+    }
+
+    public ProcessEngineConfigurationImpl setDeploymentParseParallelism(int deploymentParseParallelism) {
+        this.deploymentParseParallelism = deploymentParseParallelism;
+        return this;
+    }
+
     @Override
     public ProcessEngineConfigurationImpl setEventDispatcher(FlowableEventDispatcher eventDispatcher) {
         this.eventDispatcher = eventDispatcher;
@@ -3871,6 +4042,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isEventSubscriptionIndexEnabled() {
+        return eventSubscriptionIndexEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setEventSubscriptionIndexEnabled(boolean eventSubscriptionIndexEnabled) {
+        this.eventSubscriptionIndexEnabled = eventSubscriptionIndexEnabled;
+        return this;
+    }
+
+    public Duration getEventSubscriptionIndexRefreshInterval() {
+        return eventSubscriptionIndexRefreshInterval;
+    }
+
+    public ProcessEngineConfigurationImpl setEventSubscriptionIndexRefreshInterval(Duration eventSubscriptionIndexRefreshInterval) {
+        this.eventSubscriptionIndexRefreshInterval = eventSubscriptionIndexRefreshInterval;
+        return this;
+    }
+
     public List<FlowableFunctionDelegate> getFlowableFunctionDelegates() {
         return flowableFunctionDelegates;
     }
@@ -4287,6 +4476,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isAsyncHistoryManagerEnabled() {
+        return asyncHistoryManagerEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncHistoryManagerEnabled(boolean asyncHistoryManagerEnabled) {
+        this.asyncHistoryManagerEnabled = asyncHistoryManagerEnabled;
+        return this;
+    }
+
     public JobManager getJobManager() {
         return jobManager;
     }
@@ -4735,6 +4933,29 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isAsyncExecutorVirtualThreads() {
+        return getOrCreateAsyncExecutorTaskExecutorConfiguration().isVirtualThreads();
+    }
+
+    /**
+     * Sets whether the async jobs are executed on virtual threads instead of on a thread pool.
+     * The number of concurrently executed jobs is then limited by {@link #setAsyncExecutorMaxConcurrency(int)}.
+     * Only used when no custom async task executor is set.
+     */
+    public ProcessEngineConfigurationImpl setAsyncExecutorVirtualThreads(boolean asyncExecutorVirtualThreads) {
+        getOrCreateAsyncExecutorTaskExecutorConfiguration().setVirtualThreads(asyncExecutorVirtualThreads);
+        return this;
+    }
+
+    public int getAsyncExecutorMaxConcurrency() {
+        return getOrCreateAsyncExecutorTaskExecutorConfiguration().getMaxConcurrency();
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncExecutorMaxConcurrency(int asyncExecutorMaxConcurrency) {
+        getOrCreateAsyncExecutorTaskExecutorConfiguration().setMaxConcurrency(asyncExecutorMaxConcurrency);
+        return this;
+    }
+
     public int getAsyncExecutorThreadPoolQueueSize() {
         return getOrCreateAsyncExecutorTaskExecutorConfiguration().getQueueSize();
     }
@@ -5012,6 +5233,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
     
+    public AsyncJobsAvailableNotifier getAsyncJobsAvailableNotifier() {
+        return asyncJobsAvailableNotifier;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncJobsAvailableNotifier(AsyncJobsAvailableNotifier asyncJobsAvailableNotifier) {
+        this.asyncJobsAvailableNotifier = asyncJobsAvailableNotifier;
+        return this;
+    }
+
+    public ExternalWorkerJobsAvailableNotifier getExternalWorkerJobsAvailableNotifier() {
+        return externalWorkerJobsAvailableNotifier;
+    }
+
+    public ProcessEngineConfigurationImpl setExternalWorkerJobsAvailableNotifier(ExternalWorkerJobsAvailableNotifier externalWorkerJobsAvailableNotifier) {
+        this.externalWorkerJobsAvailableNotifier = externalWorkerJobsAvailableNotifier;
+        return this;
+    }
+
     public ProcessEngineConfigurationImpl addEnabledJobCategory(String jobCategory) {
         if (enabledJobCategories == null) {
             enabledJobCategories = new ArrayList<>();
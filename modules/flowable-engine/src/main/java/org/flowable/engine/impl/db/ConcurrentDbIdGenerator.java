@@ -0,0 +1,253 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.db;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.flowable.common.engine.impl.db.IdBlock;
+import org.flowable.engine.impl.cmd.GetNextIdBlockCmd;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link DbIdGenerator} for engines with many concurrent threads.
+ *
+ * <p>
+ * Instead of synchronizing every call, the ids are handed out lock-free:
+ * <ul>
+ * <li>The id block fetched from the database is split up in chunks, which are claimed with a CAS operation.</li>
+ * <li>Every thread is mapped on a stripe, which hands out the ids of its current chunk with a CAS operation.
+ * Threads only contend with other threads of the same stripe, and only contend on the id block when their chunk runs out.</li>
+ * <li>When the remaining ids of the current id block drop below the prefetch threshold, the next id block is fetched
+ * in the background, so that threads don't need to wait for the database when the current id block runs out.
+ * The id block is fetched on the prefetch executor if set, otherwise on a daemon thread of the generator,
+ * which is stopped again when it is idle.</li>
+ * </ul>
+ *
+ * The generated ids are unique, but they are not gap-free and not strictly increasing across threads.
+ */
+public class ConcurrentDbIdGenerator extends DbIdGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentDbIdGenerator.class);
+
+    protected int stripeCount;
+    protected int chunkSize;
+    protected int prefetchThreshold;
+    /**
+     * The executor fetching the next id block in the background.
+     * When not set, a daemon thread of the generator is used.
+     * Set it to {@code Runnable::run} to fetch the next id block synchronously, by the thread that crossed the prefetch threshold.
+     */
+    protected Executor prefetchExecutor;
+    protected volatile Executor defaultPrefetchExecutor;
+
+    protected AtomicReferenceArray<IdRange> stripes;
+    protected volatile IdRange currentIdBlock;
+    protected final AtomicReference<CompletableFuture<IdBlock>> prefetchedIdBlock = new AtomicReference<>();
+    protected final Object refillLock = new Object();
+
+    public ConcurrentDbIdGenerator() {
+        setStripeCount(Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public String getNextId() {
+        int stripeIndex = (int) Thread.currentThread().getId() & (stripes.length() - 1);
+        while (true) {
+            IdRange stripe = stripes.get(stripeIndex);
+            if (stripe != null) {
+                long id = stripe.nextId.getAndIncrement();
+                if (id <= stripe.lastId) {
+                    return Long.toString(id);
+                }
+            }
+
+            // When another thread of the same stripe was first, the claimed chunk is dropped (leaving a gap in the ids)
+            stripes.compareAndSet(stripeIndex, stripe, claimChunk());
+        }
+    }
+
+    protected IdRange claimChunk() {
+        int chunkSizeToUse = getChunkSizeToUse();
+        while (true) {
+            IdRange idBlock = currentIdBlock;
+            if (idBlock != null) {
+                long chunkStart = idBlock.nextId.getAndAdd(chunkSizeToUse);
+                if (chunkStart <= idBlock.lastId) {
+                    long chunkEnd = Math.min(chunkStart + chunkSizeToUse - 1, idBlock.lastId);
+                    if (idBlock.lastId - chunkEnd <= getPrefetchThresholdToUse()) {
+                        prefetchIdBlock();
+                    }
+                    return new IdRange(chunkStart, chunkEnd);
+                }
+            }
+
+            refillIdBlock(idBlock);
+        }
+    }
+
+    protected void refillIdBlock(IdRange exhaustedIdBlock) {
+        synchronized (refillLock) {
+            if (currentIdBlock != exhaustedIdBlock) {
+                return; // Another thread already refilled the id block
+            }
+
+            IdBlock idBlock = null;
+            CompletableFuture<IdBlock> prefetchedIdBlockFuture = prefetchedIdBlock.getAndSet(null);
+            if (prefetchedIdBlockFuture != null) {
+                try {
+                    idBlock = prefetchedIdBlockFuture.join();
+                } catch (CompletionException e) {
+                    LOGGER.warn("Prefetching the next id block failed, fetching it again", e.getCause());
+                }
+            }
+
+            if (idBlock == null) {
+                idBlock = fetchIdBlock();
+            }
+
+            currentIdBlock = new IdRange(idBlock.getNextId(), idBlock.getLastId());
+        }
+    }
+
+    protected void prefetchIdBlock() {
+        CompletableFuture<IdBlock> prefetchFuture = new CompletableFuture<>();
+        if (!prefetchedIdBlock.compareAndSet(null, prefetchFuture)) {
+            return; // The next id block is already being fetched
+        }
+
+        Runnable prefetchRunnable = () -> {
+            try {
+                prefetchFuture.complete(fetchIdBlock());
+            } catch (Throwable t) {
+                prefetchFuture.completeExceptionally(t);
+            }
+        };
+
+        getPrefetchExecutorToUse().execute(prefetchRunnable);
+    }
+
+    protected Executor getPrefetchExecutorToUse() {
+        if (prefetchExecutor != null) {
+            return prefetchExecutor;
+        }
+
+        if (defaultPrefetchExecutor == null) {
+            synchronized (refillLock) {
+                if (defaultPrefetchExecutor == null) {
+                    defaultPrefetchExecutor = createDefaultPrefetchExecutor();
+                }
+            }
+        }
+        return defaultPrefetchExecutor;
+    }
+
+    protected Executor createDefaultPrefetchExecutor() {
+        // Only one id block is prefetched at a time, so a single thread is enough.
+        // It is stopped when idle, such that the generator doesn't need to be shut down.
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new BasicThreadFactory.Builder()
+                        .namingPattern("flowable-id-block-prefetch-%d")
+                        .daemon(true)
+                        .build());
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        return threadPoolExecutor;
+    }
+
+    protected IdBlock fetchIdBlock() {
+        return commandExecutor.execute(commandConfig, new GetNextIdBlockCmd(idBlockSize));
+    }
+
+    @Override
+    protected void getNewBlock() {
+        refillIdBlock(currentIdBlock);
+    }
+
+    protected int getChunkSizeToUse() {
+        if (chunkSize > 0) {
+            return chunkSize;
+        }
+        // By default, every stripe can claim a few chunks of one id block
+        return Math.max(1, idBlockSize / (stripes.length() * 4));
+    }
+
+    protected int getPrefetchThresholdToUse() {
+        if (prefetchThreshold > 0) {
+            return prefetchThreshold;
+        }
+        // By default, the next id block is fetched when a quarter of the current id block is left
+        return idBlockSize / 4;
+    }
+
+    public int getStripeCount() {
+        return stripeCount;
+    }
+
+    /**
+     * Sets the number of stripes, which is rounded up to the next power of two.
+     * Should be set before the generator is used.
+     */
+    public void setStripeCount(int stripeCount) {
+        int stripeCountToUse = Integer.highestOneBit(Math.max(1, stripeCount));
+        if (stripeCountToUse < stripeCount) {
+            stripeCountToUse <<= 1;
+        }
+        this.stripeCount = stripeCountToUse;
+        this.stripes = new AtomicReferenceArray<>(stripeCountToUse);
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getPrefetchThreshold() {
+        return prefetchThreshold;
+    }
+
+    public void setPrefetchThreshold(int prefetchThreshold) {
+        this.prefetchThreshold = prefetchThreshold;
+    }
+
+    public Executor getPrefetchExecutor() {
+        return prefetchExecutor;
+    }
+
+    public void setPrefetchExecutor(Executor prefetchExecutor) {
+        this.prefetchExecutor = prefetchExecutor;
+    }
+
+    protected static class IdRange {
+
+        protected final AtomicLong nextId;
+        protected final long lastId;
+
+        public IdRange(long nextId, long lastId) {
+            this.nextId = new AtomicLong(nextId);
+            this.lastId = lastId;
+        }
+
+    }
+}
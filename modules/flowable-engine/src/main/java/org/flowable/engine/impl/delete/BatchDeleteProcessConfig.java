@@ -47,14 +47,20 @@ public class BatchDeleteProcessConfig {
     protected final BatchPart batchPart;
     protected final String error;
     protected final boolean sequentialExecution;
+    protected final boolean partitionedExecution;
     protected int batchSize;
     protected HistoricProcessInstanceQuery query;
 
     protected BatchDeleteProcessConfig(Batch batch, BatchPart batchPart, String error, boolean sequentialExecution) {
+        this(batch, batchPart, error, sequentialExecution, false);
+    }
+
+    protected BatchDeleteProcessConfig(Batch batch, BatchPart batchPart, String error, boolean sequentialExecution, boolean partitionedExecution) {
         this.batch = batch;
         this.batchPart = batchPart;
         this.error = error;
         this.sequentialExecution = sequentialExecution;
+        this.partitionedExecution = partitionedExecution;
     }
 
     public Batch getBatch() {
@@ -77,6 +83,10 @@ public class BatchDeleteProcessConfig {
         return sequentialExecution;
     }
 
+    public boolean isPartitionedExecution() {
+        return partitionedExecution;
+    }
+
     public int getBatchSize() {
         return batchSize;
     }
@@ -95,41 +105,47 @@ public class BatchDeleteProcessConfig {
         Batch batch = batchService.getBatch(batchPart.getBatchId());
         JsonNode batchConfiguration = getBatchConfiguration(batch, engineConfiguration);
         boolean sequentialExecution = batchConfiguration.path("sequential").booleanValue();
+        boolean partitionedExecution = batchConfiguration.path("partitioned").booleanValue();
 
         JsonNode queryNode = batchConfiguration.path("query");
         if (queryNode.isMissingNode()) {
             return new BatchDeleteProcessConfig(batch, batchPart,
-                    prepareFailedResultAsJsonString("Batch configuration has no query definition", engineConfiguration), sequentialExecution);
+                    prepareFailedResultAsJsonString("Batch configuration has no query definition", engineConfiguration), sequentialExecution, partitionedExecution);
         }
 
         JsonNode batchSizeNode = batchConfiguration.path("batchSize");
         if (batchSizeNode.isMissingNode()) {
             return new BatchDeleteProcessConfig(batch, batchPart, prepareFailedResultAsJsonString("Batch configuration has no batch size", engineConfiguration),
-                    sequentialExecution);
+                    sequentialExecution, partitionedExecution);
         }
 
         HistoricProcessInstanceQuery query;
 
         try {
-            query = createQuery(queryNode, engineConfiguration);
+            query = createQuery(queryNode, partitionedExecution, engineConfiguration);
         } catch (FlowableException exception) {
             return new BatchDeleteProcessConfig(batch, batchPart, prepareFailedResultAsJsonString("Failed to create query", exception, engineConfiguration),
-                    sequentialExecution);
+                    sequentialExecution, partitionedExecution);
         }
 
-        BatchDeleteProcessConfig config = new BatchDeleteProcessConfig(batch, batchPart, null, sequentialExecution);
+        BatchDeleteProcessConfig config = new BatchDeleteProcessConfig(batch, batchPart, null, sequentialExecution, partitionedExecution);
         config.batchSize = batchSizeNode.intValue();
         config.query = query;
 
         return config;
     }
 
-    protected static HistoricProcessInstanceQuery createQuery(JsonNode queryNode, ProcessEngineConfigurationImpl engineConfiguration) {
+    protected static HistoricProcessInstanceQuery createQuery(JsonNode queryNode, boolean partitionedExecution, ProcessEngineConfigurationImpl engineConfiguration) {
         HistoricProcessInstanceQuery query = engineConfiguration.getHistoryService()
                 .createHistoricProcessInstanceQuery();
 
         populateQuery(queryNode, query, engineConfiguration);
 
+        if (partitionedExecution) {
+            // Partitions are computed using keyset pagination, which always orders by id
+            return query;
+        }
+
         if (queryNode.hasNonNull("finishedBefore") || queryNode.hasNonNull("finishedAfter") || queryNode.path("finished").asBoolean(false)) {
             // When the query has finishedBefore, finishedAfter or finished then we need to order by the process instance end time
             // This is done in order to improve the performance when getting pages with large offsets.
@@ -18,6 +18,7 @@ import org.flowable.batch.api.Batch;
 import org.flowable.batch.api.BatchPart;
 import org.flowable.batch.api.BatchService;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.ManagementService;
 import org.flowable.engine.history.HistoricProcessInstance;
 import org.flowable.engine.history.HistoricProcessInstanceQuery;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
@@ -52,7 +53,7 @@ public class ComputeDeleteHistoricProcessInstanceIdsJobHandler implements JobHan
         Batch batch = config.getBatch();
         boolean sequentialExecution = config.isSequentialExecution();
         if (config.hasError()) {
-            failBatchPart(engineConfiguration, batchService, batchPart, batch, config.getError(), sequentialExecution);
+            failBatchPart(engineConfiguration, batchService, batchPart, batch, config.getError(), sequentialExecution || config.isPartitionedExecution());
             return;
         }
 
@@ -61,6 +62,11 @@ public class ComputeDeleteHistoricProcessInstanceIdsJobHandler implements JobHan
             return;
         }
 
+        if (config.isPartitionedExecution()) {
+            computePartition(config, engineConfiguration);
+            return;
+        }
+
         int batchSize = config.getBatchSize();
         int batchPartNumber = Integer.parseInt(batchPart.getSearchKey());
         // The first result is the batch part number multiplied by the batch size
@@ -125,6 +131,62 @@ public class ComputeDeleteHistoricProcessInstanceIdsJobHandler implements JobHan
         batchService.completeBatchPart(batchPart.getId(), DeleteProcessInstanceBatchConstants.STATUS_COMPLETED, resultNode.toString());
     }
 
+    protected void computePartition(BatchDeleteProcessConfig config, ProcessEngineConfigurationImpl engineConfiguration) {
+        BatchPart batchPart = config.getBatchPart();
+        Batch batch = config.getBatch();
+        int batchSize = config.getBatchSize();
+
+        // The partition starts after the last id of the previous partition, which is stored in the second search key.
+        // Using keyset pagination the partitions can be computed without scanning the previous ones,
+        // and the deletion of the previous partitions does not shift the next ones.
+        List<HistoricProcessInstance> processInstances = config.getQuery().listAfter(batchPart.getSearchKey2(), batchSize);
+
+        ObjectNode resultNode = engineConfiguration.getObjectMapper().createObjectNode();
+        resultNode.put("partitioned", true);
+        if (!processInstances.isEmpty()) {
+            ArrayNode idsToDelete = resultNode.putArray("processInstanceIdsToDelete");
+            for (HistoricProcessInstance processInstance : processInstances) {
+                idsToDelete.add(processInstance.getId());
+            }
+
+            ManagementService managementService = engineConfiguration.getManagementService();
+            JobService jobService = engineConfiguration.getJobServiceConfiguration().getJobService();
+
+            BatchPart batchPartForDelete = managementService.createBatchPartBuilder(batch)
+                    .type(DeleteProcessInstanceBatchConstants.BATCH_PART_DELETE_PROCESS_INSTANCES_TYPE)
+                    .searchKey(batchPart.getId())
+                    .searchKey2(batchPart.getSearchKey())
+                    .status(DeleteProcessInstanceBatchConstants.STATUS_WAITING)
+                    .create();
+            resultNode.put("deleteBatchPart", batchPartForDelete.getId());
+
+            // The partition can be deleted right away, while the next partition is being computed
+            JobEntity deleteJob = jobService.createJob();
+            deleteJob.setJobHandlerType(DeleteHistoricProcessInstanceIdsJobHandler.TYPE);
+            deleteJob.setJobHandlerConfiguration(batchPartForDelete.getId());
+            jobService.createAsyncJob(deleteJob, false);
+            jobService.scheduleAsyncJob(deleteJob);
+
+            if (processInstances.size() == batchSize) {
+                BatchPart nextComputePart = managementService.createBatchPartBuilder(batch)
+                        .type(DeleteProcessInstanceBatchConstants.BATCH_PART_COMPUTE_IDS_TYPE)
+                        .searchKey(Integer.toString(Integer.parseInt(batchPart.getSearchKey()) + 1))
+                        .searchKey2(processInstances.get(processInstances.size() - 1).getId())
+                        .status(DeleteProcessInstanceBatchConstants.STATUS_WAITING)
+                        .create();
+
+                JobEntity nextComputeJob = jobService.createJob();
+                nextComputeJob.setJobHandlerType(ComputeDeleteHistoricProcessInstanceIdsJobHandler.TYPE);
+                nextComputeJob.setJobHandlerConfiguration(nextComputePart.getId());
+                jobService.createAsyncJob(nextComputeJob, false);
+                jobService.scheduleAsyncJob(nextComputeJob);
+            }
+        }
+
+        engineConfiguration.getBatchServiceConfiguration().getBatchService()
+                .completeBatchPart(batchPart.getId(), DeleteProcessInstanceBatchConstants.STATUS_COMPLETED, resultNode.toString());
+    }
+
     protected void failBatchPart(ProcessEngineConfigurationImpl engineConfiguration, BatchService batchService, BatchPart batchPart, Batch batch,
             String resultJson, boolean sequentialExecution) {
         batchService.completeBatchPart(batchPart.getId(), DeleteProcessInstanceBatchConstants.STATUS_FAILED, resultJson);
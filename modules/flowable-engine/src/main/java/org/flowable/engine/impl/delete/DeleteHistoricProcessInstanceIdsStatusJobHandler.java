@@ -12,20 +12,29 @@
  */
 package org.flowable.engine.impl.delete;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.flowable.batch.api.Batch;
 import org.flowable.batch.api.BatchPart;
 import org.flowable.batch.api.BatchPartQuery;
+import org.flowable.batch.api.BatchService;
 import org.flowable.batch.service.impl.persistence.entity.BatchEntity;
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.FlowableIllegalArgumentException;
 import org.flowable.common.engine.api.scope.ScopeTypes;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.common.engine.impl.util.CollectionUtil;
 import org.flowable.engine.ManagementService;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.job.api.Job;
 import org.flowable.job.service.JobHandler;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.DeadLetterJobQueryImpl;
 import org.flowable.job.service.impl.persistence.entity.JobEntity;
 import org.flowable.variable.api.delegate.VariableScope;
 
@@ -41,6 +50,8 @@ public class DeleteHistoricProcessInstanceIdsStatusJobHandler implements JobHand
 
     public static final String TYPE = "delete-historic-process-status";
 
+    protected static final int MAX_BATCH_PART_IDS_PER_QUERY = 500;
+
     @Override
     public String getType() {
         return TYPE;
@@ -64,11 +75,33 @@ public class DeleteHistoricProcessInstanceIdsStatusJobHandler implements JobHand
             return;
         }
 
+        if (failDeadLetterBatchParts(batch, managementService, engineConfiguration, commandContext)) {
+            // The queries below only see the failed batch parts once they are flushed, so the batch is checked again on the next run
+            return;
+        }
+
         long totalBatchParts = createStatusQuery(batch, managementService).count();
         long totalCompleted = createStatusQuery(batch, managementService).completed().count();
 
+        ObjectNode batchDocument = (ObjectNode) readJson(batch.getBatchDocumentJson(ScopeTypes.BPMN), engineConfiguration.getObjectMapper());
+        if (batchDocument != null && batchDocument.path("partitioned").booleanValue()) {
+            updatePartitionedProgress(batch, batchDocument, totalBatchParts, totalCompleted, engineConfiguration);
+
+            long pendingComputeParts = managementService.createBatchPartQuery()
+                    .batchId(batch.getId())
+                    .type(DeleteProcessInstanceBatchConstants.BATCH_PART_COMPUTE_IDS_TYPE)
+                    .status(DeleteProcessInstanceBatchConstants.STATUS_WAITING)
+                    .count();
+            if (pendingComputeParts > 0) {
+                // The partitions are still being computed, so more delete batch parts are coming
+                return;
+            }
+        }
+
         if (totalBatchParts == totalCompleted) {
-            List<BatchPart> failedParts = createStatusQuery(batch, managementService)
+            // Failed compute parts fail the batch as well, since the instances of their partition were not deleted
+            List<BatchPart> failedParts = managementService.createBatchPartQuery()
+                    .batchId(batch.getId())
                     .status(DeleteProcessInstanceBatchConstants.STATUS_FAILED)
                     .list();
             long totalFailed = failedParts.size();
@@ -92,6 +125,71 @@ public class DeleteHistoricProcessInstanceIdsStatusJobHandler implements JobHand
                 .type(DeleteProcessInstanceBatchConstants.BATCH_PART_DELETE_PROCESS_INSTANCES_TYPE);
     }
 
+    /**
+     * Fails the waiting batch parts whose job ran out of retries and was moved to the dead letter jobs.
+     * Their status would otherwise never change, and the batch would wait for them forever.
+     *
+     * @return whether a batch part was failed
+     */
+    protected boolean failDeadLetterBatchParts(Batch batch, ManagementService managementService, ProcessEngineConfigurationImpl engineConfiguration,
+            CommandContext commandContext) {
+
+        List<String> handlerTypes = Arrays.asList(ComputeDeleteHistoricProcessInstanceIdsJobHandler.TYPE, DeleteHistoricProcessInstanceIdsJobHandler.TYPE);
+        if (managementService.createDeadLetterJobQuery().handlerTypes(handlerTypes).count() == 0) {
+            // Usually none of the batch part jobs failed, so the batch parts don't need to be fetched
+            return false;
+        }
+
+        List<BatchPart> waitingParts = managementService.createBatchPartQuery()
+                .batchId(batch.getId())
+                .status(DeleteProcessInstanceBatchConstants.STATUS_WAITING)
+                .list();
+        if (waitingParts.isEmpty()) {
+            return false;
+        }
+
+        Map<String, BatchPart> waitingPartsById = new HashMap<>();
+        for (BatchPart waitingPart : waitingParts) {
+            waitingPartsById.put(waitingPart.getId(), waitingPart);
+        }
+
+        // The jobs of the batch parts have the id of their part as handler configuration
+        JobServiceConfiguration jobServiceConfiguration = engineConfiguration.getJobServiceConfiguration();
+        List<Job> deadLetterJobs = new ArrayList<>();
+        CollectionUtil.consumePartitions(waitingPartsById.keySet(), MAX_BATCH_PART_IDS_PER_QUERY, batchPartIds -> deadLetterJobs.addAll(
+                new DeadLetterJobQueryImpl(commandContext, jobServiceConfiguration)
+                        .handlerConfigurations(batchPartIds)
+                        .handlerTypes(handlerTypes)
+                        .list()));
+
+        boolean failedBatchParts = false;
+        BatchService batchService = engineConfiguration.getBatchServiceConfiguration().getBatchService();
+        for (Job deadLetterJob : deadLetterJobs) {
+            BatchPart batchPart = waitingPartsById.remove(deadLetterJob.getJobHandlerConfiguration());
+            if (batchPart != null) {
+                batchService.completeBatchPart(batchPart.getId(), DeleteProcessInstanceBatchConstants.STATUS_FAILED,
+                        BatchDeleteProcessConfig.prepareFailedResultAsJsonString(deadLetterJob.getExceptionMessage(), engineConfiguration));
+                failedBatchParts = true;
+            }
+        }
+        return failedBatchParts;
+    }
+
+    protected void updatePartitionedProgress(Batch batch, ObjectNode batchDocument, long totalBatchParts, long totalCompleted,
+            ProcessEngineConfigurationImpl engineConfiguration) {
+        batchDocument.put("numberOfBatchParts", totalBatchParts);
+        batchDocument.put("numberOfCompletedBatchParts", totalCompleted);
+
+        // Every partition has the batch size, except for the last one, so this is an upper bound until the batch is done
+        long elapsedTime = engineConfiguration.getClock().getCurrentTime().getTime() - batch.getCreateTime().getTime();
+        if (elapsedTime > 0) {
+            long deletedInstances = totalCompleted * batchDocument.path("batchSize").asLong();
+            batchDocument.put("deletedInstancesPerMinute", deletedInstances * 60000 / elapsedTime);
+        }
+
+        ((BatchEntity) batch).setBatchDocumentJson(batchDocument.toString(), ScopeTypes.BPMN);
+    }
+
     protected void completeBatch(Batch batch, String status, ProcessEngineConfigurationImpl engineConfiguration) {
         engineConfiguration.getBatchServiceConfiguration()
                 .getBatchService()
@@ -48,13 +48,20 @@ public class DeleteHistoricProcessInstancesUsingBatchesCmd implements Command<St
     protected HistoricProcessInstanceQueryImpl historicProcessInstanceQuery;
     protected int batchSize;
     protected boolean sequential;
+    protected boolean partitioned;
     protected String batchName;
 
     public DeleteHistoricProcessInstancesUsingBatchesCmd(HistoricProcessInstanceQueryImpl query, int batchSize, String batchName, boolean sequential) {
+        this(query, batchSize, batchName, sequential, false);
+    }
+
+    public DeleteHistoricProcessInstancesUsingBatchesCmd(HistoricProcessInstanceQueryImpl query, int batchSize, String batchName, boolean sequential,
+            boolean partitioned) {
         this.historicProcessInstanceQuery = query;
         this.batchSize = batchSize;
         this.batchName = batchName;
         this.sequential = sequential;
+        this.partitioned = partitioned;
     }
 
     @Override
@@ -78,6 +85,8 @@ public class DeleteHistoricProcessInstancesUsingBatchesCmd implements Command<St
         batchConfiguration.put("batchSize", batchSize);
         if (sequential) {
             batchConfiguration.put("sequential", true);
+        } else if (partitioned) {
+            batchConfiguration.put("partitioned", true);
         }
 
         ObjectNode queryNode = batchConfiguration.putObject("query");
@@ -109,6 +118,8 @@ public class DeleteHistoricProcessInstancesUsingBatchesCmd implements Command<St
 
             if (sequential) {
                 createBatchPartsForSequentialExecution(engineConfiguration, batch, numberOfBatchParts);
+            } else if (partitioned) {
+                createBatchPartsForPartitionedExecution(engineConfiguration, batch);
             } else {
                 createBatchPartsForParallelExecution(engineConfiguration, batch, numberOfBatchParts);
             }
@@ -155,6 +166,38 @@ public class DeleteHistoricProcessInstancesUsingBatchesCmd implements Command<St
         timerJobService.scheduleTimerJob(timerJob);
     }
 
+    protected void createBatchPartsForPartitionedExecution(ProcessEngineConfigurationImpl engineConfiguration, Batch batch) {
+        // Only the first partition is computed here, every partition computes the next one (see ComputeDeleteHistoricProcessInstanceIdsJobHandler)
+        BatchPart firstComputePart = engineConfiguration.getManagementService()
+                .createBatchPartBuilder(batch)
+                .type(DeleteProcessInstanceBatchConstants.BATCH_PART_COMPUTE_IDS_TYPE)
+                .searchKey(Integer.toString(0))
+                .status(DeleteProcessInstanceBatchConstants.STATUS_WAITING)
+                .create();
+
+        JobService jobService = engineConfiguration.getJobServiceConfiguration().getJobService();
+        JobEntity job = jobService.createJob();
+        job.setJobHandlerType(ComputeDeleteHistoricProcessInstanceIdsJobHandler.TYPE);
+        job.setJobHandlerConfiguration(firstComputePart.getId());
+        jobService.createAsyncJob(job, false);
+        jobService.scheduleAsyncJob(job);
+
+        // The status is tracked on the delete batch parts, as they are being created while the deletion is running
+        TimerJobService timerJobService = engineConfiguration.getJobServiceConfiguration()
+                .getTimerJobService();
+        TimerJobEntity timerJob = timerJobService.createTimerJob();
+        timerJob.setJobType(Job.JOB_TYPE_TIMER);
+        timerJob.setRevision(1);
+        timerJob.setJobHandlerType(DeleteHistoricProcessInstanceIdsStatusJobHandler.TYPE);
+        timerJob.setJobHandlerConfiguration(batch.getId());
+
+        BusinessCalendar businessCalendar = engineConfiguration.getBusinessCalendarManager().getBusinessCalendar(CycleBusinessCalendar.NAME);
+        timerJob.setDuedate(businessCalendar.resolveDuedate(engineConfiguration.getBatchStatusTimeCycleConfig()));
+        timerJob.setRepeat(engineConfiguration.getBatchStatusTimeCycleConfig());
+
+        timerJobService.scheduleTimerJob(timerJob);
+    }
+
     protected void createBatchPartsForSequentialExecution(ProcessEngineConfigurationImpl engineConfiguration, Batch batch, long numberOfBatchParts) {
         ManagementService managementService = engineConfiguration.getManagementService();
 
@@ -0,0 +1,274 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.history.async;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.delegate.event.FlowableEngineEventType;
+import org.flowable.common.engine.api.delegate.event.FlowableEventDispatcher;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.delegate.event.impl.FlowableEventBuilder;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.persistence.entity.HistoricActivityInstanceEntity;
+import org.flowable.engine.impl.persistence.entity.HistoricActivityInstanceEntityManager;
+import org.flowable.engine.impl.persistence.entity.HistoricProcessInstanceEntity;
+import org.flowable.engine.impl.persistence.entity.HistoricProcessInstanceEntityManager;
+import org.flowable.identitylink.api.IdentityLinkType;
+import org.flowable.identitylink.service.HistoricIdentityLinkService;
+import org.flowable.identitylink.service.impl.persistence.entity.HistoricIdentityLinkEntity;
+import org.flowable.job.service.HistoryJobHandler;
+import org.flowable.job.service.HistoryJobService;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.history.async.util.AsyncHistoryJsonUtil;
+import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
+import org.flowable.task.service.HistoricTaskService;
+import org.flowable.task.service.impl.persistence.entity.HistoricTaskInstanceEntity;
+import org.flowable.variable.service.HistoricVariableService;
+import org.flowable.variable.service.impl.persistence.entity.HistoricVariableInstanceEntity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Applies the history collected by the {@link AsyncHistoryManager} for one transaction.
+ *
+ * <p>
+ * The history jobs of one history sequence (the job handler configuration, see {@link AsyncHistoryManager#getHistorySequenceKey(String)})
+ * are applied in the order in which they were created: before a job is applied, the older pending jobs of its sequence are applied
+ * (and deleted) in the same transaction. This way, a removal or deletion is never overtaken by an older job that creates the same data.
+ * As an additional safeguard (e.g. for jobs created within the same millisecond on different nodes), a snapshot is not applied
+ * when the historic entity already contains newer data: an ended historic entity is never reopened, and task and variable snapshots
+ * older than the last update of the historic entity are skipped.
+ */
+public class AsyncHistoryJobHandler implements HistoryJobHandler {
+
+    public static final String JOB_TYPE = "bpmn-async-history";
+
+    protected ProcessEngineConfigurationImpl processEngineConfiguration;
+
+    public AsyncHistoryJobHandler(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        this.processEngineConfiguration = processEngineConfiguration;
+    }
+
+    @Override
+    public String getType() {
+        return JOB_TYPE;
+    }
+
+    @Override
+    public void execute(HistoryJobEntity job, String configuration, CommandContext commandContext, JobServiceConfiguration jobServiceConfiguration) {
+        if (configuration != null) {
+            applyPendingHistoryJobs(configuration, job, jobServiceConfiguration);
+        }
+        applyHistoryJob(job, jobServiceConfiguration);
+    }
+
+    /**
+     * Applies and deletes the pending history jobs of the given history sequence that were created before the given job,
+     * or all pending history jobs of the sequence when no job is given.
+     */
+    public void applyPendingHistoryJobs(String sequenceKey, HistoryJobEntity job, JobServiceConfiguration jobServiceConfiguration) {
+        HistoryJobService historyJobService = jobServiceConfiguration.getHistoryJobService();
+        List<HistoryJobEntity> pendingJobs = historyJobService.findHistoryJobsByHandlerTypeAndConfiguration(JOB_TYPE, sequenceKey);
+
+        int numberOfOlderJobs = pendingJobs.size();
+        if (job != null) {
+            numberOfOlderJobs = 0;
+            while (numberOfOlderJobs < pendingJobs.size() && !job.getId().equals(pendingJobs.get(numberOfOlderJobs).getId())) {
+                numberOfOlderJobs++;
+            }
+            if (numberOfOlderJobs == pendingJobs.size()) {
+                // The job itself is not pending anymore, so the older jobs can't be determined
+                return;
+            }
+        }
+
+        for (HistoryJobEntity pendingJob : pendingJobs.subList(0, numberOfOlderJobs)) {
+            // The job could already have been applied earlier in this transaction
+            if (!pendingJob.isDeleted()) {
+                applyHistoryJob(pendingJob, jobServiceConfiguration);
+                historyJobService.deleteHistoryJob(pendingJob);
+            }
+        }
+    }
+
+    protected void applyHistoryJob(HistoryJobEntity job, JobServiceConfiguration jobServiceConfiguration) {
+        ObjectNode payload;
+        try {
+            payload = (ObjectNode) processEngineConfiguration.getObjectMapper().readTree(job.getAdvancedJobHandlerConfiguration());
+        } catch (JsonProcessingException e) {
+            throw new FlowableException("Could not read the async history of " + job, e);
+        }
+
+        // When a previous attempt failed (e.g. because a later history job of the same process instance already inserted the entity),
+        // entities that are created in the transaction of the job are looked up as well
+        boolean retry = job.getRetries() < jobServiceConfiguration.getAsyncHistoryExecutorNumberOfRetries();
+
+        for (JsonNode data : payload.path(HistoricEntityJsonConverter.PROCESS_INSTANCES)) {
+            applyProcessInstance((ObjectNode) data, retry);
+        }
+        for (JsonNode data : payload.path(HistoricEntityJsonConverter.ACTIVITY_INSTANCES)) {
+            applyActivityInstance((ObjectNode) data, retry);
+        }
+        for (JsonNode data : payload.path(HistoricEntityJsonConverter.TASK_INSTANCES)) {
+            applyTaskInstance((ObjectNode) data, retry);
+        }
+        for (JsonNode data : payload.path(HistoricEntityJsonConverter.VARIABLE_INSTANCES)) {
+            applyVariableInstance((ObjectNode) data, retry);
+        }
+        for (JsonNode variableInstanceId : payload.path(HistoricEntityJsonConverter.REMOVED_VARIABLE_INSTANCES)) {
+            removeVariableInstance(variableInstanceId.asText());
+        }
+    }
+
+    protected void applyProcessInstance(ObjectNode data, boolean retry) {
+        HistoricProcessInstanceEntityManager historicProcessInstanceEntityManager = processEngineConfiguration.getHistoricProcessInstanceEntityManager();
+        HistoricProcessInstanceEntity historicProcessInstance = null;
+        if (retry || !HistoricEntityJsonConverter.isCreated(data)) {
+            historicProcessInstance = historicProcessInstanceEntityManager.findById(AsyncHistoryJsonUtil.getStringFromJson(data, "id"));
+        }
+
+        Date endTime = AsyncHistoryJsonUtil.getDateFromJson(data, "endTime");
+        if (historicProcessInstance == null) {
+            historicProcessInstance = historicProcessInstanceEntityManager.create();
+            HistoricEntityJsonConverter.readProcessInstance(data, historicProcessInstance);
+            historicProcessInstanceEntityManager.insert(historicProcessInstance, false);
+            dispatchEvent(FlowableEngineEventType.HISTORIC_PROCESS_INSTANCE_CREATED, historicProcessInstance);
+            if (endTime != null) {
+                dispatchEvent(FlowableEngineEventType.HISTORIC_PROCESS_INSTANCE_ENDED, historicProcessInstance);
+            }
+
+        } else if (historicProcessInstance.getEndTime() == null || endTime != null) {
+            boolean ended = historicProcessInstance.getEndTime() == null && endTime != null;
+            HistoricEntityJsonConverter.readProcessInstance(data, historicProcessInstance);
+            if (ended) {
+                dispatchEvent(FlowableEngineEventType.HISTORIC_PROCESS_INSTANCE_ENDED, historicProcessInstance);
+            }
+        }
+    }
+
+    protected void applyActivityInstance(ObjectNode data, boolean retry) {
+        HistoricActivityInstanceEntityManager historicActivityInstanceEntityManager = processEngineConfiguration.getHistoricActivityInstanceEntityManager();
+        HistoricActivityInstanceEntity historicActivityInstance = null;
+        if (retry || !HistoricEntityJsonConverter.isCreated(data)) {
+            historicActivityInstance = historicActivityInstanceEntityManager.findById(AsyncHistoryJsonUtil.getStringFromJson(data, "id"));
+        }
+
+        Date endTime = AsyncHistoryJsonUtil.getDateFromJson(data, "endTime");
+        if (historicActivityInstance == null) {
+            historicActivityInstance = historicActivityInstanceEntityManager.create();
+            HistoricEntityJsonConverter.readActivityInstance(data, historicActivityInstance);
+            historicActivityInstanceEntityManager.insert(historicActivityInstance);
+            dispatchEvent(FlowableEngineEventType.HISTORIC_ACTIVITY_INSTANCE_CREATED, historicActivityInstance);
+            if (endTime != null) {
+                dispatchEvent(FlowableEngineEventType.HISTORIC_ACTIVITY_INSTANCE_ENDED, historicActivityInstance);
+            }
+
+        } else if (historicActivityInstance.getEndTime() == null || endTime != null) {
+            boolean ended = historicActivityInstance.getEndTime() == null && endTime != null;
+            HistoricEntityJsonConverter.readActivityInstance(data, historicActivityInstance);
+            if (ended) {
+                dispatchEvent(FlowableEngineEventType.HISTORIC_ACTIVITY_INSTANCE_ENDED, historicActivityInstance);
+            }
+        }
+    }
+
+    protected void applyTaskInstance(ObjectNode data, boolean retry) {
+        HistoricTaskService historicTaskService = processEngineConfiguration.getTaskServiceConfiguration().getHistoricTaskService();
+        HistoricTaskInstanceEntity historicTaskInstance = null;
+        if (retry || !HistoricEntityJsonConverter.isCreated(data)) {
+            historicTaskInstance = historicTaskService.getHistoricTask(AsyncHistoryJsonUtil.getStringFromJson(data, "id"));
+        }
+
+        if (historicTaskInstance == null) {
+            historicTaskInstance = historicTaskService.createHistoricTask();
+            HistoricEntityJsonConverter.readTaskInstance(data, historicTaskInstance);
+            historicTaskService.insertHistoricTask(historicTaskInstance, true);
+            return;
+        }
+
+        Date endTime = AsyncHistoryJsonUtil.getDateFromJson(data, "endTime");
+        Date lastUpdateTime = AsyncHistoryJsonUtil.getDateFromJson(data, "lastUpdateTime");
+        if (endTime == null && (historicTaskInstance.getEndTime() != null || isAfter(historicTaskInstance.getLastUpdateTime(), lastUpdateTime))) {
+            return;
+        }
+
+        String assignee = AsyncHistoryJsonUtil.getStringFromJson(data, "assignee");
+        if (!Objects.equals(historicTaskInstance.getAssignee(), assignee)) {
+            createHistoricIdentityLink(historicTaskInstance.getId(), IdentityLinkType.ASSIGNEE, assignee, lastUpdateTime);
+        }
+        String owner = AsyncHistoryJsonUtil.getStringFromJson(data, "owner");
+        if (!Objects.equals(historicTaskInstance.getOwner(), owner)) {
+            createHistoricIdentityLink(historicTaskInstance.getId(), IdentityLinkType.OWNER, owner, lastUpdateTime);
+        }
+
+        HistoricEntityJsonConverter.readTaskInstance(data, historicTaskInstance);
+    }
+
+    protected void createHistoricIdentityLink(String taskId, String type, String userId, Date createTime) {
+        HistoricIdentityLinkService historicIdentityLinkService = processEngineConfiguration.getIdentityLinkServiceConfiguration().getHistoricIdentityLinkService();
+        HistoricIdentityLinkEntity historicIdentityLinkEntity = historicIdentityLinkService.createHistoricIdentityLink();
+        historicIdentityLinkEntity.setTaskId(taskId);
+        historicIdentityLinkEntity.setType(type);
+        historicIdentityLinkEntity.setUserId(userId);
+        historicIdentityLinkEntity.setCreateTime(createTime != null ? createTime : processEngineConfiguration.getClock().getCurrentTime());
+        historicIdentityLinkService.insertHistoricIdentityLink(historicIdentityLinkEntity, false);
+    }
+
+    protected void applyVariableInstance(ObjectNode data, boolean retry) {
+        HistoricVariableService historicVariableService = processEngineConfiguration.getVariableServiceConfiguration().getHistoricVariableService();
+        HistoricVariableInstanceEntity historicVariableInstance = null;
+        if (retry || !HistoricEntityJsonConverter.isCreated(data)) {
+            historicVariableInstance = historicVariableService.getHistoricVariableInstance(AsyncHistoryJsonUtil.getStringFromJson(data, "id"));
+        }
+
+        if (historicVariableInstance == null) {
+            historicVariableInstance = historicVariableService.createHistoricVariableInstance();
+            HistoricEntityJsonConverter.readVariableInstance(data, historicVariableInstance, processEngineConfiguration.getVariableTypes());
+            if (historicVariableInstance.getCreateTime() == null) {
+                // The variable was created in a transaction of which the history job is not applied yet
+                historicVariableInstance.setCreateTime(historicVariableInstance.getLastUpdatedTime());
+            }
+            historicVariableService.insertHistoricVariableInstance(historicVariableInstance);
+
+        } else if (!isAfter(historicVariableInstance.getLastUpdatedTime(), AsyncHistoryJsonUtil.getDateFromJson(data, "lastUpdatedTime"))) {
+            Date createTime = historicVariableInstance.getCreateTime();
+            HistoricEntityJsonConverter.readVariableInstance(data, historicVariableInstance, processEngineConfiguration.getVariableTypes());
+            historicVariableInstance.setCreateTime(createTime);
+        }
+    }
+
+    protected void removeVariableInstance(String variableInstanceId) {
+        HistoricVariableService historicVariableService = processEngineConfiguration.getVariableServiceConfiguration().getHistoricVariableService();
+        HistoricVariableInstanceEntity historicVariableInstance = historicVariableService.getHistoricVariableInstance(variableInstanceId);
+        if (historicVariableInstance != null) {
+            historicVariableService.deleteHistoricVariableInstance(historicVariableInstance);
+        }
+    }
+
+    protected boolean isAfter(Date date, Date otherDate) {
+        return date != null && otherDate != null && date.after(otherDate);
+    }
+
+    protected void dispatchEvent(FlowableEngineEventType eventType, Object entity) {
+        FlowableEventDispatcher eventDispatcher = processEngineConfiguration.getEventDispatcher();
+        if (eventDispatcher != null && eventDispatcher.isEnabled()) {
+            eventDispatcher.dispatchEvent(FlowableEventBuilder.createEntityEvent(eventType, entity), processEngineConfiguration.getEngineCfgKey());
+        }
+    }
+
+}
@@ -0,0 +1,413 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.history.async;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.flowable.common.engine.impl.context.Context;
+import org.flowable.common.engine.impl.history.HistoryLevel;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.history.DefaultHistoryManager;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.persistence.entity.HistoricActivityInstanceEntity;
+import org.flowable.engine.impl.persistence.entity.HistoricProcessInstanceEntity;
+import org.flowable.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.flowable.engine.runtime.ActivityInstance;
+import org.flowable.job.service.HistoryJobHandler;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.task.api.history.HistoricTaskInstance;
+import org.flowable.task.service.impl.persistence.entity.HistoricTaskInstanceEntity;
+import org.flowable.task.service.impl.persistence.entity.TaskEntity;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
+
+/**
+ * History manager that doesn't write the process instance, activity instance, task instance and variable history in the
+ * transaction of the runtime changes. Instead, the history of a transaction is collected in an {@link AsyncHistorySession}
+ * and written as one history job, which is applied by the async history executor with the {@link AsyncHistoryJobHandler}.
+ *
+ * <p>
+ * The history jobs are created per history sequence (see {@link #getHistorySequenceKey(String)}) and the jobs of one sequence are
+ * applied in the order in which they were created. Before the history of a process instance is deleted, the pending history jobs
+ * of its sequence are applied in the deleting transaction, so that a pending history job can't bring the deleted history back.
+ *
+ * <p>
+ * The other history (historic details, identity links, entity links, comments and task logs) is still written
+ * by the {@link DefaultHistoryManager}, as well as all history that is recorded after the history job of the transaction has been created.
+ */
+public class AsyncHistoryManager extends DefaultHistoryManager {
+
+    public AsyncHistoryManager(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        super(processEngineConfiguration);
+    }
+
+    /**
+     * @return the session of the current command context, or null when the history can't be recorded asynchronously anymore.
+     */
+    protected AsyncHistorySession getAsyncHistorySession() {
+        CommandContext commandContext = Context.getCommandContext();
+        if (commandContext == null) {
+            return null;
+        }
+
+        String attributeKey = AsyncHistorySession.class.getName() + "." + processEngineConfiguration.getEngineCfgKey();
+        AsyncHistorySession asyncHistorySession = (AsyncHistorySession) commandContext.getAttribute(attributeKey);
+        if (asyncHistorySession == null) {
+            asyncHistorySession = new AsyncHistorySession(processEngineConfiguration, this);
+            commandContext.addAttribute(attributeKey, asyncHistorySession);
+            commandContext.addCloseListener(asyncHistorySession);
+        }
+        return asyncHistorySession.isClosing() ? null : asyncHistorySession;
+    }
+
+    /**
+     * Returns the key of the history sequence of the given process instance. All process instances of a process instance hierarchy
+     * share the history sequence of their root process instance, so that the history of the whole hierarchy is applied in order.
+     */
+    public String getHistorySequenceKey(String processInstanceId) {
+        ExecutionEntity processInstance = getExecutionEntityManager().findById(processInstanceId);
+        if (processInstance != null && processInstance.getRootProcessInstanceId() != null) {
+            return processInstance.getRootProcessInstanceId();
+        }
+
+        // The process instance has ended: its root process instance is found through the historic process instances
+        String rootProcessInstanceId = processInstanceId;
+        HistoricProcessInstanceEntity historicProcessInstance = getHistoricProcessInstanceEntityManager().findById(processInstanceId);
+        while (historicProcessInstance != null && historicProcessInstance.getSuperProcessInstanceId() != null) {
+            rootProcessInstanceId = historicProcessInstance.getSuperProcessInstanceId();
+            historicProcessInstance = getHistoricProcessInstanceEntityManager().findById(rootProcessInstanceId);
+        }
+        return rootProcessInstanceId;
+    }
+
+    /**
+     * Applies the pending history jobs of the given history sequence in the current transaction.
+     */
+    protected void applyPendingHistory(String sequenceKey) {
+        JobServiceConfiguration jobServiceConfiguration = processEngineConfiguration.getJobServiceConfiguration();
+        HistoryJobHandler historyJobHandler = jobServiceConfiguration.getHistoryJobHandlers() != null
+                ? jobServiceConfiguration.getHistoryJobHandlers().get(AsyncHistoryJobHandler.JOB_TYPE) : null;
+        AsyncHistoryJobHandler asyncHistoryJobHandler = historyJobHandler instanceof AsyncHistoryJobHandler
+                ? (AsyncHistoryJobHandler) historyJobHandler : new AsyncHistoryJobHandler(processEngineConfiguration);
+        asyncHistoryJobHandler.applyPendingHistoryJobs(sequenceKey, null, jobServiceConfiguration);
+    }
+
+    // Process related history
+
+    @Override
+    public void recordProcessInstanceStart(ExecutionEntity processInstance) {
+        AsyncHistorySession asyncHistorySession = getAsyncHistorySession();
+        if (asyncHistorySession == null) {
+            super.recordProcessInstanceStart(processInstance);
+
+        } else if (getHistoryConfigurationSettings().isHistoryEnabledForProcessInstance(processInstance)) {
+            asyncHistorySession.addProcessInstance(getHistoricProcessInstanceEntityManager().create(processInstance), true);
+        }
+    }
+
+    @Override
+    public void recordProcessInstanceEnd(ExecutionEntity processInstance, String deleteReason, String activityId, Date endTime) {
+        AsyncHistorySession asyncHistorySession = getAsyncHistorySession();
+        if (asyncHistorySession == null) {
+            super.recordProcessInstanceEnd(processInstance, deleteReason, activityId, endTime);
+
+        } else if (getHistoryConfigurationSettings().isHistoryEnabledForProcessInstance(processInstance)) {
+            HistoricProcessInstanceEntity historicProcessInstance = getOrCreateHistoricProcessInstance(asyncHistorySession, processInstance);
+            historicProcessInstance.markEnded(deleteReason, endTime);
+            historicProcessInstance.setEndActivityId(activityId);
+        }
+    }
+
+    @Override
+    public void recordProcessInstanceNameChange(ExecutionEntity processInstanceExecution, String newName) {
+        AsyncHistorySession asyncHistorySession = getAsyncHistorySession();
+        if (asyncHistorySession == null) {
+            super.recordProcessInstanceNameChange(processInstanceExecution, newName);
+
+        } else if (getHistoryConfigurationSettings().isHistoryEnabledForProcessInstance(processInstanceExecution)) {
+            getOrCreateHistoricProcessInstance(asyncHistorySession, processInstanceExecution).setName(newName);
+        }
+    }
+
+    @Override
+    public void updateProcessBusinessKeyInHistory(ExecutionEntity processInstance) {
+        AsyncHistorySession asyncHistorySession = getAsyncHistorySession();
+        if (asyncHistorySession == null) {
+            super.updateProcessBusinessKeyInHistory(processInstance);
+
+        } else if (processInstance != null && isHistoryEnabled(processInstance.getProcessDefinitionId())) {
+            getOrCreateHistoricProcessInstance(asyncHistorySession, processInstance).setBusinessKey(processInstance.getProcessInstanceBusinessKey());
+        }
+    }
+
+    @Override
+    public void updateProcessBusinessStatusInHistory(ExecutionEntity processInstance) {
+        AsyncHistorySession asyncHistorySession = getAsyncHistorySession();
+        if (asyncHistorySession == null) {
+            super.updateProcessBusinessStatusInHistory(processInstance);
+
+        } else if (processInstance != null && isHistoryEnabled(processInstance.getProcessDefinitionId())) {
+            getOrCreateHistoricProcessInstance(asyncHistorySession, processInstance).setBusinessStatus(processInstance.getProcessInstanceBusinessStatus());
+        }
+    }
+
+    @Override
+    public void recordProcessDefinitionChange(String processInstanceId, String processDefinitionId) {
+        AsyncHistorySession asyncHistorySession = getAsyncHistorySession();
+        if (asyncHistorySession == null) {
+            super.recordProcessDefinitionChange(processInstanceId, processDefinitionId);
+
+        } else if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, processDefinitionId)) {
+            ExecutionEntity processInstance = getExecutionEntityManager().findById(processInstanceId);
+            if (processInstance != null) {
+                getOrCreateHistoricProcessInstance(asyncHistorySession, processInstance).setProcessDefinitionId(processDefinitionId);
+            }
+        }
+    }
+
+    @Override
+    public void updateProcessDefinitionIdInHistory(ProcessDefinitionEntity processDefinitionEntity, ExecutionEntity processInstance) {
+        AsyncHistorySession asyncHistorySession = getAsyncHistorySession();
+        if (asyncHistorySession != null && isHistoryEnabled(processDefinitionEntity.getId())) {
+            String processInstanceId = processInstance.getId();
+            HistoricProcessInstanceEntity historicProcessInstance = asyncHistorySession.getProcessInstance(processInstanceId);
+            if (historicProcessInstance != null) {
+                historicProcessInstance.setProcessDefinitionId(processDefinitionEntity.getId());
+            }
+            for (HistoricActivityInstanceEntity historicActivityInstance : asyncHistorySession.getActivityInstances()) {
+                if (processInstanceId.equals(historicActivityInstance.getProcessInstanceId())) {
+                    historicActivityInstance.setProcessDefinitionId(processDefinitionEntity.getId());
+                }
+            }
+            for (HistoricTaskInstanceEntity historicTaskInstance : asyncHistorySession.getTaskInstances()) {
+                if (processInstanceId.equals(historicTaskInstance.getProcessInstanceId())) {
+                    historicTaskInstance.setProcessDefinitionId(processDefinitionEntity.getId());
+                }
+            }
+
+            if (getHistoricProcessInstanceEntityManager().findById(processInstanceId) == null) {
+                // The history of the process instance is not written yet: the history job contains the new process definition id
+                return;
+            }
+        }
+
+        super.updateProcessDefinitionIdInHistory(processDefinitionEntity, processInstance);
+    }
+
+    @Override
+    public void recordProcessInstanceDeleted(String processInstanceId, String processDefinitionId, String processTenantId) {
+        AsyncHistorySession asyncHistorySession = getAsyncHistorySession();
+        if (asyncHistorySession != null) {
+            asyncHistorySession.removeProcessInstances(Collections.singleton(processInstanceId));
+        }
+        applyPendingHistory(getHistorySequenceKey(processInstanceId));
+        super.recordProcessInstanceDeleted(processInstanceId, processDefinitionId, processTenantId);
+    }
+
+    @Override
+    public void recordBulkDeleteProcessInstances(Collection<String> processInstanceIds) {
+        AsyncHistorySession asyncHistorySession = getAsyncHistorySession();
+        if (processInstanceIds != null) {
+            if (asyncHistorySession != null) {
+                asyncHistorySession.removeProcessInstances(processInstanceIds);
+            }
+
+            Set<String> sequenceKeys = new HashSet<>();
+            for (String processInstanceId : processInstanceIds) {
+                sequenceKeys.add(getHistorySequenceKey(processInstanceId));
+            }
+            for (String sequenceKey : sequenceKeys) {
+                applyPendingHistory(sequenceKey);
+            }
+        }
+        super.recordBulkDeleteProcessInstances(processInstanceIds);
+    }
+
+    protected HistoricProcessInstanceEntity getOrCreateHistoricProcessInstance(AsyncHistorySession asyncHistorySession, ExecutionEntity processInstance) {
+        HistoricProcessInstanceEntity historicProcessInstance = asyncHistorySession.getProcessInstance(processInstance.getId());
+        if (historicProcessInstance == null) {
+            historicProcessInstance = getHistoricProcessInstanceEntityManager().create(processInstance);
+            asyncHistorySession.addProcessInstance(historicProcessInstance, false);
+        }
+        return historicProcessInstance;
+    }
+
+    // Activity related history
+
+    @Override
+    public void recordActivityStart(ActivityInstance activityInstance) {
+        AsyncHistorySession asyncHistorySession = getAsyncHistorySession();
+        if (asyncHistorySession == null) {
+            super.recordActivityStart(activityInstance);
+
+        } else if (activityInstance != null && activityInstance.getActivityId() != null
+                && getHistoryConfigurationSettings().isHistoryEnabledForActivity(activityInstance)) {
+            asyncHistorySession.addActivityInstance(getHistoricActivityInstanceEntityManager().create(activityInstance), true);
+        }
+    }
+
+    @Override
+    public void createHistoricActivityInstance(ActivityInstance activityInstance) {
+        AsyncHistorySession asyncHistorySession = getAsyncHistorySession();
+        if (asyncHistorySession == null) {
+            super.createHistoricActivityInstance(activityInstance);
+
+        } else if (getHistoryConfigurationSettings().isHistoryEnabledForActivity(activityInstance)) {
+            asyncHistorySession.addActivityInstance(getHistoricActivityInstanceEntityManager().create(activityInstance), true);
+        }
+    }
+
+    @Override
+    public void recordActivityEnd(ActivityInstance activityInstance) {
+        AsyncHistorySession asyncHistorySession = getAsyncHistorySession();
+        if (asyncHistorySession == null) {
+            super.recordActivityEnd(activityInstance);
+
+        } else if (activityInstance != null && getHistoryConfigurationSettings().isHistoryEnabledForActivity(activityInstance)) {
+            // the runtime activity instance contains all data of the historic activity instance
+            asyncHistorySession.addActivityInstance(getHistoricActivityInstanceEntityManager().create(activityInstance), false);
+        }
+    }
+
+    @Override
+    public void updateHistoricActivityInstance(ActivityInstance activityInstance) {
+        AsyncHistorySession asyncHistorySession = getAsyncHistorySession();
+        if (asyncHistorySession == null) {
+            super.updateHistoricActivityInstance(activityInstance);
+
+        } else if (activityInstance.getExecutionId() != null && getHistoryConfigurationSettings().isHistoryEnabledForActivity(activityInstance)) {
+            asyncHistorySession.addActivityInstance(getHistoricActivityInstanceEntityManager().create(activityInstance), false);
+        }
+    }
+
+    @Override
+    protected HistoricActivityInstanceEntity getHistoricActivityInstanceFromCache(String executionId, String activityId, boolean endTimeMustBeNull) {
+        AsyncHistorySession asyncHistorySession = getAsyncHistorySession();
+        if (asyncHistorySession != null) {
+            for (HistoricActivityInstanceEntity historicActivityInstance : asyncHistorySession.getActivityInstances()) {
+                if (activityId != null && activityId.equals(historicActivityInstance.getActivityId())
+                        && executionId.equals(historicActivityInstance.getExecutionId())
+                        && (!endTimeMustBeNull || historicActivityInstance.getEndTime() == null)) {
+                    return historicActivityInstance;
+                }
+            }
+        }
+        return super.getHistoricActivityInstanceFromCache(executionId, activityId, endTimeMustBeNull);
+    }
+
+    // Task related history
+
+    @Override
+    public void recordTaskCreated(TaskEntity task, ExecutionEntity execution) {
+        AsyncHistorySession asyncHistorySession = getAsyncHistorySession();
+        if (asyncHistorySession == null) {
+            super.recordTaskCreated(task, execution);
+
+        } else if (getHistoryConfigurationSettings().isHistoryEnabledForUserTask(execution, task)) {
+            if (execution != null) {
+                task.setExecutionId(execution.getId());
+                task.setProcessInstanceId(execution.getProcessInstanceId());
+                task.setProcessDefinitionId(execution.getProcessDefinitionId());
+
+                if (execution.getTenantId() != null) {
+                    task.setTenantId(execution.getTenantId());
+                }
+            }
+            asyncHistorySession.addTaskInstance(createHistoricTaskInstance(task, processEngineConfiguration.getClock().getCurrentTime()), true);
+        }
+    }
+
+    @Override
+    public void recordTaskEnd(TaskEntity task, ExecutionEntity execution, String deleteReason, Date endTime) {
+        AsyncHistorySession asyncHistorySession = getAsyncHistorySession();
+        if (asyncHistorySession == null) {
+            super.recordTaskEnd(task, execution, deleteReason, endTime);
+
+        } else if (getHistoryConfigurationSettings().isHistoryEnabledForUserTask(execution, task)) {
+            HistoricTaskInstanceEntity historicTaskInstance = createHistoricTaskInstance(task, endTime);
+            historicTaskInstance.markEnded(deleteReason, endTime);
+            asyncHistorySession.addTaskInstance(historicTaskInstance, false);
+        }
+    }
+
+    @Override
+    public void recordTaskInfoChange(TaskEntity taskEntity, String activityInstanceId, Date changeTime) {
+        AsyncHistorySession asyncHistorySession = getAsyncHistorySession();
+        if (asyncHistorySession == null) {
+            super.recordTaskInfoChange(taskEntity, activityInstanceId, changeTime);
+
+        } else if (getHistoryConfigurationSettings().isHistoryEnabledForUserTask(taskEntity)) {
+            // The assignee of the historic activity instance is updated through updateHistoricActivityInstance
+            asyncHistorySession.addTaskInstance(createHistoricTaskInstance(taskEntity, changeTime), false);
+        }
+    }
+
+    @Override
+    public void recordHistoricTaskDeleted(HistoricTaskInstance task) {
+        AsyncHistorySession asyncHistorySession = getAsyncHistorySession();
+        if (task != null) {
+            if (asyncHistorySession != null) {
+                asyncHistorySession.removeTaskInstance(task.getId());
+            }
+            applyPendingHistory(task.getProcessInstanceId() != null ? getHistorySequenceKey(task.getProcessInstanceId()) : task.getId());
+        }
+        super.recordHistoricTaskDeleted(task);
+    }
+
+    protected HistoricTaskInstanceEntity createHistoricTaskInstance(TaskEntity task, Date lastUpdateTime) {
+        HistoricTaskInstanceEntity historicTaskInstance = processEngineConfiguration.getTaskServiceConfiguration().getHistoricTaskService().createHistoricTask(task);
+        historicTaskInstance.setClaimTime(task.getClaimTime());
+        historicTaskInstance.setLastUpdateTime(lastUpdateTime);
+        return historicTaskInstance;
+    }
+
+    // Variables related history
+
+    @Override
+    public void recordVariableCreate(VariableInstanceEntity variable, Date createTime) {
+        AsyncHistorySession asyncHistorySession = getAsyncHistorySession();
+        if (asyncHistorySession == null) {
+            super.recordVariableCreate(variable, createTime);
+
+        } else if (getHistoryConfigurationSettings().isHistoryEnabledForVariableInstance(variable)) {
+            asyncHistorySession.addVariableInstance(variable, createTime, createTime);
+        }
+    }
+
+    @Override
+    public void recordVariableUpdate(VariableInstanceEntity variableInstanceEntity, Date updateTime) {
+        AsyncHistorySession asyncHistorySession = getAsyncHistorySession();
+        if (asyncHistorySession == null) {
+            super.recordVariableUpdate(variableInstanceEntity, updateTime);
+
+        } else if (getHistoryConfigurationSettings().isHistoryEnabledForVariableInstance(variableInstanceEntity)) {
+            asyncHistorySession.addVariableInstance(variableInstanceEntity, null, updateTime);
+        }
+    }
+
+    @Override
+    public void recordVariableRemoved(VariableInstanceEntity variableInstanceEntity) {
+        AsyncHistorySession asyncHistorySession = getAsyncHistorySession();
+        if (asyncHistorySession == null) {
+            super.recordVariableRemoved(variableInstanceEntity);
+
+        } else if (getHistoryConfigurationSettings().isHistoryEnabledForVariableInstance(variableInstanceEntity)) {
+            asyncHistorySession.removeVariableInstance(variableInstanceEntity);
+        }
+    }
+
+}
@@ -0,0 +1,261 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.history.async;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.common.engine.impl.interceptor.CommandContextCloseListener;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.persistence.entity.HistoricActivityInstanceEntity;
+import org.flowable.engine.impl.persistence.entity.HistoricProcessInstanceEntity;
+import org.flowable.job.service.HistoryJobService;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
+import org.flowable.task.service.impl.persistence.entity.HistoricTaskInstanceEntity;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Collects the history of one {@link CommandContext} for the {@link AsyncHistoryManager}.
+ *
+ * <p>
+ * The historic entities are kept in memory, one snapshot per entity: recording a change of an entity that already has a snapshot
+ * updates that snapshot. When the command context is closing, the snapshots are written to the payload of one history job
+ * per history sequence (see {@link AsyncHistoryManager#getHistorySequenceKey(String)}), which is inserted in the same transaction
+ * as the runtime data and applied later by the {@link AsyncHistoryJobHandler}.
+ */
+public class AsyncHistorySession implements CommandContextCloseListener {
+
+    protected ProcessEngineConfigurationImpl processEngineConfiguration;
+    protected AsyncHistoryManager asyncHistoryManager;
+
+    protected Map<String, HistoricProcessInstanceEntity> processInstances = new LinkedHashMap<>();
+    protected Map<String, HistoricActivityInstanceEntity> activityInstances = new LinkedHashMap<>();
+    protected Map<String, HistoricTaskInstanceEntity> taskInstances = new LinkedHashMap<>();
+    protected Map<String, VariableSnapshot> variableInstances = new LinkedHashMap<>();
+    // removed variable instance id -> history sequence key
+    protected Map<String, String> removedVariableInstances = new LinkedHashMap<>();
+
+    // ids of the entities that are created in this transaction: they can be inserted without looking for an existing historic entity
+    protected Set<String> createdIds = new HashSet<>();
+
+    // process instance id -> history sequence key
+    protected Map<String, String> sequenceKeys = new HashMap<>();
+
+    protected boolean closing;
+
+    public AsyncHistorySession(ProcessEngineConfigurationImpl processEngineConfiguration, AsyncHistoryManager asyncHistoryManager) {
+        this.processEngineConfiguration = processEngineConfiguration;
+        this.asyncHistoryManager = asyncHistoryManager;
+    }
+
+    public HistoricProcessInstanceEntity getProcessInstance(String processInstanceId) {
+        return processInstances.get(processInstanceId);
+    }
+
+    public void addProcessInstance(HistoricProcessInstanceEntity historicProcessInstance, boolean created) {
+        processInstances.put(historicProcessInstance.getId(), historicProcessInstance);
+        markCreated(historicProcessInstance.getId(), created);
+    }
+
+    public Collection<HistoricActivityInstanceEntity> getActivityInstances() {
+        return activityInstances.values();
+    }
+
+    public void addActivityInstance(HistoricActivityInstanceEntity historicActivityInstance, boolean created) {
+        activityInstances.put(historicActivityInstance.getId(), historicActivityInstance);
+        markCreated(historicActivityInstance.getId(), created);
+    }
+
+    public Collection<HistoricTaskInstanceEntity> getTaskInstances() {
+        return taskInstances.values();
+    }
+
+    public void addTaskInstance(HistoricTaskInstanceEntity historicTaskInstance, boolean created) {
+        HistoricTaskInstanceEntity previousHistoricTaskInstance = taskInstances.put(historicTaskInstance.getId(), historicTaskInstance);
+        if (previousHistoricTaskInstance != null && previousHistoricTaskInstance.getEndTime() != null && historicTaskInstance.getEndTime() == null) {
+            // A change after the end of the task (e.g. by a task listener) should not reopen the task in the history
+            historicTaskInstance.setEndTime(previousHistoricTaskInstance.getEndTime());
+            historicTaskInstance.setDurationInMillis(previousHistoricTaskInstance.getDurationInMillis());
+            historicTaskInstance.setDeleteReason(previousHistoricTaskInstance.getDeleteReason());
+        }
+        markCreated(historicTaskInstance.getId(), created);
+    }
+
+    public void removeTaskInstance(String taskId) {
+        taskInstances.remove(taskId);
+        createdIds.remove(taskId);
+    }
+
+    public void addVariableInstance(VariableInstanceEntity variableInstance, Date createTime, Date updateTime) {
+        VariableSnapshot variableSnapshot = variableInstances.get(variableInstance.getId());
+        if (variableSnapshot == null) {
+            variableSnapshot = new VariableSnapshot(variableInstance);
+            variableInstances.put(variableInstance.getId(), variableSnapshot);
+        }
+        if (createTime != null) {
+            variableSnapshot.createTime = createTime;
+        }
+        variableSnapshot.lastUpdatedTime = updateTime;
+        markCreated(variableInstance.getId(), createTime != null);
+    }
+
+    public void removeVariableInstance(VariableInstanceEntity variableInstance) {
+        String variableInstanceId = variableInstance.getId();
+        variableInstances.remove(variableInstanceId);
+        if (!createdIds.remove(variableInstanceId)) {
+            // A variable created in this transaction doesn't have any history yet
+            removedVariableInstances.put(variableInstanceId, getSequenceKey(variableInstance.getProcessInstanceId(), variableInstance.getTaskId(), variableInstanceId));
+        }
+    }
+
+    /**
+     * Discards the snapshots of the given process instances and of their activities, tasks and variables,
+     * as the history of these process instances is deleted.
+     */
+    public void removeProcessInstances(Collection<String> processInstanceIds) {
+        processInstances.keySet().removeAll(processInstanceIds);
+        activityInstances.values().removeIf(historicActivityInstance -> processInstanceIds.contains(historicActivityInstance.getProcessInstanceId()));
+        taskInstances.values().removeIf(historicTaskInstance -> processInstanceIds.contains(historicTaskInstance.getProcessInstanceId()));
+        variableInstances.values().removeIf(variableSnapshot -> processInstanceIds.contains(variableSnapshot.variableInstance.getProcessInstanceId()));
+    }
+
+    protected void markCreated(String id, boolean created) {
+        if (created) {
+            createdIds.add(id);
+        }
+    }
+
+    public boolean isEmpty() {
+        return processInstances.isEmpty() && activityInstances.isEmpty() && taskInstances.isEmpty()
+                && variableInstances.isEmpty() && removedVariableInstances.isEmpty();
+    }
+
+    /**
+     * @return true when the history job has been (or is being) created: history recorded from then on can't be added to it anymore.
+     */
+    public boolean isClosing() {
+        return closing;
+    }
+
+    @Override
+    public void closing(CommandContext commandContext) {
+        closing = true;
+        if (commandContext.getException() != null || isEmpty()) {
+            return;
+        }
+
+        JobServiceConfiguration jobServiceConfiguration = processEngineConfiguration.getJobServiceConfiguration();
+        HistoryJobService historyJobService = jobServiceConfiguration.getHistoryJobService();
+        for (Map.Entry<String, ObjectNode> payloadEntry : createHistoryJobPayloads().entrySet()) {
+            HistoryJobEntity historyJob = historyJobService.createHistoryJob();
+            historyJob.setJobHandlerType(AsyncHistoryJobHandler.JOB_TYPE);
+            historyJob.setJobHandlerConfiguration(payloadEntry.getKey());
+            historyJob.setRetries(jobServiceConfiguration.getAsyncHistoryExecutorNumberOfRetries());
+            historyJob.setCreateTime(processEngineConfiguration.getClock().getCurrentTime());
+            historyJob.setAdvancedJobHandlerConfiguration(payloadEntry.getValue().toString());
+            historyJobService.scheduleHistoryJob(historyJob);
+        }
+    }
+
+    /**
+     * @return the payload of the history job of every history sequence, keyed by the history sequence key
+     */
+    protected Map<String, ObjectNode> createHistoryJobPayloads() {
+        Map<String, ObjectNode> payloads = new LinkedHashMap<>();
+        for (HistoricProcessInstanceEntity historicProcessInstance : processInstances.values()) {
+            ObjectNode payload = getPayload(payloads, getSequenceKey(historicProcessInstance.getId(), null, historicProcessInstance.getId()));
+            HistoricEntityJsonConverter.addProcessInstance(payload, historicProcessInstance, createdIds.contains(historicProcessInstance.getId()));
+        }
+        for (HistoricActivityInstanceEntity historicActivityInstance : activityInstances.values()) {
+            ObjectNode payload = getPayload(payloads, getSequenceKey(historicActivityInstance.getProcessInstanceId(), null, historicActivityInstance.getId()));
+            HistoricEntityJsonConverter.addActivityInstance(payload, historicActivityInstance, createdIds.contains(historicActivityInstance.getId()));
+        }
+        for (HistoricTaskInstanceEntity historicTaskInstance : taskInstances.values()) {
+            ObjectNode payload = getPayload(payloads, getSequenceKey(historicTaskInstance.getProcessInstanceId(), historicTaskInstance.getId(), historicTaskInstance.getId()));
+            HistoricEntityJsonConverter.addTaskInstance(payload, historicTaskInstance, createdIds.contains(historicTaskInstance.getId()));
+        }
+        for (VariableSnapshot variableSnapshot : variableInstances.values()) {
+            VariableInstanceEntity variableInstance = variableSnapshot.variableInstance;
+            ObjectNode payload = getPayload(payloads, getSequenceKey(variableInstance.getProcessInstanceId(), variableInstance.getTaskId(), variableInstance.getId()));
+            HistoricEntityJsonConverter.addVariableInstance(payload, variableInstance, variableSnapshot.createTime,
+                    variableSnapshot.lastUpdatedTime, createdIds.contains(variableInstance.getId()));
+        }
+        for (Map.Entry<String, String> removedVariableInstance : removedVariableInstances.entrySet()) {
+            HistoricEntityJsonConverter.addRemovedVariableInstance(getPayload(payloads, removedVariableInstance.getValue()), removedVariableInstance.getKey());
+        }
+        return payloads;
+    }
+
+    protected ObjectNode getPayload(Map<String, ObjectNode> payloads, String sequenceKey) {
+        return payloads.computeIfAbsent(sequenceKey, key -> processEngineConfiguration.getObjectMapper().createObjectNode());
+    }
+
+    protected String getSequenceKey(String processInstanceId, String taskId, String id) {
+        if (processInstanceId != null) {
+            return sequenceKeys.computeIfAbsent(processInstanceId, asyncHistoryManager::getHistorySequenceKey);
+        }
+        // History that doesn't belong to a process instance (e.g. of a standalone task) is sequenced by the task
+        return taskId != null ? taskId : id;
+    }
+
+    @Override
+    public void afterSessionsFlush(CommandContext commandContext) {
+
+    }
+
+    @Override
+    public void closed(CommandContext commandContext) {
+
+    }
+
+    @Override
+    public void closeFailure(CommandContext commandContext) {
+
+    }
+
+    @Override
+    public Integer order() {
+        // After the close listeners that can still change runtime entities (e.g. the traceable variables)
+        return 200;
+    }
+
+    @Override
+    public boolean multipleAllowed() {
+        return true;
+    }
+
+    /**
+     * The historic variable is only created when the history job is applied: creating it in the runtime transaction would
+     * already insert the byte array of the variable value.
+     */
+    protected static class VariableSnapshot {
+
+        protected final VariableInstanceEntity variableInstance;
+        protected Date createTime;
+        protected Date lastUpdatedTime;
+
+        protected VariableSnapshot(VariableInstanceEntity variableInstance) {
+            this.variableInstance = variableInstance;
+        }
+    }
+
+}
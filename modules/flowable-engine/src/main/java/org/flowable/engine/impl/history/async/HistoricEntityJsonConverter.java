@@ -0,0 +1,266 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.history.async;
+
+import static org.flowable.job.service.impl.history.async.util.AsyncHistoryJsonUtil.getDateFromJson;
+import static org.flowable.job.service.impl.history.async.util.AsyncHistoryJsonUtil.getDoubleFromJson;
+import static org.flowable.job.service.impl.history.async.util.AsyncHistoryJsonUtil.getIntegerFromJson;
+import static org.flowable.job.service.impl.history.async.util.AsyncHistoryJsonUtil.getLongFromJson;
+import static org.flowable.job.service.impl.history.async.util.AsyncHistoryJsonUtil.getStringFromJson;
+import static org.flowable.job.service.impl.history.async.util.AsyncHistoryJsonUtil.putIfNotNull;
+import static org.flowable.job.service.impl.history.async.util.AsyncHistoryJsonUtil.putIfTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import org.flowable.engine.impl.persistence.entity.HistoricActivityInstanceEntity;
+import org.flowable.engine.impl.persistence.entity.HistoricProcessInstanceEntity;
+import org.flowable.engine.impl.persistence.entity.HistoricScopeInstanceEntity;
+import org.flowable.job.service.impl.history.async.util.AsyncHistoryJsonUtil;
+import org.flowable.task.service.impl.persistence.entity.HistoricTaskInstanceEntity;
+import org.flowable.variable.api.types.VariableTypes;
+import org.flowable.variable.service.impl.persistence.entity.HistoricVariableInstanceEntity;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Converts the historic entities recorded by the {@link AsyncHistoryManager} to the payload of an async history job and back.
+ *
+ * <p>
+ * Every historic entity is written as a complete snapshot: fields that are not in the snapshot are null.
+ */
+public class HistoricEntityJsonConverter {
+
+    public static final String PROCESS_INSTANCES = "processInstances";
+    public static final String ACTIVITY_INSTANCES = "activityInstances";
+    public static final String TASK_INSTANCES = "taskInstances";
+    public static final String VARIABLE_INSTANCES = "variableInstances";
+    public static final String REMOVED_VARIABLE_INSTANCES = "removedVariableInstances";
+
+    public static final String CREATED = "created";
+
+    public static void addProcessInstance(ObjectNode payload, HistoricProcessInstanceEntity historicProcessInstance, boolean created) {
+        ObjectNode data = payload.withArray(PROCESS_INSTANCES).addObject();
+        putIfTrue(data, CREATED, created);
+        writeScopeInstance(data, historicProcessInstance);
+        putIfNotNull(data, "businessKey", historicProcessInstance.getBusinessKey());
+        putIfNotNull(data, "businessStatus", historicProcessInstance.getBusinessStatus());
+        putIfNotNull(data, "name", historicProcessInstance.getName());
+        putIfNotNull(data, "startUserId", historicProcessInstance.getStartUserId());
+        putIfNotNull(data, "startActivityId", historicProcessInstance.getStartActivityId());
+        putIfNotNull(data, "endActivityId", historicProcessInstance.getEndActivityId());
+        putIfNotNull(data, "superProcessInstanceId", historicProcessInstance.getSuperProcessInstanceId());
+        putIfNotNull(data, "callbackId", historicProcessInstance.getCallbackId());
+        putIfNotNull(data, "callbackType", historicProcessInstance.getCallbackType());
+        putIfNotNull(data, "referenceId", historicProcessInstance.getReferenceId());
+        putIfNotNull(data, "referenceType", historicProcessInstance.getReferenceType());
+        putIfNotNull(data, "propagatedStageInstanceId", historicProcessInstance.getPropagatedStageInstanceId());
+        putIfNotNull(data, "tenantId", historicProcessInstance.getTenantId());
+    }
+
+    public static void readProcessInstance(ObjectNode data, HistoricProcessInstanceEntity historicProcessInstance) {
+        readScopeInstance(data, historicProcessInstance);
+        historicProcessInstance.setBusinessKey(getStringFromJson(data, "businessKey"));
+        historicProcessInstance.setBusinessStatus(getStringFromJson(data, "businessStatus"));
+        historicProcessInstance.setName(getStringFromJson(data, "name"));
+        historicProcessInstance.setStartUserId(getStringFromJson(data, "startUserId"));
+        historicProcessInstance.setStartActivityId(getStringFromJson(data, "startActivityId"));
+        historicProcessInstance.setEndActivityId(getStringFromJson(data, "endActivityId"));
+        historicProcessInstance.setSuperProcessInstanceId(getStringFromJson(data, "superProcessInstanceId"));
+        historicProcessInstance.setCallbackId(getStringFromJson(data, "callbackId"));
+        historicProcessInstance.setCallbackType(getStringFromJson(data, "callbackType"));
+        historicProcessInstance.setReferenceId(getStringFromJson(data, "referenceId"));
+        historicProcessInstance.setReferenceType(getStringFromJson(data, "referenceType"));
+        historicProcessInstance.setPropagatedStageInstanceId(getStringFromJson(data, "propagatedStageInstanceId"));
+        historicProcessInstance.setTenantId(getStringFromJson(data, "tenantId"));
+    }
+
+    public static void addActivityInstance(ObjectNode payload, HistoricActivityInstanceEntity historicActivityInstance, boolean created) {
+        ObjectNode data = payload.withArray(ACTIVITY_INSTANCES).addObject();
+        putIfTrue(data, CREATED, created);
+        writeScopeInstance(data, historicActivityInstance);
+        putIfNotNull(data, "executionId", historicActivityInstance.getExecutionId());
+        putIfNotNull(data, "activityId", historicActivityInstance.getActivityId());
+        putIfNotNull(data, "activityName", historicActivityInstance.getActivityName());
+        putIfNotNull(data, "activityType", historicActivityInstance.getActivityType());
+        putIfNotNull(data, "taskId", historicActivityInstance.getTaskId());
+        putIfNotNull(data, "calledProcessInstanceId", historicActivityInstance.getCalledProcessInstanceId());
+        putIfNotNull(data, "assignee", historicActivityInstance.getAssignee());
+        putIfNotNull(data, "transactionOrder", historicActivityInstance.getTransactionOrder());
+        putIfNotNull(data, "tenantId", historicActivityInstance.getTenantId());
+    }
+
+    public static void readActivityInstance(ObjectNode data, HistoricActivityInstanceEntity historicActivityInstance) {
+        readScopeInstance(data, historicActivityInstance);
+        historicActivityInstance.setExecutionId(getStringFromJson(data, "executionId"));
+        historicActivityInstance.setActivityId(getStringFromJson(data, "activityId"));
+        historicActivityInstance.setActivityName(getStringFromJson(data, "activityName"));
+        historicActivityInstance.setActivityType(getStringFromJson(data, "activityType"));
+        historicActivityInstance.setTaskId(getStringFromJson(data, "taskId"));
+        historicActivityInstance.setCalledProcessInstanceId(getStringFromJson(data, "calledProcessInstanceId"));
+        historicActivityInstance.setAssignee(getStringFromJson(data, "assignee"));
+        historicActivityInstance.setTransactionOrder(getIntegerFromJson(data, "transactionOrder"));
+        historicActivityInstance.setTenantId(getStringFromJson(data, "tenantId"));
+    }
+
+    protected static void writeScopeInstance(ObjectNode data, HistoricScopeInstanceEntity historicScopeInstance) {
+        putIfNotNull(data, "id", historicScopeInstance.getId());
+        putIfNotNull(data, "processInstanceId", historicScopeInstance.getProcessInstanceId());
+        putIfNotNull(data, "processDefinitionId", historicScopeInstance.getProcessDefinitionId());
+        putIfNotNull(data, "startTime", historicScopeInstance.getStartTime());
+        putIfNotNull(data, "endTime", historicScopeInstance.getEndTime());
+        putIfNotNull(data, "durationInMillis", historicScopeInstance.getDurationInMillis());
+        putIfNotNull(data, "deleteReason", historicScopeInstance.getDeleteReason());
+    }
+
+    protected static void readScopeInstance(ObjectNode data, HistoricScopeInstanceEntity historicScopeInstance) {
+        historicScopeInstance.setId(getStringFromJson(data, "id"));
+        historicScopeInstance.setProcessInstanceId(getStringFromJson(data, "processInstanceId"));
+        historicScopeInstance.setProcessDefinitionId(getStringFromJson(data, "processDefinitionId"));
+        historicScopeInstance.setStartTime(getDateFromJson(data, "startTime"));
+        historicScopeInstance.setEndTime(getDateFromJson(data, "endTime"));
+        historicScopeInstance.setDurationInMillis(getLongFromJson(data, "durationInMillis"));
+        historicScopeInstance.setDeleteReason(getStringFromJson(data, "deleteReason"));
+    }
+
+    public static void addTaskInstance(ObjectNode payload, HistoricTaskInstanceEntity historicTaskInstance, boolean created) {
+        ObjectNode data = payload.withArray(TASK_INSTANCES).addObject();
+        putIfTrue(data, CREATED, created);
+        putIfNotNull(data, "id", historicTaskInstance.getId());
+        putIfNotNull(data, "taskDefinitionId", historicTaskInstance.getTaskDefinitionId());
+        putIfNotNull(data, "taskDefinitionKey", historicTaskInstance.getTaskDefinitionKey());
+        putIfNotNull(data, "processDefinitionId", historicTaskInstance.getProcessDefinitionId());
+        putIfNotNull(data, "processInstanceId", historicTaskInstance.getProcessInstanceId());
+        putIfNotNull(data, "executionId", historicTaskInstance.getExecutionId());
+        putIfNotNull(data, "scopeId", historicTaskInstance.getScopeId());
+        putIfNotNull(data, "subScopeId", historicTaskInstance.getSubScopeId());
+        putIfNotNull(data, "scopeType", historicTaskInstance.getScopeType());
+        putIfNotNull(data, "scopeDefinitionId", historicTaskInstance.getScopeDefinitionId());
+        putIfNotNull(data, "propagatedStageInstanceId", historicTaskInstance.getPropagatedStageInstanceId());
+        putIfNotNull(data, "name", historicTaskInstance.getName());
+        putIfNotNull(data, "parentTaskId", historicTaskInstance.getParentTaskId());
+        putIfNotNull(data, "description", historicTaskInstance.getDescription());
+        putIfNotNull(data, "owner", historicTaskInstance.getOwner());
+        putIfNotNull(data, "assignee", historicTaskInstance.getAssignee());
+        putIfNotNull(data, "createTime", historicTaskInstance.getCreateTime());
+        putIfNotNull(data, "claimTime", historicTaskInstance.getClaimTime());
+        putIfNotNull(data, "endTime", historicTaskInstance.getEndTime());
+        putIfNotNull(data, "durationInMillis", historicTaskInstance.getDurationInMillis());
+        putIfNotNull(data, "deleteReason", historicTaskInstance.getDeleteReason());
+        putIfNotNull(data, "formKey", historicTaskInstance.getFormKey());
+        putIfNotNull(data, "priority", historicTaskInstance.getPriority());
+        putIfNotNull(data, "dueDate", historicTaskInstance.getDueDate());
+        putIfNotNull(data, "category", historicTaskInstance.getCategory());
+        putIfNotNull(data, "tenantId", historicTaskInstance.getTenantId());
+        putIfNotNull(data, "lastUpdateTime", historicTaskInstance.getLastUpdateTime());
+    }
+
+    public static void readTaskInstance(ObjectNode data, HistoricTaskInstanceEntity historicTaskInstance) {
+        historicTaskInstance.setId(getStringFromJson(data, "id"));
+        historicTaskInstance.setTaskDefinitionId(getStringFromJson(data, "taskDefinitionId"));
+        historicTaskInstance.setTaskDefinitionKey(getStringFromJson(data, "taskDefinitionKey"));
+        historicTaskInstance.setProcessDefinitionId(getStringFromJson(data, "processDefinitionId"));
+        historicTaskInstance.setProcessInstanceId(getStringFromJson(data, "processInstanceId"));
+        historicTaskInstance.setExecutionId(getStringFromJson(data, "executionId"));
+        historicTaskInstance.setScopeId(getStringFromJson(data, "scopeId"));
+        historicTaskInstance.setSubScopeId(getStringFromJson(data, "subScopeId"));
+        historicTaskInstance.setScopeType(getStringFromJson(data, "scopeType"));
+        historicTaskInstance.setScopeDefinitionId(getStringFromJson(data, "scopeDefinitionId"));
+        historicTaskInstance.setPropagatedStageInstanceId(getStringFromJson(data, "propagatedStageInstanceId"));
+        historicTaskInstance.setName(getStringFromJson(data, "name"));
+        historicTaskInstance.setParentTaskId(getStringFromJson(data, "parentTaskId"));
+        historicTaskInstance.setDescription(getStringFromJson(data, "description"));
+        historicTaskInstance.setOwner(getStringFromJson(data, "owner"));
+        historicTaskInstance.setAssignee(getStringFromJson(data, "assignee"));
+        historicTaskInstance.setCreateTime(getDateFromJson(data, "createTime"));
+        historicTaskInstance.setClaimTime(getDateFromJson(data, "claimTime"));
+        historicTaskInstance.setEndTime(getDateFromJson(data, "endTime"));
+        historicTaskInstance.setDurationInMillis(getLongFromJson(data, "durationInMillis"));
+        historicTaskInstance.setDeleteReason(getStringFromJson(data, "deleteReason"));
+        historicTaskInstance.setFormKey(getStringFromJson(data, "formKey"));
+        Integer priority = getIntegerFromJson(data, "priority");
+        historicTaskInstance.setPriority(priority != null ? priority : 0);
+        historicTaskInstance.setDueDate(getDateFromJson(data, "dueDate"));
+        historicTaskInstance.setCategory(getStringFromJson(data, "category"));
+        historicTaskInstance.setTenantId(getStringFromJson(data, "tenantId"));
+        historicTaskInstance.setLastUpdateTime(getDateFromJson(data, "lastUpdateTime"));
+    }
+
+    public static void addVariableInstance(ObjectNode payload, VariableInstanceEntity variableInstance, Date createTime, Date lastUpdatedTime, boolean created) {
+        ObjectNode data = payload.withArray(VARIABLE_INSTANCES).addObject();
+        putIfTrue(data, CREATED, created);
+        putIfNotNull(data, "id", variableInstance.getId());
+        putIfNotNull(data, "name", variableInstance.getName());
+        putIfNotNull(data, "type", variableInstance.getType() != null ? variableInstance.getType().getTypeName() : null);
+        putIfNotNull(data, "processInstanceId", variableInstance.getProcessInstanceId());
+        putIfNotNull(data, "executionId", variableInstance.getExecutionId());
+        putIfNotNull(data, "taskId", variableInstance.getTaskId());
+        putIfNotNull(data, "scopeId", variableInstance.getScopeId());
+        putIfNotNull(data, "subScopeId", variableInstance.getSubScopeId());
+        putIfNotNull(data, "scopeType", variableInstance.getScopeType());
+        putIfNotNull(data, "metaInfo", variableInstance.getMetaInfo());
+        putIfNotNull(data, "textValue", variableInstance.getTextValue());
+        putIfNotNull(data, "textValue2", variableInstance.getTextValue2());
+        putIfNotNull(data, "longValue", variableInstance.getLongValue());
+        putIfNotNull(data, "doubleValue", variableInstance.getDoubleValue());
+        if (variableInstance.getByteArrayRef() != null) {
+            putIfNotNull(data, "bytes", AsyncHistoryJsonUtil.convertToBase64(variableInstance));
+        }
+        putIfNotNull(data, "createTime", createTime);
+        putIfNotNull(data, "lastUpdatedTime", lastUpdatedTime);
+    }
+
+    /**
+     * Reads the variable snapshot in the given historic variable. The create time is only set when the snapshot has one,
+     * as it is only known when the variable is created in the transaction of the snapshot.
+     */
+    public static void readVariableInstance(ObjectNode data, HistoricVariableInstanceEntity historicVariableInstance, VariableTypes variableTypes) {
+        historicVariableInstance.setId(getStringFromJson(data, "id"));
+        historicVariableInstance.setName(getStringFromJson(data, "name"));
+        String typeName = getStringFromJson(data, "type");
+        historicVariableInstance.setVariableType(typeName != null ? variableTypes.getVariableType(typeName) : null);
+        historicVariableInstance.setProcessInstanceId(getStringFromJson(data, "processInstanceId"));
+        historicVariableInstance.setExecutionId(getStringFromJson(data, "executionId"));
+        historicVariableInstance.setTaskId(getStringFromJson(data, "taskId"));
+        historicVariableInstance.setScopeId(getStringFromJson(data, "scopeId"));
+        historicVariableInstance.setSubScopeId(getStringFromJson(data, "subScopeId"));
+        historicVariableInstance.setScopeType(getStringFromJson(data, "scopeType"));
+        historicVariableInstance.setMetaInfo(getStringFromJson(data, "metaInfo"));
+        historicVariableInstance.setTextValue(getStringFromJson(data, "textValue"));
+        historicVariableInstance.setTextValue2(getStringFromJson(data, "textValue2"));
+        historicVariableInstance.setLongValue(getLongFromJson(data, "longValue"));
+        historicVariableInstance.setDoubleValue(getDoubleFromJson(data, "doubleValue"));
+
+        String bytes = getStringFromJson(data, "bytes");
+        if (bytes != null) {
+            historicVariableInstance.setBytes(Base64.getDecoder().decode(bytes.getBytes(StandardCharsets.US_ASCII)));
+        }
+
+        Date createTime = getDateFromJson(data, "createTime");
+        if (createTime != null) {
+            historicVariableInstance.setCreateTime(createTime);
+        }
+        historicVariableInstance.setLastUpdatedTime(getDateFromJson(data, "lastUpdatedTime"));
+    }
+
+    public static void addRemovedVariableInstance(ObjectNode payload, String variableInstanceId) {
+        payload.withArray(REMOVED_VARIABLE_INSTANCES).add(variableInstanceId);
+    }
+
+    public static boolean isCreated(ObjectNode data) {
+        return data.path(CREATED).asBoolean(false);
+    }
+
+}
@@ -49,7 +49,11 @@ public class BpmnHistoryCleanupJobHandler implements JobHandler {
         int batchSize = processEngineConfiguration.getCleanInstancesBatchSize();
 
         HistoricProcessInstanceQuery query = processEngineConfiguration.getHistoryCleaningManager().createHistoricProcessInstanceCleaningQuery();
-        query.deleteSequentiallyUsingBatch(batchSize, DEFAULT_BATCH_NAME);
+        if (processEngineConfiguration.isCleanInstancesInParallel()) {
+            query.deleteInPartitionsUsingBatch(batchSize, DEFAULT_BATCH_NAME);
+        } else {
+            query.deleteSequentiallyUsingBatch(batchSize, DEFAULT_BATCH_NAME);
+        }
 
         BatchQuery batchCleaningQuery = processEngineConfiguration.getHistoryCleaningManager().createBatchCleaningQuery();
         if (batchCleaningQuery != null) {
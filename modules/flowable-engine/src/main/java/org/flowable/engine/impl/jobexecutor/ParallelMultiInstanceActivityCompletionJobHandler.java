@@ -20,6 +20,7 @@ import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 import org.flowable.engine.impl.util.CommandContextUtil;
 import org.flowable.job.service.JobHandler;
+import org.flowable.job.service.JobService;
 import org.flowable.job.service.impl.persistence.entity.JobEntity;
 import org.flowable.variable.api.delegate.VariableScope;
 
@@ -46,10 +47,28 @@ public class ParallelMultiInstanceActivityCompletionJobHandler  implements JobHa
             if (currentFlowElement instanceof Activity) {
                 Object behavior = ((Activity) currentFlowElement).getBehavior();
                 if (behavior instanceof ParallelMultiInstanceBehavior) {
+                    if (configuration != null && hasPendingCompletionJob(job, configuration, processEngineConfiguration)) {
+                        // Deferred completion: a pending job of the same multi instance root will run later than this one,
+                        // so it will see at least the same completed instances. Only that job needs to evaluate the completion.
+                        return;
+                    }
+
                     ParallelMultiInstanceBehavior parallelMultiInstanceBehavior = (ParallelMultiInstanceBehavior) behavior;
                     parallelMultiInstanceBehavior.leaveAsync(completingExecution);
                 }
             }
         }
     }
+
+    protected boolean hasPendingCompletionJob(JobEntity job, String multiInstanceRootExecutionId, ProcessEngineConfigurationImpl processEngineConfiguration) {
+        JobService jobService = processEngineConfiguration.getJobServiceConfiguration().getJobService();
+        // Only the completion jobs of the same multi instance root are fetched, through the process instance id index
+        for (JobEntity otherJob : jobService.findJobsByProcessInstanceIdAndHandlerTypeAndConfiguration(job.getProcessInstanceId(), TYPE, multiInstanceRootExecutionId)) {
+            // A locked job might already be running, which means it might not see the completions this job sees
+            if (!otherJob.getId().equals(job.getId()) && otherJob.getLockOwner() == null) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
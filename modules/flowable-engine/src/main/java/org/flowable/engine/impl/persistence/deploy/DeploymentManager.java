@@ -219,6 +219,11 @@ public class DeploymentManager {
 
         appResourceCache.remove(deploymentId);
         knowledgeBaseCache.remove(deploymentId);
+
+        // The compiled scripts are not tracked per deployment
+        if (processEngineConfiguration.getScriptingEngines() != null) {
+            processEngineConfiguration.getScriptingEngines().clearCompiledScriptCache();
+        }
     }
 
     // getters and setters
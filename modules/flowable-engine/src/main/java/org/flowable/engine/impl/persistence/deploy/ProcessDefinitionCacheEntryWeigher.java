@@ -0,0 +1,45 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.persistence.deploy;
+
+import java.util.function.ToIntFunction;
+
+import org.flowable.bpmn.model.BpmnModel;
+import org.flowable.bpmn.model.FlowElement;
+import org.flowable.bpmn.model.Process;
+import org.flowable.common.engine.impl.persistence.deploy.TinyLfuDeploymentCache;
+
+/**
+ * Weighs a {@link ProcessDefinitionCacheEntry} by the size of its parsed model: the number of flow elements
+ * (including the ones in sub processes) of all processes of the BPMN model.
+ *
+ * Can be used with a {@link TinyLfuDeploymentCache}, to limit the process definition cache by the size of the cached models
+ * instead of by the number of process definitions.
+ */
+public class ProcessDefinitionCacheEntryWeigher implements ToIntFunction<ProcessDefinitionCacheEntry> {
+
+    @Override
+    public int applyAsInt(ProcessDefinitionCacheEntry cacheEntry) {
+        BpmnModel bpmnModel = cacheEntry.getBpmnModel();
+        if (bpmnModel == null) {
+            return 1;
+        }
+
+        int weight = 0;
+        for (Process process : bpmnModel.getProcesses()) {
+            weight += process.findFlowElementsOfType(FlowElement.class, true).size();
+        }
+        return Math.max(1, weight);
+    }
+
+}
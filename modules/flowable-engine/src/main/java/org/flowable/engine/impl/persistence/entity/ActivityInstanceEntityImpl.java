@@ -63,6 +63,7 @@ public class ActivityInstanceEntityImpl extends AbstractBpmnEngineEntity impleme
         persistentState.put("calledProcessInstanceId", calledProcessInstanceId);
         persistentState.put("activityId", activityId);
         persistentState.put("activityName", activityName);
+        persistentState.put("processDefinitionId", processDefinitionId);
         return persistentState;
     }
 
@@ -19,6 +19,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import org.apache.commons.lang3.StringUtils;
 import org.flowable.bpmn.model.Activity;
@@ -32,6 +33,7 @@ import org.flowable.common.engine.impl.context.Context;
 import org.flowable.common.engine.impl.db.SuspensionState;
 import org.flowable.common.engine.impl.history.HistoryLevel;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.common.engine.impl.persistence.entity.ChangeTrackingEntity;
 import org.flowable.common.engine.impl.runtime.Clock;
 import org.flowable.common.engine.impl.variablelistener.VariableListenerSession;
 import org.flowable.common.engine.impl.variablelistener.VariableListenerSessionData;
@@ -63,10 +65,53 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
  * @author Joram Barrez
  */
 
-public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity implements ExecutionEntity, CountingExecutionEntity {
+public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity implements ExecutionEntity, CountingExecutionEntity, ChangeTrackingEntity {
 
     private static final long serialVersionUID = 1L;
 
+    // bits of the changed fields, one for every entry of the persistent state (see PERSISTENT_STATE_KEYS)
+    public static final long CHANGED_PROCESS_DEFINITION_ID = 1L << 0;
+    public static final long CHANGED_BUSINESS_KEY = 1L << 1;
+    public static final long CHANGED_BUSINESS_STATUS = 1L << 2;
+    public static final long CHANGED_ACTIVITY_ID = 1L << 3;
+    public static final long CHANGED_IS_ACTIVE = 1L << 4;
+    public static final long CHANGED_IS_CONCURRENT = 1L << 5;
+    public static final long CHANGED_IS_SCOPE = 1L << 6;
+    public static final long CHANGED_IS_EVENT_SCOPE = 1L << 7;
+    public static final long CHANGED_PARENT_ID = 1L << 8;
+    public static final long CHANGED_NAME = 1L << 9;
+    public static final long CHANGED_LOCK_TIME = 1L << 10;
+    public static final long CHANGED_LOCK_OWNER = 1L << 11;
+    public static final long CHANGED_SUPER_EXECUTION_ID = 1L << 12;
+    public static final long CHANGED_ROOT_PROCESS_INSTANCE_ID = 1L << 13;
+    public static final long CHANGED_IS_MULTI_INSTANCE_ROOT = 1L << 14;
+    public static final long CHANGED_FORCED_UPDATE = 1L << 15;
+    public static final long CHANGED_SUSPENSION_STATE = 1L << 16;
+    public static final long CHANGED_START_ACTIVITY_ID = 1L << 17;
+    public static final long CHANGED_START_TIME = 1L << 18;
+    public static final long CHANGED_START_USER_ID = 1L << 19;
+    public static final long CHANGED_IS_COUNT_ENABLED = 1L << 20;
+    public static final long CHANGED_EVENT_SUBSCRIPTION_COUNT = 1L << 21;
+    public static final long CHANGED_TASK_COUNT = 1L << 22;
+    public static final long CHANGED_JOB_COUNT = 1L << 23;
+    public static final long CHANGED_TIMER_JOB_COUNT = 1L << 24;
+    public static final long CHANGED_SUSPENDED_JOB_COUNT = 1L << 25;
+    public static final long CHANGED_DEAD_LETTER_JOB_COUNT = 1L << 26;
+    public static final long CHANGED_EXTERNAL_WORKER_JOB_COUNT = 1L << 27;
+    public static final long CHANGED_VARIABLE_COUNT = 1L << 28;
+    public static final long CHANGED_IDENTITY_LINK_COUNT = 1L << 29;
+    public static final long CHANGED_CALLBACK_ID = 1L << 30;
+    public static final long CHANGED_CALLBACK_TYPE = 1L << 31;
+    public static final long CHANGED_REFERENCE_ID = 1L << 32;
+    public static final long CHANGED_REFERENCE_TYPE = 1L << 33;
+    public static final long CHANGED_PROPAGATED_STAGE_INSTANCE_ID = 1L << 34;
+
+    protected static final String[] PERSISTENT_STATE_KEYS = { "processDefinitionId", "businessKey", "businessStatus", "activityId", "isActive",
+            "isConcurrent", "isScope", "isEventScope", "parentId", "name", "lockTime", "lockOwner", "superExecution", "rootProcessInstanceId",
+            "isMultiInstanceRoot", "forcedUpdate", "suspensionState", "startActivityId", "startTime", "startUserId", "isCountEnabled",
+            "eventSubscriptionCount", "taskCount", "jobCount", "timerJobCount", "suspendedJobCount", "deadLetterJobCount", "externalWorkerJobCount",
+            "variableCount", "identityLinkCount", "callbackId", "callbackType", "referenceId", "referenceType", "propagatedStageInstanceId" };
+
     // current position /////////////////////////////////////////////////////////
 
     protected FlowElement currentFlowElement;
@@ -240,6 +285,11 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
      */
     protected String propagatedStageInstanceId;
 
+    protected boolean changeTracked;
+    protected long changedFields;
+    protected Object[] originalValues; // only created when a field is changed, indexed by the bit of the field
+    protected Map<String, Object> trackedOriginalPersistentState; // built once at flush time, reset by every change
+
     public ExecutionEntityImpl() {
 
     }
@@ -303,6 +353,84 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
         return persistentState;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object getOriginalPersistentState() {
+        if (!changeTracked) {
+            return originalPersistentState;
+        }
+        if (trackedOriginalPersistentState != null) {
+            // The update statement calls this getter for every column it compares
+            return trackedOriginalPersistentState;
+        }
+
+        // No copy of the persistent state was made when loading the entity: it is rebuilt from the original values of the changed fields,
+        // as the update statement only sets the columns of which the original value differs from the current value.
+        Map<String, Object> persistentState = (Map<String, Object>) getPersistentState();
+        for (int i = 0; i < PERSISTENT_STATE_KEYS.length; i++) {
+            if ((changedFields & (1L << i)) != 0) {
+                persistentState.put(PERSISTENT_STATE_KEYS[i], originalValues[i]);
+            }
+        }
+        if (!Boolean.TRUE.equals(persistentState.get("forcedUpdate"))) {
+            persistentState.remove("forcedUpdate");
+        }
+        trackedOriginalPersistentState = persistentState;
+        return persistentState;
+    }
+
+    @Override
+    public void startChangeTracking() {
+        changeTracked = true;
+        changedFields = 0L;
+        originalValues = null;
+        trackedOriginalPersistentState = null;
+    }
+
+    @Override
+    public boolean isChangeTracked() {
+        return changeTracked;
+    }
+
+    @Override
+    public long getChangedFields() {
+        return changedFields;
+    }
+
+    protected void markChanged(long field, Object oldValue, Object newValue) {
+        if (changeTracked && !Objects.equals(oldValue, newValue)) {
+            recordChange(field, oldValue, newValue);
+        }
+    }
+
+    protected void markChanged(long field, boolean oldValue, boolean newValue) {
+        if (changeTracked && oldValue != newValue) {
+            recordChange(field, oldValue, newValue);
+        }
+    }
+
+    protected void markChanged(long field, int oldValue, int newValue) {
+        if (changeTracked && oldValue != newValue) {
+            recordChange(field, oldValue, newValue);
+        }
+    }
+
+    protected void recordChange(long field, Object oldValue, Object newValue) {
+        trackedOriginalPersistentState = null;
+        int index = Long.numberOfTrailingZeros(field);
+        if ((changedFields & field) == 0) {
+            if (originalValues == null) {
+                originalValues = new Object[PERSISTENT_STATE_KEYS.length];
+            }
+            originalValues[index] = oldValue;
+            changedFields |= field;
+
+        } else if (Objects.equals(originalValues[index], newValue)) {
+            // Changed back to the original value: same as not changed at all
+            changedFields &= ~field;
+        }
+    }
+
     @Override
     public ReadOnlyDelegateExecution snapshotReadOnly() {
         return new ReadOnlyDelegateExecutionImpl(this);
@@ -326,9 +454,11 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
     public void setCurrentFlowElement(FlowElement currentFlowElement) {
         this.currentFlowElement = currentFlowElement;
         if (currentFlowElement != null) {
+            markChanged(CHANGED_ACTIVITY_ID, this.activityId, currentFlowElement.getId());
             this.activityId = currentFlowElement.getId();
             this.activityName = currentFlowElement.getName();
         } else {
+            markChanged(CHANGED_ACTIVITY_ID, this.activityId, null);
             this.activityId = null;
             this.activityName = null;
         }
@@ -386,6 +516,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setBusinessKey(String businessKey) {
+        markChanged(CHANGED_BUSINESS_KEY, this.businessKey, businessKey);
         this.businessKey = businessKey;
     }
 
@@ -396,6 +527,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setBusinessStatus(String businessStatus) {
+        markChanged(CHANGED_BUSINESS_STATUS, this.businessStatus, businessStatus);
         this.businessStatus = businessStatus;
     }
 
@@ -413,6 +545,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setProcessDefinitionId(String processDefinitionId) {
+        markChanged(CHANGED_PROCESS_DEFINITION_ID, this.processDefinitionId, processDefinitionId);
         this.processDefinitionId = processDefinitionId;
     }
 
@@ -524,8 +657,10 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
         this.parent = (ExecutionEntityImpl) parent;
 
         if (parent != null) {
+            markChanged(CHANGED_PARENT_ID, this.parentId, parent.getId());
             this.parentId = parent.getId();
         } else {
+            markChanged(CHANGED_PARENT_ID, this.parentId, null);
             this.parentId = null;
         }
     }
@@ -538,6 +673,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
     }
     
     public void setSuperExecutionId(String superExecutionId) {
+        markChanged(CHANGED_SUPER_EXECUTION_ID, this.superExecutionId, superExecutionId);
         this.superExecutionId = superExecutionId;
     }
 
@@ -555,8 +691,10 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
         }
 
         if (superExecution != null) {
+            markChanged(CHANGED_SUPER_EXECUTION_ID, this.superExecutionId, ((ExecutionEntityImpl) superExecution).getId());
             this.superExecutionId = ((ExecutionEntityImpl) superExecution).getId();
         } else {
+            markChanged(CHANGED_SUPER_EXECUTION_ID, this.superExecutionId, null);
             this.superExecutionId = null;
         }
     }
@@ -601,8 +739,10 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
         this.rootProcessInstance = (ExecutionEntityImpl) rootProcessInstance;
 
         if (rootProcessInstance != null) {
+            markChanged(CHANGED_ROOT_PROCESS_INSTANCE_ID, this.rootProcessInstanceId, rootProcessInstance.getId());
             this.rootProcessInstanceId = rootProcessInstance.getId();
         } else {
+            markChanged(CHANGED_ROOT_PROCESS_INSTANCE_ID, this.rootProcessInstanceId, null);
             this.rootProcessInstanceId = null;
         }
     }
@@ -614,6 +754,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setRootProcessInstanceId(String rootProcessInstanceId) {
+        markChanged(CHANGED_ROOT_PROCESS_INSTANCE_ID, this.rootProcessInstanceId, rootProcessInstanceId);
         this.rootProcessInstanceId = rootProcessInstanceId;
     }
 
@@ -630,15 +771,18 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setScope(boolean isScope) {
+        markChanged(CHANGED_IS_SCOPE, this.isScope, isScope);
         this.isScope = isScope;
     }
 
     public void setIsScope(boolean isScope) {
+        markChanged(CHANGED_IS_SCOPE, this.isScope, isScope);
         this.isScope = isScope;
     }
 
     @Override
     public void forceUpdate() {
+        markChanged(CHANGED_FORCED_UPDATE, this.forcedUpdate, true);
         this.forcedUpdate = true;
     }
 
@@ -990,6 +1134,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setParentId(String parentId) {
+        markChanged(CHANGED_PARENT_ID, this.parentId, parentId);
         this.parentId = parentId;
     }
 
@@ -999,6 +1144,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
     }
     
     public void setActivityId(String activityId) {
+        markChanged(CHANGED_ACTIVITY_ID, this.activityId, activityId);
         this.activityId = activityId;
     }
 
@@ -1013,10 +1159,12 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setConcurrent(boolean isConcurrent) {
+        markChanged(CHANGED_IS_CONCURRENT, this.isConcurrent, isConcurrent);
         this.isConcurrent = isConcurrent;
     }
 
     public void setIsConcurrent(boolean isConcurrent) {
+        markChanged(CHANGED_IS_CONCURRENT, this.isConcurrent, isConcurrent);
         this.isConcurrent = isConcurrent;
     }
 
@@ -1031,15 +1179,18 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setActive(boolean isActive) {
+        markChanged(CHANGED_IS_ACTIVE, this.isActive, isActive);
         this.isActive = isActive;
     }
 
     public void setIsActive(boolean isActive) {
+        markChanged(CHANGED_IS_ACTIVE, this.isActive, isActive);
         this.isActive = isActive;
     }
 
     @Override
     public void inactivate() {
+        markChanged(CHANGED_IS_ACTIVE, this.isActive, false);
         this.isActive = false;
     }
 
@@ -1088,6 +1239,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setSuspensionState(int suspensionState) {
+        markChanged(CHANGED_SUSPENSION_STATE, this.suspensionState, suspensionState);
         this.suspensionState = suspensionState;
     }
 
@@ -1107,10 +1259,12 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setEventScope(boolean isEventScope) {
+        markChanged(CHANGED_IS_EVENT_SCOPE, this.isEventScope, isEventScope);
         this.isEventScope = isEventScope;
     }
 
     public void setIsEventScope(boolean isEventScope) {
+        markChanged(CHANGED_IS_EVENT_SCOPE, this.isEventScope, isEventScope);
         this.isEventScope = isEventScope;
     }
 
@@ -1125,10 +1279,12 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setMultiInstanceRoot(boolean isMultiInstanceRoot) {
+        markChanged(CHANGED_IS_MULTI_INSTANCE_ROOT, this.isMultiInstanceRoot, isMultiInstanceRoot);
         this.isMultiInstanceRoot = isMultiInstanceRoot;
     }
 
     public void setIsMultiInstanceRoot(boolean isMultiInstanceRoot) {
+        markChanged(CHANGED_IS_MULTI_INSTANCE_ROOT, this.isMultiInstanceRoot, isMultiInstanceRoot);
         this.isMultiInstanceRoot = isMultiInstanceRoot;
     }
 
@@ -1143,10 +1299,12 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setCountEnabled(boolean isCountEnabled) {
+        markChanged(CHANGED_IS_COUNT_ENABLED, this.isCountEnabled, isCountEnabled);
         this.isCountEnabled = isCountEnabled;
     }
 
     public void setIsCountEnabled(boolean isCountEnabled) {
+        markChanged(CHANGED_IS_COUNT_ENABLED, this.isCountEnabled, isCountEnabled);
         this.isCountEnabled = isCountEnabled;
     }
 
@@ -1166,6 +1324,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setName(String name) {
+        markChanged(CHANGED_NAME, this.name, name);
         this.name = name;
     }
 
@@ -1220,6 +1379,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setLockTime(Date lockTime) {
+        markChanged(CHANGED_LOCK_TIME, this.lockTime, lockTime);
         this.lockTime = lockTime;
     }
 
@@ -1230,6 +1390,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setLockOwner(String lockOwner) {
+        markChanged(CHANGED_LOCK_OWNER, this.lockOwner, lockOwner);
         this.lockOwner = lockOwner;
     }
 
@@ -1283,6 +1444,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setStartActivityId(String startActivityId) {
+        markChanged(CHANGED_START_ACTIVITY_ID, this.startActivityId, startActivityId);
         this.startActivityId = startActivityId;
     }
 
@@ -1293,6 +1455,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setStartUserId(String startUserId) {
+        markChanged(CHANGED_START_USER_ID, this.startUserId, startUserId);
         this.startUserId = startUserId;
     }
 
@@ -1303,6 +1466,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setStartTime(Date startTime) {
+        markChanged(CHANGED_START_TIME, this.startTime, startTime);
         this.startTime = startTime;
     }
 
@@ -1313,6 +1477,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setEventSubscriptionCount(int eventSubscriptionCount) {
+        markChanged(CHANGED_EVENT_SUBSCRIPTION_COUNT, this.eventSubscriptionCount, eventSubscriptionCount);
         this.eventSubscriptionCount = eventSubscriptionCount;
     }
 
@@ -1323,6 +1488,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setTaskCount(int taskCount) {
+        markChanged(CHANGED_TASK_COUNT, this.taskCount, taskCount);
         this.taskCount = taskCount;
     }
 
@@ -1333,6 +1499,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setJobCount(int jobCount) {
+        markChanged(CHANGED_JOB_COUNT, this.jobCount, jobCount);
         this.jobCount = jobCount;
     }
 
@@ -1343,6 +1510,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setTimerJobCount(int timerJobCount) {
+        markChanged(CHANGED_TIMER_JOB_COUNT, this.timerJobCount, timerJobCount);
         this.timerJobCount = timerJobCount;
     }
 
@@ -1353,6 +1521,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setSuspendedJobCount(int suspendedJobCount) {
+        markChanged(CHANGED_SUSPENDED_JOB_COUNT, this.suspendedJobCount, suspendedJobCount);
         this.suspendedJobCount = suspendedJobCount;
     }
 
@@ -1363,6 +1532,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setDeadLetterJobCount(int deadLetterJobCount) {
+        markChanged(CHANGED_DEAD_LETTER_JOB_COUNT, this.deadLetterJobCount, deadLetterJobCount);
         this.deadLetterJobCount = deadLetterJobCount;
     }
 
@@ -1373,6 +1543,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setExternalWorkerJobCount(int externalWorkerJobCount) {
+        markChanged(CHANGED_EXTERNAL_WORKER_JOB_COUNT, this.externalWorkerJobCount, externalWorkerJobCount);
         this.externalWorkerJobCount = externalWorkerJobCount;
     }
 
@@ -1383,6 +1554,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setVariableCount(int variableCount) {
+        markChanged(CHANGED_VARIABLE_COUNT, this.variableCount, variableCount);
         this.variableCount = variableCount;
     }
 
@@ -1393,6 +1565,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setIdentityLinkCount(int identityLinkCount) {
+        markChanged(CHANGED_IDENTITY_LINK_COUNT, this.identityLinkCount, identityLinkCount);
         this.identityLinkCount = identityLinkCount;
     }
     
@@ -1403,6 +1576,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setCallbackId(String callbackId) {
+        markChanged(CHANGED_CALLBACK_ID, this.callbackId, callbackId);
         this.callbackId = callbackId;
     }
 
@@ -1413,6 +1587,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setCallbackType(String callbackType) {
+        markChanged(CHANGED_CALLBACK_TYPE, this.callbackType, callbackType);
         this.callbackType = callbackType;
     }
 
@@ -1423,6 +1598,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setReferenceId(String referenceId) {
+        markChanged(CHANGED_REFERENCE_ID, this.referenceId, referenceId);
         this.referenceId = referenceId;
     }
 
@@ -1433,11 +1609,13 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setReferenceType(String referenceType) {
+        markChanged(CHANGED_REFERENCE_TYPE, this.referenceType, referenceType);
         this.referenceType = referenceType;
     }
 
     @Override
     public void setPropagatedStageInstanceId(String propagatedStageInstanceId) {
+        markChanged(CHANGED_PROPAGATED_STAGE_INSTANCE_ID, this.propagatedStageInstanceId, propagatedStageInstanceId);
         this.propagatedStageInstanceId = propagatedStageInstanceId;
     }
 
@@ -15,6 +15,8 @@ package org.flowable.engine.test.api.history;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.tuple;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -137,6 +139,29 @@ public class HistoricProcessInstanceQueryTest extends PluggableFlowableTestCase
         }
     }
 
+    @Test
+    public void testQueryStream() {
+        deployOneTaskTestProcess();
+        List<String> processInstanceIds = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            processInstanceIds.add(runtimeService.startProcessInstanceByKey("oneTaskProcess").getId());
+        }
+        Collections.sort(processInstanceIds);
+
+        if (HistoryTestHelper.isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, processEngineConfiguration)) {
+            assertThat(historyService.createHistoricProcessInstanceQuery().stream(3).map(HistoricProcessInstance::getId))
+                    .containsExactlyElementsOf(processInstanceIds);
+
+            assertThat(historyService.createHistoricProcessInstanceQuery().includeProcessVariables().stream(2).map(HistoricProcessInstance::getId))
+                    .containsExactlyElementsOf(processInstanceIds);
+
+            List<HistoricProcessInstance> page = historyService.createHistoricProcessInstanceQuery().listAfter(processInstanceIds.get(4), 10);
+            assertThat(page)
+                    .extracting(HistoricProcessInstance::getId)
+                    .containsExactlyElementsOf(processInstanceIds.subList(5, 7));
+        }
+    }
+
     @Test
     public void testQueryByCallbackType() {
         deployOneTaskTestProcess();
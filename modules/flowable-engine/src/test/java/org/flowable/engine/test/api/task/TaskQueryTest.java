@@ -27,6 +27,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.FlowableIllegalArgumentException;
@@ -108,6 +109,65 @@ public class TaskQueryTest extends PluggableFlowableTestCase {
                 .isExactlyInstanceOf(FlowableException.class);
     }
 
+    @Test
+    public void testQueryListAfter() {
+        List<String> sortedTaskIds = taskService.createTaskQuery().orderByTaskId().asc().list().stream()
+                .map(Task::getId)
+                .collect(Collectors.toList());
+
+        TaskQuery query = taskService.createTaskQuery();
+        List<Task> firstPage = query.listAfter(null, 5);
+        assertThat(firstPage)
+                .extracting(Task::getId)
+                .containsExactlyElementsOf(sortedTaskIds.subList(0, 5));
+
+        List<Task> secondPage = query.listAfter(firstPage.get(4).getId(), 5);
+        assertThat(secondPage)
+                .extracting(Task::getId)
+                .containsExactlyElementsOf(sortedTaskIds.subList(5, 10));
+
+        List<Task> lastPage = query.listAfter(secondPage.get(4).getId(), 5);
+        assertThat(lastPage)
+                .extracting(Task::getId)
+                .containsExactlyElementsOf(sortedTaskIds.subList(10, 12));
+
+        assertThat(query.listAfter(lastPage.get(1).getId(), 5)).isEmpty();
+
+        // The id to start after is not kept on the query
+        assertThat(query.count()).isEqualTo(12);
+
+        assertThat(taskService.createTaskQuery().taskCandidateUser("kermit").orderByTaskId().asc().listAfter(null, 100))
+                .extracting(Task::getId)
+                .containsExactlyElementsOf(taskService.createTaskQuery().taskCandidateUser("kermit").orderByTaskId().asc().list().stream()
+                        .map(Task::getId)
+                        .collect(Collectors.toList()));
+
+        assertThatThrownBy(() -> taskService.createTaskQuery().orderByTaskName().asc().listAfter(null, 5))
+                .isInstanceOf(FlowableIllegalArgumentException.class);
+        assertThatThrownBy(() -> taskService.createTaskQuery().listAfter(null, 0))
+                .isInstanceOf(FlowableIllegalArgumentException.class);
+    }
+
+    @Test
+    public void testQueryStream() {
+        List<String> sortedTaskIds = taskService.createTaskQuery().orderByTaskId().asc().list().stream()
+                .map(Task::getId)
+                .collect(Collectors.toList());
+
+        assertThat(taskService.createTaskQuery().stream(5).map(Task::getId))
+                .containsExactlyElementsOf(sortedTaskIds);
+        assertThat(taskService.createTaskQuery().stream(12).map(Task::getId))
+                .containsExactlyElementsOf(sortedTaskIds);
+        assertThat(taskService.createTaskQuery().stream(100).map(Task::getId))
+                .containsExactlyElementsOf(sortedTaskIds);
+        assertThat(taskService.createTaskQuery().taskName("invalid").stream(5)).isEmpty();
+
+        if (HistoryTestHelper.isHistoryLevelAtLeast(HistoryLevel.AUDIT, processEngineConfiguration)) {
+            assertThat(historyService.createHistoricTaskInstanceQuery().stream(5).map(HistoricTaskInstance::getId))
+                    .containsExactlyElementsOf(sortedTaskIds);
+        }
+    }
+
     @Test
     public void testQueryByTaskId() {
         TaskQuery query = taskService.createTaskQuery().taskId(taskIds.get(0));
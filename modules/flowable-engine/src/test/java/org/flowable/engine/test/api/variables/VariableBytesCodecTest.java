@@ -0,0 +1,214 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.api.variables;
+
+import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ObjectInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.flowable.common.engine.impl.history.HistoryLevel;
+import org.flowable.engine.impl.test.HistoryTestHelper;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+import org.flowable.variable.api.history.HistoricVariableInstance;
+import org.flowable.variable.service.impl.persistence.entity.HistoricVariableInstanceEntity;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
+import org.flowable.variable.service.impl.types.GzipVariableBytesCodec;
+import org.flowable.variable.service.impl.types.JsonType;
+import org.flowable.variable.service.impl.types.LongStringType;
+import org.flowable.variable.service.impl.types.SerializableType;
+import org.flowable.variable.service.impl.types.VariableBytesCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+public class VariableBytesCodecTest extends PluggableFlowableTestCase {
+
+    protected VariableBytesCodec originalJsonBytesCodec;
+    protected VariableBytesCodec originalLongStringBytesCodec;
+    protected VariableBytesCodec originalSerializableBytesCodec;
+
+    @BeforeEach
+    protected void storeBytesCodecs() {
+        originalJsonBytesCodec = getJsonType().getBytesCodec();
+        originalLongStringBytesCodec = getLongStringType().getBytesCodec();
+        originalSerializableBytesCodec = getSerializableType().getBytesCodec();
+    }
+
+    @AfterEach
+    protected void resetBytesCodecs() {
+        getJsonType().setBytesCodec(originalJsonBytesCodec);
+        getLongStringType().setBytesCodec(originalLongStringBytesCodec);
+        getSerializableType().setBytesCodec(originalSerializableBytesCodec);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testLargeVariablesAreCompressed() {
+        setBytesCodec(new GzipVariableBytesCodec());
+
+        ArrayNode customers = createLargeJsonArray();
+        String longString = StringUtils.repeat("Kermit the frog ", 1000);
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            names.add("Kermit " + i);
+        }
+
+        ProcessInstance processInstance = runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("oneTaskProcess")
+                .variable("customers", customers)
+                .variable("longString", longString)
+                .variable("names", names)
+                .start();
+
+        assertCompressed(getStoredBytes(processInstance.getId(), "customers"));
+        assertCompressed(getStoredBytes(processInstance.getId(), "longString"));
+        assertCompressed(getStoredBytes(processInstance.getId(), "names"));
+
+        assertThatJson(runtimeService.getVariable(processInstance.getId(), "customers")).isEqualTo(customers);
+        assertThat(runtimeService.getVariable(processInstance.getId(), "longString")).isEqualTo(longString);
+        assertThat(runtimeService.getVariable(processInstance.getId(), "names")).isEqualTo(names);
+
+        if (HistoryTestHelper.isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, processEngineConfiguration)) {
+            HistoricVariableInstance historicVariableInstance = historyService.createHistoricVariableInstanceQuery()
+                    .processInstanceId(processInstance.getId())
+                    .variableName("customers")
+                    .singleResult();
+            assertCompressed(managementService.executeCommand(commandContext -> ((HistoricVariableInstanceEntity) historicVariableInstance).getBytes()));
+            assertThatJson(historicVariableInstance.getValue()).isEqualTo(customers);
+        }
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testUncompressedVariablesAreStillReadable() {
+        ArrayNode customers = createLargeJsonArray();
+        String longString = StringUtils.repeat("Kermit the frog ", 1000);
+
+        ProcessInstance processInstance = runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("oneTaskProcess")
+                .variable("customers", customers)
+                .variable("longString", longString)
+                .start();
+
+        assertThat(new String(getStoredBytes(processInstance.getId(), "customers"), StandardCharsets.UTF_8)).isEqualTo(customers.toString());
+
+        setBytesCodec(new GzipVariableBytesCodec());
+
+        assertThatJson(runtimeService.getVariable(processInstance.getId(), "customers")).isEqualTo(customers);
+        assertThat(runtimeService.getVariable(processInstance.getId(), "longString")).isEqualTo(longString);
+
+        // Updating the value stores it with the codec
+        customers.addObject().put("name", "Gonzo");
+        runtimeService.setVariable(processInstance.getId(), "customers", customers);
+
+        assertCompressed(getStoredBytes(processInstance.getId(), "customers"));
+        assertThatJson(runtimeService.getVariable(processInstance.getId(), "customers")).isEqualTo(customers);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testCompressedVariablesAreReadableWithoutCodec() {
+        setBytesCodec(new GzipVariableBytesCodec());
+
+        ArrayNode customers = createLargeJsonArray();
+        String longString = StringUtils.repeat("Kermit the frog ", 1000);
+
+        ProcessInstance processInstance = runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("oneTaskProcess")
+                .variable("customers", customers)
+                .variable("longString", longString)
+                .start();
+
+        assertCompressed(getStoredBytes(processInstance.getId(), "customers"));
+        assertCompressed(getStoredBytes(processInstance.getId(), "longString"));
+
+        setBytesCodec(null);
+
+        assertThatJson(runtimeService.getVariable(processInstance.getId(), "customers")).isEqualTo(customers);
+        assertThat(runtimeService.getVariable(processInstance.getId(), "longString")).isEqualTo(longString);
+
+        // Updating the value stores it without compression again
+        customers.addObject().put("name", "Gonzo");
+        runtimeService.setVariable(processInstance.getId(), "customers", customers);
+
+        assertThat(new String(getStoredBytes(processInstance.getId(), "customers"), StandardCharsets.UTF_8)).isEqualTo(customers.toString());
+    }
+
+    @Test
+    public void testSmallValuesAreNotCompressed() {
+        GzipVariableBytesCodec bytesCodec = new GzipVariableBytesCodec();
+        byte[] bytes = "{\"name\":\"Kermit\"}".getBytes(StandardCharsets.UTF_8);
+        assertThat(bytesCodec.encode(bytes)).isSameAs(bytes);
+        assertThat(bytesCodec.decode(bytes)).isSameAs(bytes);
+    }
+
+    @Test
+    public void testLargeSerializedValuesAreCompressed() throws Exception {
+        GzipVariableBytesCodec bytesCodec = new GzipVariableBytesCodec();
+        byte[] serializedBytes = getSerializableType().serialize(StringUtils.repeat("Kermit", 1000), null);
+        byte[] encodedBytes = bytesCodec.encode(serializedBytes);
+        assertCompressed(encodedBytes);
+        try (ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(bytesCodec.decode(encodedBytes)))) {
+            assertThat(objectInputStream.readObject()).isEqualTo(StringUtils.repeat("Kermit", 1000));
+        }
+    }
+
+    protected void assertCompressed(byte[] bytes) {
+        assertThat(bytes[0]).isEqualTo((byte) 0x1f);
+        assertThat(bytes[1]).isEqualTo((byte) 0x8b);
+    }
+
+    protected byte[] getStoredBytes(String processInstanceId, String variableName) {
+        VariableInstanceEntity variableInstance = (VariableInstanceEntity) runtimeService.getVariableInstance(processInstanceId, variableName);
+        return managementService.executeCommand(commandContext -> variableInstance.getBytes());
+    }
+
+    protected ArrayNode createLargeJsonArray() {
+        ArrayNode customers = processEngineConfiguration.getObjectMapper().createArrayNode();
+        for (int i = 0; i < 500; i++) {
+            customers.addObject()
+                    .put("name", "Kermit " + i)
+                    .put("street", "Sesame Street");
+        }
+        return customers;
+    }
+
+    protected void setBytesCodec(VariableBytesCodec bytesCodec) {
+        getJsonType().setBytesCodec(bytesCodec);
+        getLongStringType().setBytesCodec(bytesCodec);
+        getSerializableType().setBytesCodec(bytesCodec);
+    }
+
+    protected JsonType getJsonType() {
+        return (JsonType) processEngineConfiguration.getVariableTypes().getVariableType(JsonType.TYPE_NAME);
+    }
+
+    protected LongStringType getLongStringType() {
+        return (LongStringType) processEngineConfiguration.getVariableTypes().getVariableType(LongStringType.TYPE_NAME);
+    }
+
+    protected SerializableType getSerializableType() {
+        return (SerializableType) processEngineConfiguration.getVariableTypes().getVariableType(SerializableType.TYPE_NAME);
+    }
+
+}
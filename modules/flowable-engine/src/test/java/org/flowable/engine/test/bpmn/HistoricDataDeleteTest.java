@@ -48,7 +48,10 @@ import org.flowable.common.engine.impl.history.HistoryLevel;
 import org.flowable.common.engine.impl.identity.Authentication;
 import org.flowable.common.engine.impl.runtime.Clock;
 import org.flowable.engine.history.HistoricActivityInstanceQuery;
+import org.flowable.engine.history.HistoricProcessInstance;
 import org.flowable.engine.history.HistoricProcessInstanceQuery;
+import org.flowable.engine.impl.delete.ComputeDeleteHistoricProcessInstanceIdsJobHandler;
+import org.flowable.engine.impl.delete.DeleteHistoricProcessInstanceIdsStatusJobHandler;
 import org.flowable.engine.impl.delete.DeleteHistoricProcessInstancesSequentialJobHandler;
 import org.flowable.engine.impl.delete.DeleteProcessInstanceBatchConstants;
 import org.flowable.engine.impl.jobexecutor.BpmnHistoryCleanupJobHandler;
@@ -1070,6 +1073,184 @@ public class HistoricDataDeleteTest extends PluggableFlowableTestCase {
         }
     }
 
+    @Test
+    @Deployment(resources="org/flowable/engine/test/bpmn/oneTask.bpmn20.xml")
+    public void testHistoryCleanupTimerJobInParallel() {
+        int originalBatchSize = processEngineConfiguration.getCleanInstancesBatchSize();
+        try {
+            processEngineConfiguration.setEnableHistoryCleaning(true);
+            processEngineConfiguration.setCleanInstancesInParallel(true);
+            processEngineConfiguration.setCleanInstancesBatchSize(3);
+            Clock clock = processEngineConfiguration.getClock();
+            Calendar cal = clock.getCurrentCalendar();
+            cal.add(Calendar.DAY_OF_YEAR, -400);
+            clock.setCurrentCalendar(cal);
+
+            List<String> processInstanceIds = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("startToEnd");
+                processInstanceIds.add(processInstance.getId());
+                runtimeService.setVariable(processInstance.getId(), "testVar", "testValue" + (i + 1));
+            }
+
+            if (HistoryTestHelper.isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, processEngineConfiguration)) {
+
+                for (int i = 0; i < 10; i++) {
+                    Task task = taskService.createTaskQuery().processInstanceId(processInstanceIds.get(i)).singleResult();
+                    taskService.complete(task.getId());
+                }
+
+                if (processEngineConfiguration.isAsyncHistoryEnabled()) {
+                    waitForHistoryJobExecutorToProcessAllJobs(7000, 300);
+                }
+
+                managementService.handleHistoryCleanupTimerJob();
+                Job executableJob = managementService.moveTimerToExecutableJob(managementService.createTimerJobQuery().handlerType(BpmnHistoryCleanupJobHandler.TYPE).singleResult().getId());
+                managementService.executeJob(executableJob.getId());
+
+                Batch batch = managementService.createBatchQuery().singleResult();
+                assertThat(batch).isNotNull();
+                batchesToRemove.add(batch.getId());
+                assertThat(batch.getStatus()).isEqualTo(DeleteProcessInstanceBatchConstants.STATUS_IN_PROGRESS);
+                assertThatJson(batch.getBatchDocumentJson(ScopeTypes.BPMN))
+                        .isEqualTo("{"
+                                + "  numberOfInstances: 10,"
+                                + "  batchSize: 3,"
+                                + "  query: {"
+                                + "    finished: true,"
+                                + "    finishedBefore: '${json-unit.any-string}'"
+                                + "  },"
+                                + "  partitioned: true"
+                                + "}");
+
+                // Only the first partition is computed up front
+                assertThat(managementService.createBatchPartQuery().list())
+                        .extracting(BatchPart::getStatus, BatchPart::getType)
+                        .containsExactly(tuple(DeleteProcessInstanceBatchConstants.STATUS_WAITING, DeleteProcessInstanceBatchConstants.BATCH_PART_COMPUTE_IDS_TYPE));
+                assertThat(managementService.createJobQuery().list())
+                        .extracting(Job::getJobHandlerType)
+                        .containsExactly(ComputeDeleteHistoricProcessInstanceIdsJobHandler.TYPE);
+                assertThat(managementService.createTimerJobQuery().handlerType(DeleteHistoricProcessInstanceIdsStatusJobHandler.TYPE).count()).isEqualTo(1);
+
+                waitForJobExecutorToProcessAllJobsAndExecutableTimerJobs(10000, 200);
+
+                // 10 instances in partitions of 3 give 4 partitions, each one deleted by its own delete batch part
+                assertThat(managementService.createBatchPartQuery().type(DeleteProcessInstanceBatchConstants.BATCH_PART_COMPUTE_IDS_TYPE).list())
+                        .hasSize(4)
+                        .extracting(BatchPart::getStatus)
+                        .containsOnly(DeleteProcessInstanceBatchConstants.STATUS_COMPLETED);
+                assertThat(managementService.createBatchPartQuery().type(DeleteProcessInstanceBatchConstants.BATCH_PART_DELETE_PROCESS_INSTANCES_TYPE).list())
+                        .hasSize(4)
+                        .extracting(BatchPart::getStatus)
+                        .containsOnly(DeleteProcessInstanceBatchConstants.STATUS_COMPLETED);
+
+                if (processEngineConfiguration.isAsyncHistoryEnabled()) {
+                    waitForHistoryJobExecutorToProcessAllJobs(7000, 300);
+                }
+
+                assertThat(historyService.createHistoricProcessInstanceQuery().list())
+                        .extracting(HistoricProcessInstance::getId)
+                        .containsExactlyInAnyOrderElementsOf(processInstanceIds.subList(10, 20));
+                for (int i = 0; i < 10; i++) {
+                    assertThat(historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstanceIds.get(i)).count()).isZero();
+                    assertThat(historyService.createHistoricTaskInstanceQuery().processInstanceId(processInstanceIds.get(i)).count()).isZero();
+                }
+
+                Job statusJob = managementService.moveTimerToExecutableJob(
+                        managementService.createTimerJobQuery().handlerType(DeleteHistoricProcessInstanceIdsStatusJobHandler.TYPE).singleResult().getId());
+                managementService.executeJob(statusJob.getId());
+
+                batch = managementService.createBatchQuery().batchId(batch.getId()).singleResult();
+                assertThat(batch.getStatus()).isEqualTo(DeleteProcessInstanceBatchConstants.STATUS_COMPLETED);
+                assertThatJson(batch.getBatchDocumentJson(ScopeTypes.BPMN))
+                        .when(Option.IGNORING_EXTRA_FIELDS)
+                        .isEqualTo("{"
+                                + "  partitioned: true,"
+                                + "  numberOfBatchParts: 4,"
+                                + "  numberOfCompletedBatchParts: 4"
+                                + "}");
+                assertThat(managementService.createTimerJobQuery().handlerType(DeleteHistoricProcessInstanceIdsStatusJobHandler.TYPE).count()).isZero();
+
+                managementService.deleteTimerJob(managementService.createTimerJobQuery().handlerType(BpmnHistoryCleanupJobHandler.TYPE).singleResult().getId());
+            }
+
+        } finally {
+            processEngineConfiguration.setEnableHistoryCleaning(false);
+            processEngineConfiguration.setCleanInstancesInParallel(false);
+            processEngineConfiguration.setCleanInstancesBatchSize(originalBatchSize);
+            processEngineConfiguration.resetClock();
+        }
+    }
+
+    @Test
+    @Deployment(resources="org/flowable/engine/test/bpmn/oneTask.bpmn20.xml")
+    public void testHistoryCleanupTimerJobInParallelWithDeadLetterComputeJob() {
+        int originalBatchSize = processEngineConfiguration.getCleanInstancesBatchSize();
+        try {
+            processEngineConfiguration.setEnableHistoryCleaning(true);
+            processEngineConfiguration.setCleanInstancesInParallel(true);
+            processEngineConfiguration.setCleanInstancesBatchSize(3);
+            Clock clock = processEngineConfiguration.getClock();
+            Calendar cal = clock.getCurrentCalendar();
+            cal.add(Calendar.DAY_OF_YEAR, -400);
+            clock.setCurrentCalendar(cal);
+
+            for (int i = 0; i < 5; i++) {
+                ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("startToEnd");
+                Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+                taskService.complete(task.getId());
+            }
+
+            if (HistoryTestHelper.isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, processEngineConfiguration)) {
+
+                if (processEngineConfiguration.isAsyncHistoryEnabled()) {
+                    waitForHistoryJobExecutorToProcessAllJobs(7000, 300);
+                }
+
+                managementService.handleHistoryCleanupTimerJob();
+                Job executableJob = managementService.moveTimerToExecutableJob(managementService.createTimerJobQuery().handlerType(BpmnHistoryCleanupJobHandler.TYPE).singleResult().getId());
+                managementService.executeJob(executableJob.getId());
+
+                Batch batch = managementService.createBatchQuery().singleResult();
+                assertThat(batch).isNotNull();
+                batchesToRemove.add(batch.getId());
+
+                // The compute job ran out of retries
+                Job computeJob = managementService.createJobQuery().handlerType(ComputeDeleteHistoricProcessInstanceIdsJobHandler.TYPE).singleResult();
+                Job deadLetterJob = managementService.moveJobToDeadLetterJob(computeJob.getId());
+
+                Job statusJob = managementService.moveTimerToExecutableJob(
+                        managementService.createTimerJobQuery().handlerType(DeleteHistoricProcessInstanceIdsStatusJobHandler.TYPE).singleResult().getId());
+                managementService.executeJob(statusJob.getId());
+
+                // The compute part no longer keeps the batch waiting
+                assertThat(managementService.createBatchPartQuery().type(DeleteProcessInstanceBatchConstants.BATCH_PART_COMPUTE_IDS_TYPE).list())
+                        .extracting(BatchPart::getStatus)
+                        .containsExactly(DeleteProcessInstanceBatchConstants.STATUS_FAILED);
+                batch = managementService.createBatchQuery().batchId(batch.getId()).singleResult();
+                assertThat(batch.getStatus()).isEqualTo(DeleteProcessInstanceBatchConstants.STATUS_IN_PROGRESS);
+
+                statusJob = managementService.moveTimerToExecutableJob(
+                        managementService.createTimerJobQuery().handlerType(DeleteHistoricProcessInstanceIdsStatusJobHandler.TYPE).singleResult().getId());
+                managementService.executeJob(statusJob.getId());
+
+                batch = managementService.createBatchQuery().batchId(batch.getId()).singleResult();
+                assertThat(batch.getStatus()).isEqualTo(DeleteProcessInstanceBatchConstants.STATUS_FAILED);
+                assertThat(managementService.createTimerJobQuery().handlerType(DeleteHistoricProcessInstanceIdsStatusJobHandler.TYPE).count()).isZero();
+                assertThat(historyService.createHistoricProcessInstanceQuery().count()).isEqualTo(5);
+
+                managementService.deleteDeadLetterJob(deadLetterJob.getId());
+                managementService.deleteTimerJob(managementService.createTimerJobQuery().handlerType(BpmnHistoryCleanupJobHandler.TYPE).singleResult().getId());
+            }
+
+        } finally {
+            processEngineConfiguration.setEnableHistoryCleaning(false);
+            processEngineConfiguration.setCleanInstancesInParallel(false);
+            processEngineConfiguration.setCleanInstancesBatchSize(originalBatchSize);
+            processEngineConfiguration.resetClock();
+        }
+    }
+
     @Test
     @Deployment(resources="org/flowable/engine/test/bpmn/oneTask.bpmn20.xml")
     public void testDeleteSingleHistoricInstanceWithSingleMethodOnHistoryService() {
@@ -17,8 +17,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
+import org.flowable.bpmn.converter.BpmnModelSnapshotConverter;
 import org.flowable.bpmn.model.BpmnModel;
 import org.flowable.bpmn.model.SequenceFlow;
 import org.flowable.bpmn.model.StartEvent;
@@ -35,6 +37,7 @@ import org.flowable.engine.repository.DeploymentProperties;
 import org.flowable.engine.repository.ProcessDefinition;
 import org.flowable.engine.test.Deployment;
 import org.flowable.engine.test.DeploymentId;
+import org.flowable.task.api.Task;
 import org.flowable.validation.validator.Problems;
 import org.junit.jupiter.api.Test;
 
@@ -257,6 +260,56 @@ public class BpmnDeploymentTest extends PluggableFlowableTestCase {
         }
     }
 
+    @Test
+    public void testModelSnapshotCreation() {
+        processEngineConfiguration.setEnableModelSnapshots(true);
+
+        try {
+            String bpmnResourceName = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml";
+            String deploymentId = repositoryService.createDeployment().addClasspathResource(bpmnResourceName).deploy().getId();
+            assertThat(repositoryService.getDeploymentResourceNames(deploymentId))
+                    .contains(bpmnResourceName, bpmnResourceName + BpmnModelSnapshotConverter.SNAPSHOT_RESOURCE_SUFFIX);
+
+            // The process definition is now read from the snapshot
+            processEngineConfiguration.getProcessDefinitionCache().clear();
+
+            String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+            Task task = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+            assertThat(task.getName()).isEqualTo("my task");
+            taskService.complete(task.getId());
+            assertProcessEnded(processInstanceId);
+
+            repositoryService.deleteDeployment(deploymentId, true);
+        } finally {
+            processEngineConfiguration.setEnableModelSnapshots(false);
+        }
+    }
+
+    @Test
+    public void testModelSnapshotResourceOfDeploymentIsIgnored() {
+        processEngineConfiguration.setEnableModelSnapshots(true);
+
+        try {
+            String bpmnResourceName = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml";
+            String deploymentId = repositoryService.createDeployment()
+                    .addClasspathResource(bpmnResourceName)
+                    .addBytes(bpmnResourceName + BpmnModelSnapshotConverter.SNAPSHOT_RESOURCE_SUFFIX, "not a snapshot".getBytes(StandardCharsets.UTF_8))
+                    .deploy()
+                    .getId();
+
+            // The process definition is read from the xml, as the snapshot resource was not created by the engine
+            processEngineConfiguration.getProcessDefinitionCache().clear();
+
+            String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+            Task task = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+            assertThat(task.getName()).isEqualTo("my task");
+
+            repositoryService.deleteDeployment(deploymentId, true);
+        } finally {
+            processEngineConfiguration.setEnableModelSnapshots(false);
+        }
+    }
+
     @Test
     @Deployment(resources = { "org/flowable/engine/test/bpmn/deployment/BpmnDeploymentTest.testProcessDiagramResource.bpmn20.xml",
             "org/flowable/engine/test/bpmn/deployment/BpmnDeploymentTest.testProcessDiagramResource.jpg" })
@@ -14,12 +14,17 @@
 package org.flowable.engine.test.bpmn.deployment;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
+import java.util.stream.Collectors;
 
+import org.flowable.bpmn.converter.BpmnModelSnapshotConverter;
+import org.flowable.bpmn.exceptions.XMLException;
+import org.flowable.bpmn.model.FlowNode;
 import org.flowable.common.engine.impl.context.Context;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.common.engine.impl.interceptor.EngineConfigurationConstants;
@@ -102,6 +107,85 @@ public class ParsedDeploymentTest extends PluggableFlowableTestCase {
         assertThat(parsedDeployment.getResourceForProcessDefinition(en2).getName()).isEqualTo(EN_XML_NAME);
     }
 
+    @Test
+    public void testBuildFromModelSnapshot() throws UnsupportedEncodingException {
+        boolean originalEnableModelSnapshots = processEngineConfiguration.isEnableModelSnapshots();
+        processEngineConfiguration.setEnableModelSnapshots(true);
+        try {
+            ParsedDeploymentBuilderFactory builderFactory = processEngineConfiguration.getParsedDeploymentBuilderFactory();
+            ParsedDeployment newParsedDeployment = builderFactory.getBuilderForDeploymentAndSettings(assembleUnpersistedDeploymentEntity(), new HashMap<>()).build();
+            ProcessDefinitionEntity id1 = getProcessDefinitionEntityFromList(newParsedDeployment.getAllProcessDefinitions(), ID1_ID);
+            byte[] idrModelSnapshot = newParsedDeployment.getBpmnParseForProcessDefinition(id1).getModelSnapshot();
+            assertThat(idrModelSnapshot).isNotEmpty();
+
+            // The XML can't be parsed, so the process definitions can only come from the snapshot
+            DeploymentEntity entity = new DeploymentEntityImpl();
+            entity.addResource(buildResource(IDR_XML_NAME, "<definitions"));
+            entity.addResource(buildModelSnapshotResource(IDR_XML_NAME, idrModelSnapshot));
+
+            ParsedDeployment parsedDeployment = builderFactory.getBuilderForDeployment(entity).build();
+            assertThat(parsedDeployment.getAllProcessDefinitions())
+                    .extracting(ProcessDefinitionEntity::getKey)
+                    .containsExactlyInAnyOrder(ID1_ID, ID2_ID);
+            assertThat(parsedDeployment.getResourceForProcessDefinition(parsedDeployment.getAllProcessDefinitions().get(0)).getName()).isEqualTo(IDR_XML_NAME);
+
+            // A snapshot of another engine version is ignored
+            byte[] otherVersionModelSnapshot = new BpmnModelSnapshotConverter("5.0.0")
+                    .convertToSnapshot(parsedDeployment.getBpmnModelForProcessDefinition(parsedDeployment.getAllProcessDefinitions().get(0)));
+            entity = new DeploymentEntityImpl();
+            entity.addResource(buildResource(EN_XML_NAME, EN_PROCESS_XML));
+            entity.addResource(buildModelSnapshotResource(EN_XML_NAME, otherVersionModelSnapshot));
+
+            parsedDeployment = builderFactory.getBuilderForDeployment(entity).build();
+            assertThat(parsedDeployment.getAllProcessDefinitions())
+                    .extracting(ProcessDefinitionEntity::getKey)
+                    .containsExactlyInAnyOrder(EN1_ID, EN2_ID);
+
+        } finally {
+            processEngineConfiguration.setEnableModelSnapshots(originalEnableModelSnapshots);
+        }
+    }
+
+    @Test
+    public void testBuildInParallel() throws UnsupportedEncodingException {
+        DeploymentEntity entity = new DeploymentEntityImpl();
+        for (int i = 0; i < 20; i++) {
+            entity.addResource(buildResource("process" + i + "." + ResourceNameUtil.BPMN_RESOURCE_SUFFIXES[0],
+                    assembleXmlResourceString("<process id='process" + i + "' name='Process " + i + "' isExecutable='true'>"
+                            + "<startEvent id='start' /><sequenceFlow id='flow' sourceRef='start' targetRef='end' /><endEvent id='end' />"
+                            + "</process>")));
+        }
+
+        ParsedDeploymentBuilderFactory builderFactory = processEngineConfiguration.getParsedDeploymentBuilderFactory();
+        List<String> sequentialKeys = builderFactory.getBuilderForDeploymentAndSettings(entity, new HashMap<>()).build()
+                .getAllProcessDefinitions().stream()
+                .map(ProcessDefinitionEntity::getKey)
+                .collect(Collectors.toList());
+        assertThat(sequentialKeys).hasSize(20);
+
+        int originalDeploymentParseParallelism = processEngineConfiguration.getDeploymentParseParallelism();
+        processEngineConfiguration.setDeploymentParseParallelism(4);
+        try {
+            ParsedDeployment parsedDeployment = builderFactory.getBuilderForDeploymentAndSettings(entity, new HashMap<>()).build();
+            assertThat(parsedDeployment.getAllProcessDefinitions())
+                    .extracting(ProcessDefinitionEntity::getKey)
+                    .containsExactlyElementsOf(sequentialKeys);
+            for (ProcessDefinitionEntity processDefinition : parsedDeployment.getAllProcessDefinitions()) {
+                assertThat(parsedDeployment.getResourceForProcessDefinition(processDefinition).getName())
+                        .isEqualTo(processDefinition.getKey() + "." + ResourceNameUtil.BPMN_RESOURCE_SUFFIXES[0]);
+                assertThat(((FlowNode) parsedDeployment.getProcessModelForProcessDefinition(processDefinition).getFlowElement("start")).getBehavior()).isNotNull();
+            }
+
+            // An invalid resource fails the whole deployment
+            entity.addResource(buildResource("invalid." + ResourceNameUtil.BPMN_RESOURCE_SUFFIXES[0], "<definitions"));
+            assertThatThrownBy(() -> builderFactory.getBuilderForDeploymentAndSettings(entity, new HashMap<>()).build())
+                    .isInstanceOf(XMLException.class);
+
+        } finally {
+            processEngineConfiguration.setDeploymentParseParallelism(originalDeploymentParseParallelism);
+        }
+    }
+
     private ProcessDefinitionEntity getProcessDefinitionEntityFromList(List<ProcessDefinitionEntity> list, String idString) {
         for (ProcessDefinitionEntity possible : list) {
             if (possible.getKey().equals(idString)) {
@@ -119,9 +203,20 @@ public class ParsedDeploymentTest extends PluggableFlowableTestCase {
     }
 
     private ResourceEntity buildResource(String name, String text) throws UnsupportedEncodingException {
+        return buildResource(name, text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ResourceEntity buildResource(String name, byte[] bytes) {
         ResourceEntityImpl result = new ResourceEntityImpl();
         result.setName(name);
-        result.setBytes(text.getBytes(StandardCharsets.UTF_8));
+        result.setBytes(bytes);
+
+        return result;
+    }
+
+    private ResourceEntity buildModelSnapshotResource(String resourceName, byte[] bytes) {
+        ResourceEntity result = buildResource(resourceName + BpmnModelSnapshotConverter.SNAPSHOT_RESOURCE_SUFFIX, bytes);
+        result.setGenerated(true);
 
         return result;
     }
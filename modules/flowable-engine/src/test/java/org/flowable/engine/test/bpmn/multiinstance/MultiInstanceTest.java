@@ -49,6 +49,7 @@ import org.flowable.engine.delegate.event.FlowableMultiInstanceActivityEvent;
 import org.flowable.engine.delegate.event.FlowableProcessStartedEvent;
 import org.flowable.engine.history.HistoricActivityInstance;
 import org.flowable.engine.history.HistoricProcessInstance;
+import org.flowable.engine.impl.jobexecutor.ParallelMultiInstanceActivityCompletionJobHandler;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 import org.flowable.engine.impl.test.HistoryTestHelper;
 import org.flowable.engine.impl.test.PluggableFlowableTestCase;
@@ -742,6 +743,83 @@ public class MultiInstanceTest extends PluggableFlowableTestCase {
         }
     }
 
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/multiinstance/MultiInstanceTest.testParallelUserTasks.bpmn20.xml")
+    public void testParallelUserTasksWithDeferredCompletion() {
+        boolean originalDeferredCompletion = processEngineConfiguration.isParallelMultiInstanceDeferredCompletion();
+        processEngineConfiguration.setParallelMultiInstanceDeferredCompletion(true);
+        try {
+            String procId = runtimeService.startProcessInstanceByKey("miParallelUserTasks").getId();
+            List<org.flowable.task.api.Task> tasks = taskService.createTaskQuery().orderByTaskName().asc().list();
+            assertThat(tasks).hasSize(3);
+
+            for (org.flowable.task.api.Task task : tasks) {
+                taskService.complete(task.getId());
+            }
+
+            // Every completed instance only schedules a completion job, the multi instance is left by the jobs
+            List<Job> jobs = managementService.createJobQuery().processInstanceId(procId).list();
+            assertThat(jobs)
+                    .extracting(Job::getJobHandlerType)
+                    .containsOnly(ParallelMultiInstanceActivityCompletionJobHandler.TYPE);
+            assertThat(jobs).hasSize(3);
+            assertThat(runtimeService.createProcessInstanceQuery().processInstanceId(procId).count()).isEqualTo(1);
+
+            for (Job job : jobs) {
+                managementService.executeJob(job.getId());
+            }
+            assertProcessEnded(procId);
+        } finally {
+            processEngineConfiguration.setParallelMultiInstanceDeferredCompletion(originalDeferredCompletion);
+        }
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/multiinstance/MultiInstanceTest.testParallelUserTasksCompletionCondition.bpmn20.xml")
+    public void testParallelUserTasksCompletionConditionWithDeferredCompletion() {
+        boolean originalDeferredCompletion = processEngineConfiguration.isParallelMultiInstanceDeferredCompletion();
+        processEngineConfiguration.setParallelMultiInstanceDeferredCompletion(true);
+        try {
+            String procId = runtimeService.startProcessInstanceByKey("miParallelUserTasksCompletionCondition").getId();
+            List<org.flowable.task.api.Task> tasks = taskService.createTaskQuery().list();
+            assertThat(tasks).hasSize(5);
+
+            for (int i = 0; i < 3; i++) {
+                taskService.complete(tasks.get(i).getId());
+            }
+            assertThat(taskService.createTaskQuery().processInstanceId(procId).count()).isEqualTo(2);
+
+            waitForJobExecutorToProcessAllJobs(10000L, 200);
+            assertThat(managementService.createDeadLetterJobQuery().processInstanceId(procId).count()).isZero();
+            assertProcessEnded(procId);
+        } finally {
+            processEngineConfiguration.setParallelMultiInstanceDeferredCompletion(originalDeferredCompletion);
+        }
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/multiinstance/MultiInstanceTest.testParallelAsyncScriptTasks.bpmn20.xml")
+    public void testParallelAsyncScriptTasksWithDeferredCompletion() {
+        boolean originalDeferredCompletion = processEngineConfiguration.isParallelMultiInstanceDeferredCompletion();
+        processEngineConfiguration.setParallelMultiInstanceDeferredCompletion(true);
+        try {
+            ProcessInstance processInstance = runtimeService.createProcessInstanceBuilder()
+                    .processDefinitionKey("miParallelAsyncScriptTask")
+                    .variable("nrOfLoops", 10)
+                    .start();
+            assertThat(managementService.createJobQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(10);
+
+            waitForJobExecutorToProcessAllJobsAndExecutableTimerJobs(20000L, 200);
+            assertThat(managementService.createJobQuery().processInstanceId(processInstance.getId()).count()).isZero();
+            assertThat(managementService.createDeadLetterJobQuery().processInstanceId(processInstance.getId()).count()).isZero();
+
+            Execution waitStateExecution = runtimeService.createExecutionQuery().activityId("waitState").singleResult();
+            assertThat(waitStateExecution).isNotNull();
+        } finally {
+            processEngineConfiguration.setParallelMultiInstanceDeferredCompletion(originalDeferredCompletion);
+        }
+    }
+
     @Test
     @Deployment
     public void testParallelScriptTasksCompletionCondition() {
@@ -0,0 +1,86 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.flowable.common.engine.api.FlowableOptimisticLockingException;
+import org.flowable.common.engine.impl.history.HistoryLevel;
+import org.flowable.engine.impl.test.HistoryTestHelper;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.test.Deployment;
+import org.flowable.task.api.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BatchFlushTest extends PluggableFlowableTestCase {
+
+    protected boolean oldBatchFlushEnabled;
+
+    @BeforeEach
+    protected void enableBatchFlush() {
+        oldBatchFlushEnabled = processEngineConfiguration.getDbSqlSessionFactory().isBatchFlushEnabled();
+        processEngineConfiguration.getDbSqlSessionFactory().setBatchFlushEnabled(true);
+    }
+
+    @AfterEach
+    protected void resetBatchFlush() {
+        processEngineConfiguration.getDbSqlSessionFactory().setBatchFlushEnabled(oldBatchFlushEnabled);
+    }
+
+    @Test
+    @Deployment(resources = { "org/flowable/engine/test/bpmn/multiinstance/MultiInstanceTest.testParallelUserTasks.bpmn20.xml" })
+    public void testParallelMultiInstanceWithBatchFlush() {
+        String processInstanceId = runtimeService.startProcessInstanceByKey("miParallelUserTasks").getId();
+
+        List<Task> tasks = taskService.createTaskQuery().orderByTaskName().asc().list();
+        assertThat(tasks)
+                .extracting(Task::getName)
+                .containsExactly("My Task 0", "My Task 1", "My Task 2");
+
+        for (Task task : tasks) {
+            taskService.complete(task.getId());
+        }
+        assertProcessEnded(processInstanceId);
+
+        if (HistoryTestHelper.isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, processEngineConfiguration)) {
+            assertThat(historyService.createHistoricTaskInstanceQuery().processInstanceId(processInstanceId).finished().count()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    public void testOptimisticLockingOnBatchedUpdate() {
+        Task task = taskService.newTask();
+        taskService.saveTask(task);
+        String taskId = task.getId();
+
+        Task task1 = taskService.createTaskQuery().taskId(taskId).singleResult();
+        Task task2 = taskService.createTaskQuery().taskId(taskId).singleResult();
+
+        task1.setDescription("first modification");
+        taskService.saveTask(task1);
+
+        task2.setDescription("second modification");
+        assertThatThrownBy(() -> taskService.saveTask(task2))
+                .isInstanceOf(FlowableOptimisticLockingException.class);
+
+        assertThat(taskService.createTaskQuery().taskId(taskId).singleResult().getDescription()).isEqualTo("first modification");
+
+        taskService.deleteTask(taskId, true);
+    }
+
+}
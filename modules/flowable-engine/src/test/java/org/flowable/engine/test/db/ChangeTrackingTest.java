@@ -0,0 +1,173 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.flowable.common.engine.impl.persistence.cache.EntityCache;
+import org.flowable.common.engine.impl.persistence.cache.EntityCacheSessionFactory;
+import org.flowable.common.engine.impl.persistence.entity.ChangeTrackingEntity;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntityImpl;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.test.Deployment;
+import org.flowable.task.api.Task;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntityImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ChangeTrackingTest extends PluggableFlowableTestCase {
+
+    protected EntityCacheSessionFactory entityCacheSessionFactory;
+    protected boolean oldChangeTrackingEnabled;
+
+    @BeforeEach
+    protected void enableChangeTracking() {
+        entityCacheSessionFactory = (EntityCacheSessionFactory) processEngineConfiguration.getSessionFactories().get(EntityCache.class);
+        oldChangeTrackingEnabled = entityCacheSessionFactory.isChangeTrackingEnabled();
+        entityCacheSessionFactory.setChangeTrackingEnabled(true);
+    }
+
+    @AfterEach
+    protected void resetChangeTracking() {
+        entityCacheSessionFactory.setChangeTrackingEnabled(oldChangeTrackingEnabled);
+    }
+
+    @Test
+    @Deployment(resources = { "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml" })
+    public void testChangesAreFlushed() {
+        String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess", Collections.singletonMap("myVar", "initial")).getId();
+
+        runtimeService.setVariable(processInstanceId, "myVar", "updated");
+        runtimeService.setVariable(processInstanceId, "otherVar", 123L);
+        runtimeService.updateBusinessKey(processInstanceId, "myBusinessKey");
+        runtimeService.setProcessInstanceName(processInstanceId, "myName");
+
+        assertThat(runtimeService.getVariables(processInstanceId))
+                .containsOnly(entry("myVar", "updated"), entry("otherVar", 123L));
+        assertThat(runtimeService.createProcessInstanceQuery().processInstanceId(processInstanceId).singleResult())
+                .extracting("businessKey", "name")
+                .containsExactly("myBusinessKey", "myName");
+
+        Task task = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+        taskService.complete(task.getId());
+        assertProcessEnded(processInstanceId);
+    }
+
+    @Test
+    @Deployment(resources = { "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml" })
+    public void testUnchangedEntitiesAreNotUpdated() {
+        String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess", Collections.singletonMap("myVar", "initial")).getId();
+
+        int executionRevision = getProcessInstanceRevision(processInstanceId);
+        int variableRevision = getVariableRevision(processInstanceId, "myVar");
+
+        // Setting the same values again doesn't change the entities
+        managementService.executeCommand(commandContext -> {
+            ExecutionEntity processInstance = CommandContextUtil.getExecutionEntityManager(commandContext).findById(processInstanceId);
+            assertThat(((ChangeTrackingEntity) processInstance).isChangeTracked()).isTrue();
+            processInstance.setActive(processInstance.isActive());
+            processInstance.setCurrentFlowElement(processInstance.getCurrentFlowElement());
+            assertThat(((ChangeTrackingEntity) processInstance).hasTrackedChanges()).isFalse();
+
+            // Changing a value and setting it back isn't a change either
+            processInstance.setName("otherName");
+            assertThat(((ChangeTrackingEntity) processInstance).hasTrackedChanges()).isTrue();
+            processInstance.setName(null);
+            assertThat(((ChangeTrackingEntity) processInstance).hasTrackedChanges()).isFalse();
+
+            VariableInstanceEntity variable = findVariable(processInstanceId, "myVar");
+            variable.setValue("initial");
+            assertThat(((ChangeTrackingEntity) variable).hasTrackedChanges()).isFalse();
+            return null;
+        });
+
+        assertThat(getProcessInstanceRevision(processInstanceId)).isEqualTo(executionRevision);
+        assertThat(getVariableRevision(processInstanceId, "myVar")).isEqualTo(variableRevision);
+
+        managementService.executeCommand(commandContext -> {
+            VariableInstanceEntity variable = findVariable(processInstanceId, "myVar");
+            variable.setValue("updated");
+            assertThat(((ChangeTrackingEntity) variable).getChangedFields()).isEqualTo(VariableInstanceEntityImpl.CHANGED_TEXT_VALUE);
+
+            ExecutionEntity processInstance = CommandContextUtil.getExecutionEntityManager(commandContext).findById(processInstanceId);
+            processInstance.setName("myName");
+            assertThat(((ChangeTrackingEntity) processInstance).getChangedFields()).isEqualTo(ExecutionEntityImpl.CHANGED_NAME);
+            return null;
+        });
+
+        assertThat(getProcessInstanceRevision(processInstanceId)).isEqualTo(executionRevision + 1);
+        assertThat(getVariableRevision(processInstanceId, "myVar")).isEqualTo(variableRevision + 1);
+        assertThat(runtimeService.getVariable(processInstanceId, "myVar")).isEqualTo("updated");
+        assertThat(runtimeService.createProcessInstanceQuery().processInstanceId(processInstanceId).singleResult().getName()).isEqualTo("myName");
+    }
+
+    @Test
+    @Deployment(resources = { "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml" })
+    @SuppressWarnings("unchecked")
+    public void testOriginalPersistentStateIsBuiltOncePerFlush() {
+        String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess", Collections.singletonMap("myVar", "initial")).getId();
+
+        managementService.executeCommand(commandContext -> {
+            ExecutionEntity processInstance = CommandContextUtil.getExecutionEntityManager(commandContext).findById(processInstanceId);
+            processInstance.setName("myName");
+
+            // The update statement reads the original persistent state once for every column
+            Object originalPersistentState = processInstance.getOriginalPersistentState();
+            assertThat(processInstance.getOriginalPersistentState()).isSameAs(originalPersistentState);
+            assertThat((Map<String, Object>) originalPersistentState).containsEntry("name", null);
+
+            // A new change invalidates it
+            processInstance.setBusinessKey("myBusinessKey");
+            assertThat(processInstance.getOriginalPersistentState()).isNotSameAs(originalPersistentState);
+            assertThat((Map<String, Object>) processInstance.getOriginalPersistentState()).containsEntry("businessKey", null);
+
+            VariableInstanceEntity variable = findVariable(processInstanceId, "myVar");
+            variable.setValue("updated");
+            Object originalVariableState = variable.getOriginalPersistentState();
+            assertThat(variable.getOriginalPersistentState()).isSameAs(originalVariableState);
+            assertThat((Map<String, Object>) originalVariableState).containsEntry("textValue", "initial");
+            return null;
+        });
+
+        assertThat(runtimeService.createProcessInstanceQuery().processInstanceId(processInstanceId).singleResult())
+                .extracting("businessKey", "name")
+                .containsExactly("myBusinessKey", "myName");
+        assertThat(runtimeService.getVariable(processInstanceId, "myVar")).isEqualTo("updated");
+    }
+
+    protected int getProcessInstanceRevision(String processInstanceId) {
+        return managementService.executeCommand(commandContext -> ((ExecutionEntityImpl) CommandContextUtil.getExecutionEntityManager(commandContext)
+                .findById(processInstanceId)).getRevision());
+    }
+
+    protected int getVariableRevision(String processInstanceId, String variableName) {
+        return managementService.executeCommand(commandContext -> findVariable(processInstanceId, variableName).getRevision());
+    }
+
+    protected VariableInstanceEntity findVariable(String processInstanceId, String variableName) {
+        return processEngineConfiguration.getVariableServiceConfiguration().getVariableService()
+                .createInternalVariableInstanceQuery()
+                .executionId(processInstanceId)
+                .name(variableName)
+                .singleResult();
+    }
+
+}
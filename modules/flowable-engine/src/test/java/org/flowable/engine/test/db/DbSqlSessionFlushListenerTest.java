@@ -0,0 +1,58 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.task.api.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class DbSqlSessionFlushListenerTest extends PluggableFlowableTestCase {
+
+    protected List<int[]> flushes = new ArrayList<>();
+
+    @BeforeEach
+    protected void setFlushListener() {
+        processEngineConfiguration.getDbSqlSessionFactory().setFlushListener(
+                (insertCount, updateCount, deleteCount, durationInNanos) -> flushes.add(new int[] { insertCount, updateCount, deleteCount }));
+    }
+
+    @AfterEach
+    protected void resetFlushListener() {
+        processEngineConfiguration.getDbSqlSessionFactory().setFlushListener(null);
+    }
+
+    @Test
+    public void testFlushListenerIsNotified() {
+        Task task = taskService.newTask();
+        taskService.saveTask(task);
+        assertThat(flushes).anySatisfy(flush -> assertThat(flush[0]).isPositive());
+
+        flushes.clear();
+        task = taskService.createTaskQuery().taskId(task.getId()).singleResult();
+        task.setDescription("Updated description");
+        taskService.saveTask(task);
+        assertThat(flushes).anySatisfy(flush -> assertThat(flush[1]).isPositive());
+
+        flushes.clear();
+        taskService.deleteTask(task.getId(), true);
+        assertThat(flushes).anySatisfy(flush -> assertThat(flush[2]).isPositive());
+    }
+
+}
@@ -0,0 +1,104 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.ibatis.mapping.MappedStatement;
+import org.flowable.common.engine.impl.db.ShapeCachingSqlSource;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
+import org.junit.jupiter.api.Test;
+
+public class PartialUpdateTest extends PluggableFlowableTestCase {
+
+    @Test
+    @Deployment(resources = { "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml" })
+    public void testUpdateExecutionOnlySetsChangedColumns() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        MappedStatement updateExecution = getMappedStatement("org.flowable.engine.impl.persistence.entity.ExecutionEntityImpl.updateExecution");
+        assertThat(updateExecution.getSqlSource()).isInstanceOf(ShapeCachingSqlSource.class);
+
+        String sql = managementService.executeCommand(commandContext -> {
+            ExecutionEntity execution = CommandContextUtil.getExecutionEntityManager(commandContext).findById(processInstance.getId());
+            execution.setCallbackType("myCallbackType");
+            return updateExecution.getBoundSql(execution).getSql();
+        });
+        assertThat(sql)
+                .contains("REV_", "CALLBACK_TYPE_")
+                .doesNotContain("CALLBACK_ID_", "ACT_ID_", "PROC_DEF_ID_", "BUSINESS_KEY_", "SUPER_EXEC_", "IS_ACTIVE_");
+
+        ProcessInstance updatedProcessInstance = runtimeService.createProcessInstanceQuery().processInstanceCallbackType("myCallbackType").singleResult();
+        assertThat(updatedProcessInstance.getId()).isEqualTo(processInstance.getId());
+        assertThat(updatedProcessInstance.getCallbackId()).isNull();
+    }
+
+    @Test
+    @Deployment(resources = { "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml" })
+    public void testUpdateVariableOnlySetsChangedColumns() {
+        String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+                Collections.singletonMap("myVar", new ArrayList<>(Arrays.asList("a", "b")))).getId();
+        MappedStatement updateVariable = getMappedStatement("org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntityImpl.updateVariableInstance");
+
+        managementService.executeCommand(commandContext -> {
+            VariableInstanceEntity variable = processEngineConfiguration.getVariableServiceConfiguration().getVariableService()
+                    .createInternalVariableInstanceQuery()
+                    .executionId(processInstanceId)
+                    .name("myVar")
+                    .singleResult();
+
+            // The serialized value is stored in the existing byte array
+            variable.setValue(new ArrayList<>(Arrays.asList("c", "d")));
+            assertThat(updateVariable.getBoundSql(variable).getSql()).doesNotContain("BYTEARRAY_ID_", "TYPE_", "NAME_");
+
+            variable.setSubScopeId("mySubScopeId");
+            assertThat(updateVariable.getBoundSql(variable).getSql()).contains("SUB_SCOPE_ID_").doesNotContain(" SCOPE_ID_");
+            variable.setSubScopeId(null);
+            return null;
+        });
+
+        assertThat(runtimeService.getVariable(processInstanceId, "myVar")).isEqualTo(Arrays.asList("c", "d"));
+    }
+
+    @Test
+    @Deployment(resources = { "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml" })
+    public void testStatementShapesAreCached() {
+        String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+        MappedStatement updateExecution = getMappedStatement("org.flowable.engine.impl.persistence.entity.ExecutionEntityImpl.updateExecution");
+        ShapeCachingSqlSource sqlSource = (ShapeCachingSqlSource) updateExecution.getSqlSource();
+
+        runtimeService.setProcessInstanceName(processInstanceId, "name 1");
+        int numberOfCachedShapes = sqlSource.getNumberOfCachedShapes();
+        assertThat(numberOfCachedShapes).isPositive();
+
+        // Same columns changed: same shape
+        runtimeService.setProcessInstanceName(processInstanceId, "name 2");
+        runtimeService.setProcessInstanceName(processInstanceId, "name 3");
+        assertThat(sqlSource.getNumberOfCachedShapes()).isEqualTo(numberOfCachedShapes);
+
+        assertThat(runtimeService.createProcessInstanceQuery().processInstanceId(processInstanceId).singleResult().getName()).isEqualTo("name 3");
+    }
+
+    protected MappedStatement getMappedStatement(String statementId) {
+        return processEngineConfiguration.getSqlSessionFactory().getConfiguration().getMappedStatement(statementId);
+    }
+
+}
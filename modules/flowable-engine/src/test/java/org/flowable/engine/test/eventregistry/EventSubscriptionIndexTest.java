@@ -0,0 +1,145 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.eventregistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.scope.ScopeTypes;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+import org.flowable.eventsubscription.service.EventSubscriptionServiceConfiguration;
+import org.flowable.eventsubscription.service.impl.EventSubscriptionIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class EventSubscriptionIndexTest extends AbstractBpmnEventRegistryConsumerTest {
+
+    protected EventSubscriptionIndex eventSubscriptionIndex;
+
+    @BeforeEach
+    protected void enableEventSubscriptionIndex() {
+        EventSubscriptionServiceConfiguration eventSubscriptionServiceConfiguration = processEngineConfiguration.getEventSubscriptionServiceConfiguration();
+        eventSubscriptionIndex = new EventSubscriptionIndex(eventSubscriptionServiceConfiguration);
+        eventSubscriptionServiceConfiguration.setEventSubscriptionIndex(eventSubscriptionIndex);
+    }
+
+    @AfterEach
+    protected void disableEventSubscriptionIndex() {
+        processEngineConfiguration.getEventSubscriptionServiceConfiguration().setEventSubscriptionIndex(null);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/eventregistry/BpmnEventRegistryConsumerTest.testReceiveEventTaskWithCorrelationAndPayload.bpmn20.xml")
+    public void testEventWithoutMatchingSubscription() {
+        ProcessInstance processInstance = runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("process")
+                .variable("customerIdVar", "kermit")
+                .start();
+
+        assertThat(hasPossibleSubscriptions("kermit")).isTrue();
+        assertThat(hasPossibleSubscriptions("fozzie")).isFalse();
+
+        inboundEventChannelAdapter.triggerTestEvent("fozzie");
+        assertThat(runtimeService.createEventSubscriptionQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(1);
+
+        inboundEventChannelAdapter.triggerTestEvent("kermit");
+        assertThat(runtimeService.createEventSubscriptionQuery().processInstanceId(processInstance.getId()).count()).isZero();
+        assertThat(taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult().getTaskDefinitionKey())
+                .isEqualTo("taskAfterTask");
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/eventregistry/BpmnEventRegistryConsumerTest.testReceiveEventTaskWithCorrelationAndPayload.bpmn20.xml")
+    public void testSubscriptionCreatedAfterIndexLoaded() {
+        inboundEventChannelAdapter.triggerTestEvent("gonzo");
+        assertThat(hasPossibleSubscriptions("gonzo")).isFalse();
+
+        ProcessInstance processInstance = runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("process")
+                .variable("customerIdVar", "gonzo")
+                .start();
+
+        assertThat(hasPossibleSubscriptions("gonzo")).isTrue();
+
+        inboundEventChannelAdapter.triggerTestEvent("gonzo");
+        assertThat(taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult().getTaskDefinitionKey())
+                .isEqualTo("taskAfterTask");
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/eventregistry/BpmnEventRegistryConsumerTest.testReceiveEventTaskWithCorrelationAndPayload.bpmn20.xml")
+    public void testSubscriptionCreatedOnOtherNode() {
+        assertThat(hasPossibleSubscriptions("kermit")).isFalse();
+
+        // Simulates another node, which doesn't update the index of this node
+        processEngineConfiguration.getEventSubscriptionServiceConfiguration().setEventSubscriptionIndex(null);
+        runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("process")
+                .variable("customerIdVar", "kermit")
+                .start();
+        processEngineConfiguration.getEventSubscriptionServiceConfiguration().setEventSubscriptionIndex(eventSubscriptionIndex);
+
+        assertThat(hasPossibleSubscriptions("kermit")).isFalse();
+
+        eventSubscriptionIndex.invalidate("myEvent");
+        assertThat(hasPossibleSubscriptions("kermit")).isTrue();
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/eventregistry/BpmnEventRegistryConsumerTest.testReceiveEventTaskWithCorrelationAndPayload.bpmn20.xml")
+    public void testTenantOfSubscription() {
+        runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("process")
+                .variable("customerIdVar", "kermit")
+                .start();
+
+        assertThat(hasPossibleSubscriptions(ScopeTypes.BPMN, Collections.singleton(""), "kermit")).isTrue();
+        assertThat(hasPossibleSubscriptions(ScopeTypes.BPMN, Collections.singleton("tenantA"), "kermit")).isFalse();
+        assertThat(hasPossibleSubscriptions(ScopeTypes.CMMN, null, "kermit")).isFalse();
+    }
+
+    @Test
+    public void testIndexCannotBeEnabledWithAsyncExecutor() {
+        ProcessEngineConfigurationImpl otherProcessEngineConfiguration = new StandaloneInMemProcessEngineConfiguration()
+                .setEventSubscriptionIndexEnabled(true);
+        otherProcessEngineConfiguration.setEngineName("eventSubscriptionIndexWithAsyncExecutor");
+        otherProcessEngineConfiguration.setJdbcUrl("jdbc:h2:mem:flowable-EventSubscriptionIndexTest;DB_CLOSE_DELAY=1000");
+        otherProcessEngineConfiguration.setAsyncExecutorActivate(true);
+
+        assertThatThrownBy(otherProcessEngineConfiguration::buildProcessEngine)
+                .isInstanceOf(FlowableException.class)
+                .hasMessageContaining("The event subscription index can't be enabled when the async executor is activated");
+    }
+
+    protected boolean hasPossibleSubscriptions(String customerId) {
+        return hasPossibleSubscriptions(ScopeTypes.BPMN, null, customerId);
+    }
+
+    protected boolean hasPossibleSubscriptions(String scopeType, Collection<String> tenantIds, String customerId) {
+        Collection<String> configurations = Collections.singleton(generateCorrelationKey(customerId));
+        return managementService.executeCommand(commandContext -> eventSubscriptionIndex
+                .hasPossibleSubscriptions("myEvent", scopeType, tenantIds, configurations));
+    }
+
+    protected String generateCorrelationKey(String customerId) {
+        return getEventRegistry().generateKey(Collections.singletonMap("customerId", customerId));
+    }
+}
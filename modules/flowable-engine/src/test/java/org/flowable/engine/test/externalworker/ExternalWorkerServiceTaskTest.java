@@ -20,10 +20,14 @@ import static org.assertj.core.api.Assertions.tuple;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.flowable.common.engine.api.FlowableIllegalArgumentException;
 import org.flowable.common.engine.api.scope.ScopeTypes;
@@ -44,6 +48,7 @@ import org.flowable.identitylink.service.impl.persistence.entity.IdentityLinkEnt
 import org.flowable.job.api.AcquiredExternalWorkerJob;
 import org.flowable.job.api.ExternalWorkerJob;
 import org.flowable.job.api.Job;
+import org.flowable.job.service.impl.ExternalWorkerJobAcquireBuilderImpl;
 import org.flowable.job.service.impl.persistence.entity.JobEntity;
 import org.flowable.task.api.TaskInfo;
 import org.flowable.variable.api.history.HistoricVariableInstance;
@@ -1228,6 +1233,76 @@ public class ExternalWorkerServiceTaskTest extends PluggableFlowableTestCase {
                 });
     }
 
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/externalworker/ExternalWorkerServiceTaskTest.testSimple.bpmn20.xml")
+    void testAcquireWithFetchVariables() {
+        ProcessInstance processInstance1 = runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("simpleExternalWorker")
+                .variable("name", "kermit")
+                .variable("amount", 10)
+                .variable("description", "not fetched")
+                .start();
+
+        ProcessInstance processInstance2 = runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("simpleExternalWorker")
+                .variable("name", "fozzie")
+                .start();
+
+        ExternalWorkerJob externalWorkerJob2 = managementService.createExternalWorkerJobQuery().processInstanceId(processInstance2.getId()).singleResult();
+        runtimeService.setVariableLocal(externalWorkerJob2.getExecutionId(), "name", "gonzo");
+
+        List<AcquiredExternalWorkerJob> acquiredJobs = managementService.createExternalWorkerJobAcquireBuilder()
+                .topic("simple", Duration.ofMinutes(30))
+                .fetchVariables(Arrays.asList("name", "amount"))
+                .acquireAndLock(4, "testWorker");
+
+        assertThat(acquiredJobs).hasSize(2);
+        assertThat(acquiredJobs)
+                .filteredOn(job -> processInstance1.getId().equals(job.getProcessInstanceId()))
+                .singleElement()
+                .extracting(AcquiredExternalWorkerJob::getVariables)
+                .isEqualTo(Map.of("name", "kermit", "amount", 10));
+        assertThat(acquiredJobs)
+                .filteredOn(job -> processInstance2.getId().equals(job.getProcessInstanceId()))
+                .singleElement()
+                .extracting(AcquiredExternalWorkerJob::getVariables)
+                .isEqualTo(Map.of("name", "gonzo"));
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/externalworker/ExternalWorkerServiceTaskTest.testSimple.bpmn20.xml")
+    void testAcquireWithWaitTimeoutIsNotifiedOfNewJobs() throws Exception {
+        ExternalWorkerJobAcquireBuilderImpl acquireBuilder = (ExternalWorkerJobAcquireBuilderImpl) managementService.createExternalWorkerJobAcquireBuilder()
+                .topic("simple", Duration.ofMinutes(30))
+                .waitTimeout(Duration.ofSeconds(30));
+        // Make sure that the job is acquired because of the notification and not because of the periodic acquisition
+        acquireBuilder.setWaitPollInterval(Duration.ofMinutes(1));
+
+        CompletableFuture<List<AcquiredExternalWorkerJob>> acquiredJobsFuture = CompletableFuture.supplyAsync(() -> acquireBuilder.acquireAndLock(1, "testWorker"));
+
+        ProcessInstance processInstance = runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("simpleExternalWorker")
+                .variable("name", "kermit")
+                .start();
+
+        List<AcquiredExternalWorkerJob> acquiredJobs = acquiredJobsFuture.get(20, TimeUnit.SECONDS);
+        assertThat(acquiredJobs)
+                .extracting(AcquiredExternalWorkerJob::getProcessInstanceId)
+                .containsExactly(processInstance.getId());
+    }
+
+    @Test
+    void testAcquireWithWaitTimeoutWithoutJobs() {
+        long start = System.currentTimeMillis();
+        List<AcquiredExternalWorkerJob> acquiredJobs = managementService.createExternalWorkerJobAcquireBuilder()
+                .topic("simple", Duration.ofMinutes(30))
+                .waitTimeout(Duration.ofMillis(300))
+                .acquireAndLock(1, "testWorker");
+
+        assertThat(acquiredJobs).isEmpty();
+        assertThat(System.currentTimeMillis() - start).isGreaterThanOrEqualTo(300);
+    }
+
     protected void addGroupIdentityLinkToJob(Job job, String groupId) {
         managementService.executeCommand(commandContext -> {
                     processEngineConfiguration.getIdentityLinkServiceConfiguration().getIdentityLinkService()
@@ -0,0 +1,61 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.flowable.engine.impl.test.JobTestHelper;
+import org.flowable.job.service.impl.asyncexecutor.AsyncJobExecutorConfiguration;
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveAcquisitionTest {
+
+    @Test
+    public void testAsyncJobsExecutedWithAdaptiveAcquisition() {
+        ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+        processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:flowable-AdaptiveAcquisitionTest;DB_CLOSE_DELAY=1000");
+        processEngineConfiguration.setDatabaseSchemaUpdate("true");
+
+        AsyncJobExecutorConfiguration asyncExecutorConfiguration = processEngineConfiguration.getAsyncExecutorConfiguration();
+        asyncExecutorConfiguration.setAdaptiveAcquisitionEnabled(true);
+        asyncExecutorConfiguration.setAdaptiveAcquisitionMinWaitTime(Duration.ofMillis(50));
+        asyncExecutorConfiguration.setMaxAsyncJobsDuePerAcquisition(4);
+        ProcessEngine processEngine = processEngineConfiguration.buildProcessEngine();
+
+        try {
+            processEngine.getRepositoryService().createDeployment()
+                    .addClasspathResource("org/flowable/engine/test/jobexecutor/AsyncExecutorTest.testAsyncScriptExecution.bpmn20.xml")
+                    .deploy();
+
+            for (int i = 0; i < 20; i++) {
+                processEngine.getRuntimeService().startProcessInstanceByKey("asyncScript");
+            }
+
+            JobTestHelper.waitForJobExecutorToProcessAllJobs(processEngineConfiguration, processEngine.getManagementService(), 10000L, 100L);
+
+            assertThat(processEngine.getTaskService().createTaskQuery().taskName("Task after script").count()).isEqualTo(20);
+
+        } finally {
+            for (org.flowable.engine.repository.Deployment deployment : processEngine.getRepositoryService().createDeploymentQuery().list()) {
+                processEngine.getRepositoryService().deleteDeployment(deployment.getId(), true);
+            }
+            processEngine.close();
+        }
+    }
+
+}
@@ -0,0 +1,87 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.flowable.engine.impl.test.JobTestHelper;
+import org.flowable.job.service.impl.asyncexecutor.AsyncJobsAvailableNotifier;
+import org.flowable.job.service.impl.asyncexecutor.DefaultAsyncJobExecutor;
+import org.flowable.job.service.impl.asyncexecutor.InMemoryAsyncJobsAvailableNotifier;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link AsyncJobsAvailableNotifier}, using two engines to simulate two nodes.
+ */
+public class AsyncJobsAvailableNotifierTest {
+
+    @Test
+    public void testAsyncJobsAvailableNotificationWakesUpOtherNode() {
+        AsyncJobsAvailableNotifier asyncJobsAvailableNotifier = new InMemoryAsyncJobsAvailableNotifier();
+
+        ProcessEngine executorProcessEngine = null;
+        ProcessEngine processEngine = null;
+
+        try {
+            // The async executor of this engine only polls once an hour, so the job can only be executed in time when it is notified
+            executorProcessEngine = createProcessEngine(true, asyncJobsAvailableNotifier);
+            processEngine = createProcessEngine(false, asyncJobsAvailableNotifier);
+
+            processEngine.getRepositoryService().createDeployment()
+                    .addClasspathResource("org/flowable/engine/test/jobexecutor/AsyncExecutorTest.testAsyncScriptExecution.bpmn20.xml")
+                    .deploy();
+
+            processEngine.getRuntimeService().startProcessInstanceByKey("asyncScript");
+
+            JobTestHelper.waitForJobExecutorToProcessAllJobs(executorProcessEngine.getProcessEngineConfiguration(),
+                    executorProcessEngine.getManagementService(), 10000L, 100L, false);
+
+            assertThat(processEngine.getTaskService().createTaskQuery().taskName("Task after script").count()).isEqualTo(1);
+
+        } finally {
+            cleanup(processEngine);
+            cleanup(executorProcessEngine);
+        }
+    }
+
+    protected ProcessEngine createProcessEngine(boolean enableAsyncExecutor, AsyncJobsAvailableNotifier asyncJobsAvailableNotifier) {
+        ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+        processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:flowable-AsyncJobsAvailableNotifierTest;DB_CLOSE_DELAY=1000");
+        processEngineConfiguration.setDatabaseSchemaUpdate("true");
+        processEngineConfiguration.setAsyncJobsAvailableNotifier(asyncJobsAvailableNotifier);
+
+        if (enableAsyncExecutor) {
+            processEngineConfiguration.setAsyncExecutorActivate(true);
+
+            DefaultAsyncJobExecutor asyncExecutor = new DefaultAsyncJobExecutor();
+            asyncExecutor.setDefaultAsyncJobAcquireWaitTimeInMillis(3600000);
+            asyncExecutor.setTimerRunnableNeeded(false);
+            processEngineConfiguration.setAsyncExecutor(asyncExecutor);
+        }
+
+        return processEngineConfiguration.buildProcessEngine();
+    }
+
+    protected void cleanup(ProcessEngine processEngine) {
+        if (processEngine != null) {
+            for (org.flowable.engine.repository.Deployment deployment : processEngine.getRepositoryService().createDeploymentQuery().list()) {
+                processEngine.getRepositoryService().deleteDeployment(deployment.getId(), true);
+            }
+            processEngine.close();
+        }
+    }
+
+}
@@ -0,0 +1,60 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.flowable.common.engine.impl.async.VirtualThreadAsyncTaskExecutor;
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.flowable.engine.impl.test.JobTestHelper;
+import org.junit.jupiter.api.Test;
+
+public class VirtualThreadAsyncExecutorTest {
+
+    @Test
+    public void testAsyncJobsExecutedWithVirtualThreads() {
+        ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+        processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:flowable-VirtualThreadAsyncExecutorTest;DB_CLOSE_DELAY=1000");
+        processEngineConfiguration.setDatabaseSchemaUpdate("true");
+        processEngineConfiguration.setAsyncExecutorVirtualThreads(true);
+        processEngineConfiguration.setAsyncExecutorMaxConcurrency(3);
+        ProcessEngine processEngine = processEngineConfiguration.buildProcessEngine();
+
+        try {
+            assertThat(processEngineConfiguration.getAsyncExecutor().getTaskExecutor()).isInstanceOf(VirtualThreadAsyncTaskExecutor.class);
+            assertThat(processEngineConfiguration.getAsyncExecutor().getTaskExecutor().getRemainingCapacity()).isEqualTo(3);
+            assertThat(processEngineConfiguration.getAsyncExecutorConfiguration().isWaitForRemainingCapacity()).isTrue();
+
+            processEngine.getRepositoryService().createDeployment()
+                    .addClasspathResource("org/flowable/engine/test/jobexecutor/AsyncExecutorTest.testAsyncScriptExecution.bpmn20.xml")
+                    .deploy();
+
+            for (int i = 0; i < 10; i++) {
+                processEngine.getRuntimeService().startProcessInstanceByKey("asyncScript");
+            }
+
+            JobTestHelper.waitForJobExecutorToProcessAllJobs(processEngineConfiguration, processEngine.getManagementService(), 10000L, 100L);
+
+            assertThat(processEngine.getTaskService().createTaskQuery().taskName("Task after script").count()).isEqualTo(10);
+
+        } finally {
+            for (org.flowable.engine.repository.Deployment deployment : processEngine.getRepositoryService().createDeploymentQuery().list()) {
+                processEngine.getRepositoryService().deleteDeployment(deployment.getId(), true);
+            }
+            processEngine.close();
+        }
+    }
+
+}
@@ -20,10 +20,12 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.flowable.common.engine.api.delegate.Expression;
 import org.flowable.common.engine.impl.el.ExpressionManager;
 import org.flowable.common.engine.impl.history.HistoryLevel;
@@ -1101,6 +1103,146 @@ public class JsonTest extends PluggableFlowableTestCase {
                         + "}]");
     }
 
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    void testReadJsonValueIsNotUpdated() {
+        ObjectNode customer = objectMapper.createObjectNode();
+        customer.put("name", "Kermit");
+        customer.putArray("addresses").addObject().put("street", "Sesame Street");
+
+        ProcessInstance processInstance = runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("oneTaskProcess")
+                .variable("customer", customer)
+                .start();
+
+        int revision = ((VariableInstanceEntity) runtimeService.getVariableInstance(processInstance.getId(), "customer")).getRevision();
+
+        managementService.executeCommand(commandContext -> {
+            ObjectNode value = (ObjectNode) CommandContextUtil.getExecutionEntityManager(commandContext).findById(processInstance.getId()).getVariable("customer");
+            assertThat(value.path("addresses").path(0).path("street").asText()).isEqualTo("Sesame Street");
+            assertThat(value.deepCopy().put("name", "Gonzo").path("name").asText()).isEqualTo("Gonzo");
+            return null;
+        });
+
+        assertThat(((VariableInstanceEntity) runtimeService.getVariableInstance(processInstance.getId(), "customer")).getRevision()).isEqualTo(revision);
+        assertThatJson(runtimeService.getVariable(processInstance.getId(), "customer"))
+                .isEqualTo("{"
+                        + "  name: 'Kermit',"
+                        + "  addresses: [ { street: 'Sesame Street' } ]"
+                        + "}");
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    void testReadJsonValueModifiedThroughIterators() {
+        ObjectNode customer = objectMapper.createObjectNode();
+        customer.put("name", "Kermit");
+        customer.put("nickname", "Frog");
+        customer.putArray("addresses").addObject().put("street", "Sesame Street");
+
+        ProcessInstance processInstance = runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("oneTaskProcess")
+                .variable("customer", customer)
+                .start();
+
+        managementService.executeCommand(commandContext -> {
+            ObjectNode value = (ObjectNode) CommandContextUtil.getExecutionEntityManager(commandContext).findById(processInstance.getId()).getVariable("customer");
+            Iterator<Map.Entry<String, JsonNode>> fields = value.fields();
+            while (fields.hasNext()) {
+                if ("nickname".equals(fields.next().getKey())) {
+                    fields.remove();
+                }
+            }
+            return null;
+        });
+
+        assertThatJson(runtimeService.getVariable(processInstance.getId(), "customer"))
+                .isEqualTo("{"
+                        + "  name: 'Kermit',"
+                        + "  addresses: [ { street: 'Sesame Street' } ]"
+                        + "}");
+
+        managementService.executeCommand(commandContext -> {
+            ObjectNode value = (ObjectNode) CommandContextUtil.getExecutionEntityManager(commandContext).findById(processInstance.getId()).getVariable("customer");
+            Iterator<JsonNode> addresses = value.path("addresses").elements();
+            addresses.next();
+            addresses.remove();
+            return null;
+        });
+
+        assertThatJson(runtimeService.getVariable(processInstance.getId(), "customer"))
+                .isEqualTo("{"
+                        + "  name: 'Kermit',"
+                        + "  addresses: []"
+                        + "}");
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    void testReadLongJsonValueModified() {
+        ObjectNode customer = objectMapper.createObjectNode();
+        String randomLongStreetName = RandomStringUtils.randomAlphanumeric(processEngineConfiguration.getMaxLengthString() + 1);
+        customer.put("name", "Kermit");
+        customer.putObject("address").put("street", randomLongStreetName);
+
+        ProcessInstance processInstance = runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("oneTaskProcess")
+                .variable("customer", customer)
+                .start();
+
+        managementService.executeCommand(commandContext -> {
+            ObjectNode value = (ObjectNode) CommandContextUtil.getExecutionEntityManager(commandContext).findById(processInstance.getId()).getVariable("customer");
+            ((ObjectNode) value.get("address")).put("city", "New York");
+            return null;
+        });
+
+        VariableInstanceEntity customerVarInstance = (VariableInstanceEntity) runtimeService.getVariableInstance(processInstance.getId(), "customer");
+        assertThat(customerVarInstance.getTextValue()).isNull();
+        assertThatJson(runtimeService.getVariable(processInstance.getId(), "customer"))
+                .isEqualTo("{"
+                        + "  name: 'Kermit',"
+                        + "  address: { street: '" + randomLongStreetName + "', city: 'New York' }"
+                        + "}");
+
+        managementService.executeCommand(commandContext -> {
+            ObjectNode value = (ObjectNode) CommandContextUtil.getExecutionEntityManager(commandContext).findById(processInstance.getId()).getVariable("customer");
+            value.remove("address");
+            return null;
+        });
+
+        customerVarInstance = (VariableInstanceEntity) runtimeService.getVariableInstance(processInstance.getId(), "customer");
+        assertThat(customerVarInstance.getTextValue()).isEqualTo("{\"name\":\"Kermit\"}");
+        assertThat(customerVarInstance.getByteArrayRef()).isNull();
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    void testReadLongJsonValueModifiedWithMultiByteCharacters() {
+        int maxLength = processEngineConfiguration.getMaxLengthString();
+        ObjectNode customer = objectMapper.createObjectNode();
+        customer.put("street", StringUtils.repeat('\u00e4', maxLength + 1));
+
+        ProcessInstance processInstance = runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("oneTaskProcess")
+                .variable("customer", customer)
+                .start();
+
+        VariableInstanceEntity customerVarInstance = (VariableInstanceEntity) runtimeService.getVariableInstance(processInstance.getId(), "customer");
+        assertThat(customerVarInstance.getTextValue()).isNull();
+
+        // The new value fits in the text column, but its UTF-8 bytes don't
+        String shorterStreetName = StringUtils.repeat('\u00e4', maxLength - 20);
+        managementService.executeCommand(commandContext -> {
+            ObjectNode value = (ObjectNode) CommandContextUtil.getExecutionEntityManager(commandContext).findById(processInstance.getId()).getVariable("customer");
+            value.put("street", shorterStreetName);
+            return null;
+        });
+
+        customerVarInstance = (VariableInstanceEntity) runtimeService.getVariableInstance(processInstance.getId(), "customer");
+        assertThat(customerVarInstance.getTextValue()).isEqualTo("{\"street\":\"" + shorterStreetName + "\"}");
+        assertThat(customerVarInstance.getByteArrayRef()).isNull();
+    }
+
     protected ObjectNode createBigJsonObject() {
         ObjectNode valueNode = objectMapper.createObjectNode();
         for (int i = 0; i < 1000; i++) {
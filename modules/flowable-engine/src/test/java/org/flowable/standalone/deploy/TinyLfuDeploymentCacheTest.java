@@ -0,0 +1,121 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.deploy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.flowable.bpmn.model.BpmnModel;
+import org.flowable.bpmn.model.EndEvent;
+import org.flowable.bpmn.model.FlowElement;
+import org.flowable.bpmn.model.Process;
+import org.flowable.bpmn.model.StartEvent;
+import org.flowable.bpmn.model.UserTask;
+import org.flowable.common.engine.impl.el.DefaultExpressionManager;
+import org.flowable.common.engine.impl.persistence.deploy.DefaultDeploymentCache;
+import org.flowable.common.engine.impl.persistence.deploy.TinyLfuDeploymentCache;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
+import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionCacheEntryWeigher;
+import org.flowable.engine.impl.test.ResourceFlowableTestCase;
+import org.flowable.engine.repository.Deployment;
+import org.flowable.engine.repository.ProcessDefinition;
+import org.junit.jupiter.api.Test;
+
+public class TinyLfuDeploymentCacheTest extends ResourceFlowableTestCase {
+
+    public TinyLfuDeploymentCacheTest() {
+        super("org/flowable/standalone/deploy/tinylfu.deployment.cache.test.flowable.cfg.xml");
+    }
+
+    @Test
+    public void testTinyLfuDeploymentCache() throws IOException {
+        assertThat(processEngineConfiguration.getProcessDefinitionCache()).isInstanceOf(TinyLfuDeploymentCache.class);
+        TinyLfuDeploymentCache<ProcessDefinitionCacheEntry> processDefinitionCache = (TinyLfuDeploymentCache<ProcessDefinitionCacheEntry>) processEngineConfiguration
+                .getProcessDefinitionCache();
+        assertThat(processDefinitionCache.getMaximumWeight()).isEqualTo(3);
+
+        String processDefinitionTemplate = DeploymentCacheTestUtil.readTemplateFile("/org/flowable/standalone/deploy/deploymentCacheTest.bpmn20.xml");
+        for (int i = 1; i <= 5; i++) {
+            repositoryService.createDeployment().addString("Process " + i + ".bpmn20.xml", MessageFormat.format(processDefinitionTemplate, i)).deploy();
+            assertThat(processDefinitionCache.size()).isLessThanOrEqualTo(3);
+        }
+
+        // Evicted process definitions are transparently parsed again
+        for (ProcessDefinition processDefinition : repositoryService.createProcessDefinitionQuery().list()) {
+            assertThat(repositoryService.getBpmnModel(processDefinition.getId())).isNotNull();
+            assertThat(processDefinitionCache.size()).isLessThanOrEqualTo(3);
+        }
+        assertThat(processDefinitionCache.getMissCount()).isPositive();
+        assertThat(processDefinitionCache.getEvictionCount()).isPositive();
+
+        // Cleanup
+        for (Deployment deployment : repositoryService.createDeploymentQuery().list()) {
+            repositoryService.deleteDeployment(deployment.getId(), true);
+        }
+    }
+
+    @Test
+    public void testWeighedProcessDefinitionCache() {
+        StandaloneInMemProcessEngineConfiguration configuration = new StandaloneInMemProcessEngineConfiguration();
+        configuration.setTinyLfuDeploymentCacheEnabled(true);
+        configuration.setProcessDefinitionCacheLimit(500);
+        configuration.setProcessDefinitionCacheWeigher(new ProcessDefinitionCacheEntryWeigher());
+        configuration.initProcessDefinitionCache();
+
+        assertThat(configuration.getProcessDefinitionCache()).isInstanceOf(TinyLfuDeploymentCache.class);
+        TinyLfuDeploymentCache<ProcessDefinitionCacheEntry> processDefinitionCache = (TinyLfuDeploymentCache<ProcessDefinitionCacheEntry>) configuration
+                .getProcessDefinitionCache();
+        assertThat(processDefinitionCache.getMaximumWeight()).isEqualTo(500);
+
+        // The entries are weighed by their number of flow elements
+        Process process = new Process();
+        for (FlowElement flowElement : Arrays.asList(new StartEvent(), new UserTask(), new EndEvent())) {
+            flowElement.setId("element" + process.getFlowElements().size());
+            process.addFlowElement(flowElement);
+        }
+        BpmnModel bpmnModel = new BpmnModel();
+        bpmnModel.addProcess(process);
+        processDefinitionCache.add("myProcess:1:1", new ProcessDefinitionCacheEntry(null, bpmnModel, process));
+        assertThat(processDefinitionCache.getWeightedSize()).isEqualTo(3);
+    }
+
+    @Test
+    public void testTinyLfuExpressionCache() {
+        DefaultExpressionManager expressionManager = (DefaultExpressionManager) processEngineConfiguration.getExpressionManager();
+        assertThat(expressionManager.getExpressionCache()).isInstanceOf(TinyLfuDeploymentCache.class);
+        assertThat(((TinyLfuDeploymentCache<?>) expressionManager.getExpressionCache()).getMaximumWeight())
+                .isEqualTo(processEngineConfiguration.getExpressionCacheSize());
+    }
+
+    @Test
+    public void testExpressionCacheWithoutSizeKeepsNoExpressions() {
+        StandaloneInMemProcessEngineConfiguration configuration = new StandaloneInMemProcessEngineConfiguration();
+        configuration.setTinyLfuDeploymentCacheEnabled(true);
+        configuration.setExpressionCacheSize(0);
+        configuration.setFlowableFunctionDelegates(Collections.emptyList());
+        configuration.setAstFunctionCreators(Collections.emptyList());
+        configuration.initExpressionManager();
+
+        DefaultExpressionManager expressionManager = (DefaultExpressionManager) configuration.getExpressionManager();
+        assertThat(expressionManager.getExpressionCache()).isInstanceOf(DefaultDeploymentCache.class);
+
+        expressionManager.createExpression("${true}");
+        assertThat(((DefaultDeploymentCache<?>) expressionManager.getExpressionCache()).size()).isZero();
+    }
+
+}
@@ -0,0 +1,201 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.history.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.engine.history.HistoricActivityInstance;
+import org.flowable.engine.history.HistoricProcessInstance;
+import org.flowable.engine.impl.history.async.AsyncHistoryJobHandler;
+import org.flowable.engine.impl.test.HistoryTestHelper;
+import org.flowable.engine.impl.test.ResourceFlowableTestCase;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+import org.flowable.identitylink.api.IdentityLinkType;
+import org.flowable.identitylink.api.history.HistoricIdentityLink;
+import org.flowable.job.api.HistoryJob;
+import org.flowable.task.api.Task;
+import org.flowable.task.api.history.HistoricTaskInstance;
+import org.flowable.variable.api.history.HistoricVariableInstance;
+import org.junit.jupiter.api.Test;
+
+public class AsyncHistoryManagerTest extends ResourceFlowableTestCase {
+
+    public AsyncHistoryManagerTest() {
+        super("org/flowable/standalone/history/asynchistory.flowable.cfg.xml");
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/runtime/oneTaskProcess.bpmn20.xml")
+    public void testHistoryIsWrittenByOneHistoryJobPerTransaction() {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("stringVar", "test");
+        variables.put("longVar", 123L);
+        variables.put("listVar", new ArrayList<>(Arrays.asList("a", "b")));
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", variables);
+
+        List<HistoryJob> historyJobs = managementService.createHistoryJobQuery().list();
+        assertThat(historyJobs)
+                .extracting(HistoryJob::getJobHandlerType)
+                .containsExactly(AsyncHistoryJobHandler.JOB_TYPE);
+        assertThat(historyService.createHistoricProcessInstanceQuery().count()).isZero();
+        assertThat(historyService.createHistoricActivityInstanceQuery().count()).isZero();
+        assertThat(historyService.createHistoricTaskInstanceQuery().count()).isZero();
+        assertThat(historyService.createHistoricVariableInstanceQuery().count()).isZero();
+
+        waitForHistoryJobs();
+
+        HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery().singleResult();
+        assertThat(historicProcessInstance.getId()).isEqualTo(processInstance.getId());
+        assertThat(historicProcessInstance.getProcessDefinitionId()).isEqualTo(processInstance.getProcessDefinitionId());
+        assertThat(historicProcessInstance.getStartActivityId()).isEqualTo("theStart");
+        assertThat(historicProcessInstance.getStartTime()).isNotNull();
+        assertThat(historicProcessInstance.getEndTime()).isNull();
+
+        assertThat(historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).orderByHistoricActivityInstanceStartTime().asc().list())
+                .extracting(HistoricActivityInstance::getActivityId, activity -> activity.getEndTime() != null)
+                .containsExactlyInAnyOrder(
+                        tuple("theStart", true),
+                        tuple("flow1", true),
+                        tuple("theTask", false));
+
+        Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        HistoricTaskInstance historicTaskInstance = historyService.createHistoricTaskInstanceQuery().singleResult();
+        assertThat(historicTaskInstance.getId()).isEqualTo(task.getId());
+        assertThat(historicTaskInstance.getName()).isEqualTo("my task");
+        assertThat(historicTaskInstance.getExecutionId()).isEqualTo(task.getExecutionId());
+        assertThat(historicTaskInstance.getEndTime()).isNull();
+
+        assertThat(historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).list())
+                .extracting(HistoricVariableInstance::getVariableName, HistoricVariableInstance::getValue)
+                .containsExactlyInAnyOrder(
+                        tuple("stringVar", "test"),
+                        tuple("longVar", 123L),
+                        tuple("listVar", Arrays.asList("a", "b")));
+
+        taskService.setAssignee(task.getId(), "kermit");
+        runtimeService.setVariable(processInstance.getId(), "stringVar", "updated");
+        runtimeService.removeVariable(processInstance.getId(), "longVar");
+        taskService.complete(task.getId());
+
+        waitForHistoryJobs();
+
+        historicProcessInstance = historyService.createHistoricProcessInstanceQuery().singleResult();
+        assertThat(historicProcessInstance.getEndTime()).isNotNull();
+        assertThat(historicProcessInstance.getEndActivityId()).isEqualTo("theEnd");
+
+        historicTaskInstance = historyService.createHistoricTaskInstanceQuery().singleResult();
+        assertThat(historicTaskInstance.getAssignee()).isEqualTo("kermit");
+        assertThat(historicTaskInstance.getEndTime()).isNotNull();
+        assertThat(historicTaskInstance.getDurationInMillis()).isNotNull();
+
+        assertThat(historyService.getHistoricIdentityLinksForTask(task.getId()))
+                .extracting(HistoricIdentityLink::getType, HistoricIdentityLink::getUserId)
+                .contains(tuple(IdentityLinkType.ASSIGNEE, "kermit"));
+
+        assertThat(historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).unfinished().count()).isZero();
+        assertThat(historyService.createHistoricActivityInstanceQuery().activityId("theTask").singleResult().getAssignee()).isEqualTo("kermit");
+
+        assertThat(historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).list())
+                .extracting(HistoricVariableInstance::getVariableName, HistoricVariableInstance::getValue)
+                .containsExactlyInAnyOrder(
+                        tuple("stringVar", "updated"),
+                        tuple("listVar", Arrays.asList("a", "b")));
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/runtime/oneTaskProcess.bpmn20.xml")
+    public void testVariableCreatedAndRemovedInSameTransaction() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        managementService.executeCommand(commandContext -> {
+            runtimeService.setVariable(processInstance.getId(), "transientVar", "value");
+            runtimeService.removeVariable(processInstance.getId(), "transientVar");
+            return null;
+        });
+
+        waitForHistoryJobs();
+
+        assertThat(historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).count()).isZero();
+        assertThat(historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(1);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/runtime/oneTaskProcess.bpmn20.xml")
+    public void testRemovedVariableIsNotBroughtBackByOlderHistoryJob() {
+        Instant now = Instant.now();
+        processEngineConfiguration.getClock().setCurrentTime(Date.from(now));
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+        processEngineConfiguration.getClock().setCurrentTime(Date.from(now.plusSeconds(1)));
+        runtimeService.setVariable(processInstance.getId(), "myVar", "value");
+
+        processEngineConfiguration.getClock().setCurrentTime(Date.from(now.plusSeconds(2)));
+        runtimeService.removeVariable(processInstance.getId(), "myVar");
+
+        List<HistoryJob> historyJobs = managementService.createHistoryJobQuery().list();
+        assertThat(historyJobs)
+                .extracting(HistoryJob::getJobHandlerConfiguration)
+                .containsOnly(processInstance.getId());
+        HistoryJob newestHistoryJob = historyJobs.stream()
+                .max(Comparator.comparing(HistoryJob::getCreateTime))
+                .get();
+
+        // Executing the newest history job first applies the older history jobs of the process instance first
+        managementService.executeHistoryJob(newestHistoryJob.getId());
+
+        assertThat(managementService.createHistoryJobQuery().count()).isZero();
+        assertThat(historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(1);
+        assertThat(historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).count()).isZero();
+    }
+
+    @Test
+    public void testDeletedHistoryIsNotBroughtBackByPendingHistoryJob() {
+        String deploymentId = repositoryService.createDeployment()
+                .addClasspathResource("org/flowable/engine/test/api/runtime/oneTaskProcess.bpmn20.xml")
+                .deploy()
+                .getId();
+
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        waitForHistoryJobs();
+        assertThat(historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(1);
+
+        runtimeService.setVariable(processInstance.getId(), "myVar", "value");
+        assertThat(managementService.createHistoryJobQuery().count()).isEqualTo(1);
+
+        // Deletes the process instance including its history
+        repositoryService.deleteDeployment(deploymentId, true);
+        assertThat(managementService.createHistoryJobQuery().count()).isZero();
+
+        waitForHistoryJobs();
+
+        assertThat(historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstance.getId()).count()).isZero();
+        assertThat(historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).count()).isZero();
+        assertThat(historyService.createHistoricTaskInstanceQuery().processInstanceId(processInstance.getId()).count()).isZero();
+        assertThat(historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).count()).isZero();
+    }
+
+    protected void waitForHistoryJobs() {
+        HistoryTestHelper.waitForJobExecutorToProcessAllHistoryJobs(processEngineConfiguration, managementService, 10000, 200);
+    }
+
+}
@@ -0,0 +1,114 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.idgenerator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.common.engine.impl.cfg.IdGenerator;
+import org.flowable.common.engine.impl.db.IdBlock;
+import org.flowable.engine.impl.db.ConcurrentDbIdGenerator;
+import org.flowable.engine.impl.test.ResourceFlowableTestCase;
+import org.flowable.engine.test.Deployment;
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentDbIdGeneratorTest extends ResourceFlowableTestCase {
+
+    public ConcurrentDbIdGeneratorTest() throws Exception {
+        super("org/flowable/standalone/idgenerator/concurrentdbidgenerator.test.flowable.cfg.xml");
+    }
+
+    @Test
+    public void testUniqueIdsFromConcurrentThreads() throws Exception {
+        IdGenerator idGenerator = processEngineConfiguration.getIdGenerator();
+        assertThat(idGenerator).isInstanceOf(ConcurrentDbIdGenerator.class);
+
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executorService = Executors.newFixedThreadPool(10);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                futures.add(executorService.submit(() -> {
+                    for (int j = 0; j < 1000; j++) {
+                        ids.add(idGenerator.getNextId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executorService.shutdown();
+        }
+
+        assertThat(ids).hasSize(10000);
+    }
+
+    @Test
+    public void testNextIdBlockIsPrefetchedInTheBackground() {
+        Set<String> fetchingThreadNames = ConcurrentHashMap.newKeySet();
+        ConcurrentDbIdGenerator idGenerator = new ConcurrentDbIdGenerator() {
+
+            @Override
+            protected IdBlock fetchIdBlock() {
+                fetchingThreadNames.add(Thread.currentThread().getName());
+                return super.fetchIdBlock();
+            }
+        };
+        idGenerator.setIdBlockSize(100);
+        idGenerator.setCommandExecutor(processEngineConfiguration.getCommandExecutor());
+        idGenerator.setCommandConfig(processEngineConfiguration.getDefaultCommandConfig().transactionRequiresNew());
+
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 500; i++) {
+            ids.add(idGenerator.getNextId());
+        }
+
+        assertThat(ids).hasSize(500);
+        // Only the first id block is fetched by the calling thread, the next ones are prefetched
+        assertThat(fetchingThreadNames)
+                .contains(Thread.currentThread().getName())
+                .anyMatch(threadName -> threadName.startsWith("flowable-id-block-prefetch-"));
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/standalone/idgenerator/UuidGeneratorTest.testUuidGeneratorUsage.bpmn20.xml")
+    public void testConcurrentDbIdGeneratorUsage() throws Exception {
+        // Fewer threads than connections in the pool, as fetching an id block needs a connection of its own
+        ExecutorService executorService = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                futures.add(executorService.submit(() -> runtimeService.startProcessInstanceByKey("simpleProcess")));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executorService.shutdown();
+        }
+
+        assertThat(runtimeService.createProcessInstanceQuery().count()).isEqualTo(50);
+        assertThat(taskService.createTaskQuery().count()).isEqualTo(50);
+    }
+
+}
@@ -73,6 +73,17 @@ public interface EventRegistry {
      */
     void eventReceived(InboundChannelModel channelModel, InboundEvent event);
 
+    /**
+     * Adapters receiving events in batches should call this method to process all events of a batch together.
+     * When this method returns, all events of the batch have been processed.
+     * By default, the events are processed one by one through {@link #eventReceived(InboundChannelModel, InboundEvent)}.
+     */
+    default void eventsReceived(InboundChannelModel channelModel, Collection<InboundEvent> events) {
+        for (InboundEvent event : events) {
+            eventReceived(channelModel, event);
+        }
+    }
+
     /**
      * Send an event to all the registered event consumers.
      */
@@ -188,6 +188,13 @@ public interface InboundChannelModelBuilder {
          */
         InboundKafkaChannelBuilder concurrency(String concurrency);
 
+        /**
+         * Sets whether the records returned by one poll should be passed to the event registry as one batch (a boolean or an expression).
+         * The events of a batch that don't correlate on the same values can then be processed in parallel.
+         * Can't be combined with retry topics.
+         */
+        InboundKafkaChannelBuilder batch(String batch);
+
         /**
          * Sets custom properties for this Kafka adapter. See the Spring Kafka docs for more information.
          */
@@ -197,7 +197,18 @@ public class KafkaChannelDefinitionProcessor implements BeanFactoryAware, Applic
         endpoint.setConcurrency(resolveExpressionAsInteger(channelModel.getConcurrency(), "concurrency"));
         endpoint.setConsumerProperties(resolveProperties(channelModel.getCustomProperties()));
 
-        endpoint.setMessageListener(createMessageListener(eventRegistry, channelModel));
+        boolean batch = resolveExpressionAsBoolean(channelModel.getBatch(), "batch", false);
+        if (batch && createRetryTopicConfiguration(resolveRetryConfiguration(channelModel)) != null) {
+            // The Spring Kafka retry topics (and dead letter topics) do not support batch listeners
+            throw new FlowableException("Kafka channel " + channelModel.getKey() + " cannot use batch listening in combination with retry or dead letter topics");
+        }
+        endpoint.setBatchListener(batch);
+
+        if (batch) {
+            endpoint.setMessageListener(createBatchMessageListener(eventRegistry, channelModel));
+        } else {
+            endpoint.setMessageListener(createMessageListener(eventRegistry, channelModel));
+        }
 
         return endpoint;
     }
@@ -754,6 +765,14 @@ public class KafkaChannelDefinitionProcessor implements BeanFactoryAware, Applic
         return kafkaChannelMessageListenerAdapter;
     }
 
+    @SuppressWarnings("unchecked")
+    protected GenericMessageListener<ConsumerRecord<Object, Object>> createBatchMessageListener(EventRegistry eventRegistry, InboundChannelModel inboundChannelModel) {
+        // The endpoint is registered as a batch listener, so the container passes the records of a poll as a list
+        @SuppressWarnings("rawtypes")
+        GenericMessageListener kafkaChannelBatchMessageListenerAdapter = new KafkaChannelBatchMessageListenerAdapter(eventRegistry, inboundChannelModel);
+        return kafkaChannelBatchMessageListenerAdapter;
+    }
+
     @Override
     public void unregisterChannelModel(ChannelModel channelModel, String tenantId, EventRepositoryService eventRepositoryService) {
         logger.info("Starting to unregister channel {} in tenant {}", channelModel.getKey(), tenantId);
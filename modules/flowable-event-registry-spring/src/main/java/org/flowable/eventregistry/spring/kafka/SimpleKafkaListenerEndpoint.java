@@ -39,6 +39,7 @@ public class SimpleKafkaListenerEndpoint<K, V> implements KafkaListenerEndpoint,
     protected Collection<TopicPartitionOffset> topicPartitions;
     protected String clientIdPrefix;
     protected Integer concurrency;
+    protected Boolean batchListener;
     protected Properties consumerProperties;
     protected boolean splitIterables = true;
     protected String mainListenerId;
@@ -121,6 +122,15 @@ public class SimpleKafkaListenerEndpoint<K, V> implements KafkaListenerEndpoint,
         this.concurrency = concurrency;
     }
 
+    @Override
+    public Boolean getBatchListener() {
+        return batchListener;
+    }
+
+    public void setBatchListener(Boolean batchListener) {
+        this.batchListener = batchListener;
+    }
+
     @Override
     public Boolean getAutoStartup() {
         return null;
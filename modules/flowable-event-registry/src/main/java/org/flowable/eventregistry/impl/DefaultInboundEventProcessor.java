@@ -12,14 +12,32 @@
  */
 package org.flowable.eventregistry.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
+import org.flowable.common.engine.api.FlowableOptimisticLockingException;
 import org.flowable.eventregistry.api.EventRegistry;
 import org.flowable.eventregistry.api.EventRegistryEvent;
+import org.flowable.eventregistry.api.EventRegistryEventConsumer;
+import org.flowable.eventregistry.api.EventRegistryNonMatchingEventConsumer;
+import org.flowable.eventregistry.api.EventRegistryProcessingInfo;
 import org.flowable.eventregistry.api.InboundEvent;
 import org.flowable.eventregistry.api.InboundEventProcessingPipeline;
 import org.flowable.eventregistry.api.InboundEventProcessor;
+import org.flowable.eventregistry.api.runtime.EventInstance;
+import org.flowable.eventregistry.api.runtime.EventPayloadInstance;
 import org.flowable.eventregistry.model.InboundChannelModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * @author Joram Barrez
@@ -27,12 +45,31 @@ import org.flowable.eventregistry.model.InboundChannelModel;
  */
 public class DefaultInboundEventProcessor implements InboundEventProcessor {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultInboundEventProcessor.class);
+
     protected EventRegistry eventRegistry;
 
+    /**
+     * The engine configuration providing the event consumers, when the events of a batch are processed in parallel.
+     */
+    protected EventRegistryEngineConfiguration engineConfiguration;
+
+    /**
+     * The executor used to process the events of a batch in parallel.
+     * When null, the events of a batch are processed one after the other, on the calling thread.
+     */
+    protected Executor batchExecutor;
+
     public DefaultInboundEventProcessor(EventRegistry eventRegistry) {
         this.eventRegistry = eventRegistry;
     }
 
+    public DefaultInboundEventProcessor(EventRegistryEngineConfiguration engineConfiguration, EventRegistry eventRegistry, Executor batchExecutor) {
+        this.engineConfiguration = engineConfiguration;
+        this.eventRegistry = eventRegistry;
+        this.batchExecutor = batchExecutor;
+    }
+
     @Override
     public void eventReceived(InboundChannelModel channelModel, InboundEvent event) {
         InboundEventProcessingPipeline inboundEventProcessingPipeline = (InboundEventProcessingPipeline) channelModel.getInboundEventProcessingPipeline();
@@ -44,4 +81,208 @@ public class DefaultInboundEventProcessor implements InboundEventProcessor {
 
     }
 
+    /**
+     * Runs the pipeline for all events of the batch and sends the resulting events to the consumers.
+     *
+     * <p>
+     * Events that can correlate with the same subscriptions (same event key, tenant and a shared correlation parameter value,
+     * or no correlation parameters at all) are put in the same group and processed in order.
+     * When a batch executor is configured, the pipelines and the different groups are run in parallel.
+     * Since events of different groups can still match the same subscription (e.g. a subscription without correlation parameters),
+     * a group failing with an optimistic locking exception is processed again sequentially, once the other groups are done.
+     * The retry starts with the consumer that failed, such that the consumers that already handled the failed event
+     * don't receive it a second time.
+     */
+    @Override
+    public void eventsReceived(InboundChannelModel channelModel, Collection<InboundEvent> events) {
+        if (batchExecutor == null || engineConfiguration == null) {
+            InboundEventProcessor.super.eventsReceived(channelModel, events);
+            return;
+        }
+
+        InboundEventProcessingPipeline inboundEventProcessingPipeline = (InboundEventProcessingPipeline) channelModel.getInboundEventProcessingPipeline();
+        List<CompletableFuture<Collection<EventRegistryEvent>>> pipelineFutures = new ArrayList<>(events.size());
+        for (InboundEvent event : events) {
+            pipelineFutures.add(CompletableFuture.supplyAsync(() -> inboundEventProcessingPipeline.run(channelModel, event), batchExecutor));
+        }
+
+        List<EventRegistryEvent> eventRegistryEvents = new ArrayList<>();
+        for (CompletableFuture<Collection<EventRegistryEvent>> pipelineFuture : pipelineFutures) {
+            eventRegistryEvents.addAll(join(pipelineFuture));
+        }
+
+        Collection<List<EventRegistryEvent>> groups = groupConflictingEvents(eventRegistryEvents);
+        if (groups.size() <= 1) {
+            for (EventRegistryEvent eventRegistryEvent : eventRegistryEvents) {
+                eventRegistry.sendEventToConsumers(eventRegistryEvent);
+            }
+            return;
+        }
+
+        List<EventGroupProcessing> groupProcessings = new ArrayList<>(groups.size());
+        for (List<EventRegistryEvent> group : groups) {
+            EventGroupProcessing groupProcessing = new EventGroupProcessing(group);
+            groupProcessing.future = CompletableFuture.runAsync(() -> sendEventsToConsumers(groupProcessing), batchExecutor);
+            groupProcessings.add(groupProcessing);
+        }
+
+        RuntimeException exception = null;
+        for (EventGroupProcessing groupProcessing : groupProcessings) {
+            try {
+                join(groupProcessing.future);
+
+            } catch (FlowableOptimisticLockingException e) {
+                LOGGER.debug("Concurrent modification while processing a group of events in parallel, the group will be processed again", e);
+                groupProcessing.retry = true;
+
+            } catch (RuntimeException e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+
+        if (exception != null) {
+            throw exception;
+        }
+
+        for (EventGroupProcessing groupProcessing : groupProcessings) {
+            if (groupProcessing.retry) {
+                sendEventsToConsumers(groupProcessing);
+            }
+        }
+    }
+
+    /**
+     * Sends the events of the group that haven't been processed yet to the consumers, in order.
+     * Like {@link DefaultEventRegistry#sendEventToConsumers(EventRegistryEvent)}, but keeps track of the consumers
+     * that already handled the current event, such that a retry only sends it to the other consumers.
+     */
+    protected void sendEventsToConsumers(EventGroupProcessing groupProcessing) {
+        while (groupProcessing.processedEvents < groupProcessing.events.size()) {
+            EventRegistryEvent eventRegistryEvent = groupProcessing.events.get(groupProcessing.processedEvents);
+            for (EventRegistryEventConsumer eventConsumer : new ArrayList<>(engineConfiguration.getEventRegistryEventConsumers().values())) {
+                if (groupProcessing.processedConsumerKeys.contains(eventConsumer.getConsumerKey())) {
+                    continue;
+                }
+
+                EventRegistryProcessingInfo processingInfo = eventConsumer.eventReceived(eventRegistryEvent);
+                if (processingInfo != null && processingInfo.getEventConsumerInfos() != null && !processingInfo.getEventConsumerInfos().isEmpty()) {
+                    if (groupProcessing.processingInfo == null) {
+                        groupProcessing.processingInfo = new EventRegistryProcessingInfo();
+                    }
+                    groupProcessing.processingInfo.setEventConsumerInfos(processingInfo.getEventConsumerInfos());
+                }
+                groupProcessing.processedConsumerKeys.add(eventConsumer.getConsumerKey());
+            }
+
+            EventRegistryNonMatchingEventConsumer nonMatchingEventConsumer = engineConfiguration.getNonMatchingEventConsumer();
+            if ((groupProcessing.processingInfo == null || !groupProcessing.processingInfo.eventHandled()) && nonMatchingEventConsumer != null) {
+                nonMatchingEventConsumer.handleNonMatchingEvent(eventRegistryEvent, groupProcessing.processingInfo);
+            }
+
+            groupProcessing.processedEvents++;
+            groupProcessing.processedConsumerKeys.clear();
+            groupProcessing.processingInfo = null;
+        }
+    }
+
+    /**
+     * Groups the events that can correlate with the same subscriptions, keeping the order of the events within a group.
+     */
+    protected Collection<List<EventRegistryEvent>> groupConflictingEvents(List<EventRegistryEvent> eventRegistryEvents) {
+        int[] parents = new int[eventRegistryEvents.size()];
+        Map<String, Integer> eventIndexByConflictKey = new HashMap<>();
+        for (int i = 0; i < eventRegistryEvents.size(); i++) {
+            parents[i] = i;
+            for (String conflictKey : getConflictKeys(eventRegistryEvents.get(i))) {
+                Integer otherEventIndex = eventIndexByConflictKey.putIfAbsent(conflictKey, i);
+                if (otherEventIndex != null) {
+                    parents[findGroup(parents, i)] = findGroup(parents, otherEventIndex);
+                }
+            }
+        }
+
+        Map<Integer, List<EventRegistryEvent>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < eventRegistryEvents.size(); i++) {
+            groups.computeIfAbsent(findGroup(parents, i), group -> new ArrayList<>()).add(eventRegistryEvents.get(i));
+        }
+        return groups.values();
+    }
+
+    protected int findGroup(int[] parents, int eventIndex) {
+        int group = eventIndex;
+        while (parents[group] != group) {
+            parents[group] = parents[parents[group]];
+            group = parents[group];
+        }
+        return group;
+    }
+
+    protected Collection<String> getConflictKeys(EventRegistryEvent eventRegistryEvent) {
+        Collection<String> conflictKeys = new ArrayList<>();
+        if (!(eventRegistryEvent.getEventObject() instanceof EventInstance)) {
+            conflictKeys.add(eventRegistryEvent.getType());
+            return conflictKeys;
+        }
+
+        EventInstance eventInstance = (EventInstance) eventRegistryEvent.getEventObject();
+        String eventConflictKey = eventInstance.getEventKey() + '|' + eventInstance.getTenantId() + '|';
+        Collection<EventPayloadInstance> correlationParameterInstances = eventInstance.getCorrelationParameterInstances();
+        if (correlationParameterInstances == null || correlationParameterInstances.isEmpty()) {
+            conflictKeys.add(eventConflictKey);
+
+        } else {
+            for (EventPayloadInstance correlationParameterInstance : correlationParameterInstances) {
+                conflictKeys.add(eventConflictKey + correlationParameterInstance.getDefinitionName() + '=' + correlationParameterInstance.getValue());
+            }
+        }
+        return conflictKeys;
+    }
+
+    protected <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    public EventRegistryEngineConfiguration getEngineConfiguration() {
+        return engineConfiguration;
+    }
+
+    public void setEngineConfiguration(EventRegistryEngineConfiguration engineConfiguration) {
+        this.engineConfiguration = engineConfiguration;
+    }
+
+    public Executor getBatchExecutor() {
+        return batchExecutor;
+    }
+
+    public void setBatchExecutor(Executor batchExecutor) {
+        this.batchExecutor = batchExecutor;
+    }
+
+    protected static class EventGroupProcessing {
+
+        protected final List<EventRegistryEvent> events;
+        protected final Set<String> processedConsumerKeys = new HashSet<>();
+        protected CompletableFuture<Void> future;
+        protected volatile int processedEvents;
+        protected EventRegistryProcessingInfo processingInfo;
+        protected boolean retry;
+
+        public EventGroupProcessing(List<EventRegistryEvent> events) {
+            this.events = events;
+        }
+    }
+
 }
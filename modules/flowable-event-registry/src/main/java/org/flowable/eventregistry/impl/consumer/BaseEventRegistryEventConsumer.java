@@ -118,14 +118,15 @@ public abstract class BaseEventRegistryEventConsumer implements EventRegistryEve
     protected List<EventSubscription> findEventSubscriptions(String scopeType, EventInstance eventInstance,  Collection<CorrelationKey> correlationKeys) {
         return commandExecutor.execute(commandContext -> {
 
+            Set<String> allCorrelationKeyValues = correlationKeys.stream().map(CorrelationKey::getValue).collect(Collectors.toSet());
+            Collection<String> tenantIds = null;
+
             EventSubscriptionQuery eventSubscriptionQuery = createEventSubscriptionQuery()
                 .eventType(eventInstance.getEventKey())
                 .scopeType(scopeType);
 
             if (!correlationKeys.isEmpty()) {
 
-                Set<String> allCorrelationKeyValues = correlationKeys.stream().map(CorrelationKey::getValue).collect(Collectors.toSet());
-
                 eventSubscriptionQuery.or()
                     .withoutConfiguration()
                     .configurations(allCorrelationKeyValues)
@@ -155,19 +156,35 @@ public abstract class BaseEventRegistryEventConsumer implements EventRegistryEve
                         eventSubscriptionQuery.tenantIds(Arrays.asList(eventInstanceTenantId, defaultTenant));
 
                     }
+                    tenantIds = Arrays.asList(eventInstanceTenantId, defaultTenant);
 
                 } else {
                     eventSubscriptionQuery.tenantId(eventInstanceTenantId);
+                    tenantIds = Collections.singletonList(eventInstanceTenantId);
 
                 }
 
             }
 
+            if (!hasPossibleEventSubscriptions(eventInstance.getEventKey(), scopeType, tenantIds, allCorrelationKeyValues)) {
+                return Collections.emptyList();
+            }
+
             return eventSubscriptionQuery.list();
 
         });
     }
 
+    /**
+     * Returns whether there can be event subscriptions for the given event type and scope type, for one of the given tenants
+     * (null meaning any tenant) and with no configuration or one of the given correlation key values.
+     * When this returns false, the event subscription query is not executed.
+     * By default, this always returns true. Consumers having an event subscription index available can override this.
+     */
+    protected boolean hasPossibleEventSubscriptions(String eventType, String scopeType, Collection<String> tenantIds, Collection<String> correlationKeyValues) {
+        return true;
+    }
+
     protected abstract EventSubscriptionQuery createEventSubscriptionQuery();
 
 }
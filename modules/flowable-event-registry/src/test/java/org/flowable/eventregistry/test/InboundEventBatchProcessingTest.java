@@ -0,0 +1,274 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.eventregistry.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.FlowableOptimisticLockingException;
+import org.flowable.eventregistry.api.EventConsumerInfo;
+import org.flowable.eventregistry.api.EventDeployment;
+import org.flowable.eventregistry.api.EventRegistry;
+import org.flowable.eventregistry.api.EventRegistryEvent;
+import org.flowable.eventregistry.api.EventRegistryEventConsumer;
+import org.flowable.eventregistry.api.EventRegistryProcessingInfo;
+import org.flowable.eventregistry.api.InboundEvent;
+import org.flowable.eventregistry.api.InboundEventChannelAdapter;
+import org.flowable.eventregistry.api.InboundEventProcessor;
+import org.flowable.eventregistry.api.model.EventPayloadTypes;
+import org.flowable.eventregistry.api.runtime.EventInstance;
+import org.flowable.eventregistry.api.runtime.EventPayloadInstance;
+import org.flowable.eventregistry.impl.DefaultInboundEvent;
+import org.flowable.eventregistry.impl.DefaultInboundEventProcessor;
+import org.flowable.eventregistry.model.InboundChannelModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class InboundEventBatchProcessingTest extends AbstractFlowableEventTest {
+
+    protected Map<Object, Object> initialBeans;
+    protected InboundEventProcessor initialInboundEventProcessor;
+    protected ExecutorService executorService;
+    protected RecordingEventConsumer eventConsumer;
+    protected InboundChannelModel channelModel;
+
+    @BeforeEach
+    public void setUp() {
+        initialBeans = eventEngineConfiguration.getExpressionManager().getBeans();
+        eventEngineConfiguration.getExpressionManager().setBeans(new HashMap<>());
+        eventEngineConfiguration.getExpressionManager().getBeans().put("inboundEventChannelAdapter", new NoopInboundEventChannelAdapter());
+
+        executorService = Executors.newFixedThreadPool(4);
+        initialInboundEventProcessor = eventEngineConfiguration.getInboundEventProcessor();
+        eventRegistry.setInboundEventProcessor(new DefaultInboundEventProcessor(eventEngineConfiguration, eventRegistry, executorService));
+
+        eventConsumer = new RecordingEventConsumer("recordingBatchEventConsumer");
+        eventRegistry.registerEventRegistryEventConsumer(eventConsumer);
+
+        repositoryService.createInboundChannelModelBuilder()
+                .key("batch-channel")
+                .resourceName("batch.channel")
+                .channelAdapter("${inboundEventChannelAdapter}")
+                .jsonDeserializer()
+                .detectEventKeyUsingJsonField("type")
+                .jsonFieldsMapDirectlyToPayload()
+                .deploy();
+
+        repositoryService.createEventModelBuilder()
+                .key("orderEvent")
+                .resourceName("orderEvent.event")
+                .correlationParameter("customerId", EventPayloadTypes.STRING)
+                .payload("sequence", EventPayloadTypes.INTEGER)
+                .deploy();
+
+        channelModel = (InboundChannelModel) repositoryService.getChannelModelByKey("batch-channel");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        eventRegistry.removeFlowableEventRegistryEventConsumer(eventConsumer);
+        eventRegistry.setInboundEventProcessor(initialInboundEventProcessor);
+        executorService.shutdownNow();
+        eventEngineConfiguration.getExpressionManager().setBeans(initialBeans);
+
+        for (EventDeployment eventDeployment : repositoryService.createDeploymentQuery().list()) {
+            repositoryService.deleteDeployment(eventDeployment.getId());
+        }
+    }
+
+    @Test
+    public void testEventsWithSameCorrelationAreProcessedInOrder() {
+        eventRegistry.eventsReceived(channelModel, createEvents(5, 40));
+
+        assertThat(eventConsumer.events).hasSize(40);
+        assertOrderedPerCustomer(5, 40);
+    }
+
+    @Test
+    public void testEventsWithoutBatchExecutor() {
+        eventRegistry.setInboundEventProcessor(new DefaultInboundEventProcessor(eventRegistry));
+
+        eventRegistry.eventsReceived(channelModel, createEvents(3, 12));
+
+        assertThat(eventConsumer.events)
+                .extracting(ReceivedEvent::getSequence)
+                .containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11);
+    }
+
+    @Test
+    public void testGroupIsProcessedAgainAfterOptimisticLockingException() {
+        AtomicBoolean failed = new AtomicBoolean();
+        eventConsumer.failure = event -> event.sequence == 13 && failed.compareAndSet(false, true);
+
+        eventRegistry.eventsReceived(channelModel, createEvents(5, 40));
+
+        assertThat(failed).isTrue();
+        assertThat(eventConsumer.events).hasSize(40);
+        assertThat(eventConsumer.events.stream().filter(event -> event.sequence == 13)).hasSize(1);
+        assertOrderedPerCustomer(5, 40);
+    }
+
+    @Test
+    public void testOnlyFailedConsumerIsRetriedAfterOptimisticLockingException() {
+        RecordingEventConsumer otherEventConsumer = new RecordingEventConsumer("otherRecordingBatchEventConsumer");
+        eventRegistry.registerEventRegistryEventConsumer(otherEventConsumer);
+        try {
+            // The consumer receiving event 13 last fails once, after the other consumer already handled it
+            AtomicBoolean failed = new AtomicBoolean();
+            eventConsumer.failure = event -> event.sequence == 13 && otherEventConsumer.hasReceived(13) && failed.compareAndSet(false, true);
+            otherEventConsumer.failure = event -> event.sequence == 13 && eventConsumer.hasReceived(13) && failed.compareAndSet(false, true);
+
+            eventRegistry.eventsReceived(channelModel, createEvents(5, 40));
+
+            assertThat(failed).isTrue();
+            for (RecordingEventConsumer consumer : List.of(eventConsumer, otherEventConsumer)) {
+                assertThat(consumer.events).hasSize(40);
+                assertThat(consumer.events.stream().filter(event -> event.sequence == 13)).hasSize(1);
+            }
+            assertOrderedPerCustomer(5, 40);
+
+        } finally {
+            eventRegistry.removeFlowableEventRegistryEventConsumer(otherEventConsumer);
+        }
+    }
+
+    @Test
+    public void testExceptionIsRethrownAfterAllGroupsAreDone() {
+        eventConsumer.failure = event -> {
+            if (event.sequence == 7) {
+                throw new FlowableException("Failed to process event 7");
+            }
+            return false;
+        };
+
+        assertThatThrownBy(() -> eventRegistry.eventsReceived(channelModel, createEvents(4, 20)))
+                .isInstanceOf(FlowableException.class)
+                .hasMessage("Failed to process event 7");
+
+        // Only the events of the failed group after the failed event are not processed
+        assertThat(eventConsumer.events)
+                .extracting(ReceivedEvent::getSequence)
+                .containsExactlyInAnyOrder(0, 1, 2, 3, 4, 5, 6, 8, 9, 10, 12, 13, 14, 16, 17, 18);
+    }
+
+    protected List<InboundEvent> createEvents(int customers, int events) {
+        List<InboundEvent> inboundEvents = new ArrayList<>(events);
+        for (int i = 0; i < events; i++) {
+            inboundEvents.add(new DefaultInboundEvent("{ \"type\": \"orderEvent\", \"customerId\": \"customer" + (i % customers) + "\", \"sequence\": " + i + " }"));
+        }
+        return inboundEvents;
+    }
+
+    protected void assertOrderedPerCustomer(int customers, int events) {
+        Map<String, List<Integer>> sequencesByCustomer = eventConsumer.events.stream()
+                .collect(Collectors.groupingBy(ReceivedEvent::getCustomerId, Collectors.mapping(ReceivedEvent::getSequence, Collectors.toList())));
+        assertThat(sequencesByCustomer).hasSize(customers);
+        for (int i = 0; i < customers; i++) {
+            List<Integer> expectedSequences = new ArrayList<>();
+            for (int sequence = i; sequence < events; sequence += customers) {
+                expectedSequences.add(sequence);
+            }
+            assertThat(sequencesByCustomer.get("customer" + i)).containsExactlyElementsOf(expectedSequences);
+        }
+    }
+
+    protected static class RecordingEventConsumer implements EventRegistryEventConsumer {
+
+        protected final String consumerKey;
+        protected final Queue<ReceivedEvent> events = new ConcurrentLinkedQueue<>();
+        protected Predicate<ReceivedEvent> failure = event -> false;
+
+        public RecordingEventConsumer(String consumerKey) {
+            this.consumerKey = consumerKey;
+        }
+
+        @Override
+        public String getConsumerKey() {
+            return consumerKey;
+        }
+
+        public boolean hasReceived(int sequence) {
+            return events.stream().anyMatch(event -> event.sequence == sequence);
+        }
+
+        @Override
+        public EventRegistryProcessingInfo eventReceived(EventRegistryEvent event) {
+            EventInstance eventInstance = (EventInstance) event.getEventObject();
+            ReceivedEvent receivedEvent = new ReceivedEvent(getPayloadValue(eventInstance, "customerId"), getPayloadValue(eventInstance, "sequence"));
+            if (failure.test(receivedEvent)) {
+                throw new FlowableOptimisticLockingException("Concurrent modification of event " + receivedEvent.sequence);
+            }
+            events.add(receivedEvent);
+
+            EventRegistryProcessingInfo eventRegistryProcessingInfo = new EventRegistryProcessingInfo();
+            eventRegistryProcessingInfo.addEventConsumerInfo(new EventConsumerInfo());
+            return eventRegistryProcessingInfo;
+        }
+
+        @SuppressWarnings("unchecked")
+        protected <T> T getPayloadValue(EventInstance eventInstance, String name) {
+            Collection<EventPayloadInstance> payloadInstances = eventInstance.getPayloadInstances();
+            for (EventPayloadInstance payloadInstance : payloadInstances) {
+                if (name.equals(payloadInstance.getDefinitionName())) {
+                    return (T) payloadInstance.getValue();
+                }
+            }
+            return null;
+        }
+    }
+
+    protected static class ReceivedEvent {
+
+        protected final String customerId;
+        protected final int sequence;
+
+        public ReceivedEvent(String customerId, int sequence) {
+            this.customerId = customerId;
+            this.sequence = sequence;
+        }
+
+        public String getCustomerId() {
+            return customerId;
+        }
+
+        public int getSequence() {
+            return sequence;
+        }
+    }
+
+    protected static class NoopInboundEventChannelAdapter implements InboundEventChannelAdapter {
+
+        @Override
+        public void setInboundChannelModel(InboundChannelModel inboundChannelModel) {
+        }
+
+        @Override
+        public void setEventRegistry(EventRegistry eventRegistry) {
+        }
+    }
+}
@@ -16,6 +16,7 @@ import java.time.Duration;
 import java.util.UUID;
 
 import org.flowable.common.engine.impl.AbstractServiceConfiguration;
+import org.flowable.eventsubscription.service.impl.EventSubscriptionIndex;
 import org.flowable.eventsubscription.service.impl.EventSubscriptionServiceImpl;
 import org.flowable.eventsubscription.service.impl.persistence.entity.EventSubscriptionEntityManager;
 import org.flowable.eventsubscription.service.impl.persistence.entity.EventSubscriptionEntityManagerImpl;
@@ -58,6 +59,23 @@ public class EventSubscriptionServiceConfiguration extends AbstractServiceConfig
      */
     private String lockOwner = UUID.randomUUID().toString();
     
+    // INDEX
+    // //////////////////////////////////////////////
+
+    /**
+     * Whether the {@link EventSubscriptionIndex} is used to skip the event subscription query for events that can't match any subscription.
+     * Meant for a single engine node: subscriptions created on other nodes are only seen after the refresh interval,
+     * unless the index is invalidated explicitly. Disabled by default.
+     */
+    protected boolean eventSubscriptionIndexEnabled;
+
+    /**
+     * The interval after which the indexed keys of an event type are reloaded from the database.
+     */
+    protected Duration eventSubscriptionIndexRefreshInterval = Duration.ofSeconds(30);
+
+    protected EventSubscriptionIndex eventSubscriptionIndex;
+
     protected ObjectMapper objectMapper;
     
     public EventSubscriptionServiceConfiguration(String engineName) {
@@ -70,6 +88,7 @@ public class EventSubscriptionServiceConfiguration extends AbstractServiceConfig
     public void init() {
         initDataManagers();
         initEntityManagers();
+        initEventSubscriptionIndex();
     }
 
     // Data managers
@@ -87,6 +106,13 @@ public class EventSubscriptionServiceConfiguration extends AbstractServiceConfig
         }
     }
 
+    public void initEventSubscriptionIndex() {
+        if (eventSubscriptionIndexEnabled && eventSubscriptionIndex == null) {
+            eventSubscriptionIndex = new EventSubscriptionIndex(this);
+            eventSubscriptionIndex.setRefreshInterval(eventSubscriptionIndexRefreshInterval);
+        }
+    }
+
     // getters and setters
     // //////////////////////////////////////////////////////
 
@@ -141,6 +167,33 @@ public class EventSubscriptionServiceConfiguration extends AbstractServiceConfig
         return this;
     }
 
+    public boolean isEventSubscriptionIndexEnabled() {
+        return eventSubscriptionIndexEnabled;
+    }
+
+    public EventSubscriptionServiceConfiguration setEventSubscriptionIndexEnabled(boolean eventSubscriptionIndexEnabled) {
+        this.eventSubscriptionIndexEnabled = eventSubscriptionIndexEnabled;
+        return this;
+    }
+
+    public Duration getEventSubscriptionIndexRefreshInterval() {
+        return eventSubscriptionIndexRefreshInterval;
+    }
+
+    public EventSubscriptionServiceConfiguration setEventSubscriptionIndexRefreshInterval(Duration eventSubscriptionIndexRefreshInterval) {
+        this.eventSubscriptionIndexRefreshInterval = eventSubscriptionIndexRefreshInterval;
+        return this;
+    }
+
+    public EventSubscriptionIndex getEventSubscriptionIndex() {
+        return eventSubscriptionIndex;
+    }
+
+    public EventSubscriptionServiceConfiguration setEventSubscriptionIndex(EventSubscriptionIndex eventSubscriptionIndex) {
+        this.eventSubscriptionIndex = eventSubscriptionIndex;
+        return this;
+    }
+
     public String getLockOwner() {
         return lockOwner;
     }
@@ -0,0 +1,270 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.eventsubscription.service.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.flowable.common.engine.impl.cfg.TransactionContext;
+import org.flowable.common.engine.impl.cfg.TransactionState;
+import org.flowable.common.engine.impl.context.Context;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.eventsubscription.service.EventSubscriptionServiceConfiguration;
+import org.flowable.eventsubscription.service.impl.persistence.entity.EventSubscriptionEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A node-local index of the scope type, tenant and configuration of the event subscriptions, per event type.
+ * Used to determine whether an event can match any subscription at all, before querying the database.
+ *
+ * <p>
+ * The keys of an event type are loaded lazily from the database, the first time the event type is checked.
+ * Afterwards, the index is kept current as follows:
+ * <ul>
+ * <li>Subscriptions inserted through the {@link org.flowable.eventsubscription.service.impl.persistence.entity.EventSubscriptionEntityManager}
+ * of this node are added to the index when their transaction has been committed.</li>
+ * <li>Deleted subscriptions are not removed from the index: a stale key only means that the database is queried.</li>
+ * <li>The keys of an event type are reloaded from the database when the refresh interval has passed, which removes the deleted keys
+ * and picks up the subscriptions inserted by other nodes. Other nodes can invalidate the index earlier
+ * through {@link #invalidate(String)} or {@link #invalidate()}, for example when they receive a cluster message.</li>
+ * </ul>
+ *
+ * Hence, the index is meant for a single engine node. There is no cross-node invalidation: an event for a subscription created on another node
+ * is not correlated until the refresh interval has passed, unless that node invalidates the index. This is why the index is disabled by default,
+ * and why the engine configurations refuse to enable it when the async executor is activated.
+ * When an event type has more distinct keys than the configured maximum, it is not indexed and the database is always queried.
+ */
+public class EventSubscriptionIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventSubscriptionIndex.class);
+
+    protected static final String REGISTERED_KEYS_ATTRIBUTE = "ctx.attribute.eventSubscriptionIndexKeys.";
+
+    protected final EventSubscriptionServiceConfiguration eventSubscriptionServiceConfiguration;
+    protected final ConcurrentMap<String, IndexEntry> entries = new ConcurrentHashMap<>();
+
+    protected Duration refreshInterval = Duration.ofSeconds(30);
+    protected int maxKeysPerEventType = 10000;
+
+    public EventSubscriptionIndex(EventSubscriptionServiceConfiguration eventSubscriptionServiceConfiguration) {
+        this.eventSubscriptionServiceConfiguration = eventSubscriptionServiceConfiguration;
+    }
+
+    /**
+     * Returns whether the database can contain event subscriptions for the given event type and scope type,
+     * for one of the given tenants and with either no configuration or one of the given configurations.
+     * When this returns false, querying the database for such subscriptions can be skipped.
+     *
+     * Needs to be called with an active command context, as the keys of the event type might need to be (re)loaded from the database.
+     *
+     * @param tenantIds the tenant ids of the subscriptions (where the empty string means without tenant), or null for any tenant
+     * @param configurations the configurations of the subscriptions, next to subscriptions without configuration
+     */
+    public boolean hasPossibleSubscriptions(String eventType, String scopeType, Collection<String> tenantIds, Collection<String> configurations) {
+        IndexEntry entry = getLoadedEntry(eventType);
+        if (entry == null || entry.unbounded) {
+            return true;
+        }
+
+        return entry.containsMatchingKey(scopeType, tenantIds, configurations);
+    }
+
+    /**
+     * Adds the key of the given subscription to the index, when the current transaction has been committed.
+     * Registering the key after the commit guarantees that a reload of the event type can't miss it:
+     * either the reload sees the committed subscription, or the key is added to the reloaded entry.
+     */
+    public void registerEventSubscription(EventSubscriptionEntity eventSubscription) {
+        if (eventSubscription.getEventType() == null) {
+            return;
+        }
+
+        EventSubscriptionKey key = createKey(eventSubscription.getScopeType(), eventSubscription.getTenantId(), eventSubscription.getConfiguration());
+        CommandContext commandContext = Context.getCommandContext();
+        TransactionContext transactionContext = Context.getTransactionContext();
+        if (commandContext == null || transactionContext == null) {
+            addKey(eventSubscription.getEventType(), key);
+            return;
+        }
+
+        String attributeName = REGISTERED_KEYS_ATTRIBUTE + eventSubscriptionServiceConfiguration.getEngineName();
+        @SuppressWarnings("unchecked")
+        List<RegisteredKey> registeredKeys = (List<RegisteredKey>) commandContext.getAttribute(attributeName);
+        if (registeredKeys == null) {
+            List<RegisteredKey> keysToRegister = new ArrayList<>();
+            commandContext.addAttribute(attributeName, keysToRegister);
+            transactionContext.addTransactionListener(TransactionState.COMMITTED, context -> {
+                for (RegisteredKey registeredKey : keysToRegister) {
+                    addKey(registeredKey.eventType, registeredKey.key);
+                }
+            });
+            registeredKeys = keysToRegister;
+        }
+        registeredKeys.add(new RegisteredKey(eventSubscription.getEventType(), key));
+    }
+
+    /**
+     * Discards the keys of the given event type, which are reloaded from the database the next time the event type is checked.
+     */
+    public void invalidate(String eventType) {
+        entries.remove(eventType);
+    }
+
+    /**
+     * Discards the keys of all event types.
+     */
+    public void invalidate() {
+        entries.clear();
+    }
+
+    protected void addKey(String eventType, EventSubscriptionKey key) {
+        // When the event type is not indexed (yet), the subscription is picked up when it is loaded from the database
+        IndexEntry entry = entries.get(eventType);
+        if (entry != null) {
+            entry.addedKeys.add(key);
+        }
+    }
+
+    protected IndexEntry getLoadedEntry(String eventType) {
+        long currentTime = System.nanoTime();
+        IndexEntry entry = entries.get(eventType);
+        if (entry != null && currentTime - entry.creationTime < refreshInterval.toNanos()) {
+            // While another thread is loading the keys, the database is queried
+            return entry.loaded ? entry : null;
+        }
+
+        IndexEntry newEntry = new IndexEntry(currentTime);
+        boolean installed = entry == null ? entries.putIfAbsent(eventType, newEntry) == null : entries.replace(eventType, entry, newEntry);
+        if (!installed) {
+            return null;
+        }
+
+        try {
+            List<EventSubscriptionKey> keys = eventSubscriptionServiceConfiguration.getEventSubscriptionEntityManager()
+                    .findEventSubscriptionKeysByEventType(eventType);
+            if (keys.size() > maxKeysPerEventType) {
+                LOGGER.debug("Event type {} has {} distinct subscription keys, which is more than the maximum of {}. The event type is not indexed.",
+                        eventType, keys.size(), maxKeysPerEventType);
+                newEntry.unbounded = true;
+
+            } else {
+                Set<EventSubscriptionKey> loadedKeys = new HashSet<>(keys.size());
+                for (EventSubscriptionKey key : keys) {
+                    loadedKeys.add(createKey(key.getScopeType(), key.getTenantId(), key.getConfiguration()));
+                }
+                newEntry.loadedKeys = loadedKeys;
+            }
+            newEntry.loaded = true;
+            return newEntry;
+
+        } catch (RuntimeException e) {
+            entries.remove(eventType, newEntry);
+            throw e;
+        }
+    }
+
+    protected EventSubscriptionKey createKey(String scopeType, String tenantId, String configuration) {
+        // Subscriptions without tenant can have the empty string or null as tenant id
+        return new EventSubscriptionKey(scopeType, tenantId != null ? tenantId : EventSubscriptionServiceConfiguration.NO_TENANT_ID, configuration);
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public EventSubscriptionIndex setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+        return this;
+    }
+
+    public int getMaxKeysPerEventType() {
+        return maxKeysPerEventType;
+    }
+
+    public EventSubscriptionIndex setMaxKeysPerEventType(int maxKeysPerEventType) {
+        this.maxKeysPerEventType = maxKeysPerEventType;
+        return this;
+    }
+
+    protected static class IndexEntry {
+
+        protected final long creationTime;
+        protected final Set<EventSubscriptionKey> addedKeys = ConcurrentHashMap.newKeySet();
+        protected volatile Set<EventSubscriptionKey> loadedKeys = Collections.emptySet();
+        protected volatile boolean unbounded;
+        protected volatile boolean loaded;
+
+        public IndexEntry(long creationTime) {
+            this.creationTime = creationTime;
+        }
+
+        protected boolean containsMatchingKey(String scopeType, Collection<String> tenantIds, Collection<String> configurations) {
+            return containsMatchingKey(loadedKeys, scopeType, tenantIds, configurations)
+                    || containsMatchingKey(addedKeys, scopeType, tenantIds, configurations);
+        }
+
+        protected boolean containsMatchingKey(Set<EventSubscriptionKey> keys, String scopeType, Collection<String> tenantIds, Collection<String> configurations) {
+            if (keys.isEmpty()) {
+                return false;
+            }
+
+            if (tenantIds != null) {
+                for (String tenantId : tenantIds) {
+                    if (containsMatchingKey(keys, scopeType, tenantId, configurations)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            for (EventSubscriptionKey key : keys) {
+                if (Objects.equals(scopeType, key.getScopeType()) && (key.getConfiguration() == null || configurations.contains(key.getConfiguration()))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        protected boolean containsMatchingKey(Set<EventSubscriptionKey> keys, String scopeType, String tenantId, Collection<String> configurations) {
+            if (keys.contains(new EventSubscriptionKey(scopeType, tenantId, null))) {
+                return true;
+            }
+            for (String configuration : configurations) {
+                if (keys.contains(new EventSubscriptionKey(scopeType, tenantId, configuration))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    protected static class RegisteredKey {
+
+        protected final String eventType;
+        protected final EventSubscriptionKey key;
+
+        public RegisteredKey(String eventType, EventSubscriptionKey key) {
+            this.eventType = eventType;
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.eventsubscription.service.impl;
+
+import java.util.Objects;
+
+/**
+ * The scope type, tenant and configuration of an event subscription, as kept by the {@link EventSubscriptionIndex}.
+ */
+public class EventSubscriptionKey {
+
+    protected String scopeType;
+    protected String tenantId;
+    protected String configuration;
+
+    public EventSubscriptionKey() {
+    }
+
+    public EventSubscriptionKey(String scopeType, String tenantId, String configuration) {
+        this.scopeType = scopeType;
+        this.tenantId = tenantId;
+        this.configuration = configuration;
+    }
+
+    public String getScopeType() {
+        return scopeType;
+    }
+
+    public void setScopeType(String scopeType) {
+        this.scopeType = scopeType;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public String getConfiguration() {
+        return configuration;
+    }
+
+    public void setConfiguration(String configuration) {
+        this.configuration = configuration;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        EventSubscriptionKey that = (EventSubscriptionKey) o;
+        return Objects.equals(scopeType, that.scopeType)
+                && Objects.equals(tenantId, that.tenantId)
+                && Objects.equals(configuration, that.configuration);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(scopeType, tenantId, configuration);
+    }
+
+    @Override
+    public String toString() {
+        return "EventSubscriptionKey[scopeType=" + scopeType + ", tenantId=" + tenantId + ", configuration=" + configuration + "]";
+    }
+}
@@ -17,6 +17,7 @@ import java.util.List;
 import org.flowable.common.engine.impl.persistence.entity.EntityManager;
 import org.flowable.eventsubscription.api.EventSubscription;
 import org.flowable.eventsubscription.api.EventSubscriptionBuilder;
+import org.flowable.eventsubscription.service.impl.EventSubscriptionKey;
 import org.flowable.eventsubscription.service.impl.EventSubscriptionQueryImpl;
 
 /**
@@ -96,6 +97,8 @@ public interface EventSubscriptionEntityManager extends EntityManager<EventSubsc
 
     MessageEventSubscriptionEntity findMessageStartEventSubscriptionByName(String messageName, String tenantId);
 
+    List<EventSubscriptionKey> findEventSubscriptionKeysByEventType(String eventType);
+
     List<MessageEventSubscriptionEntity> findMessageEventSubscriptionsByProcessInstanceAndEventName(String processInstanceId, String eventName);
 
     /* Find (compensation) */
@@ -25,6 +25,8 @@ import org.flowable.common.engine.impl.persistence.entity.AbstractServiceEngineE
 import org.flowable.eventsubscription.api.EventSubscription;
 import org.flowable.eventsubscription.api.EventSubscriptionBuilder;
 import org.flowable.eventsubscription.service.EventSubscriptionServiceConfiguration;
+import org.flowable.eventsubscription.service.impl.EventSubscriptionIndex;
+import org.flowable.eventsubscription.service.impl.EventSubscriptionKey;
 import org.flowable.eventsubscription.service.impl.EventSubscriptionQueryImpl;
 import org.flowable.eventsubscription.service.impl.persistence.entity.data.EventSubscriptionDataManager;
 
@@ -192,9 +194,41 @@ public class EventSubscriptionEntityManagerImpl
         return dataManager.findMessageStartEventSubscriptionByName(messageName, tenantId);
     }
 
+    @Override
+    public List<EventSubscriptionKey> findEventSubscriptionKeysByEventType(String eventType) {
+        return dataManager.findEventSubscriptionKeysByEventType(eventType);
+    }
+
+    @Override
+    public void insert(EventSubscriptionEntity entity, boolean fireCreateEvent) {
+        super.insert(entity, fireCreateEvent);
+
+        EventSubscriptionIndex eventSubscriptionIndex = serviceConfiguration.getEventSubscriptionIndex();
+        if (eventSubscriptionIndex != null) {
+            eventSubscriptionIndex.registerEventSubscription(entity);
+        }
+    }
+
+    @Override
+    public EventSubscriptionEntity update(EventSubscriptionEntity entity, boolean fireUpdateEvent) {
+        EventSubscriptionEntity updatedEntity = super.update(entity, fireUpdateEvent);
+
+        // The configuration or tenant could have been changed
+        EventSubscriptionIndex eventSubscriptionIndex = serviceConfiguration.getEventSubscriptionIndex();
+        if (eventSubscriptionIndex != null) {
+            eventSubscriptionIndex.registerEventSubscription(entity);
+        }
+        return updatedEntity;
+    }
+
     @Override
     public void updateEventSubscriptionTenantId(String oldTenantId, String newTenantId) {
         dataManager.updateEventSubscriptionTenantId(oldTenantId, newTenantId);
+
+        EventSubscriptionIndex eventSubscriptionIndex = serviceConfiguration.getEventSubscriptionIndex();
+        if (eventSubscriptionIndex != null) {
+            eventSubscriptionIndex.invalidate();
+        }
     }
 
     @Override
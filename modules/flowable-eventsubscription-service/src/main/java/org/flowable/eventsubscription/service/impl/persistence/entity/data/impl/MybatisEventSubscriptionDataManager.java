@@ -23,6 +23,7 @@ import org.flowable.common.engine.impl.db.DbSqlSession;
 import org.flowable.common.engine.impl.persistence.cache.CachedEntityMatcher;
 import org.flowable.eventsubscription.api.EventSubscription;
 import org.flowable.eventsubscription.service.EventSubscriptionServiceConfiguration;
+import org.flowable.eventsubscription.service.impl.EventSubscriptionKey;
 import org.flowable.eventsubscription.service.impl.EventSubscriptionQueryImpl;
 import org.flowable.eventsubscription.service.impl.persistence.entity.CompensateEventSubscriptionEntity;
 import org.flowable.eventsubscription.service.impl.persistence.entity.CompensateEventSubscriptionEntityImpl;
@@ -306,6 +307,12 @@ public class MybatisEventSubscriptionDataManager extends AbstractEventSubscripti
         return entity;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<EventSubscriptionKey> findEventSubscriptionKeysByEventType(String eventType) {
+        return getDbSqlSession().selectListNoCacheLoadAndStore("selectEventSubscriptionKeysByEventType", eventType);
+    }
+
     @Override
     public void updateEventSubscriptionTenantId(String oldTenantId, String newTenantId) {
         Map<String, String> params = new HashMap<>();
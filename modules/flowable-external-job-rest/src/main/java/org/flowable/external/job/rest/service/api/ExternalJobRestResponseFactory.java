@@ -55,7 +55,13 @@ public class ExternalJobRestResponseFactory {
     }
 
     public List<AcquiredExternalWorkerJobResponse> createAcquiredExternalWorkerJobResponseList(List<AcquiredExternalWorkerJob> jobs) {
-        RestUrlBuilder urlBuilder = createUrlBuilder();
+        return createAcquiredExternalWorkerJobResponseList(jobs, createUrlBuilder());
+    }
+
+    /**
+     * Creates the responses with the given url builder, for jobs that are acquired outside of the request thread.
+     */
+    public List<AcquiredExternalWorkerJobResponse> createAcquiredExternalWorkerJobResponseList(List<AcquiredExternalWorkerJob> jobs, RestUrlBuilder urlBuilder) {
         List<AcquiredExternalWorkerJobResponse> responseList = new ArrayList<>(jobs.size());
         for (AcquiredExternalWorkerJob job : jobs) {
             responseList.add(createAcquiredExternalWorkerJobResponse(job, urlBuilder));
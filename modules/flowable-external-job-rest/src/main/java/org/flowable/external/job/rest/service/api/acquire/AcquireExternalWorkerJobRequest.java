@@ -13,6 +13,7 @@
 package org.flowable.external.job.rest.service.api.acquire;
 
 import java.time.Duration;
+import java.util.List;
 
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
@@ -43,6 +44,14 @@ public class AcquireExternalWorkerJobRequest {
     @ApiModelProperty(value = "Only acquire jobs with the given scope type", example = "cmmn")
     protected String scopeType;
 
+    @ApiModelProperty(
+            value = "When no jobs are available, wait up to this duration for new jobs with the given topic before returning. The wait timeout is capped to the maximum wait timeout of the server (30 seconds by default). ISO-8601 duration format PnDTnHnMn.nS with days considered to be exactly 24 hours.",
+            example = "PT30S", dataType = "string")
+    protected Duration waitTimeout;
+
+    @ApiModelProperty(value = "Only return the variables with the given names for the acquired jobs. When not set all variables are returned.", example = "[\"orderId\"]")
+    protected List<String> fetchVariables;
+
     public String getTopic() {
         return topic;
     }
@@ -90,4 +99,20 @@ public class AcquireExternalWorkerJobRequest {
     public void setScopeType(String scopeType) {
         this.scopeType = scopeType;
     }
+
+    public Duration getWaitTimeout() {
+        return waitTimeout;
+    }
+
+    public void setWaitTimeout(Duration waitTimeout) {
+        this.waitTimeout = waitTimeout;
+    }
+
+    public List<String> getFetchVariables() {
+        return fetchVariables;
+    }
+
+    public void setFetchVariables(List<String> fetchVariables) {
+        this.fetchVariables = fetchVariables;
+    }
 }
@@ -12,16 +12,24 @@
  */
 package org.flowable.external.job.rest.service.api.acquire;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.FlowableForbiddenException;
 import org.flowable.common.engine.api.FlowableIllegalArgumentException;
 import org.flowable.common.engine.api.scope.ScopeTypes;
+import org.flowable.common.rest.util.RestUrlBuilder;
 import org.flowable.common.rest.variable.EngineRestVariable;
 import org.flowable.external.job.rest.service.api.ExternalJobRestResponseFactory;
 import org.flowable.external.job.rest.service.api.ExternalWorkerJobBaseResource;
@@ -29,11 +37,13 @@ import org.flowable.job.api.AcquiredExternalWorkerJob;
 import org.flowable.job.api.ExternalWorkerJob;
 import org.flowable.job.api.ExternalWorkerJobAcquireBuilder;
 import org.flowable.job.api.ExternalWorkerJobFailureBuilder;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -45,10 +55,23 @@ import io.swagger.annotations.ApiResponses;
  */
 @RestController
 @Api(tags = { "Acquire and Execute" })
-public class ExternalWorkerAcquireJobResource extends ExternalWorkerJobBaseResource {
+public class ExternalWorkerAcquireJobResource extends ExternalWorkerJobBaseResource implements DisposableBean {
 
     protected final ExternalJobRestResponseFactory restResponseFactory;
 
+    /**
+     * The maximum time an acquire request waits for new jobs. A larger wait timeout of a request is capped to this value.
+     */
+    protected Duration maxWaitTimeout = Duration.ofSeconds(30);
+
+    /**
+     * The maximum number of acquire requests that wait for new jobs at the same time.
+     * When this is reached, requests that can't acquire any jobs return an empty list immediately.
+     */
+    protected int maxWaitingAcquisitions = 100;
+
+    protected ExecutorService waitingAcquisitionExecutor;
+
     public ExternalWorkerAcquireJobResource(ExternalJobRestResponseFactory restResponseFactory) {
         this.restResponseFactory = restResponseFactory;
     }
@@ -60,7 +83,7 @@ public class ExternalWorkerAcquireJobResource extends ExternalWorkerJobBaseResou
             @ApiResponse(code = 403, message = "Indicates the user does not have the rights acquire the jobs."),
     })
     @PostMapping(value = "/acquire/jobs", produces = "application/json")
-    public List<AcquiredExternalWorkerJobResponse> acquireAndLockJobs(@RequestBody AcquireExternalWorkerJobRequest request) {
+    public DeferredResult<List<AcquiredExternalWorkerJobResponse>> acquireAndLockJobs(@RequestBody AcquireExternalWorkerJobRequest request) {
         ExternalWorkerJobAcquireBuilder acquireBuilder = createExternalWorkerAcquireBuilder();
 
         if (restApiInterceptor != null) {
@@ -81,13 +104,89 @@ public class ExternalWorkerAcquireJobResource extends ExternalWorkerJobBaseResou
             acquireBuilder.scopeType(request.getScopeType());
         }
 
-        if (StringUtils.isNotEmpty(request.getWorkerId())) {
-            List<AcquiredExternalWorkerJob> acquiredJobs = acquireBuilder
-                    .acquireAndLock(request.getNumberOfTasks(), request.getWorkerId(), request.getNumberOfRetries());
-            return restResponseFactory.createAcquiredExternalWorkerJobResponseList(acquiredJobs);
-        } else {
+        if (request.getFetchVariables() != null) {
+            acquireBuilder.fetchVariables(request.getFetchVariables());
+        }
+
+        if (StringUtils.isEmpty(request.getWorkerId())) {
             throw new FlowableIllegalArgumentException("workerId is required");
         }
+
+        Duration waitTimeout = request.getWaitTimeout();
+        if (waitTimeout != null && waitTimeout.isNegative()) {
+            throw new FlowableIllegalArgumentException("waitTimeout must not be negative");
+        }
+
+        List<AcquiredExternalWorkerJob> acquiredJobs = acquireBuilder
+                .acquireAndLock(request.getNumberOfTasks(), request.getWorkerId(), request.getNumberOfRetries());
+        if (!acquiredJobs.isEmpty() || waitTimeout == null || waitTimeout.isZero()) {
+            DeferredResult<List<AcquiredExternalWorkerJobResponse>> result = new DeferredResult<>();
+            result.setResult(restResponseFactory.createAcquiredExternalWorkerJobResponseList(acquiredJobs));
+            return result;
+        }
+
+        return waitForJobs(acquireBuilder, request, waitTimeout.compareTo(maxWaitTimeout) > 0 ? maxWaitTimeout : waitTimeout);
+    }
+
+    /**
+     * Waits for new jobs on a separate thread, so that the request thread is released while waiting.
+     * Jobs that are acquired after the request has timed out or failed can't be returned to the worker anymore, so they are unacquired again.
+     */
+    protected DeferredResult<List<AcquiredExternalWorkerJobResponse>> waitForJobs(ExternalWorkerJobAcquireBuilder acquireBuilder,
+            AcquireExternalWorkerJobRequest request, Duration waitTimeout) {
+
+        // The async request timeout has to be larger than the wait timeout, the acquisition itself also takes some time
+        DeferredResult<List<AcquiredExternalWorkerJobResponse>> result = new DeferredResult<>(waitTimeout.plusSeconds(30).toMillis());
+        result.onTimeout(() -> result.setResult(Collections.emptyList()));
+        // The URLs of the jobs are based on the request, which is not available on the waiting thread
+        RestUrlBuilder urlBuilder = RestUrlBuilder.fromCurrentRequest();
+        try {
+            getWaitingAcquisitionExecutor().execute(() -> {
+                try {
+                    List<AcquiredExternalWorkerJob> acquiredJobs = acquireBuilder
+                            .waitTimeout(waitTimeout)
+                            .acquireAndLock(request.getNumberOfTasks(), request.getWorkerId(), request.getNumberOfRetries());
+                    if (!result.setResult(restResponseFactory.createAcquiredExternalWorkerJobResponseList(acquiredJobs, urlBuilder))) {
+                        unacquireJobs(acquiredJobs, request.getWorkerId());
+                    }
+
+                } catch (RuntimeException e) {
+                    result.setErrorResult(e);
+                }
+            });
+
+        } catch (RejectedExecutionException e) {
+            // Too many requests are waiting already, the worker has to poll again
+            result.setResult(Collections.emptyList());
+        }
+
+        return result;
+    }
+
+    protected void unacquireJobs(List<AcquiredExternalWorkerJob> acquiredJobs, String workerId) {
+        for (AcquiredExternalWorkerJob acquiredJob : acquiredJobs) {
+            if (ScopeTypes.CMMN.equals(acquiredJob.getScopeType()) && cmmnManagementService != null) {
+                cmmnManagementService.unacquireExternalWorkerJob(acquiredJob.getId(), workerId);
+            } else if (managementService != null) {
+                managementService.unacquireExternalWorkerJob(acquiredJob.getId(), workerId);
+            }
+        }
+    }
+
+    protected synchronized ExecutorService getWaitingAcquisitionExecutor() {
+        if (waitingAcquisitionExecutor == null) {
+            waitingAcquisitionExecutor = new ThreadPoolExecutor(0, maxWaitingAcquisitions, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                    new BasicThreadFactory.Builder().namingPattern("flowable-external-worker-acquire-%d").daemon(true).build());
+        }
+        return waitingAcquisitionExecutor;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (waitingAcquisitionExecutor != null) {
+            waitingAcquisitionExecutor.shutdownNow();
+            waitingAcquisitionExecutor = null;
+        }
     }
 
     @ApiOperation(value = "Complete an External Worker Jobs", code = 204, tags = { "Acquire and Execute" })
@@ -287,6 +386,25 @@ public class ExternalWorkerAcquireJobResource extends ExternalWorkerJobBaseResou
         return Collections.emptyMap();
     }
 
+    public Duration getMaxWaitTimeout() {
+        return maxWaitTimeout;
+    }
+
+    public void setMaxWaitTimeout(Duration maxWaitTimeout) {
+        this.maxWaitTimeout = maxWaitTimeout;
+    }
+
+    public int getMaxWaitingAcquisitions() {
+        return maxWaitingAcquisitions;
+    }
+
+    public synchronized void setMaxWaitingAcquisitions(int maxWaitingAcquisitions) {
+        this.maxWaitingAcquisitions = maxWaitingAcquisitions;
+        if (waitingAcquisitionExecutor instanceof ThreadPoolExecutor) {
+            ((ThreadPoolExecutor) waitingAcquisitionExecutor).setMaximumPoolSize(maxWaitingAcquisitions);
+        }
+    }
+
     protected ExternalWorkerJobAcquireBuilder createExternalWorkerAcquireBuilder() {
         if (managementService != null) {
             return managementService.createExternalWorkerJobAcquireBuilder();
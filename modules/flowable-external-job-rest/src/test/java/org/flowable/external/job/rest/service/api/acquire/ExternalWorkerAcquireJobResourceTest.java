@@ -22,7 +22,12 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.time.temporal.ChronoUnit;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.flowable.cmmn.api.CmmnRuntimeService;
 import org.flowable.cmmn.api.CmmnTaskService;
@@ -44,8 +49,14 @@ import org.flowable.task.api.Task;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.DispatcherServlet;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -87,6 +98,9 @@ class ExternalWorkerAcquireJobResourceTest {
     @Autowired
     protected CmmnEngineConfiguration cmmnEngineConfiguration;
 
+    @Autowired
+    protected ServletRegistrationBean<DispatcherServlet> actionEngineTestDispatcherServlet;
+
     @Test
     void acquireJobsWithInvalidParameters() {
         ObjectNode request = objectMapper.createObjectNode();
@@ -337,6 +351,203 @@ class ExternalWorkerAcquireJobResourceTest {
                         + "]");
     }
 
+    @Test
+    @Deployment(resources = "org/flowable/external/job/rest/service/api/simpleExternalWorkerJob.bpmn20.xml")
+    void acquireJobsWithFetchVariables() {
+        ProcessInstance processInstance = runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("simpleExternalWorker")
+                .variable("stringVar", "Hello")
+                .variable("intVar", 50)
+                .variable("booleanVar", true)
+                .start();
+
+        ObjectNode request = objectMapper.createObjectNode();
+        request.put("topic", "simple");
+        request.put("lockDuration", "PT10M");
+        request.put("workerId", "testWorker1");
+        request.putArray("fetchVariables").add("stringVar").add("booleanVar");
+
+        ResponseEntity<String> response = restTemplate.postForEntity("/service/acquire/jobs", request, String.class);
+
+        assertThat(response.getStatusCode()).as(response.toString()).isEqualTo(HttpStatus.OK);
+        String body = response.getBody();
+        assertThat(body).isNotNull();
+        assertThatJson(body)
+                .when(Option.IGNORING_ARRAY_ORDER, Option.IGNORING_EXTRA_FIELDS)
+                .isEqualTo("["
+                        + "  {"
+                        + "    processInstanceId: '" + processInstance.getId() + "',"
+                        + "    elementId: 'externalWorkerTask',"
+                        + "    lockOwner: 'testWorker1',"
+                        + "    variables: ["
+                        + "      { name: 'stringVar', type: 'string', value: 'Hello' },"
+                        + "      { name: 'booleanVar', type: 'boolean', value: true }"
+                        + "    ]"
+                        + "  }"
+                        + "]");
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/external/job/rest/service/api/simpleExternalWorkerJob.bpmn20.xml")
+    void acquireJobsWithWaitTimeout() throws Exception {
+        ObjectNode request = objectMapper.createObjectNode();
+        request.put("topic", "simple");
+        request.put("lockDuration", "PT10M");
+        request.put("workerId", "testWorker1");
+        request.put("waitTimeout", "PT20S");
+
+        CompletableFuture<ResponseEntity<String>> responseFuture = CompletableFuture
+                .supplyAsync(() -> restTemplate.postForEntity("/service/acquire/jobs", request, String.class));
+
+        ProcessInstance processInstance = runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("simpleExternalWorker")
+                .start();
+
+        ResponseEntity<String> response = responseFuture.get(15, TimeUnit.SECONDS);
+
+        assertThat(response.getStatusCode()).as(response.toString()).isEqualTo(HttpStatus.OK);
+        String body = response.getBody();
+        assertThat(body).isNotNull();
+        assertThatJson(body)
+                .when(Option.IGNORING_EXTRA_FIELDS)
+                .isEqualTo("["
+                        + "  {"
+                        + "    processInstanceId: '" + processInstance.getId() + "',"
+                        + "    elementId: 'externalWorkerTask',"
+                        + "    lockOwner: 'testWorker1'"
+                        + "  }"
+                        + "]");
+    }
+
+    @Test
+    void acquireJobsWithWaitTimeoutIsCappedToMaxWaitTimeout() {
+        ExternalWorkerAcquireJobResource acquireJobResource = actionEngineTestDispatcherServlet.getServlet().getWebApplicationContext()
+                .getBean(ExternalWorkerAcquireJobResource.class);
+        Duration originalMaxWaitTimeout = acquireJobResource.getMaxWaitTimeout();
+        acquireJobResource.setMaxWaitTimeout(Duration.ofMillis(500));
+        try {
+            ObjectNode request = objectMapper.createObjectNode();
+            request.put("topic", "simple");
+            request.put("lockDuration", "PT10M");
+            request.put("workerId", "testWorker1");
+            request.put("waitTimeout", "PT1H");
+
+            long start = System.nanoTime();
+            ResponseEntity<String> response = restTemplate.postForEntity("/service/acquire/jobs", request, String.class);
+
+            assertThat(response.getStatusCode()).as(response.toString()).isEqualTo(HttpStatus.OK);
+            assertThatJson(response.getBody()).isEqualTo("[]");
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(10));
+
+            request.put("waitTimeout", "-PT1S");
+            response = restTemplate.postForEntity("/service/acquire/jobs", request, String.class);
+
+            assertThat(response.getStatusCode()).as(response.toString()).isEqualTo(HttpStatus.BAD_REQUEST);
+            assertThatJson(response.getBody()).isEqualTo("{"
+                    + "  message: 'Bad request',"
+                    + "  exception: 'waitTimeout must not be negative'"
+                    + "}");
+
+        } finally {
+            acquireJobResource.setMaxWaitTimeout(originalMaxWaitTimeout);
+        }
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/external/job/rest/service/api/simpleExternalWorkerJob.bpmn20.xml")
+    void acquireJobsWithWaitTimeoutWhenMaxWaitingAcquisitionsIsReached() throws Exception {
+        ExternalWorkerAcquireJobResource acquireJobResource = actionEngineTestDispatcherServlet.getServlet().getWebApplicationContext()
+                .getBean(ExternalWorkerAcquireJobResource.class);
+        int originalMaxWaitingAcquisitions = acquireJobResource.getMaxWaitingAcquisitions();
+        acquireJobResource.setMaxWaitingAcquisitions(1);
+        try {
+            ObjectNode request = objectMapper.createObjectNode();
+            request.put("topic", "simple");
+            request.put("lockDuration", "PT10M");
+            request.put("workerId", "testWorker1");
+            request.put("waitTimeout", "PT20S");
+
+            CompletableFuture<ResponseEntity<String>> waitingResponseFuture = CompletableFuture
+                    .supplyAsync(() -> restTemplate.postForEntity("/service/acquire/jobs", request, String.class));
+            waitForActiveAcquisitions(acquireJobResource, 1);
+
+            // The second request can't wait, so it returns immediately without jobs
+            request.put("workerId", "testWorker2");
+            long start = System.nanoTime();
+            ResponseEntity<String> response = restTemplate.postForEntity("/service/acquire/jobs", request, String.class);
+
+            assertThat(response.getStatusCode()).as(response.toString()).isEqualTo(HttpStatus.OK);
+            assertThatJson(response.getBody()).isEqualTo("[]");
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(10));
+
+            ProcessInstance processInstance = runtimeService.createProcessInstanceBuilder()
+                    .processDefinitionKey("simpleExternalWorker")
+                    .start();
+
+            response = waitingResponseFuture.get(15, TimeUnit.SECONDS);
+
+            assertThat(response.getStatusCode()).as(response.toString()).isEqualTo(HttpStatus.OK);
+            assertThatJson(response.getBody())
+                    .when(Option.IGNORING_EXTRA_FIELDS)
+                    .isEqualTo("["
+                            + "  {"
+                            + "    processInstanceId: '" + processInstance.getId() + "',"
+                            + "    lockOwner: 'testWorker1'"
+                            + "  }"
+                            + "]");
+
+        } finally {
+            acquireJobResource.setMaxWaitingAcquisitions(originalMaxWaitingAcquisitions);
+        }
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/external/job/rest/service/api/simpleExternalWorkerJob.bpmn20.xml")
+    void acquireJobsWithWaitTimeoutUnacquiresJobsOfExpiredRequest() throws Exception {
+        ExternalWorkerAcquireJobResource acquireJobResource = actionEngineTestDispatcherServlet.getServlet().getWebApplicationContext()
+                .getBean(ExternalWorkerAcquireJobResource.class);
+
+        AcquireExternalWorkerJobRequest request = new AcquireExternalWorkerJobRequest();
+        request.setTopic("simple");
+        request.setLockDuration(Duration.ofMinutes(10));
+        request.setWorkerId("testWorker1");
+        request.setWaitTimeout(Duration.ofSeconds(20));
+
+        DeferredResult<List<AcquiredExternalWorkerJobResponse>> result;
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            result = acquireJobResource.acquireAndLockJobs(request);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+        assertThat(result.hasResult()).isFalse();
+        waitForActiveAcquisitions(acquireJobResource, 1);
+
+        // Simulates the request timing out, so the result of the waiting acquisition can't be returned anymore
+        assertThat(result.setResult(Collections.emptyList())).isTrue();
+
+        runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("simpleExternalWorker")
+                .start();
+
+        waitForActiveAcquisitions(acquireJobResource, 0);
+
+        ExternalWorkerJob externalWorkerJob = managementService.createExternalWorkerJobQuery().singleResult();
+        assertThat(externalWorkerJob).isNotNull();
+        assertThat(externalWorkerJob.getLockOwner()).isNull();
+        assertThat(externalWorkerJob.getLockExpirationTime()).isNull();
+        assertThat(result.getResult()).isEqualTo(Collections.emptyList());
+    }
+
+    protected void waitForActiveAcquisitions(ExternalWorkerAcquireJobResource acquireJobResource, int activeAcquisitions) throws InterruptedException {
+        ThreadPoolExecutor waitingAcquisitionExecutor = (ThreadPoolExecutor) acquireJobResource.getWaitingAcquisitionExecutor();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(15);
+        while (waitingAcquisitionExecutor.getActiveCount() != activeAcquisitions) {
+            assertThat(System.nanoTime()).as("active acquisitions reached " + activeAcquisitions).isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
     @Test
     void completeJobsWithoutWorkerId() {
         ObjectNode request = objectMapper.createObjectNode();
@@ -57,6 +57,18 @@ public interface ExternalWorkerJobAcquireBuilder {
      */
     ExternalWorkerJobAcquireBuilder forUserOrGroups(String userId, Collection<String> groups);
 
+    /**
+     * Only fetch the variables with the given names for the acquired jobs, instead of all the variables of their scopes.
+     * The variables of all the acquired jobs are fetched together.
+     */
+    ExternalWorkerJobAcquireBuilder fetchVariables(Collection<String> variableNames);
+
+    /**
+     * When no jobs can be acquired, wait up to the given time for new jobs before returning an empty list.
+     * The waiting acquisition is woken up when jobs for the topic are created, and tries to acquire jobs periodically.
+     */
+    ExternalWorkerJobAcquireBuilder waitTimeout(Duration waitTimeout);
+
     /**
      * Acquire and lock the given number of jobs for the given worker id.
      * By default it will try to acquire jobs 5 times.
@@ -26,6 +26,11 @@ import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
 public interface HistoryJobService {
     
     List<HistoryJob> findHistoryJobsByQueryCriteria(HistoryJobQueryImpl query);
+
+    /**
+     * Returns the history jobs with the given handler type and handler configuration, ordered by their create time.
+     */
+    List<HistoryJobEntity> findHistoryJobsByHandlerTypeAndConfiguration(String handlerType, String handlerConfiguration);
     
     HistoryJobEntity createHistoryJob();
     
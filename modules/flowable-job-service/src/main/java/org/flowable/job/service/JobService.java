@@ -55,6 +55,11 @@ public interface JobService {
     List<ExternalWorkerJobEntity> findExternalWorkerJobsByExecutionId(String executionId);
 
     List<JobEntity> findJobsByProcessInstanceId(String processInstanceId);
+
+    /**
+     * Returns the async jobs of the given process instance with the given handler type and handler configuration.
+     */
+    List<JobEntity> findJobsByProcessInstanceIdAndHandlerTypeAndConfiguration(String processInstanceId, String handlerType, String handlerConfiguration);
     
     List<SuspendedJobEntity> findSuspendedJobsByProcessInstanceId(String processInstanceId);
     
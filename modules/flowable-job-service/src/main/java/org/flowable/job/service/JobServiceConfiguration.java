@@ -26,10 +26,12 @@ import org.flowable.common.engine.impl.calendar.BusinessCalendarManager;
 import org.flowable.common.engine.impl.el.ExpressionManager;
 import org.flowable.common.engine.impl.history.HistoryLevel;
 import org.flowable.common.engine.impl.interceptor.CommandExecutor;
+import org.flowable.job.service.impl.ExternalWorkerJobsAvailableNotifier;
 import org.flowable.job.service.impl.HistoryJobServiceImpl;
 import org.flowable.job.service.impl.JobServiceImpl;
 import org.flowable.job.service.impl.TimerJobServiceImpl;
 import org.flowable.job.service.impl.asyncexecutor.AsyncExecutor;
+import org.flowable.job.service.impl.asyncexecutor.AsyncJobsAvailableNotifier;
 import org.flowable.job.service.impl.asyncexecutor.AsyncRunnableExecutionExceptionHandler;
 import org.flowable.job.service.impl.asyncexecutor.DefaultJobManager;
 import org.flowable.job.service.impl.asyncexecutor.FailedJobCommandFactory;
@@ -114,6 +116,8 @@ public class JobServiceConfiguration extends AbstractServiceConfiguration {
     protected InternalJobParentStateResolver jobParentStateResolver;
 
     protected AsyncExecutor asyncExecutor;
+    protected AsyncJobsAvailableNotifier asyncJobsAvailableNotifier;
+    protected ExternalWorkerJobsAvailableNotifier externalWorkerJobsAvailableNotifier;
     protected int asyncExecutorNumberOfRetries;
     protected int asyncExecutorResetExpiredJobsMaxTimeout;
     
@@ -439,6 +443,24 @@ public class JobServiceConfiguration extends AbstractServiceConfiguration {
         return this;
     }
     
+    public AsyncJobsAvailableNotifier getAsyncJobsAvailableNotifier() {
+        return asyncJobsAvailableNotifier;
+    }
+
+    public JobServiceConfiguration setAsyncJobsAvailableNotifier(AsyncJobsAvailableNotifier asyncJobsAvailableNotifier) {
+        this.asyncJobsAvailableNotifier = asyncJobsAvailableNotifier;
+        return this;
+    }
+
+    public ExternalWorkerJobsAvailableNotifier getExternalWorkerJobsAvailableNotifier() {
+        return externalWorkerJobsAvailableNotifier;
+    }
+
+    public JobServiceConfiguration setExternalWorkerJobsAvailableNotifier(ExternalWorkerJobsAvailableNotifier externalWorkerJobsAvailableNotifier) {
+        this.externalWorkerJobsAvailableNotifier = externalWorkerJobsAvailableNotifier;
+        return this;
+    }
+
     public AsyncExecutor getAsyncHistoryExecutor() {
         return asyncHistoryExecutor;
     }
@@ -44,6 +44,7 @@ public class DeadLetterJobQueryImpl extends AbstractQuery<DeadLetterJobQuery, Jo
     protected String executionId;
     protected String handlerType;
     protected Collection<String> handlerTypes;
+    protected Collection<String> handlerConfigurations;
     protected String processDefinitionId;
     protected String category;
     protected String categoryLike;
@@ -275,6 +276,18 @@ public class DeadLetterJobQueryImpl extends AbstractQuery<DeadLetterJobQuery, Jo
         return this;
     }
 
+    /**
+     * Only select jobs with one of the given handler configurations.
+     * Used internally, for example to find the dead letter jobs of the parts of a batch.
+     */
+    public DeadLetterJobQueryImpl handlerConfigurations(Collection<String> handlerConfigurations) {
+        if (handlerConfigurations == null) {
+            throw new FlowableIllegalArgumentException("Provided handlerConfigurations are null");
+        }
+        this.handlerConfigurations = handlerConfigurations;
+        return this;
+    }
+
     @Override
     public DeadLetterJobQueryImpl executable() {
         executable = true;
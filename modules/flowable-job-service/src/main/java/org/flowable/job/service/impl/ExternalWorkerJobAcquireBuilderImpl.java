@@ -16,6 +16,8 @@ import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import org.flowable.common.engine.api.FlowableIllegalArgumentException;
 import org.flowable.common.engine.api.FlowableOptimisticLockingException;
@@ -31,6 +33,8 @@ import org.flowable.job.service.impl.cmd.AcquireExternalWorkerJobsCmd;
  */
 public class ExternalWorkerJobAcquireBuilderImpl implements ExternalWorkerJobAcquireBuilder {
 
+    protected static final Duration DEFAULT_WAIT_POLL_INTERVAL = Duration.ofSeconds(5);
+
     protected final CommandExecutor commandExecutor;
     protected final JobServiceConfiguration jobServiceConfiguration;
 
@@ -40,6 +44,9 @@ public class ExternalWorkerJobAcquireBuilderImpl implements ExternalWorkerJobAcq
     protected String tenantId;
     protected String authorizedUser;
     protected Collection<String> authorizedGroups;
+    protected Collection<String> variableNames;
+    protected Duration waitTimeout;
+    protected Duration waitPollInterval = DEFAULT_WAIT_POLL_INTERVAL;
 
     public ExternalWorkerJobAcquireBuilderImpl(CommandExecutor commandExecutor, JobServiceConfiguration jobServiceConfiguration) {
         this.commandExecutor = commandExecutor;
@@ -109,8 +116,67 @@ public class ExternalWorkerJobAcquireBuilderImpl implements ExternalWorkerJobAcq
         return this;
     }
 
+    @Override
+    public ExternalWorkerJobAcquireBuilder fetchVariables(Collection<String> variableNames) {
+        if (variableNames == null) {
+            throw new FlowableIllegalArgumentException("variableNames is null");
+        }
+
+        this.variableNames = variableNames;
+        return this;
+    }
+
+    @Override
+    public ExternalWorkerJobAcquireBuilder waitTimeout(Duration waitTimeout) {
+        if (waitTimeout == null) {
+            throw new FlowableIllegalArgumentException("waitTimeout is null");
+        }
+
+        this.waitTimeout = waitTimeout;
+        return this;
+    }
+
     @Override
     public List<AcquiredExternalWorkerJob> acquireAndLock(int numberOfTasks, String workerId, int numberOfRetries) {
+        if (topic == null || waitTimeout == null || waitTimeout.isZero() || waitTimeout.isNegative()) {
+            return acquireAndLockJobs(numberOfTasks, workerId, numberOfRetries);
+        }
+
+        // The listener is registered before the first acquisition, so that no notification is missed between the acquisition and the wait
+        ExternalWorkerJobsAvailableNotifier jobsAvailableNotifier = jobServiceConfiguration.getExternalWorkerJobsAvailableNotifier();
+        Semaphore jobsAvailable = new Semaphore(0);
+        Runnable jobsAvailableListener = jobsAvailable::release;
+        if (jobsAvailableNotifier != null) {
+            jobsAvailableNotifier.addExternalWorkerJobsAvailableListener(topic, jobsAvailableListener);
+        }
+
+        try {
+            long waitDeadline = System.nanoTime() + waitTimeout.toNanos();
+            while (true) {
+                jobsAvailable.drainPermits();
+                List<AcquiredExternalWorkerJob> acquiredJobs = acquireAndLockJobs(numberOfTasks, workerId, numberOfRetries);
+                long remainingWaitTime = waitDeadline - System.nanoTime();
+                if (!acquiredJobs.isEmpty() || remainingWaitTime <= 0) {
+                    return acquiredJobs;
+                }
+
+                try {
+                    // Jobs created on other nodes are not necessarily notified, so acquire again at least every poll interval
+                    jobsAvailable.tryAcquire(Math.min(remainingWaitTime, waitPollInterval.toNanos()), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return acquiredJobs;
+                }
+            }
+
+        } finally {
+            if (jobsAvailableNotifier != null) {
+                jobsAvailableNotifier.removeExternalWorkerJobsAvailableListener(topic, jobsAvailableListener);
+            }
+        }
+    }
+
+    protected List<AcquiredExternalWorkerJob> acquireAndLockJobs(int numberOfTasks, String workerId, int numberOfRetries) {
         while (numberOfRetries > 0) {
             try {
                 return commandExecutor.execute(new AcquireExternalWorkerJobsCmd(workerId, numberOfTasks, this, jobServiceConfiguration));
@@ -146,4 +212,20 @@ public class ExternalWorkerJobAcquireBuilderImpl implements ExternalWorkerJobAcq
     public Collection<String> getAuthorizedGroups() {
         return authorizedGroups;
     }
+
+    public Collection<String> getVariableNames() {
+        return variableNames;
+    }
+
+    public Duration getWaitTimeout() {
+        return waitTimeout;
+    }
+
+    public Duration getWaitPollInterval() {
+        return waitPollInterval;
+    }
+
+    public void setWaitPollInterval(Duration waitPollInterval) {
+        this.waitPollInterval = waitPollInterval;
+    }
 }
@@ -0,0 +1,43 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl;
+
+/**
+ * Signals external workers that are waiting for jobs that new external worker jobs are available for a topic,
+ * so that a waiting acquisition (see {@link org.flowable.job.api.ExternalWorkerJobAcquireBuilder#waitTimeout(java.time.Duration)})
+ * can return the new jobs immediately instead of at the end of its wait.
+ *
+ * <p>
+ * The engine calls {@link #notifyExternalWorkerJobsAvailable(String)} after a transaction that created external worker jobs has been committed.
+ * The {@link InMemoryExternalWorkerJobsAvailableNotifier} only notifies the acquisitions waiting in the same JVM.
+ * Implementations that publish the notification to other nodes allow workers connected to any node to pick up new jobs with a low latency.
+ *
+ * <p>
+ * Notifications are hints: a waiting acquisition still polls for new jobs periodically.
+ */
+public interface ExternalWorkerJobsAvailableNotifier {
+
+    /**
+     * Notifies the listeners registered for the given topic that new external worker jobs are available.
+     */
+    void notifyExternalWorkerJobsAvailable(String topic);
+
+    /**
+     * Registers a listener that is called when external worker jobs are available for the given topic.
+     * The listener should return quickly, as it can be called from the thread that committed the jobs.
+     */
+    void addExternalWorkerJobsAvailableListener(String topic, Runnable listener);
+
+    void removeExternalWorkerJobsAvailableListener(String topic, Runnable listener);
+
+}
@@ -34,6 +34,11 @@ public class HistoryJobServiceImpl extends ServiceImpl implements HistoryJobServ
         return getHistoryJobEntityManager().findHistoryJobsByQueryCriteria(query);
     }
     
+    @Override
+    public List<HistoryJobEntity> findHistoryJobsByHandlerTypeAndConfiguration(String handlerType, String handlerConfiguration) {
+        return getHistoryJobEntityManager().findHistoryJobsByHandlerTypeAndConfiguration(handlerType, handlerConfiguration);
+    }
+
     @Override
     public HistoryJobEntity createHistoryJob() {
         return getHistoryJobEntityManager().create();
@@ -0,0 +1,50 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * {@link ExternalWorkerJobsAvailableNotifier} that notifies the acquisitions waiting in the same JVM.
+ */
+public class InMemoryExternalWorkerJobsAvailableNotifier implements ExternalWorkerJobsAvailableNotifier {
+
+    protected final Map<String, List<Runnable>> listeners = new ConcurrentHashMap<>();
+
+    @Override
+    public void notifyExternalWorkerJobsAvailable(String topic) {
+        List<Runnable> topicListeners = listeners.get(topic);
+        if (topicListeners != null) {
+            for (Runnable listener : topicListeners) {
+                listener.run();
+            }
+        }
+    }
+
+    @Override
+    public void addExternalWorkerJobsAvailableListener(String topic, Runnable listener) {
+        listeners.computeIfAbsent(topic, key -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    @Override
+    public void removeExternalWorkerJobsAvailableListener(String topic, Runnable listener) {
+        List<Runnable> topicListeners = listeners.get(topic);
+        if (topicListeners != null) {
+            topicListeners.remove(listener);
+        }
+    }
+
+}
@@ -33,6 +33,7 @@ import org.flowable.job.service.impl.persistence.entity.JobEntity;
 import org.flowable.job.service.impl.persistence.entity.JobEntityManager;
 import org.flowable.job.service.impl.persistence.entity.SuspendedJobEntity;
 import org.flowable.job.service.impl.persistence.entity.SuspendedJobEntityManager;
+import org.flowable.job.service.impl.util.AsyncJobsAvailableNotificationUtil;
 
 /**
  * @author Tijs Rademakers
@@ -103,6 +104,11 @@ public class JobServiceImpl extends ServiceImpl implements JobService {
         return getJobEntityManager().findJobsByProcessInstanceId(processInstanceId);
     }
 
+    @Override
+    public List<JobEntity> findJobsByProcessInstanceIdAndHandlerTypeAndConfiguration(String processInstanceId, String handlerType, String handlerConfiguration) {
+        return getJobEntityManager().findJobsByProcessInstanceIdAndHandlerTypeAndConfiguration(processInstanceId, handlerType, handlerConfiguration);
+    }
+
     @Override
     public List<SuspendedJobEntity> findSuspendedJobsByProcessInstanceId(String processInstanceId) {
         return getSuspendedJobEntityManager().findJobsByProcessInstanceId(processInstanceId);
@@ -154,6 +160,9 @@ public class JobServiceImpl extends ServiceImpl implements JobService {
         getJobManager().createAsyncJob(job, isExclusive);
         job.setLockExpirationTime(null);
         job.setLockOwner(null);
+
+        // The job will be picked up by the acquisition
+        AsyncJobsAvailableNotificationUtil.notifyAsyncJobsAvailable(configuration);
     }
 
     @Override
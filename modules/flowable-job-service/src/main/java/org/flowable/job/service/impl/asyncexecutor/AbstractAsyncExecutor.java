@@ -40,6 +40,7 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
     protected AcquireAsyncJobsDueRunnable asyncJobsDueRunnable;
     protected AcquireAsyncJobsDueLifecycleListener asyncJobsDueLifecycleListener;
     protected ResetExpiredJobsRunnable resetExpiredJobsRunnable;
+    protected Runnable asyncJobsAvailableListener;
 
     protected ExecuteAsyncRunnableFactory executeAsyncRunnableFactory;
     
@@ -103,8 +104,30 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
         initializeJobEntityManager();
         initializeRunnables();
         startAdditionalComponents();
+        addAsyncJobsAvailableListener();
         executeTemporaryJobs();
     }
+
+    protected void addAsyncJobsAvailableListener() {
+        AsyncJobsAvailableNotifier asyncJobsAvailableNotifier = jobServiceConfiguration.getAsyncJobsAvailableNotifier();
+        if (asyncJobsAvailableNotifier != null && asyncJobsAvailableListener == null) {
+            asyncJobsAvailableListener = () -> {
+                AcquireAsyncJobsDueRunnable runnable = asyncJobsDueRunnable;
+                if (runnable != null) {
+                    runnable.wakeUp();
+                }
+            };
+            asyncJobsAvailableNotifier.addAsyncJobsAvailableListener(jobServiceConfiguration.getEngineName(), asyncJobsAvailableListener);
+        }
+    }
+
+    protected void removeAsyncJobsAvailableListener() {
+        AsyncJobsAvailableNotifier asyncJobsAvailableNotifier = jobServiceConfiguration.getAsyncJobsAvailableNotifier();
+        if (asyncJobsAvailableNotifier != null && asyncJobsAvailableListener != null) {
+            asyncJobsAvailableNotifier.removeAsyncJobsAvailableListener(jobServiceConfiguration.getEngineName(), asyncJobsAvailableListener);
+            asyncJobsAvailableListener = null;
+        }
+    }
     
     protected void initializeJobEntityManager() {
         if (jobEntityManager == null) {
@@ -116,6 +139,9 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
         if (configuration.isTimerRunnableNeeded() && timerJobRunnable == null) {
             timerJobRunnable = new AcquireTimerJobsRunnable(this, jobServiceConfiguration.getJobManager(),
                 timerLifecycleListener, new AcquireTimerRunnableConfiguration(), configuration.getMoveTimerExecutorPoolSize());
+            if (configuration.isAdaptiveAcquisitionEnabled()) {
+                timerJobRunnable.setAcquisitionController(createAdaptiveAcquisitionController());
+            }
         }
 
         JobInfoEntityManager<? extends JobInfoEntity> jobEntityManagerToUse = jobEntityManager != null
@@ -134,10 +160,17 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
                     acquireRunnableThreadName : "flowable-" + getJobServiceConfiguration().getEngineName() + "-acquire-async-jobs";
             asyncJobsDueRunnable = new AcquireAsyncJobsDueRunnable(acquireJobsRunnableName, this, jobEntityManagerToUse,
                 asyncJobsDueLifecycleListener, new AcquireAsyncJobsDueRunnableConfiguration());
+            if (configuration.isAdaptiveAcquisitionEnabled()) {
+                asyncJobsDueRunnable.setAcquisitionController(createAdaptiveAcquisitionController());
+            }
 
         }
     }
 
+    protected AdaptiveAcquisitionController createAdaptiveAcquisitionController() {
+        return new AdaptiveAcquisitionController(configuration.getAdaptiveAcquisitionMinWaitTime().toMillis());
+    }
+
     protected abstract ResetExpiredJobsRunnable createResetExpiredJobsRunnable(String resetRunnableName);
 
     protected abstract void startAdditionalComponents();
@@ -157,6 +190,7 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
         }
         LOGGER.info("Shutting down the async job executor [{}] for engine {}", getClass().getName(), getJobServiceConfiguration().getEngineName());
 
+        removeAsyncJobsAvailableListener();
         stopRunnables();
         shutdownAdditionalComponents();
 
@@ -509,5 +543,10 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
         public Duration getLockForceAcquireAfter() {
             return configuration.getAsyncJobsGlobalLockForceAcquireAfter();
         }
+
+        @Override
+        public boolean isWaitForRemainingCapacity() {
+            return configuration.isWaitForRemainingCapacity();
+        }
     }
 }
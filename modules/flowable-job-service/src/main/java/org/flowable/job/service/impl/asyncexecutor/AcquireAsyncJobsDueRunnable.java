@@ -87,6 +87,9 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
     protected volatile boolean isInterrupted;
     protected final Object MONITOR = new Object();
     protected final AtomicBoolean isWaiting = new AtomicBoolean(false);
+    protected volatile boolean wakeUpRequested;
+    protected volatile boolean waitingForCapacity;
+    protected AdaptiveAcquisitionController acquisitionController;
 
     public AcquireAsyncJobsDueRunnable(String name, AsyncExecutor asyncExecutor, JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager,
             AcquireAsyncJobsDueLifecycleListener lifecycleListener, AcquireJobsRunnableConfiguration configuration) {
@@ -111,6 +114,10 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
         long millisToWait = 0L;
         while (!isInterrupted) {
 
+            // A wake up requested before this cycle is covered by it.
+            // Only a wake up requested during the cycle should skip the wait after it.
+            wakeUpRequested = false;
+
             if (configuration.isGlobalAcquireLockEnabled()) {
 
                 try {
@@ -149,6 +156,7 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
 
     protected long executeAcquireCycle(CommandExecutor commandExecutor) {
         int remainingCapacity = asyncExecutor.getTaskExecutor().getRemainingCapacity();
+        waitingForCapacity = remainingCapacity <= 0;
         lifecycleListener.startAcquiring(getEngineName(), remainingCapacity, asyncExecutor.getMaxAsyncJobsDuePerAcquisition());
 
         final long millisToWait;
@@ -173,24 +181,50 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
 
     protected long acquireAndExecuteJobs(CommandExecutor commandExecutor, int remainingCapacity) {
         boolean globalAcquireLockEnabled = configuration.isGlobalAcquireLockEnabled();
+
+        int jobsToAcquire = remainingCapacity;
+        if (acquisitionController != null) {
+            jobsToAcquire = acquisitionController.getJobsToAcquire(asyncExecutor.getMaxAsyncJobsDuePerAcquisition(),
+                    remainingCapacity, asyncExecutor.getAsyncJobLockTimeInMillis());
+
+            if (jobsToAcquire <= 0) {
+                // the jobs that were already handed to the task executor can't be started within their lock time, wait until some of them are executed.
+                waitingForCapacity = true;
+                return asyncExecutor.getDefaultQueueSizeFullWaitTimeInMillis();
+            }
+        }
+
         try {
             List<? extends JobInfoEntity> acquiredJobs;
             if (globalAcquireLockEnabled) {
-                acquiredJobs = commandExecutor.execute(new AcquireJobsWithGlobalAcquireLockCmd(asyncExecutor, remainingCapacity, jobEntityManager));
+                acquiredJobs = commandExecutor.execute(new AcquireJobsWithGlobalAcquireLockCmd(asyncExecutor, jobsToAcquire, jobEntityManager));
 
             } else {
-                acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor, remainingCapacity, jobEntityManager));
+                acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor, jobsToAcquire, jobEntityManager));
 
             }
 
             lifecycleListener.acquiredJobs(getEngineName(), acquiredJobs.size(), asyncExecutor.getMaxAsyncJobsDuePerAcquisition());
 
+            // When all remaining capacity is used (e.g. all permits of a concurrency limited task executor),
+            // the acquisition thread can be woken up as soon as a job has been executed
+            boolean remainingCapacityUsed = configuration.isWaitForRemainingCapacity() && acquiredJobs.size() >= remainingCapacity;
+            waitingForCapacity = remainingCapacityUsed;
+
             List<JobInfoEntity> rejectedJobs = offerJobs(acquiredJobs);
 
             LOGGER.debug("Jobs acquired: {}, rejected: {}, for engine {}", acquiredJobs.size(), rejectedJobs.size(), getEngineName());
+            if (acquisitionController != null) {
+                acquisitionController.acquiredJobs(acquiredJobs.size(), jobsToAcquire, asyncExecutor.getMaxAsyncJobsDuePerAcquisition());
+                if (rejectedJobs.size() > 0) {
+                    acquisitionController.rejectedJobs(rejectedJobs.size(), acquiredJobs.size());
+                }
+            }
+
             if (rejectedJobs.size() > 0) {
 
                 lifecycleListener.rejectedJobs(getEngineName(), rejectedJobs.size(), acquiredJobs.size(), asyncExecutor.getMaxAsyncJobsDuePerAcquisition());
+                waitingForCapacity = true;
 
                 // some jobs were rejected, so the queue was full; wait until attempting to acquire more.
                 return asyncExecutor.getDefaultQueueSizeFullWaitTimeInMillis();
@@ -198,6 +232,13 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
             if (acquiredJobs.size() >= asyncExecutor.getMaxAsyncJobsDuePerAcquisition()) {
                 return 0L; // the maximum amount of jobs were acquired, so we can expect more.
             }
+            if (remainingCapacityUsed) {
+                // there could be more due jobs than the task executor could take, wait until it has capacity again.
+                return asyncExecutor.getDefaultQueueSizeFullWaitTimeInMillis();
+            }
+            if (acquisitionController != null) {
+                return acquisitionController.getWaitTime(asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis());
+            }
 
         } catch (FlowableOptimisticLockingException optimisticLockingException) {
 
@@ -216,6 +257,12 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
                         getEngineName(), optimisticLockingException.getMessage());
 
             }
+
+            if (acquisitionController != null) {
+                acquisitionController.optimisticLockingException(asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis());
+                return acquisitionController.getWaitTime(asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis());
+            }
+
         } catch (Throwable e) {
             LOGGER.warn("exception for engine {} during async job acquisition: {}", getEngineName(), e.getMessage(), e);
         }
@@ -243,6 +290,30 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
         }
     }
 
+    /**
+     * Wakes up the acquisition thread when it is waiting, so the next acquisition cycle starts immediately.
+     * When the acquisition thread is not waiting, the next wait is skipped.
+     * Used to signal that new async jobs are available.
+     */
+    public void wakeUp() {
+        synchronized (MONITOR) {
+            wakeUpRequested = true;
+            if (isWaiting.get()) {
+                MONITOR.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Signals that the async executor has capacity for new jobs again.
+     * Only wakes up the acquisition thread when it is waiting because the executor was full.
+     */
+    public void capacityAvailable() {
+        if (waitingForCapacity) {
+            wakeUp();
+        }
+    }
+
     protected void sleep(long millisToWait) {
         if (millisToWait > 0) {
             try {
@@ -251,7 +322,7 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
                     LOGGER.debug("async job acquisition for engine {}, thread sleeping for {} millis", getEngineName(), millisToWait);
                 }
                 synchronized (MONITOR) {
-                    if (!isInterrupted) {
+                    if (!isInterrupted && !wakeUpRequested) {
                         isWaiting.set(true);
                         lifecycleListener.startWaiting(getEngineName(), millisToWait);
                         MONITOR.wait(millisToWait);
@@ -283,6 +354,14 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
         this.lifecycleListener = lifecycleListener;
     }
 
+    public AdaptiveAcquisitionController getAcquisitionController() {
+        return acquisitionController;
+    }
+
+    public void setAcquisitionController(AdaptiveAcquisitionController acquisitionController) {
+        this.acquisitionController = acquisitionController;
+    }
+
     public void setConfiguration(AcquireJobsRunnableConfiguration configuration) {
         this.configuration = configuration;
     }
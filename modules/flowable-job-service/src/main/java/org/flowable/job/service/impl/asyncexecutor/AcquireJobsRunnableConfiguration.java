@@ -60,4 +60,11 @@ public interface AcquireJobsRunnableConfiguration {
     Duration getLockPollRate();
 
     Duration getLockForceAcquireAfter();
+
+    /**
+     * Whether the acquisition waits until the task executor has capacity again when an acquisition cycle used all of its remaining capacity.
+     */
+    default boolean isWaitForRemainingCapacity() {
+        return false;
+    }
 }
@@ -86,6 +86,7 @@ public class AcquireTimerJobsRunnable implements Runnable {
     protected ExecutorService moveTimerJobsExecutorService;
 
     protected CommandExecutor commandExecutor;
+    protected AdaptiveAcquisitionController acquisitionController;
 
     public AcquireTimerJobsRunnable(AsyncExecutor asyncExecutor, JobManager jobManager, int moveExecutorPoolSize) {
         this(asyncExecutor, jobManager, null, AcquireJobsRunnableConfiguration.DEFAULT, moveExecutorPoolSize);
@@ -154,6 +155,12 @@ public class AcquireTimerJobsRunnable implements Runnable {
         List<TimerJobEntity> timerJobs = Collections.emptyList();
         long millisToWait = 0L;
 
+        int maxTimerJobs = asyncExecutor.getMaxTimerJobsPerAcquisition();
+        if (acquisitionController != null) {
+            maxTimerJobs = acquisitionController.getJobsToAcquire(maxTimerJobs, Integer.MAX_VALUE, asyncExecutor.getTimerLockTimeInMillis());
+        }
+        int maxTimerJobsToAcquire = maxTimerJobs;
+
         try {
 
             boolean globalAcquireLockEnabled = configuration.isGlobalAcquireLockEnabled();
@@ -163,7 +170,7 @@ public class AcquireTimerJobsRunnable implements Runnable {
                 // In the move phase, other nodes can already acquire timer jobs themselves (as the lock is free).
                 try {
                     timerJobs = lockManager.waitForLockRunAndRelease(configuration.getLockWaitTime(), () -> {
-                        return commandExecutor.execute(new AcquireTimerJobsWithGlobalAcquireLockCmd(asyncExecutor));
+                        return commandExecutor.execute(new AcquireTimerJobsWithGlobalAcquireLockCmd(asyncExecutor, maxTimerJobsToAcquire));
                     });
 
                 } catch (Exception e) {
@@ -175,7 +182,7 @@ public class AcquireTimerJobsRunnable implements Runnable {
                 }
 
             } else {
-                timerJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor));
+                timerJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor, maxTimerJobsToAcquire));
 
             }
 
@@ -191,7 +198,16 @@ public class AcquireTimerJobsRunnable implements Runnable {
             int nrOfJobsAcquired = timerJobs.size();
             lifecycleListener.acquiredJobs(getEngineName(), nrOfJobsAcquired, asyncExecutor.getMaxTimerJobsPerAcquisition());
 
-            if (nrOfJobsAcquired >= asyncExecutor.getMaxTimerJobsPerAcquisition()) {
+            if (acquisitionController != null) {
+                acquisitionController.acquiredJobs(nrOfJobsAcquired, maxTimerJobsToAcquire, asyncExecutor.getMaxTimerJobsPerAcquisition());
+                millisToWait = acquisitionController.getWaitTime(asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis());
+
+                if (millisToWait == 0 && globalAcquireLockEnabled) {
+                    // Always wait when running with global acquire lock, to let other nodes have the ability to fill the queue
+                    millisToWait = configuration.getLockPollRate().toMillis();
+                }
+
+            } else if (nrOfJobsAcquired >= asyncExecutor.getMaxTimerJobsPerAcquisition()) {
 
                 if (globalAcquireLockEnabled) {
                     // Always wait when running with global acquire lock, to let other nodes have the ability to fill the queue
@@ -209,6 +225,11 @@ public class AcquireTimerJobsRunnable implements Runnable {
         } catch (FlowableOptimisticLockingException optimisticLockingException) {
             logOptimisticLockingException(optimisticLockingException);
 
+            if (acquisitionController != null) {
+                acquisitionController.optimisticLockingException(asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis());
+                millisToWait = acquisitionController.getWaitTime(asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis());
+            }
+
         } catch (Throwable e) {
             LOGGER.warn("exception during timer job acquisition for engine {}. Exception message: {}", getEngineName(), e.getMessage(), e);
             millisToWait = asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis();
@@ -307,6 +328,14 @@ public class AcquireTimerJobsRunnable implements Runnable {
         }
     }
 
+    public AdaptiveAcquisitionController getAcquisitionController() {
+        return acquisitionController;
+    }
+
+    public void setAcquisitionController(AdaptiveAcquisitionController acquisitionController) {
+        this.acquisitionController = acquisitionController;
+    }
+
     public void setConfiguration(AcquireJobsRunnableConfiguration configuration) {
         this.configuration = configuration;
     }
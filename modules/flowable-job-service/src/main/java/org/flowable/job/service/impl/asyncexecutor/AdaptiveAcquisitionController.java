@@ -0,0 +1,161 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adapts the number of jobs that are acquired in one acquisition cycle, and the time that is waited between acquisition cycles,
+ * based on what is observed during acquisition and execution of the jobs. Used by the acquisition runnables
+ * when {@link AsyncJobExecutorConfiguration#isAdaptiveAcquisitionEnabled()} is set.
+ *
+ * <ul>
+ * <li>When a full batch is acquired, the batch size grows (additive increase) up to the configured max jobs per acquisition.</li>
+ * <li>When an optimistic locking exception happens (another node acquired the same jobs), the batch size is halved
+ * and the acquisition backs off with an exponentially growing, randomized wait time.
+ * This spreads the acquisition cycles of the different nodes of a cluster, instead of having them compete for the same jobs.</li>
+ * <li>When jobs are rejected by the task executor, the batch size shrinks to the number of jobs that were accepted.</li>
+ * <li>When the jobs already handed to the task executor cannot be started within half of the lock time at the observed
+ * execution time, fewer (or no) jobs are acquired, so the locks of the acquired jobs don't expire while they wait in the queue.</li>
+ * <li>When a partial batch is acquired, the next acquisition happens after the min wait time, as more jobs are likely to come.
+ * Every empty acquisition doubles the wait time, up to the configured default wait time.</li>
+ * </ul>
+ */
+public class AdaptiveAcquisitionController {
+
+    protected static final double EXECUTION_TIME_WEIGHT = 0.2;
+
+    protected final long minWaitTimeInMillis;
+
+    protected int jobsPerAcquisition = -1;
+    protected long conflictBackoffInMillis;
+    protected long idleWaitTimeInMillis;
+    protected boolean lastAcquisitionConflicted;
+    protected boolean lastAcquisitionFull;
+    protected boolean lastAcquisitionEmpty;
+
+    protected final AtomicInteger queuedJobs = new AtomicInteger();
+    protected final AtomicInteger runningJobs = new AtomicInteger();
+    protected double averageExecutionTimeInMillis = -1;
+
+    public AdaptiveAcquisitionController(long minWaitTimeInMillis) {
+        this.minWaitTimeInMillis = Math.max(1L, minWaitTimeInMillis);
+    }
+
+    /**
+     * @return the number of jobs to acquire in the next acquisition cycle, 0 when no jobs should be acquired
+     */
+    public synchronized int getJobsToAcquire(int maxJobsPerAcquisition, int remainingCapacity, long lockTimeInMillis) {
+        if (jobsPerAcquisition < 0 || jobsPerAcquisition > maxJobsPerAcquisition) {
+            jobsPerAcquisition = maxJobsPerAcquisition;
+        }
+
+        int jobsToAcquire = Math.min(jobsPerAcquisition, remainingCapacity);
+        if (averageExecutionTimeInMillis > 0) {
+            int parallelism = Math.max(1, runningJobs.get());
+            long startableJobs = (long) (lockTimeInMillis / 2.0 / averageExecutionTimeInMillis * parallelism) - queuedJobs.get();
+            jobsToAcquire = (int) Math.min(jobsToAcquire, Math.max(0L, startableJobs));
+        }
+        return jobsToAcquire;
+    }
+
+    public synchronized void acquiredJobs(int jobsAcquired, int jobsToAcquire, int maxJobsPerAcquisition) {
+        lastAcquisitionConflicted = false;
+        lastAcquisitionFull = jobsAcquired >= jobsToAcquire;
+        lastAcquisitionEmpty = jobsAcquired == 0;
+
+        if (lastAcquisitionFull && jobsToAcquire >= jobsPerAcquisition) {
+            jobsPerAcquisition = Math.min(maxJobsPerAcquisition, jobsPerAcquisition + Math.max(1, maxJobsPerAcquisition / 8));
+        }
+
+        // Successful acquisitions reduce the backoff of earlier conflicts
+        conflictBackoffInMillis = conflictBackoffInMillis / 2 >= minWaitTimeInMillis ? conflictBackoffInMillis / 2 : 0L;
+    }
+
+    public synchronized void rejectedJobs(int jobsRejected, int jobsAcquired) {
+        jobsPerAcquisition = Math.max(1, jobsAcquired - jobsRejected);
+    }
+
+    public synchronized void optimisticLockingException(long maxWaitTimeInMillis) {
+        lastAcquisitionConflicted = true;
+        jobsPerAcquisition = Math.max(1, jobsPerAcquisition / 2);
+        conflictBackoffInMillis = Math.min(maxWaitTimeInMillis, conflictBackoffInMillis > 0 ? conflictBackoffInMillis * 2 : minWaitTimeInMillis);
+    }
+
+    /**
+     * @return the time to wait before the next acquisition cycle, based on the outcome of the last acquisition cycle
+     */
+    public synchronized long getWaitTime(long defaultWaitTimeInMillis) {
+        if (lastAcquisitionConflicted || (lastAcquisitionFull && conflictBackoffInMillis > 0)) {
+            // Randomized between half and the full backoff, so the nodes of a cluster don't retry at the same time
+            return conflictBackoffInMillis / 2 + ThreadLocalRandom.current().nextLong(conflictBackoffInMillis / 2 + 1);
+        }
+
+        if (lastAcquisitionFull) {
+            idleWaitTimeInMillis = 0L;
+            return 0L;
+        }
+
+        if (lastAcquisitionEmpty) {
+            idleWaitTimeInMillis = Math.min(defaultWaitTimeInMillis, idleWaitTimeInMillis > 0 ? idleWaitTimeInMillis * 2 : minWaitTimeInMillis);
+        } else {
+            idleWaitTimeInMillis = Math.min(defaultWaitTimeInMillis, minWaitTimeInMillis);
+        }
+        return idleWaitTimeInMillis;
+    }
+
+    public void jobSubmitted() {
+        queuedJobs.incrementAndGet();
+    }
+
+    public void jobRejected() {
+        queuedJobs.decrementAndGet();
+    }
+
+    public void jobStarted() {
+        queuedJobs.decrementAndGet();
+        runningJobs.incrementAndGet();
+    }
+
+    public void jobFinished(long executionTimeInMillis) {
+        runningJobs.decrementAndGet();
+        synchronized (this) {
+            if (averageExecutionTimeInMillis < 0) {
+                averageExecutionTimeInMillis = executionTimeInMillis;
+            } else {
+                averageExecutionTimeInMillis += EXECUTION_TIME_WEIGHT * (executionTimeInMillis - averageExecutionTimeInMillis);
+            }
+        }
+    }
+
+    public synchronized int getJobsPerAcquisition() {
+        return jobsPerAcquisition;
+    }
+
+    public synchronized long getConflictBackoffInMillis() {
+        return conflictBackoffInMillis;
+    }
+
+    public synchronized double getAverageExecutionTimeInMillis() {
+        return averageExecutionTimeInMillis;
+    }
+
+    public int getQueuedJobs() {
+        return queuedJobs.get();
+    }
+
+    public int getRunningJobs() {
+        return runningJobs.get();
+    }
+}
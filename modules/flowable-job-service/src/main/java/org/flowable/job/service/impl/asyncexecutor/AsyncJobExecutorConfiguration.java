@@ -67,6 +67,18 @@ public class AsyncJobExecutorConfiguration {
      */
     private int maxAsyncJobsDuePerAcquisition = 512;
 
+    /**
+     * Whether the number of jobs acquired in one acquisition and the wait time between acquisitions are adapted
+     * to the observed acquisition results and job execution times (see {@link AdaptiveAcquisitionController}).
+     * When enabled, the max jobs per acquisition and the default acquire wait times are used as upper bounds.
+     */
+    private boolean adaptiveAcquisitionEnabled;
+    /**
+     * The minimum time the acquisition threads wait between acquisitions when adaptive acquisition is enabled.
+     * The wait time grows from this value while no jobs are found, and while optimistic locking exceptions happen.
+     */
+    private Duration adaptiveAcquisitionMinWaitTime = Duration.ofMillis(100);
+
     /**
      * The time the timer acquisition thread should wait before executing the next acquire logic.
      */
@@ -103,6 +115,13 @@ public class AsyncJobExecutorConfiguration {
      */
     private Duration asyncJobLockTime = Duration.ofHours(1);
 
+    /**
+     * Whether the async job acquisition waits until the task executor has capacity again when an acquisition cycle used all of its remaining capacity,
+     * instead of acquiring again after the default async job acquire wait time.
+     * The acquisition is woken up as soon as an executed job completes. Enabled automatically when the async jobs are executed on virtual threads.
+     */
+    protected boolean waitForRemainingCapacity;
+
     /**
      * Whether global acquire lock should be used.
      */
@@ -240,6 +259,22 @@ public class AsyncJobExecutorConfiguration {
         this.maxAsyncJobsDuePerAcquisition = maxAsyncJobsDuePerAcquisition;
     }
 
+    public boolean isAdaptiveAcquisitionEnabled() {
+        return adaptiveAcquisitionEnabled;
+    }
+
+    public void setAdaptiveAcquisitionEnabled(boolean adaptiveAcquisitionEnabled) {
+        this.adaptiveAcquisitionEnabled = adaptiveAcquisitionEnabled;
+    }
+
+    public Duration getAdaptiveAcquisitionMinWaitTime() {
+        return adaptiveAcquisitionMinWaitTime;
+    }
+
+    public void setAdaptiveAcquisitionMinWaitTime(Duration adaptiveAcquisitionMinWaitTime) {
+        this.adaptiveAcquisitionMinWaitTime = adaptiveAcquisitionMinWaitTime;
+    }
+
     public Duration getDefaultTimerJobAcquireWaitTime() {
         return defaultTimerJobAcquireWaitTime;
     }
@@ -318,6 +353,14 @@ public class AsyncJobExecutorConfiguration {
         this.asyncJobLockTime = Duration.ofMillis(asyncJobLockTimeInMillis);
     }
 
+    public boolean isWaitForRemainingCapacity() {
+        return waitForRemainingCapacity;
+    }
+
+    public void setWaitForRemainingCapacity(boolean waitForRemainingCapacity) {
+        this.waitForRemainingCapacity = waitForRemainingCapacity;
+    }
+
     public boolean isGlobalAcquireLockEnabled() {
         return globalAcquireLockEnabled;
     }
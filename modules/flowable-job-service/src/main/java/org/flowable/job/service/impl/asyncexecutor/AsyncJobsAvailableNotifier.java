@@ -0,0 +1,44 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor;
+
+/**
+ * Signals async executors that new async jobs are available for acquisition,
+ * so that the acquisition thread can wake up instead of waiting for its next poll.
+ *
+ * <p>
+ * The engine calls {@link #notifyAsyncJobsAvailable(String)} after a transaction that created async jobs,
+ * which were not handed over directly to the local async executor, has been committed.
+ * Implementations that publish the notification to other nodes (e.g. through a message broker or database notifications)
+ * allow the async executors of the whole cluster to pick up new jobs with a low latency.
+ * The {@link InMemoryAsyncJobsAvailableNotifier} only notifies the async executors running in the same JVM.
+ *
+ * <p>
+ * Notifications are hints: an async executor still falls back to polling when notifications are lost.
+ */
+public interface AsyncJobsAvailableNotifier {
+
+    /**
+     * Notifies the listeners registered for the given engine that new async jobs are available.
+     */
+    void notifyAsyncJobsAvailable(String engineName);
+
+    /**
+     * Registers a listener that is called when async jobs are available for the given engine.
+     * The listener should return quickly, as it can be called from the thread that committed the jobs.
+     */
+    void addAsyncJobsAvailableListener(String engineName, Runnable listener);
+
+    void removeAsyncJobsAvailableListener(String engineName, Runnable listener);
+
+}
@@ -0,0 +1,45 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor;
+
+import org.flowable.common.engine.impl.cfg.TransactionListener;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Publishes an {@link AsyncJobsAvailableNotifier} notification when the transaction that created new async jobs is committed.
+ */
+public class AsyncJobsAvailableTransactionListener implements TransactionListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncJobsAvailableTransactionListener.class);
+
+    protected AsyncJobsAvailableNotifier asyncJobsAvailableNotifier;
+    protected String engineName;
+
+    public AsyncJobsAvailableTransactionListener(AsyncJobsAvailableNotifier asyncJobsAvailableNotifier, String engineName) {
+        this.asyncJobsAvailableNotifier = asyncJobsAvailableNotifier;
+        this.engineName = engineName;
+    }
+
+    @Override
+    public void execute(CommandContext commandContext) {
+        try {
+            asyncJobsAvailableNotifier.notifyAsyncJobsAvailable(engineName);
+        } catch (RuntimeException e) {
+            // The notification is only a hint, the async executors will pick up the jobs with their next acquisition anyway
+            LOGGER.warn("Could not notify async executors of new async jobs for engine {}", engineName, e);
+        }
+    }
+
+}
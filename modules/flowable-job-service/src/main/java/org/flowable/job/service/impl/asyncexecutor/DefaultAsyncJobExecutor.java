@@ -13,6 +13,7 @@
 package org.flowable.job.service.impl.asyncexecutor;
 
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.flowable.common.engine.api.async.AsyncTaskExecutor;
 import org.flowable.common.engine.api.delegate.event.FlowableEngineEventType;
@@ -66,11 +67,18 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
 
     @Override
     protected boolean executeAsyncJob(final JobInfo job, Runnable runnable) {
+        AdaptiveAcquisitionController acquisitionController = asyncJobsDueRunnable != null ? asyncJobsDueRunnable.getAcquisitionController() : null;
         try {
-            taskExecutor.execute(runnable);
+            if (acquisitionController != null) {
+                acquisitionController.jobSubmitted();
+            }
+            taskExecutor.execute(createCapacitySignalingRunnable(runnable, acquisitionController));
             return true;
 
         } catch (RejectedExecutionException e) {
+            if (acquisitionController != null) {
+                acquisitionController.jobRejected();
+            }
             sendRejectedEvent(job);
             unacquireJobAfterRejection(job);
 
@@ -79,6 +87,34 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
         }
     }
 
+    /**
+     * Wraps the runnable of a job, such that the acquisition thread is woken up when it is waiting for capacity
+     * of the task executor when the job has been executed.
+     * When adaptive acquisition is enabled, the execution of the job is reported to the acquisition controller.
+     */
+    protected Runnable createCapacitySignalingRunnable(Runnable runnable, AdaptiveAcquisitionController acquisitionController) {
+        AcquireAsyncJobsDueRunnable acquireAsyncJobsDueRunnable = asyncJobsDueRunnable;
+        if (acquireAsyncJobsDueRunnable == null) {
+            return runnable;
+        }
+
+        return () -> {
+            long startTime = 0L;
+            if (acquisitionController != null) {
+                acquisitionController.jobStarted();
+                startTime = System.nanoTime();
+            }
+            try {
+                runnable.run();
+            } finally {
+                if (acquisitionController != null) {
+                    acquisitionController.jobFinished(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+                }
+                acquireAsyncJobsDueRunnable.capacityAvailable();
+            }
+        };
+    }
+
     protected void sendRejectedEvent(JobInfo job) {
         FlowableEventDispatcher eventDispatcher = jobServiceConfiguration.getEventDispatcher();
         if (eventDispatcher != null && eventDispatcher.isEnabled()) {
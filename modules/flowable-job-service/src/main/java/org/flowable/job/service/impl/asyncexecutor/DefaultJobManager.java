@@ -52,6 +52,7 @@ import org.flowable.job.service.impl.persistence.entity.JobEntity;
 import org.flowable.job.service.impl.persistence.entity.JobInfoEntity;
 import org.flowable.job.service.impl.persistence.entity.SuspendedJobEntity;
 import org.flowable.job.service.impl.persistence.entity.TimerJobEntity;
+import org.flowable.job.service.impl.util.AsyncJobsAvailableNotificationUtil;
 import org.flowable.job.service.impl.util.CommandContextUtil;
 import org.flowable.job.service.impl.util.JobProcessorUtil;
 import org.flowable.variable.api.delegate.VariableScope;
@@ -94,6 +95,9 @@ public class DefaultJobManager implements JobManager {
     protected void triggerExecutorIfNeeded(JobEntity jobEntity) {
         if (isJobApplicableForExecutorExecution(jobEntity)) {
             hintAsyncExecutor(jobEntity);
+        } else {
+            // Not handed over to the local async executor, so it needs to be acquired (possibly by another node)
+            AsyncJobsAvailableNotificationUtil.notifyAsyncJobsAvailable(jobServiceConfiguration);
         }
     }
 
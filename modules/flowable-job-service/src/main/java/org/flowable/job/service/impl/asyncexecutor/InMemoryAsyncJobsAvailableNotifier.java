@@ -0,0 +1,51 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * {@link AsyncJobsAvailableNotifier} that notifies the async executors running in the same JVM.
+ * Can be used for single node setups and as a stand-in for a cross-node notifier in tests.
+ */
+public class InMemoryAsyncJobsAvailableNotifier implements AsyncJobsAvailableNotifier {
+
+    protected final Map<String, List<Runnable>> listeners = new ConcurrentHashMap<>();
+
+    @Override
+    public void notifyAsyncJobsAvailable(String engineName) {
+        List<Runnable> engineListeners = listeners.get(engineName);
+        if (engineListeners != null) {
+            for (Runnable listener : engineListeners) {
+                listener.run();
+            }
+        }
+    }
+
+    @Override
+    public void addAsyncJobsAvailableListener(String engineName, Runnable listener) {
+        listeners.computeIfAbsent(engineName, key -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    @Override
+    public void removeAsyncJobsAvailableListener(String engineName, Runnable listener) {
+        List<Runnable> engineListeners = listeners.get(engineName);
+        if (engineListeners != null) {
+            engineListeners.remove(listener);
+        }
+    }
+
+}
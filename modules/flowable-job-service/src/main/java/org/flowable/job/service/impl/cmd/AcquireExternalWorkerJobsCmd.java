@@ -71,6 +71,12 @@ public class AcquireExternalWorkerJobsCmd implements Command<List<AcquiredExtern
 
         List<ExternalWorkerJobEntity> jobs = externalWorkerJobEntityManager.findExternalJobsToExecute(builder, numberOfJobs);
 
+        Map<String, Map<String, Object>> variablesByJobId = null;
+        if (internalJobManager != null && builder.getVariableNames() != null && !jobs.isEmpty()) {
+            // Only the requested variables are fetched, for all jobs at once
+            variablesByJobId = internalJobManager.resolveVariables(jobs, builder.getVariableNames());
+        }
+
         int lockTimeInMillis = (int) builder.getLockDuration().abs().toMillis();
         List<AcquiredExternalWorkerJob> acquiredJobs = new ArrayList<>(jobs.size());
 
@@ -78,9 +84,13 @@ public class AcquireExternalWorkerJobsCmd implements Command<List<AcquiredExtern
             lockJob(commandContext, job, lockTimeInMillis);
             Map<String, Object> variables = null;
             if (internalJobManager != null) {
-                VariableScope variableScope = internalJobManager.resolveVariableScope(job);
-                if (variableScope != null) {
-                    variables = variableScope.getVariables();
+                if (variablesByJobId != null) {
+                    variables = variablesByJobId.get(job.getId());
+                } else {
+                    VariableScope variableScope = internalJobManager.resolveVariableScope(job);
+                    if (variableScope != null) {
+                        variables = variableScope.getVariables();
+                    }
                 }
 
                 if (job.isExclusive()) {
@@ -20,6 +20,7 @@ import org.flowable.job.service.JobServiceConfiguration;
 import org.flowable.job.service.impl.ExternalWorkerJobAcquireBuilderImpl;
 import org.flowable.job.service.impl.ExternalWorkerJobQueryImpl;
 import org.flowable.job.service.impl.persistence.entity.data.ExternalWorkerJobDataManager;
+import org.flowable.job.service.impl.util.ExternalWorkerJobsAvailableNotificationUtil;
 
 /**
  * @author Filip Hrisafov
@@ -55,6 +56,7 @@ public class ExternalWorkerJobEntityManagerImpl
             jobEntity.setCorrelationId(serviceConfiguration.getIdGenerator().getNextId());
         }
         super.insert(jobEntity, fireCreateEvent);
+        ExternalWorkerJobsAvailableNotificationUtil.notifyExternalWorkerJobsAvailable(serviceConfiguration, jobEntity.getJobHandlerConfiguration());
         return true;
     }
 
@@ -35,6 +35,11 @@ public interface HistoryJobEntityManager extends EntityManager<HistoryJobEntity>
      */
     long findHistoryJobCountByQueryCriteria(HistoryJobQueryImpl jobQuery);
 
+    /**
+     * Returns the history jobs with the given handler type and handler configuration, ordered by their create time.
+     */
+    List<HistoryJobEntity> findHistoryJobsByHandlerTypeAndConfiguration(String handlerType, String handlerConfiguration);
+
     /**
      * The default delete method will cascade to the references entities.
      * This delete doesn't delete the referenced byte array entities (configuration and exception).
@@ -60,6 +60,11 @@ public class HistoryJobEntityManagerImpl
         return dataManager.findHistoryJobCountByQueryCriteria(jobQuery);
     }
 
+    @Override
+    public List<HistoryJobEntity> findHistoryJobsByHandlerTypeAndConfiguration(String handlerType, String handlerConfiguration) {
+        return dataManager.findHistoryJobsByHandlerTypeAndConfiguration(handlerType, handlerConfiguration);
+    }
+
     @Override
     public void delete(HistoryJobEntity jobEntity) {
         super.delete(jobEntity, false);
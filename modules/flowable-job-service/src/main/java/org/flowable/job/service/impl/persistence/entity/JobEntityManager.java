@@ -36,6 +36,11 @@ public interface JobEntityManager extends EntityManager<JobEntity>, JobInfoEntit
      */
     JobEntity findJobByCorrelationId(String correlationId);
 
+    /**
+     * Returns the jobs of the given process instance with the given handler type and handler configuration.
+     */
+    List<JobEntity> findJobsByProcessInstanceIdAndHandlerTypeAndConfiguration(String processInstanceId, String handlerType, String handlerConfiguration);
+
     /**
      * Executes a {@link JobQueryImpl} and returns the matching {@link JobEntity} instances.
      */
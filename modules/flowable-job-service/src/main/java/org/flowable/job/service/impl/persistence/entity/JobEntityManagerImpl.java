@@ -67,6 +67,11 @@ public class JobEntityManagerImpl
         return dataManager.findJobByCorrelationId(correlationId);
     }
 
+    @Override
+    public List<JobEntity> findJobsByProcessInstanceIdAndHandlerTypeAndConfiguration(String processInstanceId, String handlerType, String handlerConfiguration) {
+        return dataManager.findJobsByProcessInstanceIdAndHandlerTypeAndConfiguration(processInstanceId, handlerType, handlerConfiguration);
+    }
+
     @Override
     public List<Job> findJobsByQueryCriteria(JobQueryImpl jobQuery) {
         return dataManager.findJobsByQueryCriteria(jobQuery);
@@ -27,5 +27,7 @@ public interface HistoryJobDataManager extends DataManager<HistoryJobEntity>, Jo
     List<HistoryJob> findHistoryJobsByQueryCriteria(HistoryJobQueryImpl query);
 
     long findHistoryJobCountByQueryCriteria(HistoryJobQueryImpl query);
+
+    List<HistoryJobEntity> findHistoryJobsByHandlerTypeAndConfiguration(String handlerType, String handlerConfiguration);
     
 }
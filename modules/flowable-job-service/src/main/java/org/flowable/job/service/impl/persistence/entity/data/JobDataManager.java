@@ -26,6 +26,8 @@ public interface JobDataManager extends DataManager<JobEntity>, JobInfoDataManag
 
     JobEntity findJobByCorrelationId(String correlationId);
 
+    List<JobEntity> findJobsByProcessInstanceIdAndHandlerTypeAndConfiguration(String processInstanceId, String handlerType, String handlerConfiguration);
+
     List<Job> findJobsByQueryCriteria(JobQueryImpl jobQuery);
 
     long findJobCountByQueryCriteria(JobQueryImpl jobQuery);
@@ -96,6 +96,15 @@ public class MybatisHistoryJobDataManager extends AbstractDataManager<HistoryJob
         return (Long) getDbSqlSession().selectOne("selectHistoryJobCountByQueryCriteria", jobQuery);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<HistoryJobEntity> findHistoryJobsByHandlerTypeAndConfiguration(String handlerType, String handlerConfiguration) {
+        Map<String, String> params = new HashMap<>(2);
+        params.put("handlerType", handlerType);
+        params.put("handlerConfiguration", handlerConfiguration);
+        return getDbSqlSession().selectList("selectHistoryJobsByHandlerTypeAndConfiguration", params);
+    }
+
     @Override
     public void updateJobTenantIdForDeployment(String deploymentId, String newTenantId) {
         HashMap<String, Object> params = new HashMap<>();
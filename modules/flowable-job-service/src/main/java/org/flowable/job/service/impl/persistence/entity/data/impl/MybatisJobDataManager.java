@@ -92,6 +92,16 @@ public class MybatisJobDataManager extends AbstractDataManager<JobEntity> implem
         return getEntity("selectJobByCorrelationId", correlationId, jobByCorrelationIdMatcher, true);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<JobEntity> findJobsByProcessInstanceIdAndHandlerTypeAndConfiguration(String processInstanceId, String handlerType, String handlerConfiguration) {
+        Map<String, String> params = new HashMap<>(3);
+        params.put("processInstanceId", processInstanceId);
+        params.put("handlerType", handlerType);
+        params.put("handlerConfiguration", handlerConfiguration);
+        return getDbSqlSession().selectList("selectJobsByProcessInstanceIdAndHandlerTypeAndConfiguration", params);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public List<JobEntity> findExpiredJobs(List<String> enabledCategories, Page page) {
@@ -0,0 +1,48 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.util;
+
+import org.flowable.common.engine.impl.cfg.TransactionContext;
+import org.flowable.common.engine.impl.cfg.TransactionState;
+import org.flowable.common.engine.impl.context.Context;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.asyncexecutor.AsyncJobsAvailableNotifier;
+import org.flowable.job.service.impl.asyncexecutor.AsyncJobsAvailableTransactionListener;
+
+public class AsyncJobsAvailableNotificationUtil {
+
+    protected static final String ASYNC_JOBS_AVAILABLE_NOTIFICATION_ATTRIBUTE = "ctx.attribute.asyncJobsAvailableNotification.";
+
+    /**
+     * When an {@link AsyncJobsAvailableNotifier} is configured, registers a transaction listener (once per transaction and engine)
+     * that notifies the async executors that new jobs are available for acquisition when the transaction has been committed.
+     * Should be called when async jobs are created that are not handed over directly to the async executor.
+     */
+    public static void notifyAsyncJobsAvailable(JobServiceConfiguration jobServiceConfiguration) {
+        AsyncJobsAvailableNotifier asyncJobsAvailableNotifier = jobServiceConfiguration.getAsyncJobsAvailableNotifier();
+        TransactionContext transactionContext = Context.getTransactionContext();
+        CommandContext commandContext = Context.getCommandContext();
+        if (asyncJobsAvailableNotifier == null || transactionContext == null || commandContext == null) {
+            return;
+        }
+
+        String attributeName = ASYNC_JOBS_AVAILABLE_NOTIFICATION_ATTRIBUTE + jobServiceConfiguration.getEngineName();
+        if (commandContext.getAttribute(attributeName) == null) {
+            commandContext.addAttribute(attributeName, Boolean.TRUE);
+            transactionContext.addTransactionListener(TransactionState.COMMITTED,
+                    new AsyncJobsAvailableTransactionListener(asyncJobsAvailableNotifier, jobServiceConfiguration.getEngineName()));
+        }
+    }
+
+}
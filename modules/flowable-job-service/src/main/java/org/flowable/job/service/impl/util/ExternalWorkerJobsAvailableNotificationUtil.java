@@ -0,0 +1,47 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.util;
+
+import org.flowable.common.engine.impl.cfg.TransactionContext;
+import org.flowable.common.engine.impl.cfg.TransactionState;
+import org.flowable.common.engine.impl.context.Context;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.ExternalWorkerJobsAvailableNotifier;
+import org.flowable.job.service.impl.ExternalWorkerJobsAvailableTransactionListener;
+
+public class ExternalWorkerJobsAvailableNotificationUtil {
+
+    protected static final String EXTERNAL_WORKER_JOBS_AVAILABLE_NOTIFICATION_ATTRIBUTE = "ctx.attribute.externalWorkerJobsAvailableNotification.";
+
+    /**
+     * When an {@link ExternalWorkerJobsAvailableNotifier} is configured, registers a transaction listener (once per transaction and topic)
+     * that notifies the waiting external workers that new jobs are available for the topic when the transaction has been committed.
+     */
+    public static void notifyExternalWorkerJobsAvailable(JobServiceConfiguration jobServiceConfiguration, String topic) {
+        ExternalWorkerJobsAvailableNotifier externalWorkerJobsAvailableNotifier = jobServiceConfiguration.getExternalWorkerJobsAvailableNotifier();
+        TransactionContext transactionContext = Context.getTransactionContext();
+        CommandContext commandContext = Context.getCommandContext();
+        if (externalWorkerJobsAvailableNotifier == null || topic == null || transactionContext == null || commandContext == null) {
+            return;
+        }
+
+        String attributeName = EXTERNAL_WORKER_JOBS_AVAILABLE_NOTIFICATION_ATTRIBUTE + topic;
+        if (commandContext.getAttribute(attributeName) == null) {
+            commandContext.addAttribute(attributeName, Boolean.TRUE);
+            transactionContext.addTransactionListener(TransactionState.COMMITTED,
+                    new ExternalWorkerJobsAvailableTransactionListener(externalWorkerJobsAvailableNotifier, topic));
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flowable.common.engine.impl.interceptor.CommandExecutor;
+import org.flowable.common.engine.impl.lock.LockManager;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.junit.jupiter.api.Test;
+
+class AcquireAsyncJobsDueRunnableTest {
+
+    @Test
+    void wakeUpOnlySkipsTheWaitAfterTheCycleItWasRequestedIn() {
+        AsyncExecutor asyncExecutor = mock(AsyncExecutor.class);
+        when(asyncExecutor.getJobServiceConfiguration()).thenReturn(mock(JobServiceConfiguration.class));
+
+        List<Boolean> wakeUpRequestedBeforeWaiting = new ArrayList<>();
+        AcquireAsyncJobsDueRunnable runnable = new AcquireAsyncJobsDueRunnable("test", asyncExecutor, null, null,
+                mock(AcquireJobsRunnableConfiguration.class)) {
+
+            protected int cycle;
+
+            @Override
+            protected LockManager createLockManager(CommandExecutor commandExecutor) {
+                return null;
+            }
+
+            @Override
+            protected long executeAcquireCycle(CommandExecutor commandExecutor) {
+                cycle++;
+                switch (cycle) {
+                    case 1:
+                        // Woken up during a cycle that doesn't wait, the next cycle starts right away
+                        wakeUp();
+                        return 0;
+                    case 2:
+                        return 1000;
+                    case 3:
+                        // Woken up during a cycle that waits
+                        wakeUp();
+                        return 1000;
+                    default:
+                        stop();
+                        return 0;
+                }
+            }
+
+            @Override
+            protected void sleep(long millisToWait) {
+                wakeUpRequestedBeforeWaiting.add(wakeUpRequested);
+            }
+        };
+
+        runnable.run();
+
+        assertThat(wakeUpRequestedBeforeWaiting).containsExactly(false, true);
+    }
+
+}
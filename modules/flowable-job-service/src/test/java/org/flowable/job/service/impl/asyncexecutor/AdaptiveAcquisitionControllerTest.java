@@ -0,0 +1,128 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveAcquisitionControllerTest {
+
+    protected static final long LOCK_TIME = 60000L;
+    protected static final long DEFAULT_WAIT_TIME = 10000L;
+
+    @Test
+    void batchSizeShrinksOnConflictsAndGrowsOnFullBatches() {
+        AdaptiveAcquisitionController controller = new AdaptiveAcquisitionController(100L);
+        assertThat(controller.getJobsToAcquire(64, 1000, LOCK_TIME)).isEqualTo(64);
+
+        controller.optimisticLockingException(DEFAULT_WAIT_TIME);
+        assertThat(controller.getJobsToAcquire(64, 1000, LOCK_TIME)).isEqualTo(32);
+        controller.optimisticLockingException(DEFAULT_WAIT_TIME);
+        assertThat(controller.getJobsToAcquire(64, 1000, LOCK_TIME)).isEqualTo(16);
+
+        controller.acquiredJobs(16, 16, 64);
+        assertThat(controller.getJobsToAcquire(64, 1000, LOCK_TIME)).isEqualTo(24);
+
+        // Never more than the configured max or the remaining capacity
+        for (int i = 0; i < 10; i++) {
+            controller.acquiredJobs(64, 64, 64);
+        }
+        assertThat(controller.getJobsToAcquire(64, 1000, LOCK_TIME)).isEqualTo(64);
+        assertThat(controller.getJobsToAcquire(64, 10, LOCK_TIME)).isEqualTo(10);
+    }
+
+    @Test
+    void conflictsBackOffExponentially() {
+        AdaptiveAcquisitionController controller = new AdaptiveAcquisitionController(100L);
+
+        controller.optimisticLockingException(DEFAULT_WAIT_TIME);
+        assertThat(controller.getWaitTime(DEFAULT_WAIT_TIME)).isBetween(50L, 100L);
+        controller.optimisticLockingException(DEFAULT_WAIT_TIME);
+        assertThat(controller.getWaitTime(DEFAULT_WAIT_TIME)).isBetween(100L, 200L);
+        controller.optimisticLockingException(DEFAULT_WAIT_TIME);
+        assertThat(controller.getWaitTime(DEFAULT_WAIT_TIME)).isBetween(200L, 400L);
+
+        for (int i = 0; i < 20; i++) {
+            controller.optimisticLockingException(DEFAULT_WAIT_TIME);
+        }
+        assertThat(controller.getConflictBackoffInMillis()).isEqualTo(DEFAULT_WAIT_TIME);
+
+        // Successful acquisitions reduce the backoff again
+        for (int i = 0; i < 20; i++) {
+            controller.acquiredJobs(1, 1, 64);
+        }
+        assertThat(controller.getConflictBackoffInMillis()).isZero();
+        assertThat(controller.getWaitTime(DEFAULT_WAIT_TIME)).isZero();
+    }
+
+    @Test
+    void idleWaitTimeGrowsUpToDefaultWaitTime() {
+        AdaptiveAcquisitionController controller = new AdaptiveAcquisitionController(100L);
+
+        controller.acquiredJobs(5, 64, 64);
+        assertThat(controller.getWaitTime(DEFAULT_WAIT_TIME)).isEqualTo(100L);
+
+        controller.acquiredJobs(0, 64, 64);
+        assertThat(controller.getWaitTime(DEFAULT_WAIT_TIME)).isEqualTo(200L);
+        controller.acquiredJobs(0, 64, 64);
+        assertThat(controller.getWaitTime(DEFAULT_WAIT_TIME)).isEqualTo(400L);
+
+        for (int i = 0; i < 20; i++) {
+            controller.acquiredJobs(0, 64, 64);
+            controller.getWaitTime(DEFAULT_WAIT_TIME);
+        }
+        controller.acquiredJobs(0, 64, 64);
+        assertThat(controller.getWaitTime(DEFAULT_WAIT_TIME)).isEqualTo(DEFAULT_WAIT_TIME);
+
+        controller.acquiredJobs(1, 64, 64);
+        assertThat(controller.getWaitTime(DEFAULT_WAIT_TIME)).isEqualTo(100L);
+    }
+
+    @Test
+    void rejectionsShrinkBatchSizeToAcceptedJobs() {
+        AdaptiveAcquisitionController controller = new AdaptiveAcquisitionController(100L);
+        assertThat(controller.getJobsToAcquire(64, 1000, LOCK_TIME)).isEqualTo(64);
+
+        controller.rejectedJobs(40, 64);
+        assertThat(controller.getJobsToAcquire(64, 1000, LOCK_TIME)).isEqualTo(24);
+    }
+
+    @Test
+    void queuedJobsThatCannotStartWithinLockTimeLimitAcquisition() {
+        AdaptiveAcquisitionController controller = new AdaptiveAcquisitionController(100L);
+
+        // 2 jobs running in parallel, taking 1 second each: 60 jobs can be started in half of the lock time
+        controller.jobSubmitted();
+        controller.jobStarted();
+        controller.jobFinished(1000L);
+        controller.jobSubmitted();
+        controller.jobStarted();
+        controller.jobSubmitted();
+        controller.jobStarted();
+        assertThat(controller.getRunningJobs()).isEqualTo(2);
+        assertThat(controller.getJobsToAcquire(64, 1000, LOCK_TIME)).isEqualTo(60);
+
+        for (int i = 0; i < 50; i++) {
+            controller.jobSubmitted();
+        }
+        assertThat(controller.getQueuedJobs()).isEqualTo(50);
+        assertThat(controller.getJobsToAcquire(64, 1000, LOCK_TIME)).isEqualTo(10);
+
+        for (int i = 0; i < 20; i++) {
+            controller.jobSubmitted();
+        }
+        assertThat(controller.getJobsToAcquire(64, 1000, LOCK_TIME)).isZero();
+    }
+
+}
@@ -0,0 +1,102 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.micrometer;
+
+import org.flowable.job.service.impl.asyncexecutor.AcquireAsyncJobsDueLifecycleListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * An {@link AcquireAsyncJobsDueLifecycleListener} counting the acquired and rejected jobs
+ * and the optimistic locking failures while acquiring jobs. All the events are passed on to the wrapped listener, if any.
+ */
+public class MetricsAcquireAsyncJobsDueLifecycleListener implements AcquireAsyncJobsDueLifecycleListener {
+
+    public static final String ACQUIRED_JOBS_METRIC = "flowable.job.acquisition.acquired";
+    public static final String REJECTED_JOBS_METRIC = "flowable.job.acquisition.rejected";
+    public static final String OPTIMISTIC_LOCKING_FAILURES_METRIC = "flowable.job.acquisition.optimistic.locking.failures";
+
+    protected final AcquireAsyncJobsDueLifecycleListener delegate;
+
+    protected final Counter acquiredJobs;
+    protected final Counter rejectedJobs;
+    protected final Counter optimisticLockingFailures;
+
+    public MetricsAcquireAsyncJobsDueLifecycleListener(AcquireAsyncJobsDueLifecycleListener delegate, MeterRegistry meterRegistry, Tags tags) {
+        this.delegate = delegate;
+        this.acquiredJobs = Counter.builder(ACQUIRED_JOBS_METRIC)
+                .description("Number of jobs acquired by the async executor")
+                .tags(tags)
+                .register(meterRegistry);
+        this.rejectedJobs = Counter.builder(REJECTED_JOBS_METRIC)
+                .description("Number of acquired jobs rejected because the async executor queue was full")
+                .tags(tags)
+                .register(meterRegistry);
+        this.optimisticLockingFailures = Counter.builder(OPTIMISTIC_LOCKING_FAILURES_METRIC)
+                .description("Number of job acquisitions that failed with an optimistic locking exception")
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void startAcquiring(String engineName, int remainingCapacity, int maxAsyncJobsDuePerAcquisition) {
+        if (delegate != null) {
+            delegate.startAcquiring(engineName, remainingCapacity, maxAsyncJobsDuePerAcquisition);
+        }
+    }
+
+    @Override
+    public void stopAcquiring(String engineName) {
+        if (delegate != null) {
+            delegate.stopAcquiring(engineName);
+        }
+    }
+
+    @Override
+    public void acquiredJobs(String engineName, int jobsAcquired, int maxAsyncJobsDuePerAcquisition) {
+        acquiredJobs.increment(jobsAcquired);
+        if (delegate != null) {
+            delegate.acquiredJobs(engineName, jobsAcquired, maxAsyncJobsDuePerAcquisition);
+        }
+    }
+
+    @Override
+    public void rejectedJobs(String engineName, int jobsRejected, int jobsAcquired, int maxAsyncJobsDuePerAcquisition) {
+        rejectedJobs.increment(jobsRejected);
+        if (delegate != null) {
+            delegate.rejectedJobs(engineName, jobsRejected, jobsAcquired, maxAsyncJobsDuePerAcquisition);
+        }
+    }
+
+    @Override
+    public void optimistLockingException(String engineName, int maxAsyncJobsDuePerAcquisition) {
+        optimisticLockingFailures.increment();
+        if (delegate != null) {
+            delegate.optimistLockingException(engineName, maxAsyncJobsDuePerAcquisition);
+        }
+    }
+
+    @Override
+    public void startWaiting(String engineName, long millisToWait) {
+        if (delegate != null) {
+            delegate.startWaiting(engineName, millisToWait);
+        }
+    }
+
+    public AcquireAsyncJobsDueLifecycleListener getDelegate() {
+        return delegate;
+    }
+
+}
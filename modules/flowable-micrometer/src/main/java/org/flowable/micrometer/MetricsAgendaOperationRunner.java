@@ -0,0 +1,71 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.micrometer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.common.engine.impl.agenda.AgendaOperationRunner;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * An {@link AgendaOperationRunner} recording the number and the duration of the executed agenda operations,
+ * tagged with the operation class (e.g. {@code TakeOutgoingSequenceFlowsOperation}).
+ * The actual execution is delegated to the wrapped runner.
+ */
+public class MetricsAgendaOperationRunner implements AgendaOperationRunner {
+
+    public static final String AGENDA_OPERATION_METRIC = "flowable.agenda.operation";
+
+    protected final AgendaOperationRunner delegate;
+    protected final MeterRegistry meterRegistry;
+    protected final Tags tags;
+
+    protected final Map<Class<?>, Timer> operationTimers = new ConcurrentHashMap<>();
+
+    public MetricsAgendaOperationRunner(AgendaOperationRunner delegate, MeterRegistry meterRegistry, Tags tags) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.tags = tags;
+    }
+
+    @Override
+    public void executeOperation(CommandContext commandContext, Runnable runnable) {
+        Timer timer = operationTimers.computeIfAbsent(runnable.getClass(), this::createOperationTimer);
+        long startTime = System.nanoTime();
+        try {
+            delegate.executeOperation(commandContext, runnable);
+        } finally {
+            timer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    protected Timer createOperationTimer(Class<?> operationClass) {
+        String operationName = operationClass.isSynthetic() || operationClass.isHidden() || operationClass.isAnonymousClass()
+                ? "other" : operationClass.getSimpleName();
+        return Timer.builder(AGENDA_OPERATION_METRIC)
+                .description("Execution time of the agenda operations")
+                .tags(tags.and("operation", operationName))
+                .register(meterRegistry);
+    }
+
+    public AgendaOperationRunner getDelegate() {
+        return delegate;
+    }
+
+}
@@ -0,0 +1,111 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.micrometer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.common.engine.api.FlowableOptimisticLockingException;
+import org.flowable.common.engine.impl.interceptor.AbstractCommandInterceptor;
+import org.flowable.common.engine.impl.interceptor.Command;
+import org.flowable.common.engine.impl.interceptor.CommandConfig;
+import org.flowable.common.engine.impl.interceptor.CommandExecutor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records the latency of every command executed by the engine.
+ * The timer is tagged with the command class, so that the job execution rate can be derived from
+ * the timers of the job execution commands (e.g. {@code ExecuteAsyncRunnableJobCmd}).
+ *
+ * This interceptor needs to be added as a custom pre command interceptor, so that the
+ * transaction and the flush of the command context are included in the measured time.
+ */
+public class MetricsCommandInterceptor extends AbstractCommandInterceptor {
+
+    public static final String COMMAND_METRIC = "flowable.command";
+    public static final String OPTIMISTIC_LOCKING_FAILURES_METRIC = "flowable.command.optimistic.locking.failures";
+
+    protected final MeterRegistry meterRegistry;
+    protected final Tags tags;
+
+    protected final Map<Class<?>, CommandMeters> commandMeters = new ConcurrentHashMap<>();
+
+    public MetricsCommandInterceptor(MeterRegistry meterRegistry, Tags tags) {
+        this.meterRegistry = meterRegistry;
+        this.tags = tags;
+    }
+
+    @Override
+    public <T> T execute(CommandConfig config, Command<T> command, CommandExecutor commandExecutor) {
+        CommandMeters meters = commandMeters.computeIfAbsent(command.getClass(), this::createCommandMeters);
+        long startTime = System.nanoTime();
+        try {
+            T result = next.execute(config, command, commandExecutor);
+            meters.success.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            return result;
+
+        } catch (FlowableOptimisticLockingException e) {
+            meters.failure.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            meters.optimisticLockingFailures.increment();
+            throw e;
+
+        } catch (RuntimeException | Error e) {
+            meters.failure.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    protected CommandMeters createCommandMeters(Class<?> commandClass) {
+        Tags commandTags = tags.and("command", getCommandName(commandClass));
+        return new CommandMeters(
+                Timer.builder(COMMAND_METRIC)
+                        .description("Execution time of the engine commands")
+                        .tags(commandTags.and("outcome", "success"))
+                        .register(meterRegistry),
+                Timer.builder(COMMAND_METRIC)
+                        .description("Execution time of the engine commands")
+                        .tags(commandTags.and("outcome", "failure"))
+                        .register(meterRegistry),
+                Counter.builder(OPTIMISTIC_LOCKING_FAILURES_METRIC)
+                        .description("Number of commands that failed with an optimistic locking exception")
+                        .tags(commandTags)
+                        .register(meterRegistry));
+    }
+
+    protected String getCommandName(Class<?> commandClass) {
+        // Lambdas and anonymous classes would create a new tag value for every (generated) class name
+        if (commandClass.isSynthetic() || commandClass.isHidden() || commandClass.isAnonymousClass()) {
+            return "other";
+        }
+        return commandClass.getSimpleName();
+    }
+
+    protected static class CommandMeters {
+
+        protected final Timer success;
+        protected final Timer failure;
+        protected final Counter optimisticLockingFailures;
+
+        protected CommandMeters(Timer success, Timer failure, Counter optimisticLockingFailures) {
+            this.success = success;
+            this.failure = failure;
+            this.optimisticLockingFailures = optimisticLockingFailures;
+        }
+    }
+
+}
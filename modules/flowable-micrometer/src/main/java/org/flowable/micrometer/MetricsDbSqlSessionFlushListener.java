@@ -0,0 +1,63 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.micrometer;
+
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.common.engine.impl.db.DbSqlSessionFlushListener;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records the duration of the flushes of the {@link org.flowable.common.engine.impl.db.DbSqlSession}
+ * and the number of inserted, updated and deleted entities per flush.
+ */
+public class MetricsDbSqlSessionFlushListener implements DbSqlSessionFlushListener {
+
+    public static final String FLUSH_METRIC = "flowable.db.flush";
+    public static final String FLUSH_ENTITIES_METRIC = "flowable.db.flush.entities";
+
+    protected final Timer flushTimer;
+    protected final DistributionSummary insertedEntities;
+    protected final DistributionSummary updatedEntities;
+    protected final DistributionSummary deletedEntities;
+
+    public MetricsDbSqlSessionFlushListener(MeterRegistry meterRegistry, Tags tags) {
+        this.flushTimer = Timer.builder(FLUSH_METRIC)
+                .description("Duration of the flushes of the entity changes to the database")
+                .tags(tags)
+                .register(meterRegistry);
+        this.insertedEntities = createFlushSummary(meterRegistry, tags, "insert");
+        this.updatedEntities = createFlushSummary(meterRegistry, tags, "update");
+        this.deletedEntities = createFlushSummary(meterRegistry, tags, "delete");
+    }
+
+    protected DistributionSummary createFlushSummary(MeterRegistry meterRegistry, Tags tags, String operation) {
+        return DistributionSummary.builder(FLUSH_ENTITIES_METRIC)
+                .description("Number of entities flushed to the database per flush")
+                .tags(tags.and("operation", operation))
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterFlush(int insertCount, int updateCount, int deleteCount, long durationInNanos) {
+        flushTimer.record(durationInNanos, TimeUnit.NANOSECONDS);
+        insertedEntities.record(insertCount);
+        updatedEntities.record(updateCount);
+        deletedEntities.record(deleteCount);
+    }
+
+}
@@ -0,0 +1,95 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.micrometer;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * A MyBatis interceptor recording the execution time of every mapped statement, tagged with the statement id
+ * (e.g. {@code selectJobsToExecute}). Similar to the {@link org.flowable.common.engine.impl.db.LogSqlExecutionTimePlugin},
+ * but publishing the timings as metrics instead of logging them.
+ *
+ * Note that with batch flushing enabled, the update statements are only queued when intercepted,
+ * so their timings don't include the actual execution of the batch.
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class }),
+        @Signature(type = Executor.class, method = "query",
+                args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class }),
+        @Signature(type = Executor.class, method = "update", args = { MappedStatement.class, Object.class })
+})
+public class MetricsMybatisInterceptor implements Interceptor {
+
+    public static final String SQL_STATEMENT_METRIC = "flowable.sql.statement";
+
+    protected final MeterRegistry meterRegistry;
+    protected final Tags tags;
+
+    protected final Map<String, Timer> statementTimers = new ConcurrentHashMap<>();
+
+    public MetricsMybatisInterceptor(MeterRegistry meterRegistry, Tags tags) {
+        this.meterRegistry = meterRegistry;
+        this.tags = tags;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement mappedStatement = (MappedStatement) invocation.getArgs()[0];
+        Timer timer = statementTimers.computeIfAbsent(mappedStatement.getId(), this::createStatementTimer);
+        long startTime = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            timer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    protected Timer createStatementTimer(String statementId) {
+        // The statement ids are prefixed with the namespace of the mapping file, which is always the same for the Flowable mappings
+        String statement = statementId.substring(statementId.lastIndexOf('.') + 1);
+        return Timer.builder(SQL_STATEMENT_METRIC)
+                .description("Execution time of the MyBatis mapped statements")
+                .tags(tags.and("statement", statement))
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Object plugin(Object target) {
+        return Plugin.wrap(target, this);
+    }
+
+    @Override
+    public void setProperties(Properties properties) {
+
+    }
+}
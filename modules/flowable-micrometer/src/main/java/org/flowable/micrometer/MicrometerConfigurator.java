@@ -0,0 +1,269 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.micrometer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+
+import org.apache.ibatis.plugin.Interceptor;
+import org.flowable.common.engine.api.async.AsyncTaskExecutor;
+import org.flowable.common.engine.impl.AbstractEngineConfiguration;
+import org.flowable.common.engine.impl.EngineConfigurator;
+import org.flowable.common.engine.impl.ScriptingEngineAwareEngineConfiguration;
+import org.flowable.common.engine.impl.async.DefaultAsyncTaskExecutor;
+import org.flowable.common.engine.impl.interceptor.CommandInterceptor;
+import org.flowable.common.engine.impl.interceptor.EngineConfigurationConstants;
+import org.flowable.common.engine.impl.scripting.ScriptingEngines;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.asyncexecutor.AbstractAsyncExecutor;
+import org.flowable.job.service.impl.asyncexecutor.AsyncExecutor;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * An {@link EngineConfigurator} publishing metrics of an engine to a Micrometer {@link MeterRegistry}:
+ * <ul>
+ * <li>the latency of the commands, see {@link MetricsCommandInterceptor}</li>
+ * <li>the number and duration of the agenda operations, see {@link MetricsAgendaOperationRunner}</li>
+ * <li>the execution time of the SQL statements, see {@link MetricsMybatisInterceptor}</li>
+ * <li>the size and duration of the database flushes, see {@link MetricsDbSqlSessionFlushListener}</li>
+ * <li>the job acquisition of the async (history) executor, see {@link MetricsAcquireAsyncJobsDueLifecycleListener},
+ * and the remaining capacity and queue size of its task executor</li>
+ * <li>the hits and misses of the compiled script cache of the {@link ScriptingEngines}</li>
+ * </ul>
+ *
+ * All meters are tagged with the scope type of the engine (e.g. {@code bpmn} or {@code cmmn}) and the configured additional tags.
+ * The configurator can be added to any engine configuration, e.g. both to the process and the CMMN engine.
+ */
+public class MicrometerConfigurator implements EngineConfigurator {
+
+    public static final String JOB_EXECUTOR_REMAINING_CAPACITY_METRIC = "flowable.job.executor.remaining.capacity";
+    public static final String JOB_EXECUTOR_QUEUE_SIZE_METRIC = "flowable.job.executor.queue.size";
+    public static final String COMPILED_SCRIPT_CACHE_GETS_METRIC = "flowable.script.compiled.cache.gets";
+
+    protected MeterRegistry meterRegistry;
+    protected Tags tags = Tags.empty();
+
+    protected boolean commandMetricsEnabled = true;
+    protected boolean agendaMetricsEnabled = true;
+    protected boolean sqlMetricsEnabled = true;
+    protected boolean flushMetricsEnabled = true;
+    protected boolean jobExecutorMetricsEnabled = true;
+    protected boolean scriptCacheMetricsEnabled = true;
+
+    // Runs after the other configurators, so that a custom agenda operation runner set by them is wrapped as well
+    protected int priority = EngineConfigurationConstants.PRIORITY_ENGINE_CMMN + 100000;
+
+    public MicrometerConfigurator(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void beforeInit(AbstractEngineConfiguration engineConfiguration) {
+        Tags engineTags = getEngineTags(engineConfiguration);
+
+        if (commandMetricsEnabled) {
+            List<CommandInterceptor> preCommandInterceptors = engineConfiguration.getCustomPreCommandInterceptors();
+            if (preCommandInterceptors == null) {
+                preCommandInterceptors = new ArrayList<>();
+                engineConfiguration.setCustomPreCommandInterceptors(preCommandInterceptors);
+            }
+            preCommandInterceptors.add(new MetricsCommandInterceptor(meterRegistry, engineTags));
+        }
+
+        if (agendaMetricsEnabled) {
+            engineConfiguration.setAgendaOperationRunner(
+                    new MetricsAgendaOperationRunner(engineConfiguration.getAgendaOperationRunner(), meterRegistry, engineTags));
+        }
+
+        if (sqlMetricsEnabled) {
+            List<Interceptor> mybatisInterceptors = engineConfiguration.getCustomMybatisInterceptors();
+            if (mybatisInterceptors == null) {
+                mybatisInterceptors = new ArrayList<>();
+                engineConfiguration.setCustomMybatisInterceptors(mybatisInterceptors);
+            }
+            mybatisInterceptors.add(new MetricsMybatisInterceptor(meterRegistry, engineTags));
+        }
+    }
+
+    @Override
+    public void configure(AbstractEngineConfiguration engineConfiguration) {
+        Tags engineTags = getEngineTags(engineConfiguration);
+
+        if (flushMetricsEnabled && engineConfiguration.isUsingRelationalDatabase() && engineConfiguration.getDbSqlSessionFactory() != null) {
+            engineConfiguration.getDbSqlSessionFactory().setFlushListener(new MetricsDbSqlSessionFlushListener(meterRegistry, engineTags));
+        }
+
+        if (jobExecutorMetricsEnabled) {
+            JobServiceConfiguration jobServiceConfiguration = (JobServiceConfiguration) engineConfiguration.getServiceConfigurations()
+                    .get(EngineConfigurationConstants.KEY_JOB_SERVICE_CONFIG);
+            if (jobServiceConfiguration != null) {
+                instrumentAsyncExecutor(jobServiceConfiguration.getAsyncExecutor(), engineTags.and("executor", "async"));
+                instrumentAsyncExecutor(jobServiceConfiguration.getAsyncHistoryExecutor(), engineTags.and("executor", "history"));
+            }
+        }
+
+        if (scriptCacheMetricsEnabled && engineConfiguration instanceof ScriptingEngineAwareEngineConfiguration) {
+            instrumentCompiledScriptCache((ScriptingEngineAwareEngineConfiguration) engineConfiguration, engineTags);
+        }
+    }
+
+    protected void instrumentCompiledScriptCache(ScriptingEngineAwareEngineConfiguration engineConfiguration, Tags engineTags) {
+        // The scripting engines are looked up every time, as they can be created after the configurators are invoked
+        FunctionCounter.builder(COMPILED_SCRIPT_CACHE_GETS_METRIC, engineConfiguration, MicrometerConfigurator::getCompiledScriptCacheHitCount)
+                .description("Number of script evaluations that used an already compiled script")
+                .tags(engineTags.and("result", "hit"))
+                .register(meterRegistry);
+        FunctionCounter.builder(COMPILED_SCRIPT_CACHE_GETS_METRIC, engineConfiguration, MicrometerConfigurator::getCompiledScriptCacheMissCount)
+                .description("Number of script evaluations that had to compile the script")
+                .tags(engineTags.and("result", "miss"))
+                .register(meterRegistry);
+    }
+
+    protected static double getCompiledScriptCacheHitCount(ScriptingEngineAwareEngineConfiguration engineConfiguration) {
+        ScriptingEngines scriptingEngines = engineConfiguration.getScriptingEngines();
+        return scriptingEngines != null ? scriptingEngines.getCompiledScriptCacheHitCount() : 0;
+    }
+
+    protected static double getCompiledScriptCacheMissCount(ScriptingEngineAwareEngineConfiguration engineConfiguration) {
+        ScriptingEngines scriptingEngines = engineConfiguration.getScriptingEngines();
+        return scriptingEngines != null ? scriptingEngines.getCompiledScriptCacheMissCount() : 0;
+    }
+
+    protected void instrumentAsyncExecutor(AsyncExecutor asyncExecutor, Tags executorTags) {
+        if (asyncExecutor == null) {
+            return;
+        }
+
+        if (asyncExecutor instanceof AbstractAsyncExecutor) {
+            AbstractAsyncExecutor abstractAsyncExecutor = (AbstractAsyncExecutor) asyncExecutor;
+            // The check prevents wrapping the listener twice when the async executor is shared between engines
+            if (!(abstractAsyncExecutor.getAsyncJobsDueLifecycleListener() instanceof MetricsAcquireAsyncJobsDueLifecycleListener)) {
+                abstractAsyncExecutor.setAsyncJobsDueLifecycleListener(new MetricsAcquireAsyncJobsDueLifecycleListener(
+                        abstractAsyncExecutor.getAsyncJobsDueLifecycleListener(), meterRegistry, executorTags));
+            }
+        }
+
+        // The task executor is looked up every time, as it is only created when the async executor is started
+        Gauge.builder(JOB_EXECUTOR_REMAINING_CAPACITY_METRIC, asyncExecutor, MicrometerConfigurator::getRemainingCapacity)
+                .description("Remaining capacity of the job execution queue of the async executor")
+                .tags(executorTags)
+                .register(meterRegistry);
+        Gauge.builder(JOB_EXECUTOR_QUEUE_SIZE_METRIC, asyncExecutor, MicrometerConfigurator::getQueueSize)
+                .description("Number of jobs waiting in the job execution queue of the async executor")
+                .tags(executorTags)
+                .register(meterRegistry);
+    }
+
+    protected static double getRemainingCapacity(AsyncExecutor asyncExecutor) {
+        AsyncTaskExecutor taskExecutor = asyncExecutor.getTaskExecutor();
+        return taskExecutor != null ? taskExecutor.getRemainingCapacity() : Double.NaN;
+    }
+
+    protected static double getQueueSize(AsyncExecutor asyncExecutor) {
+        AsyncTaskExecutor taskExecutor = asyncExecutor.getTaskExecutor();
+        if (taskExecutor instanceof DefaultAsyncTaskExecutor) {
+            BlockingQueue<Runnable> threadPoolQueue = ((DefaultAsyncTaskExecutor) taskExecutor).getThreadPoolQueue();
+            if (threadPoolQueue != null) {
+                return threadPoolQueue.size();
+            }
+        }
+        return Double.NaN;
+    }
+
+    protected Tags getEngineTags(AbstractEngineConfiguration engineConfiguration) {
+        return tags.and("engine", engineConfiguration.getEngineScopeType());
+    }
+
+    @Override
+    public int getPriority() {
+        return priority;
+    }
+
+    public MeterRegistry getMeterRegistry() {
+        return meterRegistry;
+    }
+
+    public Tags getTags() {
+        return tags;
+    }
+
+    public MicrometerConfigurator setTags(Tags tags) {
+        this.tags = tags;
+        return this;
+    }
+
+    public boolean isCommandMetricsEnabled() {
+        return commandMetricsEnabled;
+    }
+
+    public MicrometerConfigurator setCommandMetricsEnabled(boolean commandMetricsEnabled) {
+        this.commandMetricsEnabled = commandMetricsEnabled;
+        return this;
+    }
+
+    public boolean isAgendaMetricsEnabled() {
+        return agendaMetricsEnabled;
+    }
+
+    public MicrometerConfigurator setAgendaMetricsEnabled(boolean agendaMetricsEnabled) {
+        this.agendaMetricsEnabled = agendaMetricsEnabled;
+        return this;
+    }
+
+    public boolean isSqlMetricsEnabled() {
+        return sqlMetricsEnabled;
+    }
+
+    public MicrometerConfigurator setSqlMetricsEnabled(boolean sqlMetricsEnabled) {
+        this.sqlMetricsEnabled = sqlMetricsEnabled;
+        return this;
+    }
+
+    public boolean isFlushMetricsEnabled() {
+        return flushMetricsEnabled;
+    }
+
+    public MicrometerConfigurator setFlushMetricsEnabled(boolean flushMetricsEnabled) {
+        this.flushMetricsEnabled = flushMetricsEnabled;
+        return this;
+    }
+
+    public boolean isJobExecutorMetricsEnabled() {
+        return jobExecutorMetricsEnabled;
+    }
+
+    public MicrometerConfigurator setJobExecutorMetricsEnabled(boolean jobExecutorMetricsEnabled) {
+        this.jobExecutorMetricsEnabled = jobExecutorMetricsEnabled;
+        return this;
+    }
+
+    public boolean isScriptCacheMetricsEnabled() {
+        return scriptCacheMetricsEnabled;
+    }
+
+    public MicrometerConfigurator setScriptCacheMetricsEnabled(boolean scriptCacheMetricsEnabled) {
+        this.scriptCacheMetricsEnabled = scriptCacheMetricsEnabled;
+        return this;
+    }
+
+    public MicrometerConfigurator setPriority(int priority) {
+        this.priority = priority;
+        return this;
+    }
+
+}
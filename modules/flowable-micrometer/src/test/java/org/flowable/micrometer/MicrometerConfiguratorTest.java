@@ -0,0 +1,134 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.micrometer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.flowable.common.engine.api.FlowableOptimisticLockingException;
+import org.flowable.common.engine.impl.interceptor.Command;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MicrometerConfiguratorTest {
+
+    protected SimpleMeterRegistry meterRegistry;
+    protected ProcessEngine processEngine;
+
+    @BeforeEach
+    void createProcessEngine() {
+        meterRegistry = new SimpleMeterRegistry();
+        StandaloneInMemProcessEngineConfiguration engineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+        engineConfiguration.setEngineName("micrometerTest");
+        engineConfiguration.setJdbcUrl("jdbc:h2:mem:flowable-micrometer;DB_CLOSE_DELAY=1000");
+        engineConfiguration.addConfigurator(new MicrometerConfigurator(meterRegistry).setTags(Tags.of("application", "test")));
+        processEngine = engineConfiguration.buildProcessEngine();
+    }
+
+    @AfterEach
+    void closeProcessEngine() {
+        processEngine.close();
+        meterRegistry.close();
+    }
+
+    @Test
+    void metricsAreRecorded() {
+        processEngine.getRepositoryService().createDeployment()
+                .addString("oneTask.bpmn20.xml", "<definitions xmlns='http://www.omg.org/spec/BPMN/20100524/MODEL'"
+                        + " targetNamespace='http://flowable.org/test'>"
+                        + "  <process id='oneTask'>"
+                        + "    <startEvent id='start' />"
+                        + "    <sequenceFlow id='flow1' sourceRef='start' targetRef='task' />"
+                        + "    <userTask id='task' />"
+                        + "    <sequenceFlow id='flow2' sourceRef='task' targetRef='end' />"
+                        + "    <endEvent id='end' />"
+                        + "  </process>"
+                        + "</definitions>")
+                .deploy();
+        processEngine.getRuntimeService().startProcessInstanceByKey("oneTask");
+
+        Timer startTimer = meterRegistry.find(MetricsCommandInterceptor.COMMAND_METRIC)
+                .tags("application", "test", "engine", "bpmn", "command", "StartProcessInstanceCmd", "outcome", "success")
+                .timer();
+        assertThat(startTimer).isNotNull();
+        assertThat(startTimer.count()).isEqualTo(1);
+
+        assertThat(meterRegistry.find(MetricsAgendaOperationRunner.AGENDA_OPERATION_METRIC)
+                .tags("operation", "TakeOutgoingSequenceFlowsOperation")
+                .timer())
+                .isNotNull();
+
+        assertThat(meterRegistry.find(MetricsMybatisInterceptor.SQL_STATEMENT_METRIC)
+                .tags("statement", "selectLatestProcessDefinitionByKey")
+                .timer())
+                .isNotNull();
+
+        assertThat(meterRegistry.find(MetricsDbSqlSessionFlushListener.FLUSH_ENTITIES_METRIC)
+                .tags("operation", "insert")
+                .summary()
+                .totalAmount())
+                .isPositive();
+
+        assertThat(meterRegistry.find(MicrometerConfigurator.JOB_EXECUTOR_REMAINING_CAPACITY_METRIC)
+                .tags("executor", "async")
+                .gauge())
+                .isNotNull();
+
+        assertThat(meterRegistry.find(MicrometerConfigurator.COMPILED_SCRIPT_CACHE_GETS_METRIC)
+                .tags("engine", "bpmn", "result", "hit")
+                .functionCounter())
+                .isNotNull();
+    }
+
+    @Test
+    void failedCommandsAreRecorded() {
+        assertThatThrownBy(() -> processEngine.getManagementService().executeCommand(new OptimisticLockingFailureCmd()))
+                .isInstanceOf(FlowableOptimisticLockingException.class);
+
+        Timer failureTimer = meterRegistry.find(MetricsCommandInterceptor.COMMAND_METRIC)
+                .tags("engine", "bpmn", "command", "OptimisticLockingFailureCmd", "outcome", "failure")
+                .timer();
+        assertThat(failureTimer).isNotNull();
+        assertThat(failureTimer.count()).isEqualTo(1);
+
+        assertThat(meterRegistry.find(MetricsCommandInterceptor.COMMAND_METRIC)
+                .tags("engine", "bpmn", "command", "OptimisticLockingFailureCmd", "outcome", "success")
+                .timer()
+                .count())
+                .isZero();
+
+        Counter optimisticLockingFailures = meterRegistry.find(MetricsCommandInterceptor.OPTIMISTIC_LOCKING_FAILURES_METRIC)
+                .tags("engine", "bpmn", "command", "OptimisticLockingFailureCmd")
+                .counter();
+        assertThat(optimisticLockingFailures).isNotNull();
+        assertThat(optimisticLockingFailures.count()).isEqualTo(1.0);
+    }
+
+    protected static class OptimisticLockingFailureCmd implements Command<Void> {
+
+        @Override
+        public Void execute(CommandContext commandContext) {
+            throw new FlowableOptimisticLockingException("test");
+        }
+    }
+
+}
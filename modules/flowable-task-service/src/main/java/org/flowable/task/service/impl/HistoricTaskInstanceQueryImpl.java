@@ -174,6 +174,16 @@ public class HistoricTaskInstanceQueryImpl extends AbstractVariableQueryImpl<His
         this.variableServiceConfiguration = variableServiceConfiguration;
     }
 
+    @Override
+    protected boolean isKeysetPaginationSupported() {
+        return true;
+    }
+
+    @Override
+    protected String getKeysetId(HistoricTaskInstance result) {
+        return result.getId();
+    }
+
     @Override
     public long executeCount(CommandContext commandContext) {
         ensureVariablesInitialized();
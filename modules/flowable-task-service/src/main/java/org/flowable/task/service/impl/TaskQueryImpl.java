@@ -2006,6 +2006,16 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
         }
     }
 
+    @Override
+    protected boolean isKeysetPaginationSupported() {
+        return true;
+    }
+
+    @Override
+    protected String getKeysetId(Task result) {
+        return result.getId();
+    }
+
     @Override
     public long executeCount(CommandContext commandContext) {
         ensureVariablesInitialized();
@@ -83,6 +83,8 @@ public interface HistoricTaskInstanceEntity extends Entity, HistoricTaskInstance
 
     void setScopeDefinitionId(String scopeDefinitionId);
 
+    void setPropagatedStageInstanceId(String propagatedStageInstanceId);
+
     void setCreateTime(Date createTime);
 
     /**
@@ -224,6 +224,11 @@ public class HistoricTaskInstanceEntityImpl extends AbstractTaskServiceEntity im
         return propagatedStageInstanceId;
     }
 
+    @Override
+    public void setPropagatedStageInstanceId(String propagatedStageInstanceId) {
+        this.propagatedStageInstanceId = propagatedStageInstanceId;
+    }
+
     @Override
     public Date getStartTime() {
         return getCreateTime(); // For backwards compatible reason implemented with createTime and startTime
@@ -15,10 +15,12 @@ package org.flowable.variable.service.impl.persistence.entity;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 import org.apache.commons.lang3.StringUtils;
 import org.flowable.common.engine.api.scope.ScopeTypes;
 import org.flowable.common.engine.impl.persistence.entity.ByteArrayRef;
+import org.flowable.common.engine.impl.persistence.entity.ChangeTrackingEntity;
 import org.flowable.variable.api.types.ValueFields;
 import org.flowable.variable.api.types.VariableType;
 
@@ -27,10 +29,28 @@ import org.flowable.variable.api.types.VariableType;
  * @author Marcus Klimstra (CGI)
  * @author Joram Barrez
  */
-public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity implements VariableInstanceEntity, ValueFields, Serializable {
+public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity implements VariableInstanceEntity, ChangeTrackingEntity, ValueFields, Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    // bits of the changed fields, one for every entry of the persistent state (see PERSISTENT_STATE_KEYS)
+    public static final long CHANGED_NAME = 1L;
+    public static final long CHANGED_TYPE = 1L << 1;
+    public static final long CHANGED_EXECUTION_ID = 1L << 2;
+    public static final long CHANGED_SCOPE_ID = 1L << 3;
+    public static final long CHANGED_SUB_SCOPE_ID = 1L << 4;
+    public static final long CHANGED_SCOPE_TYPE = 1L << 5;
+    public static final long CHANGED_LONG_VALUE = 1L << 6;
+    public static final long CHANGED_DOUBLE_VALUE = 1L << 7;
+    public static final long CHANGED_TEXT_VALUE = 1L << 8;
+    public static final long CHANGED_TEXT_VALUE2 = 1L << 9;
+    public static final long CHANGED_BYTE_ARRAY_VALUE_ID = 1L << 10;
+    public static final long CHANGED_META_INFO = 1L << 11;
+    public static final long CHANGED_FORCED_UPDATE = 1L << 12;
+
+    protected static final String[] PERSISTENT_STATE_KEYS = { "name", "typeName", "executionId", "scopeId", "subScopeId", "scopeType",
+            "longValue", "doubleValue", "textValue", "textValue2", "byteArrayValueId", "metaInfo", "forcedUpdate" };
+
     protected String name;
     protected VariableType type;
     protected String typeName;
@@ -56,6 +76,11 @@ public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity im
     protected boolean forcedUpdate;
     protected boolean deleted;
 
+    protected boolean changeTracked;
+    protected long changedFields;
+    protected Object[] originalValues; // only created when a field is changed, indexed by the bit of the field
+    protected Map<String, Object> trackedOriginalPersistentState; // built once at flush time, reset by every change
+
 
     @Override
     public Object getPersistentState() {
@@ -82,13 +107,81 @@ public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity im
         return persistentState;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object getOriginalPersistentState() {
+        if (!changeTracked) {
+            return originalPersistentState;
+        }
+        if (trackedOriginalPersistentState != null) {
+            // The update statement calls this getter for every column it compares
+            return trackedOriginalPersistentState;
+        }
+
+        // No copy of the persistent state was made when loading the entity: it is rebuilt from the original values of the changed fields,
+        // as the update statement only sets the columns of which the original value differs from the current value.
+        Map<String, Object> persistentState = (Map<String, Object>) getPersistentState();
+        for (int i = 0; i < PERSISTENT_STATE_KEYS.length; i++) {
+            if ((changedFields & (1L << i)) != 0) {
+                persistentState.put(PERSISTENT_STATE_KEYS[i], originalValues[i]);
+            }
+        }
+        if (!Boolean.TRUE.equals(persistentState.get("forcedUpdate"))) {
+            persistentState.remove("forcedUpdate");
+        }
+        trackedOriginalPersistentState = persistentState;
+        return persistentState;
+    }
+
+    @Override
+    public void startChangeTracking() {
+        changeTracked = true;
+        changedFields = 0L;
+        originalValues = null;
+        trackedOriginalPersistentState = null;
+    }
+
+    @Override
+    public boolean isChangeTracked() {
+        return changeTracked;
+    }
+
+    @Override
+    public long getChangedFields() {
+        return changedFields;
+    }
+
+    protected void markChanged(long field, Object oldValue, Object newValue) {
+        if (changeTracked && !Objects.equals(oldValue, newValue)) {
+            recordChange(field, oldValue, newValue);
+        }
+    }
+
+    protected void recordChange(long field, Object oldValue, Object newValue) {
+        trackedOriginalPersistentState = null;
+        int index = Long.numberOfTrailingZeros(field);
+        if ((changedFields & field) == 0) {
+            if (originalValues == null) {
+                originalValues = new Object[PERSISTENT_STATE_KEYS.length];
+            }
+            originalValues[index] = oldValue;
+            changedFields |= field;
+
+        } else if (Objects.equals(originalValues[index], newValue)) {
+            // Changed back to the original value: same as not changed at all
+            changedFields &= ~field;
+        }
+    }
+
     @Override
     public void forceUpdate() {
+        markChanged(CHANGED_FORCED_UPDATE, forcedUpdate, true);
         forcedUpdate = true;
     }
     
     @Override
     public void setExecutionId(String executionId) {
+        markChanged(CHANGED_EXECUTION_ID, this.executionId, executionId);
         this.executionId = executionId;
     }
 
@@ -113,7 +206,9 @@ public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity im
     @Override
     public void setBytes(byte[] bytes) {
         ensureByteArrayRefInitialized();
+        String byteArrayValueId = byteArrayRef.getId();
         byteArrayRef.setValue("var-" + name, bytes, getEngineType());
+        markChanged(CHANGED_BYTE_ARRAY_VALUE_ID, byteArrayValueId, byteArrayRef.getId());
     }
 
     @Override
@@ -148,6 +243,7 @@ public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity im
 
     @Override
     public void setName(String name) {
+        markChanged(CHANGED_NAME, this.name, name);
         this.name = name;
     }
 
@@ -179,6 +275,9 @@ public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity im
 
     @Override
     public void setType(VariableType type) {
+        if (changeTracked && this.type != type) {
+            markChanged(CHANGED_TYPE, this.type != null ? this.type.getTypeName() : null, type != null ? type.getTypeName() : null);
+        }
         this.type = type;
     }
 
@@ -214,6 +313,7 @@ public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity im
 
     @Override
     public void setScopeId(String scopeId) {
+        markChanged(CHANGED_SCOPE_ID, this.scopeId, scopeId);
         this.scopeId = scopeId;
     }
     
@@ -224,6 +324,7 @@ public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity im
     
     @Override
     public void setSubScopeId(String subScopeId) {
+        markChanged(CHANGED_SUB_SCOPE_ID, this.subScopeId, subScopeId);
         this.subScopeId = subScopeId;
     }
 
@@ -234,6 +335,7 @@ public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity im
 
     @Override
     public void setScopeType(String scopeType) {
+        markChanged(CHANGED_SCOPE_TYPE, this.scopeType, scopeType);
         this.scopeType = scopeType;
     }
 
@@ -254,6 +356,7 @@ public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity im
 
     @Override
     public void setLongValue(Long longValue) {
+        markChanged(CHANGED_LONG_VALUE, this.longValue, longValue);
         this.longValue = longValue;
     }
 
@@ -264,6 +367,7 @@ public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity im
 
     @Override
     public void setDoubleValue(Double doubleValue) {
+        markChanged(CHANGED_DOUBLE_VALUE, this.doubleValue, doubleValue);
         this.doubleValue = doubleValue;
     }
 
@@ -274,6 +378,7 @@ public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity im
 
     @Override
     public void setTextValue(String textValue) {
+        markChanged(CHANGED_TEXT_VALUE, this.textValue, textValue);
         this.textValue = textValue;
     }
 
@@ -284,6 +389,7 @@ public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity im
 
     @Override
     public void setTextValue2(String textValue2) {
+        markChanged(CHANGED_TEXT_VALUE2, this.textValue2, textValue2);
         this.textValue2 = textValue2;
     }
 
@@ -294,6 +400,7 @@ public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity im
 
     @Override
     public void setMetaInfo(String metaInfo) {
+        markChanged(CHANGED_META_INFO, this.metaInfo, metaInfo);
         this.metaInfo = metaInfo;
     }
 
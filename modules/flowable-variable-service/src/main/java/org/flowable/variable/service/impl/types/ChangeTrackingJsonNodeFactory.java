@@ -0,0 +1,368 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.variable.service.impl.types;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * A {@link JsonNodeFactory} creating object and array nodes that record whether they have been modified.
+ *
+ * <p>
+ * One factory is used per parsed json value, all the container nodes of that value share the changed flag of the factory.
+ * This allows the {@link JsonType} to detect modifications of a json variable without keeping a deep copy of the value
+ * and without comparing the complete trees at the end of the command.
+ *
+ * <p>
+ * Modifications are recorded on the children of the nodes, which means that all the ways to modify a node
+ * (including the iterators and entries returned by the node) are covered.
+ * A modification is recorded even when the new value is equal to the old one.
+ */
+public class ChangeTrackingJsonNodeFactory extends JsonNodeFactory {
+
+    private static final long serialVersionUID = 1L;
+
+    protected boolean tracking;
+    protected boolean changed;
+
+    /**
+     * Starts recording the modifications of the created nodes, the modifications done before (e.g. while parsing) are ignored.
+     */
+    public void startTracking() {
+        this.tracking = true;
+        this.changed = false;
+    }
+
+    public boolean isChanged() {
+        return changed;
+    }
+
+    protected void markChanged() {
+        if (tracking) {
+            changed = true;
+        }
+    }
+
+    @Override
+    public ObjectNode objectNode() {
+        return new TrackedObjectNode(this);
+    }
+
+    @Override
+    public ArrayNode arrayNode() {
+        return new TrackedArrayNode(this, new TrackingList(this));
+    }
+
+    @Override
+    public ArrayNode arrayNode(int capacity) {
+        return new TrackedArrayNode(this, new TrackingList(this, capacity));
+    }
+
+    /**
+     * @return the factory tracking the changes of the given node, or null when the node was not created by a {@link ChangeTrackingJsonNodeFactory}
+     */
+    public static ChangeTrackingJsonNodeFactory getChangeTracker(JsonNode node) {
+        if (node instanceof TrackedObjectNode) {
+            return ((TrackedObjectNode) node).getChangeTracker();
+        } else if (node instanceof TrackedArrayNode) {
+            return ((TrackedArrayNode) node).getChangeTracker();
+        }
+        return null;
+    }
+
+    public static class TrackedObjectNode extends ObjectNode {
+
+        private static final long serialVersionUID = 1L;
+
+        public TrackedObjectNode(ChangeTrackingJsonNodeFactory nodeFactory) {
+            super(nodeFactory, new TrackingMap(nodeFactory));
+        }
+
+        public ChangeTrackingJsonNodeFactory getChangeTracker() {
+            return (ChangeTrackingJsonNodeFactory) _nodeFactory;
+        }
+    }
+
+    public static class TrackedArrayNode extends ArrayNode {
+
+        private static final long serialVersionUID = 1L;
+
+        public TrackedArrayNode(ChangeTrackingJsonNodeFactory nodeFactory, TrackingList children) {
+            super(nodeFactory, children);
+        }
+
+        public ChangeTrackingJsonNodeFactory getChangeTracker() {
+            return (ChangeTrackingJsonNodeFactory) _nodeFactory;
+        }
+    }
+
+    protected static class TrackingMap extends AbstractMap<String, JsonNode> {
+
+        protected final ChangeTrackingJsonNodeFactory tracker;
+        protected final Map<String, JsonNode> children = new LinkedHashMap<>();
+
+        public TrackingMap(ChangeTrackingJsonNodeFactory tracker) {
+            this.tracker = tracker;
+        }
+
+        @Override
+        public int size() {
+            return children.size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return children.containsKey(key);
+        }
+
+        @Override
+        public JsonNode get(Object key) {
+            return children.get(key);
+        }
+
+        @Override
+        public JsonNode put(String key, JsonNode value) {
+            tracker.markChanged();
+            return children.put(key, value);
+        }
+
+        @Override
+        public JsonNode remove(Object key) {
+            if (children.containsKey(key)) {
+                tracker.markChanged();
+            }
+            return children.remove(key);
+        }
+
+        @Override
+        public void putAll(Map<? extends String, ? extends JsonNode> map) {
+            if (!map.isEmpty()) {
+                tracker.markChanged();
+            }
+            children.putAll(map);
+        }
+
+        @Override
+        public void clear() {
+            if (!children.isEmpty()) {
+                tracker.markChanged();
+            }
+            children.clear();
+        }
+
+        @Override
+        public Set<Entry<String, JsonNode>> entrySet() {
+            return new AbstractSet<Entry<String, JsonNode>>() {
+
+                @Override
+                public int size() {
+                    return children.size();
+                }
+
+                @Override
+                public Iterator<Entry<String, JsonNode>> iterator() {
+                    Iterator<Entry<String, JsonNode>> iterator = children.entrySet().iterator();
+                    return new Iterator<Entry<String, JsonNode>>() {
+
+                        @Override
+                        public boolean hasNext() {
+                            return iterator.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, JsonNode> next() {
+                            return new TrackingEntry(tracker, iterator.next());
+                        }
+
+                        @Override
+                        public void remove() {
+                            tracker.markChanged();
+                            iterator.remove();
+                        }
+                    };
+                }
+            };
+        }
+    }
+
+    protected static class TrackingEntry implements Map.Entry<String, JsonNode> {
+
+        protected final ChangeTrackingJsonNodeFactory tracker;
+        protected final Map.Entry<String, JsonNode> entry;
+
+        public TrackingEntry(ChangeTrackingJsonNodeFactory tracker, Map.Entry<String, JsonNode> entry) {
+            this.tracker = tracker;
+            this.entry = entry;
+        }
+
+        @Override
+        public String getKey() {
+            return entry.getKey();
+        }
+
+        @Override
+        public JsonNode getValue() {
+            return entry.getValue();
+        }
+
+        @Override
+        public JsonNode setValue(JsonNode value) {
+            tracker.markChanged();
+            return entry.setValue(value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+            return Objects.equals(getKey(), other.getKey()) && Objects.equals(getValue(), other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return entry.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return entry.toString();
+        }
+    }
+
+    protected static class TrackingList extends ArrayList<JsonNode> {
+
+        private static final long serialVersionUID = 1L;
+
+        protected final transient ChangeTrackingJsonNodeFactory tracker;
+
+        public TrackingList(ChangeTrackingJsonNodeFactory tracker) {
+            this.tracker = tracker;
+        }
+
+        public TrackingList(ChangeTrackingJsonNodeFactory tracker, int initialCapacity) {
+            super(initialCapacity);
+            this.tracker = tracker;
+        }
+
+        // The iterators of the ArrayList delegate to the methods below, so they don't need to be wrapped
+
+        @Override
+        public boolean add(JsonNode node) {
+            tracker.markChanged();
+            return super.add(node);
+        }
+
+        @Override
+        public void add(int index, JsonNode node) {
+            tracker.markChanged();
+            super.add(index, node);
+        }
+
+        @Override
+        public JsonNode set(int index, JsonNode node) {
+            tracker.markChanged();
+            return super.set(index, node);
+        }
+
+        @Override
+        public JsonNode remove(int index) {
+            tracker.markChanged();
+            return super.remove(index);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            boolean removed = super.remove(o);
+            if (removed) {
+                tracker.markChanged();
+            }
+            return removed;
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends JsonNode> nodes) {
+            tracker.markChanged();
+            return super.addAll(nodes);
+        }
+
+        @Override
+        public boolean addAll(int index, Collection<? extends JsonNode> nodes) {
+            tracker.markChanged();
+            return super.addAll(index, nodes);
+        }
+
+        @Override
+        public boolean removeAll(Collection<?> nodes) {
+            tracker.markChanged();
+            return super.removeAll(nodes);
+        }
+
+        @Override
+        public boolean retainAll(Collection<?> nodes) {
+            tracker.markChanged();
+            return super.retainAll(nodes);
+        }
+
+        @Override
+        public boolean removeIf(Predicate<? super JsonNode> filter) {
+            tracker.markChanged();
+            return super.removeIf(filter);
+        }
+
+        @Override
+        public void replaceAll(UnaryOperator<JsonNode> operator) {
+            tracker.markChanged();
+            super.replaceAll(operator);
+        }
+
+        @Override
+        public void sort(Comparator<? super JsonNode> comparator) {
+            tracker.markChanged();
+            super.sort(comparator);
+        }
+
+        @Override
+        public void clear() {
+            if (!isEmpty()) {
+                tracker.markChanged();
+            }
+            super.clear();
+        }
+
+        @Override
+        public List<JsonNode> subList(int fromIndex, int toIndex) {
+            // A sub list modifies the backing array directly, so it is considered as a modification
+            tracker.markChanged();
+            return super.subList(fromIndex, toIndex);
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.variable.service.impl.types;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.flowable.common.engine.api.FlowableException;
+
+/**
+ * {@link VariableBytesCodec} compressing the bytes of large variables with gzip.
+ *
+ * <p>
+ * Only values of at least the compression threshold are compressed, and only when compressing makes them smaller.
+ * Compressed values are recognized by the gzip magic header, which can't be the start of UTF-8 text or of Java serialized objects.
+ * All other values (e.g. the values stored before the codec was configured) are read as they are.
+ * The variable types also decompress gzip values when no codec is configured, so removing the codec doesn't lose compressed values.
+ */
+public class GzipVariableBytesCodec implements VariableBytesCodec {
+
+    public static final int DEFAULT_COMPRESSION_THRESHOLD = 1024;
+
+    protected int compressionThreshold;
+
+    public GzipVariableBytesCodec() {
+        this(DEFAULT_COMPRESSION_THRESHOLD);
+    }
+
+    public GzipVariableBytesCodec(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] encode(byte[] bytes) {
+        if (bytes == null || bytes.length < compressionThreshold) {
+            return bytes;
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(bytes);
+        } catch (IOException e) {
+            throw new FlowableException("Couldn't compress variable bytes", e);
+        }
+
+        byte[] compressedBytes = outputStream.toByteArray();
+        return compressedBytes.length < bytes.length ? compressedBytes : bytes;
+    }
+
+    @Override
+    public byte[] decode(byte[] bytes) {
+        return isCompressed(bytes) ? decompress(bytes) : bytes;
+    }
+
+    protected boolean isCompressed(byte[] bytes) {
+        return hasGzipHeader(bytes);
+    }
+
+    /**
+     * Decompresses the given bytes when they start with the gzip magic header, otherwise returns them as they are.
+     */
+    public static byte[] decodeIfCompressed(byte[] bytes) {
+        return hasGzipHeader(bytes) ? decompress(bytes) : bytes;
+    }
+
+    public static boolean hasGzipHeader(byte[] bytes) {
+        return bytes != null && bytes.length > 2
+                && bytes[0] == (byte) GZIPInputStream.GZIP_MAGIC
+                && bytes[1] == (byte) (GZIPInputStream.GZIP_MAGIC >> 8);
+    }
+
+    protected static byte[] decompress(byte[] bytes) {
+        try (GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return gzipInputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new FlowableException("Couldn't decompress variable bytes", e);
+        }
+    }
+
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    public void setCompressionThreshold(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+}
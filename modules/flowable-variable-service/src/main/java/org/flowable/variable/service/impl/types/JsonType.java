@@ -18,6 +18,7 @@ import java.util.Map;
 import java.util.Objects;
 
 import org.apache.commons.lang3.StringUtils;
+import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.scope.ScopeTypes;
 import org.flowable.common.engine.impl.AbstractEngineConfiguration;
 import org.flowable.common.engine.impl.HasVariableServiceConfiguration;
@@ -31,6 +32,7 @@ import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEnt
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -50,6 +52,7 @@ public class JsonType implements VariableType, MutableVariableType<JsonNode, Jso
     protected final boolean trackObjects;
     protected final String typeName;
     protected ObjectMapper objectMapper;
+    protected VariableBytesCodec bytesCodec;
 
     public JsonType(int maxLength, ObjectMapper objectMapper, boolean trackObjects) {
         this(maxLength, objectMapper, trackObjects, TYPE_NAME);
@@ -87,19 +90,19 @@ public class JsonType implements VariableType, MutableVariableType<JsonNode, Jso
         String textValue = valueFields.getTextValue();
         if (textValue != null && textValue.length() > 0) {
             try {
-                jsonValue = objectMapper.readTree(textValue);
+                jsonValue = readTree(textValue);
                 valueFields.setCachedValue(jsonValue);
-                traceValue(jsonValue, valueFields);
+                traceReadValue(jsonValue, valueFields);
             } catch (Exception e) {
                 LOGGER.error("Error reading json variable {}", valueFields.getName(), e);
             }
         } else {
-            byte[] bytes = valueFields.getBytes();
+            byte[] bytes = decodeBytes(valueFields.getBytes());
             if (bytes != null && bytes.length > 0) {
                 try {
-                    jsonValue = objectMapper.readTree(bytes);
+                    jsonValue = readTree(bytes);
                     valueFields.setCachedValue(jsonValue);
-                    traceValue(jsonValue, valueFields);
+                    traceReadValue(jsonValue, valueFields);
                 } catch (IOException e) {
                     LOGGER.error("Error reading json variable {}", valueFields.getName(), e);
                 }
@@ -108,6 +111,26 @@ public class JsonType implements VariableType, MutableVariableType<JsonNode, Jso
         return jsonValue;
     }
 
+    protected JsonNode readTree(String textValue) throws IOException {
+        if (trackObjects) {
+            ChangeTrackingJsonNodeFactory nodeFactory = new ChangeTrackingJsonNodeFactory();
+            JsonNode jsonValue = objectMapper.reader(nodeFactory).readTree(textValue);
+            nodeFactory.startTracking();
+            return jsonValue;
+        }
+        return objectMapper.readTree(textValue);
+    }
+
+    protected JsonNode readTree(byte[] bytes) throws IOException {
+        if (trackObjects) {
+            ChangeTrackingJsonNodeFactory nodeFactory = new ChangeTrackingJsonNodeFactory();
+            JsonNode jsonValue = objectMapper.reader(nodeFactory).readTree(bytes);
+            nodeFactory.startTracking();
+            return jsonValue;
+        }
+        return objectMapper.readTree(bytes);
+    }
+
     @Override
     public void setValue(Object value, ValueFields valueFields) {
         if (value == null) {
@@ -121,7 +144,7 @@ public class JsonType implements VariableType, MutableVariableType<JsonNode, Jso
                 valueFields.setTextValue(textValue);
                 valueFields.setBytes(null);
             } else {
-                valueFields.setBytes(textValue.getBytes(StandardCharsets.UTF_8));
+                valueFields.setBytes(encodeBytes(textValue.getBytes(StandardCharsets.UTF_8)));
                 valueFields.setTextValue(null);
             }
             valueFields.setCachedValue(jsonNode);
@@ -131,31 +154,97 @@ public class JsonType implements VariableType, MutableVariableType<JsonNode, Jso
 
     @Override
     public boolean updateValueIfChanged(JsonNode originalNode, JsonNode originalCopyNode, VariableInstanceEntity variableInstanceEntity) {
-        boolean valueChanged = false;
-        if (!Objects.equals(originalNode, originalCopyNode)) {
-            String textValue = originalNode.toString();
-            if (textValue.length() <= maxLength) {
-                variableInstanceEntity.setTextValue(textValue);
-                if (variableInstanceEntity.getByteArrayRef() != null) {
-                    variableInstanceEntity.getByteArrayRef().delete(getEngineType(variableInstanceEntity.getScopeType()));
+        boolean valueChanged;
+        ChangeTrackingJsonNodeFactory changeTracker = ChangeTrackingJsonNodeFactory.getChangeTracker(originalNode);
+        if (originalCopyNode == null && changeTracker != null) {
+            valueChanged = changeTracker.isChanged();
+        } else {
+            valueChanged = !Objects.equals(originalNode, originalCopyNode);
+        }
+        if (valueChanged) {
+            if (variableInstanceEntity.getTextValue() == null && variableInstanceEntity.getByteArrayRef() != null) {
+                // The value was too long to be stored as text before, so serialize it directly to bytes
+                byte[] bytes = writeValueAsBytes(originalNode);
+                if (getTextLength(bytes) <= maxLength) {
+                    setTextValue(new String(bytes, StandardCharsets.UTF_8), variableInstanceEntity);
+                } else {
+                    variableInstanceEntity.setBytes(encodeBytes(bytes));
                 }
+
             } else {
-                variableInstanceEntity.setTextValue(null);
-                variableInstanceEntity.setBytes(textValue.getBytes(StandardCharsets.UTF_8));
+                String textValue = originalNode.toString();
+                if (textValue.length() <= maxLength) {
+                    setTextValue(textValue, variableInstanceEntity);
+                } else {
+                    variableInstanceEntity.setTextValue(null);
+                    variableInstanceEntity.setBytes(encodeBytes(textValue.getBytes(StandardCharsets.UTF_8)));
+                }
             }
-            valueChanged = true;
         }
         return valueChanged;
     }
 
+    /**
+     * Returns the length of the UTF-8 encoded text as a {@link String#length()}, without decoding the text,
+     * so that the same limit is used for values that are serialized to bytes and to text.
+     */
+    protected int getTextLength(byte[] utf8Bytes) {
+        int length = 0;
+        for (byte b : utf8Bytes) {
+            if ((b & 0xC0) != 0x80) {
+                // A four byte sequence is a supplementary character, which is two chars in a String
+                length += (b & 0xF8) == 0xF0 ? 2 : 1;
+            }
+        }
+        return length;
+    }
+
+    protected void setTextValue(String textValue, VariableInstanceEntity variableInstanceEntity) {
+        variableInstanceEntity.setTextValue(textValue);
+        if (variableInstanceEntity.getByteArrayRef() != null) {
+            variableInstanceEntity.getByteArrayRef().delete(getEngineType(variableInstanceEntity.getScopeType()));
+        }
+    }
+
+    protected byte[] encodeBytes(byte[] bytes) {
+        return bytesCodec != null ? bytesCodec.encode(bytes) : bytes;
+    }
+
+    protected byte[] decodeBytes(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        // Values compressed before the codec was removed are still decompressed
+        return bytesCodec != null ? bytesCodec.decode(bytes) : GzipVariableBytesCodec.decodeIfCompressed(bytes);
+    }
+
+    protected byte[] writeValueAsBytes(JsonNode jsonNode) {
+        try {
+            return objectMapper.writeValueAsBytes(jsonNode);
+        } catch (JsonProcessingException e) {
+            throw new FlowableException("Error writing json variable", e);
+        }
+    }
+
     protected void traceValue(JsonNode value, ValueFields valueFields) {
+        traceValue(value, valueFields, true);
+    }
+
+    /**
+     * Traces a value read by this type: when the value records its own changes, no copy is needed to detect the changes.
+     */
+    protected void traceReadValue(JsonNode value, ValueFields valueFields) {
+        traceValue(value, valueFields, ChangeTrackingJsonNodeFactory.getChangeTracker(value) == null);
+    }
+
+    protected void traceValue(JsonNode value, ValueFields valueFields, boolean copyValue) {
         if (trackObjects && valueFields instanceof VariableInstanceEntity) {
             CommandContext commandContext = Context.getCommandContext();
             if (commandContext != null) {
                 VariableServiceConfiguration variableServiceConfiguration = getVariableServiceConfiguration(valueFields);
                 if (variableServiceConfiguration != null) {
                     commandContext.addCloseListener(new TraceableVariablesCommandContextCloseListener(
-                        new TraceableObject<>(this, value, value.deepCopy(), (VariableInstanceEntity) valueFields)
+                        new TraceableObject<>(this, value, copyValue ? value.deepCopy() : null, (VariableInstanceEntity) valueFields)
                     ));
                     
                 }
@@ -197,4 +286,12 @@ public class JsonType implements VariableType, MutableVariableType<JsonNode, Jso
         }
         return value instanceof JsonNode;
     }
+
+    public VariableBytesCodec getBytesCodec() {
+        return bytesCodec;
+    }
+
+    public void setBytesCodec(VariableBytesCodec bytesCodec) {
+        this.bytesCodec = bytesCodec;
+    }
 }
@@ -47,6 +47,7 @@ public class SerializableType extends ByteArrayType implements MutableVariableTy
     public static final String TYPE_NAME = "serializable";
 
     protected boolean trackDeserializedObjects;
+    protected VariableBytesCodec bytesCodec;
 
     @Override
     public String getTypeName() {
@@ -67,7 +68,7 @@ public class SerializableType extends ByteArrayType implements MutableVariableTy
             return cachedObject;
         }
 
-        byte[] bytes = (byte[]) super.getValue(valueFields);
+        byte[] bytes = decodeBytes((byte[]) super.getValue(valueFields));
         if (bytes != null) {
 
             Object deserializedObject = deserialize(bytes, valueFields);
@@ -85,7 +86,7 @@ public class SerializableType extends ByteArrayType implements MutableVariableTy
         byte[] bytes = serialize(value, valueFields);
         valueFields.setCachedValue(value);
 
-        super.setValue(bytes, valueFields);
+        super.setValue(encodeBytes(bytes), valueFields);
 
         traceValue(valueFields.getCachedValue(), bytes, valueFields);
     }
@@ -118,13 +119,25 @@ public class SerializableType extends ByteArrayType implements MutableVariableTy
             byte[] refreshedOriginalBytes = serialize(originalObject, variableInstanceEntity);
 
             if (!Arrays.equals(refreshedOriginalBytes, bytes)) {
-                variableInstanceEntity.setBytes(bytes);
+                variableInstanceEntity.setBytes(encodeBytes(bytes));
                 valueChanged = true;
             }
         }
         return valueChanged;
     }
 
+    protected byte[] encodeBytes(byte[] bytes) {
+        return bytesCodec != null ? bytesCodec.encode(bytes) : bytes;
+    }
+
+    protected byte[] decodeBytes(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        // Values compressed before the codec was removed are still decompressed
+        return bytesCodec != null ? bytesCodec.decode(bytes) : GzipVariableBytesCodec.decodeIfCompressed(bytes);
+    }
+
     public byte[] serialize(Object value, ValueFields valueFields) {
         if (value == null) {
             return null;
@@ -189,6 +202,14 @@ public class SerializableType extends ByteArrayType implements MutableVariableTy
         return value instanceof Serializable;
     }
 
+    public VariableBytesCodec getBytesCodec() {
+        return bytesCodec;
+    }
+
+    public void setBytesCodec(VariableBytesCodec bytesCodec) {
+        this.bytesCodec = bytesCodec;
+    }
+
     protected ObjectInputStream createObjectInputStream(InputStream is) throws IOException {
         return new ObjectInputStream(is) {
             @Override
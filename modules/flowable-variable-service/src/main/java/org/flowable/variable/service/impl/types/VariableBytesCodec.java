@@ -0,0 +1,29 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.variable.service.impl.types;
+
+/**
+ * Encodes the bytes of a variable before they are stored in the byte array table and decodes them when they are read.
+ *
+ * <p>
+ * Used by the {@link JsonType}, {@link SerializableType} and {@link LongStringType} for their values stored as bytes.
+ * Since existing variables are read with the same codec, {@link #decode(byte[])} must return the bytes as they are
+ * when they were not encoded by this codec.
+ */
+public interface VariableBytesCodec {
+
+    byte[] encode(byte[] bytes);
+
+    byte[] decode(byte[] bytes);
+
+}